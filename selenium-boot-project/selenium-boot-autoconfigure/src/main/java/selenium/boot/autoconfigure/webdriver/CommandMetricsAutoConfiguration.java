@@ -0,0 +1,56 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.metrics.CommandMetrics;
+import selenium.boot.spring.config.WorkspaceProperties;
+import selenium.boot.webdriver.instrumentation.CommandMetricsReporter;
+import selenium.boot.webdriver.instrumentation.CommandMetricsSessionListener;
+
+
+
+/**
+ * Publishes the {@link CommandMetrics} of the drivers instrumented by the tests, the reporter dumping them per test
+ * into {@link WorkspaceProperties#getPerformanceDirectory()}, and the session listener instrumenting each driver of
+ * the {@link selenium.boot.webdriver.pool.WebDriverSessionPool} with its own metrics, dumped when a test returns its
+ * lease.
+ * Enabled with {@code selenium.boot.webdriver.instrumentation.enabled=true}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.webdriver.instrumentation.InstrumentedWebDriver
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnProperty( prefix = "selenium.boot.webdriver.instrumentation", name = "enabled", havingValue = "true" )
+public class CommandMetricsAutoConfiguration
+{
+    @Bean
+    @ConditionalOnMissingBean
+    public CommandMetrics commandMetrics()
+    {
+        return new CommandMetrics();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean( WorkspaceProperties.class )
+    public CommandMetricsReporter commandMetricsReporter( CommandMetrics commandMetrics, WorkspaceProperties workspace )
+    {
+        return new CommandMetricsReporter( commandMetrics, workspace.getPerformanceDirectory() );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean( CommandMetricsReporter.class )
+    public CommandMetricsSessionListener commandMetricsSessionListener( CommandMetricsReporter reporter )
+    {
+        return new CommandMetricsSessionListener( reporter );
+    }
+}
@@ -0,0 +1,38 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.spring.config.WorkspaceProperties;
+import selenium.boot.webdriver.drivers.DriverIndex;
+
+
+
+/**
+ * Publishes the {@link DriverIndex} of {@link WorkspaceProperties#getDriversDirectory()} and
+ * {@link WorkspaceProperties#getExtensionsDirectory()}, refreshed once when the context starts.
+ * Disabled with {@code selenium.boot.webdriver.drivers.index.enabled=false}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnBean( WorkspaceProperties.class )
+@ConditionalOnProperty( prefix = "selenium.boot.webdriver.drivers.index", name = "enabled", matchIfMissing = true )
+public class DriverIndexAutoConfiguration
+{
+    @Bean
+    @ConditionalOnMissingBean
+    public DriverIndex driverIndex( WorkspaceProperties workspace )
+    {
+        final DriverIndex index = new DriverIndex( workspace.getDriversDirectory(), workspace.getExtensionsDirectory() );
+        index.refresh();
+        return index;
+    }
+}
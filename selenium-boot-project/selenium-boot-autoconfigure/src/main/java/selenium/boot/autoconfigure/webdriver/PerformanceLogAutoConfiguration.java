@@ -0,0 +1,46 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.spring.config.WorkspaceProperties;
+import selenium.boot.webdriver.performance.PerformanceLogReporter;
+import selenium.boot.webdriver.performance.PerformanceLogSessionListener;
+
+
+
+/**
+ * Publishes the reporter draining the browser performance log per test into
+ * {@link WorkspaceProperties#getPerformanceDirectory()}, and the session listener enabling the log on the pooled
+ * sessions and calling the reporter when a named lease is closed.
+ * Enabled with {@code selenium.boot.webdriver.performance.enabled=true}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnProperty( prefix = "selenium.boot.webdriver.performance", name = "enabled", havingValue = "true" )
+public class PerformanceLogAutoConfiguration
+{
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean( WorkspaceProperties.class )
+    public PerformanceLogReporter performanceLogReporter( WorkspaceProperties workspace )
+    {
+        return new PerformanceLogReporter( workspace.getPerformanceDirectory() );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean( PerformanceLogReporter.class )
+    public PerformanceLogSessionListener performanceLogSessionListener( PerformanceLogReporter reporter )
+    {
+        return new PerformanceLogSessionListener( reporter );
+    }
+}
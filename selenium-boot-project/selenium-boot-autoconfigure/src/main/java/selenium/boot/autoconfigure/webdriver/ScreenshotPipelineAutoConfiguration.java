@@ -0,0 +1,50 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.spring.config.WorkspaceProperties;
+import selenium.boot.webdriver.screenshots.ScreenshotPipeline;
+import selenium.boot.webdriver.screenshots.ScreenshotProperties;
+
+
+
+/**
+ * Creates the {@link ScreenshotPipeline} writing into {@link WorkspaceProperties#getScreenshotsDirectory()}.
+ * The pipeline is closed with the application context, which waits for the pending screenshots.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnBean( WorkspaceProperties.class )
+@ConditionalOnProperty( prefix = "selenium.boot.webdriver.screenshots", name = "enabled", matchIfMissing = true )
+@EnableConfigurationProperties( value = { ScreenshotProperties.class } )
+public class ScreenshotPipelineAutoConfiguration
+{
+    //region initialization and constructors section
+
+    private ScreenshotProperties properties;
+
+    public ScreenshotPipelineAutoConfiguration( ScreenshotProperties properties )
+    {
+        super();
+        this.properties = properties;
+    }
+
+    //endregion
+
+    @Bean( destroyMethod = "close" )
+    @ConditionalOnMissingBean
+    public ScreenshotPipeline screenshotPipeline( WorkspaceProperties workspace )
+    {
+        return new ScreenshotPipeline( workspace.getScreenshotsDirectory(), properties );
+    }
+}
@@ -0,0 +1,57 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.webdriver.pool.SessionFactory;
+import selenium.boot.webdriver.pool.SessionListener;
+import selenium.boot.webdriver.pool.SessionPoolProperties;
+import selenium.boot.webdriver.pool.WebDriverSessionPool;
+
+import java.util.Collections;
+import java.util.List;
+
+
+
+/**
+ * Creates the {@link WebDriverSessionPool} when a {@link SessionFactory} bean is available, notifying the
+ * {@link SessionListener} beans.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnBean( SessionFactory.class )
+@ConditionalOnProperty( prefix = "selenium.boot.webdriver.pool", name = "enabled", matchIfMissing = true )
+@EnableConfigurationProperties( value = { SessionPoolProperties.class } )
+public class SessionPoolAutoConfiguration
+{
+    //region initialization and constructors section
+
+    private SessionPoolProperties properties;
+
+    public SessionPoolAutoConfiguration( SessionPoolProperties properties )
+    {
+        super();
+        this.properties = properties;
+    }
+
+    //endregion
+
+    @Bean( destroyMethod = "close" )
+    @ConditionalOnMissingBean
+    public WebDriverSessionPool webDriverSessionPool( SessionFactory sessionFactory,
+                                                      ObjectProvider<List<SessionListener>> sessionListeners )
+    {
+        return new WebDriverSessionPool( sessionFactory, properties,
+                sessionListeners.getIfAvailable( Collections::emptyList ) );
+    }
+}
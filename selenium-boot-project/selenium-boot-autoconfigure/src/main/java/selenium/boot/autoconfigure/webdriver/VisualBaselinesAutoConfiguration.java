@@ -0,0 +1,36 @@
+package selenium.boot.autoconfigure.webdriver;
+
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import selenium.boot.spring.config.WorkspaceProperties;
+import selenium.boot.webdriver.visual.VisualBaselines;
+
+
+
+/**
+ * Publishes the {@link VisualBaselines} read from the {@code baselines} directory of
+ * {@link WorkspaceProperties#getProjectAssetsDirectory()}, writing the diff images of failed comparisons into
+ * {@link WorkspaceProperties#getScreenshotsDirectory()}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.webdriver.matchers.WebDriverMatchers#looksLike(VisualBaselines, String)
+ * @since 2.0
+ */
+@Configuration
+@AutoConfigureOrder( value = AutoConfigureOrder.DEFAULT_ORDER + 5 )
+@ConditionalOnBean( WorkspaceProperties.class )
+public class VisualBaselinesAutoConfiguration
+{
+    @Bean
+    @ConditionalOnMissingBean
+    public VisualBaselines visualBaselines( WorkspaceProperties workspace )
+    {
+        return new VisualBaselines( workspace.getProjectAssetsDirectory().resolve( VisualBaselines.BASELINES_DIRECTORY ),
+                workspace.getScreenshotsDirectory() );
+    }
+}
@@ -0,0 +1,279 @@
+package selenium.boot.core.matchers;
+
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+
+/**
+ * A matcher tree flattened by the {@link MatcherCompiler}, evaluating the members of every junction in the order
+ * most likely to short-circuit early.
+ * <p>
+ * The members of an {@code allOf} are ordered by {@code cost / failure rate}, those of an {@code anyOf} by
+ * {@code cost / success rate}: cheap and selective members run first. Costs are declared through
+ * {@link EvaluationCost} and replaced by sampled timings; rates are observed. A junction sorts its members again
+ * every {@link #REORDER_INTERVAL} evaluations. Statistics are updated without synchronization, as estimates.
+ * </p>
+ * <p>
+ * The result is the one of the original tree, as long as its members have no side effects. Members guarding the
+ * next ones, as in {@code allOf( exists(), isDisplayed() )}, keep working: when a junction evaluated out of the
+ * declared order throws, e.g. a {@code StaleElementReferenceException}, it is evaluated again in the declared order.
+ * Descriptions are delegated to the original tree, so the mismatch names the first failing member in the declared
+ * order.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class CompiledMatcher<T> extends BaseMatcher<T>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    static final int REORDER_INTERVAL = 1024;
+
+    /**
+     * One evaluation out of {@code SAMPLE_MASK + 1} is timed.
+     */
+    private static final int SAMPLE_MASK = 63;
+
+    private static final int MIN_SAMPLES = 8;
+
+    private final Matcher<T> original;
+
+    private final Node root;
+
+    CompiledMatcher( Matcher<T> original, Node root )
+    {
+        this.original = original;
+        this.root = root;
+    }
+
+    //endregion
+
+    @Override
+    public boolean matches( Object item )
+    {
+        return root.test( item );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        original.describeTo( description );
+    }
+
+    @Override
+    public void describeMismatch( Object item, Description description )
+    {
+        original.describeMismatch( item, description );
+    }
+
+
+    abstract static class Node
+    {
+        private long evaluations;
+
+        private long passes;
+
+        final boolean test( Object item )
+        {
+            final boolean result = evaluate( item );
+            evaluations++;
+            if( result )
+            {
+                passes++;
+            }
+            return result;
+        }
+
+        /**
+         * @return the observed rate of success, starting from one half
+         */
+        final double passRate()
+        {
+            return ( passes + 1.0 ) / ( evaluations + 2.0 );
+        }
+
+        final long evaluations()
+        {
+            return evaluations;
+        }
+
+        abstract boolean evaluate( Object item );
+
+        /**
+         * @return the expected cost of an evaluation, in nanoseconds
+         */
+        abstract double cost();
+    }
+
+
+    static final class Leaf extends Node
+    {
+        private final Matcher<?> matcher;
+
+        private final boolean negated;
+
+        private final double declaredCost;
+
+        private long sampledNanos;
+
+        private int samples;
+
+        Leaf( Matcher<?> matcher, boolean negated )
+        {
+            this.matcher = matcher;
+            this.negated = negated;
+            this.declaredCost = matcher instanceof EvaluationCost
+                                ? ( ( EvaluationCost ) matcher ).getEvaluationCost() : EvaluationCost.LOCAL;
+        }
+
+        @Override
+        boolean evaluate( Object item )
+        {
+            if( ( evaluations() & SAMPLE_MASK ) != 0 )
+            {
+                return matcher.matches( item ) != negated;
+            }
+            final long start = System.nanoTime();
+            final boolean result = matcher.matches( item );
+            sampledNanos += System.nanoTime() - start;
+            samples++;
+            return result != negated;
+        }
+
+        @Override
+        double cost()
+        {
+            return samples < MIN_SAMPLES ? declaredCost : ( double ) sampledNanos / samples;
+        }
+    }
+
+
+    static final class Junction extends Node
+    {
+        final boolean all;
+
+        private final Node[] declared;
+
+        private volatile Node[] order;
+
+        private int sinceReorder;
+
+        Junction( boolean all, List<Node> children )
+        {
+            this.all = all;
+            this.declared = children.toArray( new Node[ 0 ] );
+            this.order = declared;
+            reorder();
+        }
+
+        /**
+         * @return the members in the declared order
+         */
+        List<Node> children()
+        {
+            return Arrays.asList( declared );
+        }
+
+        @Override
+        boolean evaluate( Object item )
+        {
+            if( ++sinceReorder >= REORDER_INTERVAL )
+            {
+                sinceReorder = 0;
+                reorder();
+            }
+            final Node[] current = order;
+            if( current == declared )
+            {
+                return evaluate( current, item );
+            }
+            try
+            {
+                return evaluate( current, item );
+            }
+            catch( RuntimeException e )
+            {
+                // a member may rely on a previous one of the declared order, guarding it from the failure
+                return evaluate( declared, item );
+            }
+        }
+
+        private boolean evaluate( Node[] members, Object item )
+        {
+            for( Node child : members )
+            {
+                if( child.test( item ) != all )
+                {
+                    return !all;
+                }
+            }
+            return all;
+        }
+
+        /**
+         * The expected cost, each member running only when the previous ones did not short-circuit.
+         */
+        @Override
+        double cost()
+        {
+            double cost = 0;
+            double reached = 1;
+            for( Node child : order )
+            {
+                cost += reached * child.cost();
+                reached *= all ? child.passRate() : 1 - child.passRate();
+            }
+            return cost;
+        }
+
+        /**
+         * Ranks are computed once, as the statistics may change during the sort; the insertion sort is stable and
+         * keeps the declared order between equivalent members.
+         */
+        private void reorder()
+        {
+            final Node[] sorted = order.clone();
+            final double[] ranks = new double[ sorted.length ];
+            for( int i = 0; i < sorted.length; i++ )
+            {
+                ranks[ i ] = rank( sorted[ i ] );
+            }
+            for( int i = 1; i < sorted.length; i++ )
+            {
+                final Node node = sorted[ i ];
+                final double rank = ranks[ i ];
+                int j = i - 1;
+                while( j >= 0 && ranks[ j ] > rank )
+                {
+                    sorted[ j + 1 ] = sorted[ j ];
+                    ranks[ j + 1 ] = ranks[ j ];
+                    j--;
+                }
+                sorted[ j + 1 ] = node;
+                ranks[ j + 1 ] = rank;
+            }
+            order = Arrays.equals( sorted, declared ) ? declared : sorted;
+        }
+
+        /**
+         * @return the cost per short-circuit chance, lower runs first
+         */
+        private double rank( Node child )
+        {
+            final double shortCircuit = all ? 1 - child.passRate() : child.passRate();
+            return child.cost() / shortCircuit;
+        }
+    }
+}
@@ -452,6 +452,20 @@ public final class CoreMatchers
         return IsCollectionContaining.hasItems( items );
     }
 
+    /**
+     * Compiles a tree of {@code allOf}, {@code anyOf} and {@code not} matchers into a flat evaluator that runs the
+     * cheap and selective members first, with the same result and descriptions.
+     * <p>
+     * For example:
+     * <pre>Matcher&lt;String&gt; valid = compile(allOf(startsWith("my"), not(containsString("Bad"))))</pre>
+     *
+     * @see MatcherCompiler
+     */
+    public static <T> Matcher<T> compile( Matcher<T> matcher )
+    {
+        return MatcherCompiler.compile( matcher );
+    }
+
     /**
      * Creates a matcher that matches if the examined object matches <b>ALL</b> of the specified matchers.
      * <p>
@@ -0,0 +1,33 @@
+package selenium.boot.core.matchers;
+
+
+
+/**
+ * Declares the approximate cost of evaluating a matcher, so the {@link MatcherCompiler} evaluates the cheap members
+ * of a composite matcher first.
+ * <p>
+ * Costs are in nanoseconds. Matchers that do not declare a cost are assumed {@link #LOCAL}; a compiled matcher
+ * replaces the declared cost with the measured one once enough evaluations were timed.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public interface EvaluationCost
+{
+    /**
+     * A check of a value already in memory.
+     */
+    double LOCAL = 100;
+
+    /**
+     * A check reading a value from the browser, one round trip at least.
+     */
+    double REMOTE = 1_000_000;
+
+    /**
+     * @return the approximate cost of one evaluation, in nanoseconds
+     */
+    double getEvaluationCost();
+}
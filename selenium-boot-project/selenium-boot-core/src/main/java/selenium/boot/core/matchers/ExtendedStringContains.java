@@ -50,7 +50,7 @@ public class ExtendedStringContains extends ExtendedSubstringMatcher
     @Override
     protected boolean evalSubstringOf( String s )
     {
-        return converted( s ).contains( converted( substring ) );
+        return isIgnoringCase() ? containsIgnoringCase( s ) : s.contains( substring );
     }
 
 }
@@ -53,7 +53,7 @@ public class ExtendedStringEndsWith extends ExtendedSubstringMatcher
     @Override
     protected boolean evalSubstringOf( String s )
     {
-        return converted( s ).endsWith( converted( substring ) );
+        return s.length() >= substring.length() && substringAt( s, s.length() - substring.length() );
     }
 
 }
@@ -64,7 +64,7 @@ class ExtendedStringStartsWith extends ExtendedSubstringMatcher
     @Override
     protected boolean evalSubstringOf( String s )
     {
-        return converted( s ).startsWith( converted( substring ) );
+        return substringAt( s, 0 );
     }
 
 }
@@ -20,12 +20,33 @@ abstract class ExtendedSubstringMatcher extends TypeSafeMatcher<String>
     // Static definitions, members, initialization and constructors
     //---------------------------------------------------------------------
 
+    private static final char ASCII_LIMIT = 0x80;
+
+    /**
+     * The ascii characters some other characters fold to, e.g. {@code k} for the Kelvin sign; a search for them
+     * cannot be narrowed down to their ascii variants.
+     */
+    private static final boolean[] FOLDED_FROM_NON_ASCII = foldedFromNonAscii();
+
     private final String relationship;
 
     private final boolean ignoringCase;
 
     protected final String substring;
 
+    /**
+     * The substring characters folded as {@link String#regionMatches(boolean, int, String, int, int)} does: the
+     * lower case of the upper case.
+     */
+    private final char[] folded;
+
+    /**
+     * The variants of the first substring character a match starts with, or {@code 0} when not only ascii.
+     */
+    private final char firstUpper;
+
+    private final char firstLower;
+
     protected ExtendedSubstringMatcher( String relationship, boolean ignoringCase, String substring )
     {
         this.relationship = relationship;
@@ -35,6 +56,14 @@ abstract class ExtendedSubstringMatcher extends TypeSafeMatcher<String>
         {
             throw new IllegalArgumentException( "missing substring" );
         }
+        this.folded = new char[ substring.length() ];
+        for( int i = 0; i < substring.length(); i++ )
+        {
+            folded[ i ] = fold( substring.charAt( i ) );
+        }
+        final boolean seeded = folded.length > 0 && folded[ 0 ] < ASCII_LIMIT && !FOLDED_FROM_NON_ASCII[ folded[ 0 ] ];
+        this.firstLower = seeded ? folded[ 0 ] : 0;
+        this.firstUpper = seeded ? Character.toUpperCase( folded[ 0 ] ) : 0;
     }
 
     //endregion
@@ -42,11 +71,121 @@ abstract class ExtendedSubstringMatcher extends TypeSafeMatcher<String>
     @Override
     public boolean matchesSafely( String item )
     {
-        return evalSubstringOf( ignoringCase ? item.toLowerCase() : item );
+        return evalSubstringOf( item );
     }
 
+    /**
+     * @param string the examined string, as is; implementations compare ignoring case when {@link #isIgnoringCase()}
+     */
     protected abstract boolean evalSubstringOf( String string );
 
+    protected final boolean isIgnoringCase()
+    {
+        return ignoringCase;
+    }
+
+    /**
+     * Compares the substring with the region of the string starting at an offset, without allocating.
+     */
+    protected final boolean substringAt( String string, int offset )
+    {
+        if( offset < 0 || offset > string.length() - substring.length() )
+        {
+            return false;
+        }
+        return ignoringCase ? foldedAt( string, offset ) : string.startsWith( substring, offset );
+    }
+
+    /**
+     * Searches the substring in the string, ignoring case, without allocating. When the first substring character
+     * only folds from its ascii variants, the candidate positions are found with {@link String#indexOf(int, int)}.
+     */
+    protected final boolean containsIgnoringCase( String string )
+    {
+        if( substring.isEmpty() )
+        {
+            return true;
+        }
+        final int last = string.length() - folded.length;
+        if( firstLower == 0 )
+        {
+            for( int i = 0; i <= last; i++ )
+            {
+                if( fold( string.charAt( i ) ) == folded[ 0 ] && foldedAt( string, i ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int lowerAt = string.indexOf( firstLower );
+        int upperAt = firstUpper == firstLower ? lowerAt : string.indexOf( firstUpper );
+        while( true )
+        {
+            final int i = lowerAt < 0 ? upperAt : upperAt < 0 ? lowerAt : Math.min( lowerAt, upperAt );
+            if( i < 0 || i > last )
+            {
+                return false;
+            }
+            if( foldedAt( string, i ) )
+            {
+                return true;
+            }
+            if( i == lowerAt )
+            {
+                lowerAt = string.indexOf( firstLower, i + 1 );
+            }
+            if( firstUpper == firstLower )
+            {
+                upperAt = lowerAt;
+            }
+            else if( i == upperAt )
+            {
+                upperAt = string.indexOf( firstUpper, i + 1 );
+            }
+        }
+    }
+
+    /**
+     * The region must fit in the string.
+     */
+    private boolean foldedAt( String string, int offset )
+    {
+        for( int i = 0; i < folded.length; i++ )
+        {
+            final char c = string.charAt( offset + i );
+            if( c != substring.charAt( i ) && fold( c ) != folded[ i ] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold( char c )
+    {
+        if( c < ASCII_LIMIT )
+        {
+            return c >= 'A' && c <= 'Z' ? ( char ) ( c + ( 'a' - 'A' ) ) : c;
+        }
+        return Character.toLowerCase( Character.toUpperCase( c ) );
+    }
+
+    private static boolean[] foldedFromNonAscii()
+    {
+        final boolean[] folded = new boolean[ ASCII_LIMIT ];
+        for( int c = ASCII_LIMIT; c <= Character.MAX_VALUE; c++ )
+        {
+            final char target = fold( ( char ) c );
+            if( target < ASCII_LIMIT )
+            {
+                folded[ target ] = true;
+            }
+        }
+        return folded;
+    }
+
     @Override
     public void describeMismatchSafely( String item, Description mismatchDescription )
     {
@@ -66,6 +205,4 @@ abstract class ExtendedSubstringMatcher extends TypeSafeMatcher<String>
         }
     }
 
-    protected String converted( String arg ) { return ignoringCase ? arg.toLowerCase() : arg; }
-
 }
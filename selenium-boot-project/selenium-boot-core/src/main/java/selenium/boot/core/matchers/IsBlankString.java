@@ -6,8 +6,6 @@ import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 
-import java.util.regex.Pattern;
-
 
 
 /**
@@ -27,8 +25,6 @@ class IsBlankString extends TypeSafeMatcher<String>
 
     private static final IsBlankString BLANK_INSTANCE = new IsBlankString();
 
-    private static final Pattern REGEX_WHITESPACE = Pattern.compile( "\\s*");
-
     @SuppressWarnings( "unchecked" )
     private static final Matcher<String> NULL_OR_BLANK_INSTANCE = CoreMatchers.anyOf( CoreMatchers.nullValue(), BLANK_INSTANCE );
 
@@ -62,10 +58,29 @@ class IsBlankString extends TypeSafeMatcher<String>
         return NULL_OR_BLANK_INSTANCE;
     }
 
+    /**
+     * Scans for the six characters of the regular expression class {@code \s}, which, unlike
+     * {@link Character#isWhitespace(char)}, excludes the unicode separators and control characters.
+     */
     @Override
     public boolean matchesSafely( String item )
     {
-        return REGEX_WHITESPACE.matcher( item ).matches();
+        for( int i = 0; i < item.length(); i++ )
+        {
+            switch( item.charAt( i ) )
+            {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\u000B':
+                case '\f':
+                case '\r':
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
     }
 
     @Override
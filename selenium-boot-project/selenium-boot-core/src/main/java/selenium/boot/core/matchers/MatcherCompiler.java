@@ -0,0 +1,126 @@
+package selenium.boot.core.matchers;
+
+
+import org.hamcrest.Matcher;
+import org.hamcrest.core.AllOf;
+import org.hamcrest.core.AnyOf;
+import org.hamcrest.core.CombinableMatcher;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsNot;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+
+
+/**
+ * Compiles a tree of {@code allOf}, {@code anyOf}, {@code not}, {@code is}, {@code both} and {@code either}
+ * matchers into a {@link CompiledMatcher}.
+ * <p>
+ * Nested junctions of the same kind are merged, {@code not} is pushed down to the leaves with De Morgan's laws and
+ * double negations cancel out, so the evaluator walks arrays of leaves and junctions only. The Hamcrest junctions do
+ * not expose their members, which are read by reflection once, at compile time; a junction that cannot be read is
+ * kept as a leaf.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see CoreMatchers#compile(Matcher)
+ * @since 2.0
+ */
+public final class MatcherCompiler
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private MatcherCompiler()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * @param matcher the matcher tree
+     *
+     * @return a matcher with the same result and descriptions, evaluating the members in the cheapest order
+     */
+    public static <T> Matcher<T> compile( Matcher<T> matcher )
+    {
+        if( matcher instanceof CompiledMatcher )
+        {
+            return matcher;
+        }
+        return new CompiledMatcher<>( matcher, flatten( matcher, false ) );
+    }
+
+    private static CompiledMatcher.Node flatten( Matcher<?> matcher, boolean negated )
+    {
+        if( matcher instanceof Is || matcher instanceof CombinableMatcher )
+        {
+            final Object inner = member( matcher, "matcher" );
+            if( inner instanceof Matcher )
+            {
+                return flatten( ( Matcher<?> ) inner, negated );
+            }
+        }
+        else if( matcher instanceof IsNot )
+        {
+            final Object inner = member( matcher, "matcher" );
+            if( inner instanceof Matcher )
+            {
+                return flatten( ( Matcher<?> ) inner, !negated );
+            }
+        }
+        else if( matcher instanceof AllOf || matcher instanceof AnyOf )
+        {
+            final Object members = member( matcher, "matchers" );
+            if( members instanceof Iterable )
+            {
+                // not( allOf( a, b ) ) is anyOf( not( a ), not( b ) ), and conversely
+                final boolean all = ( matcher instanceof AllOf ) != negated;
+                final List<CompiledMatcher.Node> children = new ArrayList<>();
+                for( Object member : ( Iterable<?> ) members )
+                {
+                    final CompiledMatcher.Node child = flatten( ( Matcher<?> ) member, negated );
+                    if( child instanceof CompiledMatcher.Junction && ( ( CompiledMatcher.Junction ) child ).all == all )
+                    {
+                        children.addAll( ( ( CompiledMatcher.Junction ) child ).children() );
+                    }
+                    else
+                    {
+                        children.add( child );
+                    }
+                }
+                return children.size() == 1 ? children.get( 0 ) : new CompiledMatcher.Junction( all, children );
+            }
+        }
+        return new CompiledMatcher.Leaf( matcher, negated );
+    }
+
+    private static Object member( Object target, String name )
+    {
+        for( Class<?> type = target.getClass(); type != null; type = type.getSuperclass() )
+        {
+            try
+            {
+                final Field field = type.getDeclaredField( name );
+                field.setAccessible( true );
+                return field.get( target );
+            }
+            catch( NoSuchFieldException e )
+            {
+                // declared by a super class
+            }
+            catch( IllegalAccessException | RuntimeException e )
+            {
+                return null;
+            }
+        }
+        return null;
+    }
+}
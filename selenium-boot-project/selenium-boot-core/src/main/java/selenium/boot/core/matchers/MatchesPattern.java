@@ -5,6 +5,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
+import selenium.boot.utils.PatternCache;
 
 import java.util.regex.Pattern;
 
@@ -45,11 +46,12 @@ class MatchesPattern extends TypeSafeMatcher<String>
     /**
      * Creates a matcher of {@link java.lang.String} that matches when the examined string
      * exactly matches the given regular expression, treated as a {@link java.util.regex.Pattern}.
+     * The compiled pattern is shared through the {@link PatternCache}.
      */
     @Factory
     static Matcher<String> matchesPattern( String regex )
     {
-        return new MatchesPattern( Pattern.compile( regex ) );
+        return new MatchesPattern( PatternCache.compile( regex ) );
     }
 
     @Override
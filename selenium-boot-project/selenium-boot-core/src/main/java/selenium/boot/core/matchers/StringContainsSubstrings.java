@@ -0,0 +1,140 @@
+package selenium.boot.core.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+
+
+/**
+ * Tests if the argument is a string containing any, all, or all in order, of several substrings.
+ * <p>
+ * The substrings are searched in a single pass over the string by a {@link SubstringAutomaton}, instead of once
+ * per substring, and the automaton is shared by the matchers of the same substrings.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class StringContainsSubstrings extends TypeSafeMatcher<String>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    enum Mode
+    {
+        ANY,
+        ALL,
+        IN_ORDER
+    }
+
+    private final Mode mode;
+
+    private final SubstringAutomaton automaton;
+
+    StringContainsSubstrings( Mode mode, SubstringAutomaton automaton )
+    {
+        this.mode = mode;
+        this.automaton = automaton;
+    }
+
+    //endregion
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, considering the order of their appearance.
+     * For example:
+     * <pre>assertThat("myfoobarbaz", stringContainsInOrder(Arrays.asList("bar", "foo")))</pre>
+     * fails as "foo" occurs before "bar" in the string "myfoobarbaz"
+     *
+     * @param substrings   the substrings that must be contained within matching strings
+     * @param ignoringCase whether the case is ignored
+     */
+    @Factory
+    static Matcher<String> stringContainsInOrder( Iterable<String> substrings, boolean ignoringCase )
+    {
+        return new StringContainsSubstrings( Mode.IN_ORDER, SubstringAutomaton.compile( substrings, ignoringCase ) );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains at least one of
+     * the specified substrings.
+     * For example:
+     * <pre>assertThat("myfoobarbaz", containsAnyOf(Arrays.asList("qux", "bar")))</pre>
+     *
+     * @param substrings   the substrings, one of them at least must be contained within matching strings
+     * @param ignoringCase whether the case is ignored
+     */
+    @Factory
+    static Matcher<String> containsAnyOf( Iterable<String> substrings, boolean ignoringCase )
+    {
+        return new StringContainsSubstrings( Mode.ANY, SubstringAutomaton.compile( substrings, ignoringCase ) );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, regardless of the order of their appearance.
+     * For example:
+     * <pre>assertThat("myfoobarbaz", containsAllOf(Arrays.asList("bar", "foo")))</pre>
+     *
+     * @param substrings   the substrings that must be contained within matching strings
+     * @param ignoringCase whether the case is ignored
+     */
+    @Factory
+    static Matcher<String> containsAllOf( Iterable<String> substrings, boolean ignoringCase )
+    {
+        return new StringContainsSubstrings( Mode.ALL, SubstringAutomaton.compile( substrings, ignoringCase ) );
+    }
+
+    @Override
+    protected boolean matchesSafely( String item )
+    {
+        switch( mode )
+        {
+            case ANY:
+                return automaton.containsAny( item );
+            case ALL:
+                return automaton.containsAll( item );
+            default:
+                return automaton.containsInOrder( item );
+        }
+    }
+
+    @Override
+    protected void describeMismatchSafely( String item, Description mismatchDescription )
+    {
+        mismatchDescription.appendText( "was \"" ).appendText( item ).appendText( "\"" );
+        if( mode == Mode.ALL )
+        {
+            mismatchDescription.appendValueList( ", missing ", ", ", "", automaton.missingFrom( item ) );
+        }
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( "a string containing " );
+        switch( mode )
+        {
+            case ANY:
+                description.appendValueList( "any of ", ", ", "", automaton.getSubstrings() );
+                break;
+            case ALL:
+                description.appendValueList( "all of ", ", ", "", automaton.getSubstrings() );
+                break;
+            default:
+                description.appendValueList( "", ", ", "", automaton.getSubstrings() ).appendText( " in order" );
+                break;
+        }
+        if( automaton.isIgnoringCase() )
+        {
+            description.appendText( " ignoring case" );
+        }
+    }
+}
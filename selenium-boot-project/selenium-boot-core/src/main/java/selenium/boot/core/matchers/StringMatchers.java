@@ -9,8 +9,8 @@ import org.hamcrest.internal.ReflectiveTypeFinder;
 import org.hamcrest.text.IsEmptyString;
 import org.hamcrest.text.IsEqualIgnoringCase;
 import org.hamcrest.text.IsEqualIgnoringWhiteSpace;
-import org.hamcrest.text.StringContainsInOrder;
 
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 
@@ -197,16 +197,102 @@ public final class StringMatchers
 
     /**
      * Creates a matcher of {@link String} that matches when the examined string contains all of
-     * the specified substrings, regardless of the order of their appearance.
+     * the specified substrings, considering the order of their appearance.
+     * The substrings are searched in a single pass over the string.
      * <p>
      * For example:
-     * <pre>assertThat("myfoobarbaz", stringContainsInOrder(Arrays.asList("bar", "foo")))</pre>
+     * <pre>assertThat("myfoobarbaz", stringContainsInOrder(Arrays.asList("foo", "bar")))</pre>
      *
      * @param substrings the substrings that must be contained within matching strings
      */
     public static Matcher<String> stringContainsInOrder( Iterable<String> substrings )
     {
-        return StringContainsInOrder.stringContainsInOrder( substrings );
+        return StringContainsSubstrings.stringContainsInOrder( substrings, false );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, considering the order of their appearance.
+     * <p>
+     * For example:
+     * <pre>assertThat("myfoobarbaz", stringContainsInOrder("foo", "bar"))</pre>
+     *
+     * @param substrings the substrings that must be contained within matching strings
+     */
+    public static Matcher<String> stringContainsInOrder( String... substrings )
+    {
+        return StringContainsSubstrings.stringContainsInOrder( Arrays.asList( substrings ), false );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, considering the order of their appearance, and ignoring case.
+     * <p>
+     * For example:
+     * <pre>assertThat("myFooBarBaz", stringContainsInOrderIgnoringCase(Arrays.asList("foo", "bar")))</pre>
+     *
+     * @param substrings the substrings that must be contained within matching strings
+     */
+    public static Matcher<String> stringContainsInOrderIgnoringCase( Iterable<String> substrings )
+    {
+        return StringContainsSubstrings.stringContainsInOrder( substrings, true );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains at least one of
+     * the specified substrings. The substrings are searched in a single pass over the string, however many they are.
+     * <p>
+     * For example:
+     * <pre>assertThat("myfoobarbaz", containsAnyOf(Arrays.asList("qux", "bar")))</pre>
+     *
+     * @param substrings the substrings, one of them at least must be contained within matching strings
+     */
+    public static Matcher<String> containsAnyOf( Iterable<String> substrings )
+    {
+        return StringContainsSubstrings.containsAnyOf( substrings, false );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains at least one of
+     * the specified substrings.
+     * <p>
+     * For example:
+     * <pre>assertThat("myfoobarbaz", containsAnyOf("qux", "bar"))</pre>
+     *
+     * @param substrings the substrings, one of them at least must be contained within matching strings
+     */
+    public static Matcher<String> containsAnyOf( String... substrings )
+    {
+        return StringContainsSubstrings.containsAnyOf( Arrays.asList( substrings ), false );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains at least one of
+     * the specified substrings, ignoring case.
+     * <p>
+     * For example:
+     * <pre>assertThat("myFooBarBaz", containsAnyOfIgnoringCase(Arrays.asList("qux", "bar")))</pre>
+     *
+     * @param substrings the substrings, one of them at least must be contained within matching strings
+     */
+    public static Matcher<String> containsAnyOfIgnoringCase( Iterable<String> substrings )
+    {
+        return StringContainsSubstrings.containsAnyOf( substrings, true );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, regardless of the order of their appearance.
+     * The substrings are searched in a single pass over the string, however many they are.
+     * <p>
+     * For example:
+     * <pre>assertThat("myfoobarbaz", containsAllOf(Arrays.asList("bar", "foo")))</pre>
+     *
+     * @param substrings the substrings that must be contained within matching strings
+     */
+    public static Matcher<String> containsAllOf( Iterable<String> substrings )
+    {
+        return StringContainsSubstrings.containsAllOf( substrings, false );
     }
 
     /**
@@ -214,14 +300,28 @@ public final class StringMatchers
      * the specified substrings, regardless of the order of their appearance.
      * <p>
      * For example:
-     * <pre>assertThat("myfoobarbaz", stringContainsInOrder("bar", "foo"))</pre>
+     * <pre>assertThat("myfoobarbaz", containsAllOf("bar", "foo"))</pre>
      *
      * @param substrings the substrings that must be contained within matching strings
      */
-//    public static Matcher<String> stringContainsInOrder( String... substrings )
-//    {
-//        return StringContainsInOrder.stringContainsInOrder( substrings );
-//    }
+    public static Matcher<String> containsAllOf( String... substrings )
+    {
+        return StringContainsSubstrings.containsAllOf( Arrays.asList( substrings ), false );
+    }
+
+    /**
+     * Creates a matcher of {@link String} that matches when the examined string contains all of
+     * the specified substrings, regardless of the order of their appearance, and ignoring case.
+     * <p>
+     * For example:
+     * <pre>assertThat("myFooBarBaz", containsAllOfIgnoringCase(Arrays.asList("bar", "foo")))</pre>
+     *
+     * @param substrings the substrings that must be contained within matching strings
+     */
+    public static Matcher<String> containsAllOfIgnoringCase( Iterable<String> substrings )
+    {
+        return StringContainsSubstrings.containsAllOf( substrings, true );
+    }
 
     /**
      * Creates a matcher of {@link String} that matches when the examined string has zero length.
@@ -0,0 +1,431 @@
+package selenium.boot.core.matchers;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import selenium.boot.utils.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+
+
+
+/**
+ * An Aho-Corasick automaton, finding any number of substrings in a single pass over the text.
+ * <p>
+ * The automaton is immutable and thread safe. {@link #compile(Iterable, boolean)} shares the automata of the same
+ * substrings through a bounded cache, so matchers created again in a loop do not build them again.
+ * When ignoring case, the substrings and the text are folded character by character as
+ * {@link String#regionMatches(boolean, int, String, int, int)} does.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class SubstringAutomaton
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final int MAXIMUM_CACHE_SIZE = 256;
+
+    private static final Cache<List<Object>, SubstringAutomaton> AUTOMATA =
+            CacheBuilder.newBuilder().maximumSize( MAXIMUM_CACHE_SIZE ).build();
+
+    private static final char ASCII_LIMIT = 0x80;
+
+    private static final int ROOT = 0;
+
+    private static final int NONE = -1;
+
+    private final List<String> substrings;
+
+    private final boolean ignoringCase;
+
+    /**
+     * The distinct substrings, folded when ignoring case; {@link #sequence} refers to them by index.
+     */
+    private final String[] patterns;
+
+    private final int[] sequence;
+
+    private final int emptyPattern;
+
+    /**
+     * The transitions of the root for the ascii characters, the most frequent lookups.
+     */
+    private final int[] rootNext = new int[ ASCII_LIMIT ];
+
+    private final char[][] labels;
+
+    private final int[][] targets;
+
+    private final int[] failure;
+
+    /**
+     * The pattern ending at each state, or {@link #NONE}.
+     */
+    private final int[] terminal;
+
+    /**
+     * The longest proper suffix state ending a pattern, or {@link #NONE}.
+     */
+    private final int[] outputLink;
+
+    private SubstringAutomaton( List<String> substrings, boolean ignoringCase )
+    {
+        this.substrings = substrings;
+        this.ignoringCase = ignoringCase;
+        this.sequence = new int[ substrings.size() ];
+
+        final Map<String, Integer> distinct = new HashMap<>();
+        for( int i = 0; i < substrings.size(); i++ )
+        {
+            final String pattern = ignoringCase ? fold( substrings.get( i ) ) : substrings.get( i );
+            sequence[ i ] = distinct.computeIfAbsent( pattern, key -> distinct.size() );
+        }
+        this.patterns = new String[ distinct.size() ];
+        distinct.forEach( ( pattern, index ) -> patterns[ index ] = pattern );
+        this.emptyPattern = distinct.getOrDefault( "", NONE );
+
+        final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        final List<Integer> ends = new ArrayList<>();
+        trie.add( new TreeMap<>() );
+        ends.add( NONE );
+        for( int p = 0; p < patterns.length; p++ )
+        {
+            int state = ROOT;
+            for( int i = 0; i < patterns[ p ].length(); i++ )
+            {
+                final Integer next = trie.get( state ).get( patterns[ p ].charAt( i ) );
+                if( next == null )
+                {
+                    trie.get( state ).put( patterns[ p ].charAt( i ), trie.size() );
+                    state = trie.size();
+                    trie.add( new TreeMap<>() );
+                    ends.add( NONE );
+                }
+                else
+                {
+                    state = next;
+                }
+            }
+            if( state != ROOT )
+            {
+                ends.set( state, p );
+            }
+        }
+
+        final int states = trie.size();
+        this.labels = new char[ states ][];
+        this.targets = new int[ states ][];
+        this.terminal = new int[ states ];
+        for( int state = 0; state < states; state++ )
+        {
+            final TreeMap<Character, Integer> children = trie.get( state );
+            labels[ state ] = new char[ children.size() ];
+            targets[ state ] = new int[ children.size() ];
+            int i = 0;
+            for( Map.Entry<Character, Integer> child : children.entrySet() )
+            {
+                labels[ state ][ i ] = child.getKey();
+                targets[ state ][ i++ ] = child.getValue();
+            }
+            terminal[ state ] = ends.get( state );
+        }
+        for( char c = 0; c < ASCII_LIMIT; c++ )
+        {
+            rootNext[ c ] = Math.max( ROOT, child( ROOT, c ) );
+        }
+
+        this.failure = new int[ states ];
+        this.outputLink = new int[ states ];
+        outputLink[ ROOT ] = NONE;
+        final Deque<Integer> queue = new ArrayDeque<>();
+        queue.add( ROOT );
+        while( !queue.isEmpty() )
+        {
+            final int state = queue.poll();
+            for( int i = 0; i < labels[ state ].length; i++ )
+            {
+                final int target = targets[ state ][ i ];
+                final int fallback = state == ROOT ? ROOT : next( failure[ state ], labels[ state ][ i ] );
+                failure[ target ] = fallback;
+                outputLink[ target ] = terminal[ fallback ] != NONE ? fallback : outputLink[ fallback ];
+                queue.add( target );
+            }
+        }
+    }
+
+    //endregion
+
+    /**
+     * Returns the automaton of the substrings, built once and then shared while cached.
+     *
+     * @param substrings   the substrings to find, in order; duplicates are allowed
+     * @param ignoringCase whether the case of the substrings and of the text is ignored
+     *
+     * @return the automaton
+     */
+    public static SubstringAutomaton compile( Iterable<String> substrings, boolean ignoringCase )
+    {
+        Assert.notNull( substrings, "substrings must not be null" );
+        final List<String> copy = new ArrayList<>();
+        for( String substring : substrings )
+        {
+            Assert.notNull( substring, "substrings must not contain null" );
+            copy.add( substring );
+        }
+        final List<String> needles = Collections.unmodifiableList( copy );
+        final List<Object> key = new ArrayList<>( 2 );
+        key.add( needles );
+        key.add( ignoringCase );
+        try
+        {
+            return AUTOMATA.get( key, () -> new SubstringAutomaton( needles, ignoringCase ) );
+        }
+        catch( ExecutionException | UncheckedExecutionException e )
+        {
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    /**
+     * @return the substrings, in the order given
+     */
+    public List<String> getSubstrings()
+    {
+        return substrings;
+    }
+
+    public boolean isIgnoringCase()
+    {
+        return ignoringCase;
+    }
+
+    /**
+     * @return {@code true} if the text contains at least one of the substrings
+     */
+    public boolean containsAny( CharSequence text )
+    {
+        return count( scan( text, 1 ) ) > 0;
+    }
+
+    /**
+     * @return {@code true} if the text contains every substring, in any order
+     */
+    public boolean containsAll( CharSequence text )
+    {
+        return count( scan( text, patterns.length ) ) == patterns.length;
+    }
+
+    /**
+     * @return the substrings not contained in the text, in the order given
+     */
+    public List<String> missingFrom( CharSequence text )
+    {
+        final boolean[] found = scan( text, patterns.length );
+        final List<String> missing = new ArrayList<>();
+        for( int i = 0; i < sequence.length; i++ )
+        {
+            if( !found[ sequence[ i ] ] )
+            {
+                missing.add( substrings.get( i ) );
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Tells whether the text contains the substrings in order, as successive {@link String#indexOf(String, int)}
+     * calls do: each substring is searched from the start of the previous one, so occurrences may overlap.
+     *
+     * @return {@code true} if the text contains the substrings in order
+     */
+    public boolean containsInOrder( CharSequence text )
+    {
+        // the index of the next substring to find, and the start of the previous one
+        final int[] cursor = new int[ 2 ];
+        settle( text, cursor, 0 );
+        if( cursor[ 0 ] == sequence.length )
+        {
+            return true;
+        }
+        int state = ROOT;
+        for( int i = 0; i < text.length(); i++ )
+        {
+            state = next( state, foldAt( text, i ) );
+            final int wanted = sequence[ cursor[ 0 ] ];
+            for( int output = terminal[ state ] != NONE ? state : outputLink[ state ]; output != NONE;
+                 output = outputLink[ output ] )
+            {
+                if( terminal[ output ] != wanted )
+                {
+                    continue;
+                }
+                final int start = i + 1 - patterns[ wanted ].length();
+                if( start >= cursor[ 1 ] )
+                {
+                    cursor[ 0 ]++;
+                    cursor[ 1 ] = start;
+                    settle( text, cursor, i + 1 );
+                    if( cursor[ 0 ] == sequence.length )
+                    {
+                        return true;
+                    }
+                }
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the distinct patterns in the text, stopping once the wanted number is found.
+     */
+    private boolean[] scan( CharSequence text, int wanted )
+    {
+        final boolean[] found = new boolean[ patterns.length ];
+        int remaining = Math.min( wanted, patterns.length );
+        if( emptyPattern != NONE )
+        {
+            found[ emptyPattern ] = true;
+            remaining--;
+        }
+        int state = ROOT;
+        for( int i = 0; i < text.length() && remaining > 0; i++ )
+        {
+            state = next( state, foldAt( text, i ) );
+            for( int output = terminal[ state ] != NONE ? state : outputLink[ state ]; output != NONE;
+                 output = outputLink[ output ] )
+            {
+                if( !found[ terminal[ output ] ] )
+                {
+                    found[ terminal[ output ] ] = true;
+                    remaining--;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int count( boolean[] found )
+    {
+        int count = 0;
+        for( boolean b : found )
+        {
+            count += b ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Advances the cursor over the next substrings whose occurrence ends within the text already scanned; they were
+     * passed by the scan before being searched. The region examined is at most as long as the previous substring.
+     */
+    private void settle( CharSequence text, int[] cursor, int limit )
+    {
+        while( cursor[ 0 ] < sequence.length )
+        {
+            final String pattern = patterns[ sequence[ cursor[ 0 ] ] ];
+            int start = cursor[ 1 ];
+            while( start <= limit - pattern.length() && !regionMatches( text, start, pattern ) )
+            {
+                start++;
+            }
+            if( start > limit - pattern.length() )
+            {
+                return;
+            }
+            cursor[ 0 ]++;
+            cursor[ 1 ] = start;
+        }
+    }
+
+    private boolean regionMatches( CharSequence text, int offset, String pattern )
+    {
+        for( int i = 0; i < pattern.length(); i++ )
+        {
+            if( foldAt( text, offset + i ) != pattern.charAt( i ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int next( int state, char c )
+    {
+        while( state != ROOT )
+        {
+            final int target = child( state, c );
+            if( target != NONE )
+            {
+                return target;
+            }
+            state = failure[ state ];
+        }
+        return c < ASCII_LIMIT ? rootNext[ c ] : Math.max( ROOT, child( ROOT, c ) );
+    }
+
+    private int child( int state, char c )
+    {
+        final char[] keys = labels[ state ];
+        int low = 0;
+        int high = keys.length - 1;
+        while( low <= high )
+        {
+            final int middle = ( low + high ) >>> 1;
+            if( keys[ middle ] < c )
+            {
+                low = middle + 1;
+            }
+            else if( keys[ middle ] > c )
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return targets[ state ][ middle ];
+            }
+        }
+        return NONE;
+    }
+
+    private char foldAt( CharSequence text, int index )
+    {
+        final char c = text.charAt( index );
+        return ignoringCase ? fold( c ) : c;
+    }
+
+    private static String fold( String string )
+    {
+        final char[] folded = new char[ string.length() ];
+        for( int i = 0; i < folded.length; i++ )
+        {
+            folded[ i ] = fold( string.charAt( i ) );
+        }
+        return new String( folded );
+    }
+
+    private static char fold( char c )
+    {
+        if( c < ASCII_LIMIT )
+        {
+            return c >= 'A' && c <= 'Z' ? ( char ) ( c + ( 'a' - 'A' ) ) : c;
+        }
+        return Character.toLowerCase( Character.toUpperCase( c ) );
+    }
+}
@@ -0,0 +1,92 @@
+package selenium.boot.core.matchers;
+
+
+import org.hamcrest.Matcher;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * Compares the case insensitive matchers with {@link String#regionMatches(boolean, int, String, int, int)}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class ExtendedSubstringMatcherTest
+{
+    /**
+     * Ascii letters, and the characters folding to them or to the same letter: the Kelvin sign, the dotted and dotless
+     * i, the long s and the micro sign.
+     */
+    private static final String ALPHABET = "aAkKiIsSmM\u212A\u0130\u0131\u017F\u00B5\u03BC\u039C ";
+
+    @Test
+    public void foldsTheCharactersFoldingToAscii()
+    {
+        assertTrue( ExtendedStringContains.containsStringIgnoringCase( "\u212A" ).matches( "Kelvin" ) );
+        assertTrue( ExtendedStringContains.containsStringIgnoringCase( "kelvin" ).matches( "\u212Aelvin" ) );
+        assertTrue( ExtendedStringContains.containsStringIgnoringCase( "\u0131" ).matches( "ISTANBUL" ) );
+        assertTrue( ExtendedStringContains.containsStringIgnoringCase( "is" ).matches( "\u0130\u017F" ) );
+        assertTrue( ExtendedStringStartsWith.startsWithIgnoringCase( "\u212A" ).matches( "kilo" ) );
+        assertTrue( ExtendedStringEndsWith.endsWithIgnoringCase( "K" ).matches( "5 \u212A" ) );
+        assertFalse( ExtendedStringContains.containsStringIgnoringCase( "\u212A" ).matches( "Celsius" ) );
+    }
+
+    @Test
+    public void agreesWithRegionMatches()
+    {
+        final Random random = new Random( 48 );
+        for( int round = 0; round < 20_000; round++ )
+        {
+            final String text = randomString( random, random.nextInt( 12 ) );
+            final String substring = randomString( random, random.nextInt( 4 ) );
+
+            assertEquals( ExtendedStringContains.containsStringIgnoringCase( substring ).matches( text ),
+                    contains( text, substring ), describe( text, substring ) );
+            assertEquals( matches( ExtendedStringStartsWith.startsWithIgnoringCase( substring ), text ),
+                    text.regionMatches( true, 0, substring, 0, substring.length() ), describe( text, substring ) );
+            assertEquals( matches( ExtendedStringEndsWith.endsWithIgnoringCase( substring ), text ),
+                    text.regionMatches( true, text.length() - substring.length(), substring, 0, substring.length() ),
+                    describe( text, substring ) );
+        }
+    }
+
+    private static boolean matches( Matcher<String> matcher, String text )
+    {
+        return matcher.matches( text );
+    }
+
+    private static boolean contains( String text, String substring )
+    {
+        for( int i = 0; i <= text.length() - substring.length(); i++ )
+        {
+            if( text.regionMatches( true, i, substring, 0, substring.length() ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String randomString( Random random, int length )
+    {
+        final char[] chars = new char[ length ];
+        for( int i = 0; i < length; i++ )
+        {
+            chars[ i ] = ALPHABET.charAt( random.nextInt( ALPHABET.length() ) );
+        }
+        return new String( chars );
+    }
+
+    private static String describe( String text, String substring )
+    {
+        return "\"" + substring + "\" in \"" + text + "\"";
+    }
+}
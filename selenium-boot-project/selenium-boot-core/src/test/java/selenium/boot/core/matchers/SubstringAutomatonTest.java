@@ -0,0 +1,142 @@
+package selenium.boot.core.matchers;
+
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * Compares the automaton with successive {@link String#indexOf(String, int)} and
+ * {@link String#regionMatches(boolean, int, String, int, int)} searches.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class SubstringAutomatonTest
+{
+    /**
+     * A small alphabet, so the substrings overlap and repeat, with the characters folding to ascii letters: the Kelvin
+     * sign, the dotted and dotless i and the long s.
+     */
+    private static final String ALPHABET = "abABkKiIsS\u212A\u0130\u0131\u017F";
+
+    @Test
+    public void findsOverlappingSubstrings()
+    {
+        final SubstringAutomaton automaton = SubstringAutomaton.compile( Arrays.asList( "aba", "bab" ), false );
+
+        assertTrue( automaton.containsAll( "abab" ) );
+        assertTrue( automaton.containsInOrder( "ababa" ) );
+        assertFalse( automaton.containsInOrder( "baba" ) );
+        assertTrue( SubstringAutomaton.compile( Arrays.asList( "abab", "ba" ), false ).containsInOrder( "abab" ) );
+    }
+
+    @Test
+    public void findsEmptyAndDuplicateSubstrings()
+    {
+        final SubstringAutomaton automaton = SubstringAutomaton.compile( Arrays.asList( "", "ab", "", "ab" ), false );
+
+        assertTrue( automaton.containsAll( "xab" ) );
+        assertTrue( automaton.containsInOrder( "xab" ) );
+        assertEquals( automaton.missingFrom( "x" ), Arrays.asList( "ab", "ab" ) );
+        assertTrue( SubstringAutomaton.compile( Collections.singletonList( "" ), false ).containsAny( "" ) );
+        assertFalse( SubstringAutomaton.compile( Collections.emptyList(), false ).containsAny( "ab" ) );
+        assertTrue( SubstringAutomaton.compile( Collections.emptyList(), false ).containsInOrder( "ab" ) );
+    }
+
+    @Test
+    public void foldsTheCaseAsRegionMatches()
+    {
+        final SubstringAutomaton kelvin = SubstringAutomaton.compile( Arrays.asList( "\u212Aelvin", "k" ), true );
+        final SubstringAutomaton dotless = SubstringAutomaton.compile( Arrays.asList( "\u0131s", "\u017F" ), true );
+
+        assertTrue( kelvin.containsAll( "KELVIN" ) );
+        assertTrue( kelvin.containsInOrder( "kelvin" ) );
+        assertTrue( dotless.containsAll( "\u0130S" ) );
+        assertTrue( dotless.containsInOrder( "is" ) );
+        assertFalse( SubstringAutomaton.compile( Collections.singletonList( "\u212A" ), false ).containsAny( "K" ) );
+    }
+
+    @Test
+    public void agreesWithIndexOfAndRegionMatches()
+    {
+        final Random random = new Random( 50 );
+        for( int round = 0; round < 20_000; round++ )
+        {
+            final boolean ignoringCase = random.nextBoolean();
+            final String text = randomString( random, random.nextInt( 10 ) );
+            final List<String> substrings = new ArrayList<>();
+            for( int i = random.nextInt( 5 ); i > 0; i-- )
+            {
+                substrings.add( randomString( random, random.nextInt( 4 ) ) );
+            }
+            final SubstringAutomaton automaton = SubstringAutomaton.compile( substrings, ignoringCase );
+            final String scenario = substrings + " in \"" + text + "\"" + ( ignoringCase ? " ignoring case" : "" );
+
+            final List<String> missing = new ArrayList<>();
+            for( String substring : substrings )
+            {
+                if( indexOf( text, substring, 0, ignoringCase ) < 0 )
+                {
+                    missing.add( substring );
+                }
+            }
+            assertEquals( automaton.missingFrom( text ), missing, scenario );
+            assertEquals( automaton.containsAll( text ), missing.isEmpty(), scenario );
+            assertEquals( automaton.containsAny( text ), missing.size() < substrings.size(), scenario );
+            assertEquals( automaton.containsInOrder( text ), containsInOrder( text, substrings, ignoringCase ),
+                    scenario );
+        }
+    }
+
+    private static boolean containsInOrder( String text, List<String> substrings, boolean ignoringCase )
+    {
+        int from = 0;
+        for( String substring : substrings )
+        {
+            from = indexOf( text, substring, from, ignoringCase );
+            if( from < 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf( String text, String substring, int from, boolean ignoringCase )
+    {
+        if( !ignoringCase )
+        {
+            return text.indexOf( substring, from );
+        }
+        for( int i = from; i <= text.length() - substring.length(); i++ )
+        {
+            if( text.regionMatches( true, i, substring, 0, substring.length() ) )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String randomString( Random random, int length )
+    {
+        final char[] chars = new char[ length ];
+        for( int i = 0; i < length; i++ )
+        {
+            chars[ i ] = ALPHABET.charAt( random.nextInt( ALPHABET.length() ) );
+        }
+        return new String( chars );
+    }
+}
@@ -0,0 +1,143 @@
+package selenium.boot.metrics;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import selenium.boot.utils.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+
+/**
+ * Collects the latency of browser commands, grouped by the operation that issued them and by command type.
+ * <p>
+ * The operation ( usually the matcher being evaluated ) is a free label, so the report answers both
+ * "which commands are slow" and "which assertions spend the round trips". The collected data can be read
+ * programmatically through {@link #getHistograms()} or written as JSON with {@link #writeTo(Path)}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CommandMetrics
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable( SerializationFeature.INDENT_OUTPUT );
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0d;
+
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    public CommandMetrics()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Records a command execution.
+     *
+     * @param operation the label of the operation that issued the command
+     * @param command   the command type
+     * @param nanos     the command latency
+     */
+    public void record( String operation, String command, long nanos )
+    {
+        histograms.computeIfAbsent( operation, key -> new ConcurrentHashMap<>() )
+                .computeIfAbsent( command, key -> new LatencyHistogram() )
+                .record( nanos );
+    }
+
+    /**
+     * @return the histograms, by operation then by command, sorted by name
+     */
+    public Map<String, Map<String, LatencyHistogram>> getHistograms()
+    {
+        final Map<String, Map<String, LatencyHistogram>> copy = new TreeMap<>();
+        histograms.forEach( ( operation, commands ) -> copy.put( operation, Collections.unmodifiableMap( new TreeMap<>( commands ) ) ) );
+        return Collections.unmodifiableMap( copy );
+    }
+
+    /**
+     * @return the number of commands recorded, all operations together
+     */
+    public long getTotalCount()
+    {
+        long total = 0;
+        for( Map<String, LatencyHistogram> commands : histograms.values() )
+        {
+            for( LatencyHistogram histogram : commands.values() )
+            {
+                total += histogram.getCount();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Discards all the recorded data.
+     */
+    public void reset()
+    {
+        histograms.clear();
+    }
+
+    /**
+     * Writes a JSON summary of every histogram, creating the parent directories when needed.
+     *
+     * @param file the target file, overwritten if it exists
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo( Path file ) throws IOException
+    {
+        Assert.notNull( file, "file must not be null" );
+        if( file.getParent() != null )
+        {
+            Files.createDirectories( file.getParent() );
+        }
+        MAPPER.writeValue( file.toFile(), summary() );
+    }
+
+    private Map<String, Map<String, Map<String, Object>>> summary()
+    {
+        final Map<String, Map<String, Map<String, Object>>> summary = new LinkedHashMap<>();
+        getHistograms().forEach( ( operation, commands ) -> {
+            final Map<String, Map<String, Object>> byCommand = new LinkedHashMap<>();
+            commands.forEach( ( command, histogram ) -> {
+                final Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put( "count", histogram.getCount() );
+                stats.put( "totalMs", histogram.getTotalNanos() / NANOS_PER_MILLI );
+                stats.put( "meanMs", histogram.getMeanNanos() / NANOS_PER_MILLI );
+                stats.put( "p50Ms", histogram.getPercentileNanos( 50 ) / NANOS_PER_MILLI );
+                stats.put( "p90Ms", histogram.getPercentileNanos( 90 ) / NANOS_PER_MILLI );
+                stats.put( "p99Ms", histogram.getPercentileNanos( 99 ) / NANOS_PER_MILLI );
+                stats.put( "maxMs", histogram.getMaxNanos() / NANOS_PER_MILLI );
+                byCommand.put( command, stats );
+            } );
+            summary.put( operation, byCommand );
+        } );
+        return summary;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CommandMetrics{commands=" + getTotalCount() + ", operations=" + histograms.keySet() + "}";
+    }
+}
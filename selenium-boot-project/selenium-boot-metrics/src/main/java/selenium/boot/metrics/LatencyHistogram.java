@@ -0,0 +1,144 @@
+package selenium.boot.metrics;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+/**
+ * A lock-free latency histogram with power of two buckets.
+ * <p>
+ * Bucket {@code i} counts the samples in {@code [2^i, 2^(i+1))} nanoseconds, so a percentile is reported as the
+ * upper bound of its bucket, at most twice the real value. That precision is enough to tell a 2 ms command from a
+ * 200 ms one, at the cost of a single {@link LongAdder} increment per sample.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class LatencyHistogram
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[ BUCKETS ];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator( Math::max, 0L );
+
+    public LatencyHistogram()
+    {
+        for( int i = 0; i < BUCKETS; i++ )
+        {
+            buckets[ i ] = new LongAdder();
+        }
+    }
+
+    //endregion
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos the measured latency in nanoseconds, negative values are recorded as zero
+     */
+    public void record( long nanos )
+    {
+        final long sample = Math.max( 0L, nanos );
+        buckets[ bucketOf( sample ) ].increment();
+        count.increment();
+        totalNanos.add( sample );
+        maxNanos.accumulate( sample );
+    }
+
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    public long getTotalNanos()
+    {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos()
+    {
+        final long samples = getCount();
+        return samples == 0 ? 0L : getTotalNanos() / samples;
+    }
+
+    /**
+     * Estimates a percentile.
+     *
+     * @param percentile the percentile, in the range {@code (0, 100]}
+     *
+     * @return the upper bound of the bucket holding the percentile, capped by the maximum, in nanoseconds
+     */
+    public long getPercentileNanos( double percentile )
+    {
+        final long samples = getCount();
+        if( samples == 0 )
+        {
+            return 0L;
+        }
+        final long rank = ( long ) Math.ceil( samples * percentile / 100.0d );
+        long seen = 0;
+        for( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += buckets[ i ].sum();
+            if( seen >= rank )
+            {
+                return Math.min( upperBound( i ), getMaxNanos() );
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Clears all samples.
+     */
+    public void reset()
+    {
+        for( LongAdder bucket : buckets )
+        {
+            bucket.reset();
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    private static int bucketOf( long nanos )
+    {
+        return nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros( nanos );
+    }
+
+    private static long upperBound( int bucket )
+    {
+        return bucket >= BUCKETS - 2 ? Long.MAX_VALUE : ( 1L << ( bucket + 1 ) ) - 1;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LatencyHistogram{count=" + getCount()
+               + ", mean=" + TimeUnit.NANOSECONDS.toMicros( getMeanNanos() ) + "us"
+               + ", p90=" + TimeUnit.NANOSECONDS.toMicros( getPercentileNanos( 90 ) ) + "us"
+               + ", max=" + TimeUnit.NANOSECONDS.toMicros( getMaxNanos() ) + "us}";
+    }
+}
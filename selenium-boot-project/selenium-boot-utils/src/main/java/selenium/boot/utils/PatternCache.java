@@ -0,0 +1,147 @@
+package selenium.boot.utils;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+
+
+/**
+ * A shared, bounded cache of compiled regular expressions, for the string matchers and {@link StringUtils}.
+ * <p>
+ * Patterns are keyed by expression and flags, and the least recently used ones are evicted beyond
+ * {@link #MAXIMUM_SIZE} entries. {@link #stats()} reports the hit rate, to tell whether the bound fits the workload.
+ * Compilation errors are not cached; the {@link java.util.regex.PatternSyntaxException} is thrown on each call.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class PatternCache
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final int MAXIMUM_SIZE = 512;
+
+    private static final Cache<Key, Pattern> PATTERNS =
+            CacheBuilder.newBuilder().maximumSize( MAXIMUM_SIZE ).recordStats().build();
+
+    private PatternCache()
+    {
+        // utility class
+    }
+
+    //endregion
+
+    /**
+     * Compiles a regular expression, or returns the pattern compiled earlier.
+     *
+     * @param regex the expression to be compiled
+     *
+     * @return the compiled pattern
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+     */
+    public static Pattern compile( String regex )
+    {
+        return compile( regex, 0 );
+    }
+
+    /**
+     * Compiles a regular expression with flags, or returns the pattern compiled earlier.
+     *
+     * @param regex the expression to be compiled
+     * @param flags the match flags, a bit mask of the {@link Pattern} flags
+     *
+     * @return the compiled pattern
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+     */
+    public static Pattern compile( String regex, int flags )
+    {
+        Assert.notNull( regex, "regex must not be null" );
+        try
+        {
+            return PATTERNS.get( new Key( regex, flags ), () -> Pattern.compile( regex, flags ) );
+        }
+        catch( UncheckedExecutionException e )
+        {
+            throw ( RuntimeException ) e.getCause();
+        }
+        catch( ExecutionException e )
+        {
+            // Pattern.compile throws no checked exception
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    /**
+     * @return the hit, miss and eviction counts, e.g. {@link CacheStats#hitRate()}
+     */
+    public static CacheStats stats()
+    {
+        return PATTERNS.stats();
+    }
+
+    /**
+     * @return the number of cached patterns
+     */
+    public static long size()
+    {
+        return PATTERNS.size();
+    }
+
+    /**
+     * Discards every cached pattern. The statistics are cumulative, and are not reset.
+     */
+    public static void clear()
+    {
+        PATTERNS.invalidateAll();
+    }
+
+
+    private static final class Key
+    {
+        private final String regex;
+
+        private final int flags;
+
+        private Key( String regex, int flags )
+        {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if( this == o )
+            {
+                return true;
+            }
+            if( !( o instanceof Key ) )
+            {
+                return false;
+            }
+            final Key key = ( Key ) o;
+            return flags == key.flags && regex.equals( key.regex );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash( regex, flags );
+        }
+    }
+}
@@ -69,6 +69,9 @@ public final class StringUtils
 
     public static final char NUL = '\u0000';
 
+    private static final Pattern EMAIL = Pattern.compile(
+            "^[a-zA-Z0-9!#$%&'*+/=?^_`{|}~-]+((\\.[a-zA-Z0-9!#$%&'*+/=?^_`{|}~-]+)?)+@(?:[a-zA-Z0-9](?:[a-zA-Z0-9-]*[a-zA-Z0-9])?\\.)+[a-zA-Z0-9](?:[a-zA-Z0-9\\-]*[a-zA-Z0-9])?$" );
+
     private static final char[] HEX_CHARS = {
             '0', '1', '2', '3',
             '4', '5', '6', '7',
@@ -1157,7 +1160,7 @@ public final class StringUtils
         {
             return source;
         }
-        return Pattern.compile( regex, Pattern.DOTALL ).matcher( source ).replaceAll( replacement );
+        return PatternCache.compile( regex, Pattern.DOTALL ).matcher( source ).replaceAll( replacement );
     }
 
     /**
@@ -4637,7 +4640,7 @@ public final class StringUtils
         {
             return text;
         }
-        return text.replaceAll( regex, replacement );
+        return PatternCache.compile( regex ).matcher( text ).replaceAll( replacement );
     }
 
     /**
@@ -4667,7 +4670,11 @@ public final class StringUtils
     @Nullable
     public static String replaceFirst( @Nullable final String text, @Nullable final String regex, @Nullable final String replacement )
     {
-        return org.apache.commons.lang3.StringUtils.replaceFirst( text, regex, replacement );
+        if( text == null || regex == null || replacement == null )
+        {
+            return text;
+        }
+        return PatternCache.compile( regex ).matcher( text ).replaceFirst( replacement );
     }
 
     /**
@@ -5139,7 +5146,7 @@ public final class StringUtils
 
     public static List<String> splitAndTrim( String delimiter, String str )
     {
-        return Pattern.compile( delimiter )
+        return PatternCache.compile( delimiter )
                        .splitAsStream( str )
                        .map( String:: trim )
                        .collect( Collectors.toList() );
@@ -5297,8 +5304,7 @@ public final class StringUtils
      */
     public static boolean isEmail( String str )
     {
-        return str.matches(
-                "^[a-zA-Z0-9!#$%&'*+/=?^_`{|}~-]+((\\.[a-zA-Z0-9!#$%&'*+/=?^_`{|}~-]+)?)+@(?:[a-zA-Z0-9](?:[a-zA-Z0-9-]*[a-zA-Z0-9])?\\.)+[a-zA-Z0-9](?:[a-zA-Z0-9\\-]*[a-zA-Z0-9])?$" );
+        return EMAIL.matcher( str ).matches();
     }
 
     /**
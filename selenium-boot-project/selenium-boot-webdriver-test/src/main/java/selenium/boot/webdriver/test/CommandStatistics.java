@@ -0,0 +1,89 @@
+package selenium.boot.webdriver.test;
+
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+/**
+ * Counts the commands received by an {@link InMemoryWebDriver}, keyed by their
+ * {@link org.openqa.selenium.remote.DriverCommand} name, so a benchmark can assert how many browser round trips
+ * an operation costs.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class CommandStatistics
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final LongAdder total = new LongAdder();
+
+    CommandStatistics()
+    {
+        super();
+    }
+
+    //endregion
+
+    void record( String command )
+    {
+        counters.computeIfAbsent( command, key -> new LongAdder() ).increment();
+        total.increment();
+    }
+
+    /**
+     * @param command the command name, as defined in {@link org.openqa.selenium.remote.DriverCommand}
+     *
+     * @return the number of times the command was received
+     */
+    public long count( String command )
+    {
+        final LongAdder counter = counters.get( command );
+        return counter == null ? 0L : counter.sum();
+    }
+
+    /**
+     * @return the number of commands received, all kinds together
+     */
+    public long total()
+    {
+        return total.sum();
+    }
+
+    /**
+     * @return a sorted copy of the counters
+     */
+    public Map<String, Long> snapshot()
+    {
+        final Map<String, Long> copy = new TreeMap<>();
+        counters.forEach( ( command, counter ) -> copy.put( command, counter.sum() ) );
+        return Collections.unmodifiableMap( copy );
+    }
+
+    /**
+     * Sets all counters back to zero.
+     */
+    public void reset()
+    {
+        counters.clear();
+        total.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CommandStatistics{total=" + total() + ", commands=" + snapshot() + "}";
+    }
+}
@@ -0,0 +1,171 @@
+package selenium.boot.webdriver.test;
+
+
+import org.jsoup.nodes.Element;
+import selenium.boot.webdriver.matchers.BrowserScripts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+
+/**
+ * Emulates the scripts the {@code selenium.boot.webdriver.matchers} package sends to the browser, so benchmarks
+ * on an {@link InMemoryWebDriver} compare the batched round trips against the per element commands.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class DefaultScripts
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private DefaultScripts()
+    {
+        super();
+    }
+
+    //endregion
+
+    static void install( InMemoryWebDriver driver )
+    {
+        driver.registerScript( BrowserScripts.READ_ELEMENTS_PROPERTY, DefaultScripts::readElementsProperty );
+        driver.registerScript( BrowserScripts.READ_ELEMENT_PROPERTIES, DefaultScripts::readElementProperties );
+        driver.registerScript( BrowserScripts.PROBE_ELEMENTS_ATTACHED, DefaultScripts::probeElementsAttached );
+        driver.registerScript( BrowserScripts.DOCUMENT_STAMP, DefaultScripts::documentStamp );
+        driver.registerScript( BrowserScripts.AWAIT_DOM_CHANGE, DefaultScripts::awaitDomChange );
+        driver.registerScript( BrowserScripts.RUN_COMMAND_BATCH, DefaultScripts::runCommandBatch );
+    }
+
+    private static Object readElementsProperty( InMemoryWebDriver driver, Object... args )
+    {
+        final List<?> elements = ( List<?> ) args[ 0 ];
+        final String kind = ( String ) args[ 1 ];
+        final String name = ( String ) args[ 2 ];
+        final List<String> values = new ArrayList<>( elements.size() );
+        for( Object item : elements )
+        {
+            values.add( read( ( InMemoryWebElement ) item, kind, name ) );
+        }
+        return values;
+    }
+
+    private static Object readElementProperties( InMemoryWebDriver driver, Object... args )
+    {
+        final List<?> elements = ( List<?> ) args[ 0 ];
+        final List<?> reads = ( List<?> ) args[ 1 ];
+        final List<String> values = new ArrayList<>( reads.size() );
+        for( Object item : reads )
+        {
+            final List<?> read = ( List<?> ) item;
+            final int index = ( ( Number ) read.get( 0 ) ).intValue();
+            values.add( read( ( InMemoryWebElement ) elements.get( index ), ( String ) read.get( 1 ),
+                    ( String ) read.get( 2 ) ) );
+        }
+        return values;
+    }
+
+    private static String read( InMemoryWebElement element, String kind, String name )
+    {
+        return "attribute".equals( kind ) ? element.attributeOf( name ) : element.cssValueOf( name );
+    }
+
+    /**
+     * Stale arguments were already rejected by the driver, as a browser would, so every element is attached.
+     */
+    private static Object probeElementsAttached( InMemoryWebDriver driver, Object... args )
+    {
+        final List<?> elements = ( List<?> ) args[ 0 ];
+        final List<Boolean> attached = new ArrayList<>( elements.size() );
+        for( Object item : elements )
+        {
+            attached.add( item != null );
+        }
+        return attached;
+    }
+
+    /**
+     * The document identity stands for the random token, the version for the mutation count.
+     */
+    private static Object documentStamp( InMemoryWebDriver driver, Object... args )
+    {
+        return driver.currentUrl() + " " + Integer.toHexString( System.identityHashCode( driver.document() ) )
+               + " " + driver.version();
+    }
+
+    /**
+     * Every change counts, whatever the observed element and locator; {@link InMemoryWebDriver#mutate} from another
+     * thread ends the wait.
+     */
+    private static Object awaitDomChange( InMemoryWebDriver driver, Object... args )
+    {
+        final String expected = ( String ) args[ 4 ];
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( ( ( Number ) args[ 5 ] ).longValue() );
+        Object stamp = documentStamp( driver );
+        while( stamp.equals( expected ) && deadline - System.nanoTime() > 0 )
+        {
+            LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 1 ) );
+            stamp = documentStamp( driver );
+        }
+        return stamp;
+    }
+
+    /**
+     * Value changes are mutations of the document, as the {@code input} and {@code change} events would be.
+     */
+    private static Object runCommandBatch( InMemoryWebDriver driver, Object... args )
+    {
+        final List<?> elements = ( List<?> ) args[ 0 ];
+        final List<?> steps = ( List<?> ) args[ 1 ];
+        final List<Object> values = new ArrayList<>( steps.size() );
+        for( Object item : steps )
+        {
+            final List<?> step = ( List<?> ) item;
+            final int index = ( ( Number ) step.get( 1 ) ).intValue();
+            final InMemoryWebElement element = ( InMemoryWebElement ) elements.get( index );
+            final String argument = ( String ) step.get( 2 );
+            final Element node = element.node();
+            final String operation = ( String ) step.get( 0 );
+            if( ( "clear".equals( operation ) || "setValue".equals( operation ) )
+                && ( node.hasAttr( "disabled" ) || node.hasAttr( "readonly" ) ) )
+            {
+                // as the script, stops before a value change left to the WebDriver command
+                return values;
+            }
+            Object value = null;
+            switch( operation )
+            {
+                case "clear":
+                    driver.mutate( document -> node.val( "" ) );
+                    break;
+                case "setValue":
+                    driver.mutate( document -> node.val( argument ) );
+                    break;
+                case "attribute":
+                    value = element.attributeOf( argument );
+                    break;
+                case "css":
+                    value = element.cssValueOf( argument );
+                    break;
+                case "tagName":
+                    value = node.tagName();
+                    break;
+                case "selected":
+                    value = node.hasAttr( "checked" ) || node.hasAttr( "selected" );
+                    break;
+                default:
+                    value = !node.hasAttr( "disabled" );
+                    break;
+            }
+            values.add( value );
+        }
+        return values;
+    }
+}
@@ -0,0 +1,716 @@
+package selenium.boot.webdriver.test;
+
+
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.Logs;
+import org.openqa.selenium.remote.DriverCommand;
+import selenium.boot.utils.Assert;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+
+/**
+ * A {@link WebDriver} without browser, serving registered HTML pages from memory.
+ * <p>
+ * Pages are parsed with jsoup and queried with every {@link org.openqa.selenium.By} strategy; XPath is evaluated
+ * by the JDK. Every command is counted in {@link #getStatistics()} under its
+ * {@link DriverCommand} name and delayed by a configurable latency, so a benchmark measures the round trips
+ * an operation costs, deterministically, on a machine that cannot run a browser.
+ * </p>
+ * <p>
+ * Scripts cannot be interpreted: {@link #executeScript(String, Object...)} runs the {@link ScriptHandler} registered
+ * for the exact script text, and returns {@code null} for unknown scripts. Handlers for the scripts of the
+ * {@code selenium.boot.webdriver.matchers} package are registered by default.
+ * </p>
+ * <p>
+ * Like a browser session, the driver is meant to be used by one thread at a time.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class InMemoryWebDriver extends HtmlSearchContext implements WebDriver, JavascriptExecutor
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private static final String BLANK_HTML = "<html><head></head><body></body></html>";
+
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    private final String windowHandle = "in-memory-window-" + SESSIONS.incrementAndGet();
+
+    private final CommandStatistics statistics = new CommandStatistics();
+
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+
+    private final Map<String, ScriptHandler> scripts = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> commandLatencies = new ConcurrentHashMap<>();
+
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+
+    private final List<String> history = new ArrayList<>();
+
+    private volatile long latencyNanos;
+
+    private int historyIndex = -1;
+
+    private String currentUrl;
+
+    private Document document;
+
+    private volatile long version;
+
+    private org.w3c.dom.Document w3cDocument;
+
+    private long w3cVersion = -1L;
+
+    private volatile boolean closed;
+
+    public InMemoryWebDriver()
+    {
+        DefaultScripts.install( this );
+        load( BLANK_PAGE );
+        history.add( BLANK_PAGE );
+        historyIndex = 0;
+    }
+
+    //endregion
+
+    //region Configuration
+
+    /**
+     * Registers a page, served when its url is loaded.
+     *
+     * @param url  the page url
+     * @param html the page source
+     *
+     * @return this driver
+     */
+    public InMemoryWebDriver addPage( String url, String html )
+    {
+        Assert.notNull( url, "url must not be null" );
+        Assert.notNull( html, "html must not be null" );
+        pages.put( url, html );
+        return this;
+    }
+
+    /**
+     * Registers the emulation of a script.
+     *
+     * @param script  the exact script text, as passed to {@link #executeScript(String, Object...)}
+     * @param handler the emulation
+     *
+     * @return this driver
+     */
+    public InMemoryWebDriver registerScript( String script, ScriptHandler handler )
+    {
+        Assert.notNull( script, "script must not be null" );
+        Assert.notNull( handler, "handler must not be null" );
+        scripts.put( script, handler );
+        return this;
+    }
+
+    /**
+     * Sets the simulated latency of every command without a specific latency.
+     *
+     * @param latency the delay added to each command, {@link Duration#ZERO} to disable
+     *
+     * @return this driver
+     */
+    public InMemoryWebDriver setLatency( Duration latency )
+    {
+        Assert.isTrue( !latency.isNegative(), "latency must not be negative" );
+        this.latencyNanos = latency.toNanos();
+        return this;
+    }
+
+    /**
+     * Sets the simulated latency of one command.
+     *
+     * @param command the command name, as defined in {@link DriverCommand}
+     * @param latency the delay added to the command
+     *
+     * @return this driver
+     */
+    public InMemoryWebDriver setLatency( String command, Duration latency )
+    {
+        Assert.notNull( command, "command must not be null" );
+        Assert.isTrue( !latency.isNegative(), "latency must not be negative" );
+        commandLatencies.put( command, latency.toNanos() );
+        return this;
+    }
+
+    /**
+     * @return the counters of the commands received so far
+     */
+    public CommandStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    /**
+     * Changes the current document, as a script of the page would. Elements removed by the change become stale.
+     * The change itself is not counted as a command.
+     *
+     * @param change the change to apply
+     */
+    public void mutate( Consumer<Document> change )
+    {
+        ensureOpen();
+        change.accept( document );
+        version++;
+    }
+
+    //endregion
+
+    //region WebDriver
+
+    @Override
+    public void get( String url )
+    {
+        execute( DriverCommand.GET );
+        navigateTo( url );
+    }
+
+    @Override
+    public String getCurrentUrl()
+    {
+        execute( DriverCommand.GET_CURRENT_URL );
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle()
+    {
+        execute( DriverCommand.GET_TITLE );
+        return document.title();
+    }
+
+    @Override
+    public String getPageSource()
+    {
+        execute( DriverCommand.GET_PAGE_SOURCE );
+        return document.outerHtml();
+    }
+
+    @Override
+    public void close()
+    {
+        execute( DriverCommand.CLOSE );
+        closed = true;
+    }
+
+    @Override
+    public void quit()
+    {
+        if( closed )
+        {
+            return;
+        }
+        execute( DriverCommand.QUIT );
+        closed = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles()
+    {
+        execute( DriverCommand.GET_WINDOW_HANDLES );
+        return Collections.singleton( windowHandle );
+    }
+
+    @Override
+    public String getWindowHandle()
+    {
+        execute( DriverCommand.GET_CURRENT_WINDOW_HANDLE );
+        return windowHandle;
+    }
+
+    @Override
+    public TargetLocator switchTo()
+    {
+        return new InMemoryTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate()
+    {
+        return new InMemoryNavigation();
+    }
+
+    @Override
+    public Options manage()
+    {
+        return new InMemoryOptions();
+    }
+
+    @Override
+    public Object executeScript( String script, Object... args )
+    {
+        execute( DriverCommand.EXECUTE_SCRIPT );
+        return runScript( script, args );
+    }
+
+    @Override
+    public Object executeAsyncScript( String script, Object... args )
+    {
+        execute( DriverCommand.EXECUTE_ASYNC_SCRIPT );
+        return runScript( script, args );
+    }
+
+    //endregion
+
+    //region Search context and package support
+
+    @Override
+    InMemoryWebDriver session()
+    {
+        return this;
+    }
+
+    @Override
+    Element scope()
+    {
+        return document;
+    }
+
+    @Override
+    String findCommand( boolean many )
+    {
+        return many ? DriverCommand.FIND_ELEMENTS : DriverCommand.FIND_ELEMENT;
+    }
+
+    Document document()
+    {
+        return document;
+    }
+
+    String currentUrl()
+    {
+        return currentUrl;
+    }
+
+    /**
+     * @return a counter increased on every load and mutation of the document
+     */
+    long version()
+    {
+        return version;
+    }
+
+    /**
+     * @return a W3C copy of the current document, rebuilt only after the document changed
+     */
+    org.w3c.dom.Document w3cDocument()
+    {
+        if( w3cVersion != version )
+        {
+            w3cDocument = new W3CDom().fromJsoup( document );
+            w3cVersion = version;
+        }
+        return w3cDocument;
+    }
+
+    WebElement wrap( Element element )
+    {
+        return new InMemoryWebElement( this, element );
+    }
+
+    /**
+     * Counts the command, waits for the simulated latency, then verifies the session is still open.
+     *
+     * @param command the command name
+     */
+    void execute( String command )
+    {
+        statistics.record( command );
+        final long nanos = commandLatencies.getOrDefault( command, latencyNanos );
+        if( nanos > 0 )
+        {
+            final long deadline = System.nanoTime() + nanos;
+            for( long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime() )
+            {
+                LockSupport.parkNanos( remaining );
+            }
+        }
+        ensureOpen();
+    }
+
+    void ensureOpen()
+    {
+        if( closed )
+        {
+            throw new NoSuchSessionException( "the in-memory session " + windowHandle + " was quit" );
+        }
+    }
+
+    /**
+     * Applies the default action of a click: toggles check boxes, selects radio buttons and options,
+     * and follows links to registered pages.
+     */
+    void click( Element element )
+    {
+        final String tag = element.tagName();
+        final String type = element.attr( "type" ).toLowerCase();
+        if( "input".equals( tag ) && "checkbox".equals( type ) )
+        {
+            mutate( doc -> toggle( element, "checked" ) );
+        }
+        else if( "input".equals( tag ) && "radio".equals( type ) )
+        {
+            mutate( doc -> {
+                for( Element radio : doc.select( "input[type=radio]" ) )
+                {
+                    if( radio.attr( "name" ).equals( element.attr( "name" ) ) )
+                    {
+                        radio.removeAttr( "checked" );
+                    }
+                }
+                element.attr( "checked", true );
+            } );
+        }
+        else if( "option".equals( tag ) )
+        {
+            final Element select = element.parents().select( "select" ).first();
+            mutate( doc -> {
+                if( select != null && select.hasAttr( "multiple" ) )
+                {
+                    toggle( element, "selected" );
+                    return;
+                }
+                if( select != null )
+                {
+                    select.getElementsByTag( "option" ).removeAttr( "selected" );
+                }
+                element.attr( "selected", true );
+            } );
+        }
+        else if( "a".equals( tag ) && element.hasAttr( "href" ) )
+        {
+            final String href = element.absUrl( "href" ).isEmpty() ? element.attr( "href" ) : element.absUrl( "href" );
+            if( pages.containsKey( href ) )
+            {
+                navigateTo( href );
+            }
+        }
+    }
+
+    //endregion
+
+    private static void toggle( Element element, String attribute )
+    {
+        if( element.hasAttr( attribute ) )
+        {
+            element.removeAttr( attribute );
+        }
+        else
+        {
+            element.attr( attribute, true );
+        }
+    }
+
+    private void navigateTo( String url )
+    {
+        load( url );
+        while( history.size() > historyIndex + 1 )
+        {
+            history.remove( history.size() - 1 );
+        }
+        history.add( url );
+        historyIndex++;
+    }
+
+    private void load( String url )
+    {
+        final String html = BLANK_PAGE.equals( url ) ? BLANK_HTML : pages.get( url );
+        if( html == null )
+        {
+            throw new WebDriverException( "no page registered for " + url );
+        }
+        final Document loaded = Jsoup.parse( html, url );
+        loaded.outputSettings().prettyPrint( false );
+        document = loaded;
+        currentUrl = url;
+        version++;
+    }
+
+    private Object runScript( String script, Object[] args )
+    {
+        for( Object arg : args )
+        {
+            verifyArgument( arg );
+        }
+        final ScriptHandler handler = scripts.get( script );
+        return handler == null ? null : handler.execute( this, args );
+    }
+
+    /**
+     * Fails like a browser when a script argument references a stale element.
+     */
+    private static void verifyArgument( Object arg )
+    {
+        if( arg instanceof InMemoryWebElement )
+        {
+            ( ( InMemoryWebElement ) arg ).node();
+        }
+        else if( arg instanceof Collection )
+        {
+            for( Object item : ( Collection<?> ) arg )
+            {
+                verifyArgument( item );
+            }
+        }
+        else if( arg instanceof Map )
+        {
+            for( Object item : ( ( Map<?, ?> ) arg ).values() )
+            {
+                verifyArgument( item );
+            }
+        }
+        else if( arg instanceof Object[] )
+        {
+            for( Object item : ( Object[] ) arg )
+            {
+                verifyArgument( item );
+            }
+        }
+    }
+
+
+    private final class InMemoryNavigation implements Navigation
+    {
+        @Override
+        public void back()
+        {
+            execute( DriverCommand.GO_BACK );
+            if( historyIndex > 0 )
+            {
+                load( history.get( --historyIndex ) );
+            }
+        }
+
+        @Override
+        public void forward()
+        {
+            execute( DriverCommand.GO_FORWARD );
+            if( historyIndex < history.size() - 1 )
+            {
+                load( history.get( ++historyIndex ) );
+            }
+        }
+
+        @Override
+        public void to( String url )
+        {
+            get( url );
+        }
+
+        @Override
+        public void to( URL url )
+        {
+            get( url.toString() );
+        }
+
+        @Override
+        public void refresh()
+        {
+            execute( DriverCommand.REFRESH );
+            load( currentUrl );
+        }
+    }
+
+
+    private final class InMemoryOptions implements Options
+    {
+        @Override
+        public void addCookie( Cookie cookie )
+        {
+            execute( DriverCommand.ADD_COOKIE );
+            cookies.put( cookie.getName(), cookie );
+        }
+
+        @Override
+        public void deleteCookieNamed( String name )
+        {
+            execute( DriverCommand.DELETE_COOKIE );
+            cookies.remove( name );
+        }
+
+        @Override
+        public void deleteCookie( Cookie cookie )
+        {
+            deleteCookieNamed( cookie.getName() );
+        }
+
+        @Override
+        public void deleteAllCookies()
+        {
+            execute( DriverCommand.DELETE_ALL_COOKIES );
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies()
+        {
+            execute( DriverCommand.GET_ALL_COOKIES );
+            return new LinkedHashSet<>( cookies.values() );
+        }
+
+        @Override
+        public Cookie getCookieNamed( String name )
+        {
+            // RemoteWebDriver reads all the cookies and filters them locally
+            execute( DriverCommand.GET_ALL_COOKIES );
+            return cookies.get( name );
+        }
+
+        @Override
+        public Timeouts timeouts()
+        {
+            return new InMemoryTimeouts();
+        }
+
+        @Override
+        public ImeHandler ime()
+        {
+            throw new UnsupportedCommandException( "the in-memory driver has no input method" );
+        }
+
+        @Override
+        public Window window()
+        {
+            throw new UnsupportedCommandException( "the in-memory driver has no window" );
+        }
+
+        @Override
+        public Logs logs()
+        {
+            throw new UnsupportedCommandException( "the in-memory driver has no logs" );
+        }
+    }
+
+
+    private final class InMemoryTimeouts implements Timeouts
+    {
+        @Override
+        public Timeouts implicitlyWait( long time, TimeUnit unit )
+        {
+            execute( DriverCommand.SET_TIMEOUT );
+            return this;
+        }
+
+        @Override
+        public Timeouts setScriptTimeout( long time, TimeUnit unit )
+        {
+            execute( DriverCommand.SET_TIMEOUT );
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout( long time, TimeUnit unit )
+        {
+            execute( DriverCommand.SET_TIMEOUT );
+            return this;
+        }
+    }
+
+
+    private final class InMemoryTargetLocator implements TargetLocator
+    {
+        @Override
+        public WebDriver frame( int index )
+        {
+            execute( DriverCommand.SWITCH_TO_FRAME );
+            throw new NoSuchFrameException( "the in-memory driver does not load frames" );
+        }
+
+        @Override
+        public WebDriver frame( String nameOrId )
+        {
+            execute( DriverCommand.SWITCH_TO_FRAME );
+            throw new NoSuchFrameException( "the in-memory driver does not load frames" );
+        }
+
+        @Override
+        public WebDriver frame( WebElement frameElement )
+        {
+            execute( DriverCommand.SWITCH_TO_FRAME );
+            throw new NoSuchFrameException( "the in-memory driver does not load frames" );
+        }
+
+        @Override
+        public WebDriver parentFrame()
+        {
+            execute( DriverCommand.SWITCH_TO_PARENT_FRAME );
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window( String nameOrHandle )
+        {
+            execute( DriverCommand.SWITCH_TO_WINDOW );
+            if( !windowHandle.equals( nameOrHandle ) )
+            {
+                throw new NoSuchWindowException( "no window " + nameOrHandle );
+            }
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent()
+        {
+            execute( DriverCommand.SWITCH_TO_FRAME );
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement()
+        {
+            execute( DriverCommand.GET_ACTIVE_ELEMENT );
+            return wrap( document.body() );
+        }
+
+        @Override
+        public Alert alert()
+        {
+            execute( DriverCommand.GET_ALERT_TEXT );
+            throw new NoAlertPresentException( "the in-memory driver does not open alerts" );
+        }
+    }
+}
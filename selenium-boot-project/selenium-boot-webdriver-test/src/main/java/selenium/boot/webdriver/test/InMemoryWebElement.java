@@ -0,0 +1,349 @@
+package selenium.boot.webdriver.test;
+
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.remote.DriverCommand;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * A {@link WebElement} of an {@link InMemoryWebDriver}, referencing a node of the parsed document.
+ * <p>
+ * The element becomes stale once its driver loads another document or once the node is removed from the document.
+ * There is no layout engine: visibility is inferred from the {@code hidden} attribute, the inline {@code style}
+ * and the non rendered tags, css values are read from the inline {@code style} only, and the location and size
+ * are always zero.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class InMemoryWebElement extends HtmlSearchContext implements WebElement, WrapsDriver
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Set<String> BOOLEAN_ATTRIBUTES = new HashSet<>( Arrays.asList(
+            "async", "autofocus", "autoplay", "checked", "compact", "complete", "controls", "declare", "default",
+            "defaultchecked", "defaultselected", "defer", "disabled", "draggable", "ended", "formnovalidate", "hidden",
+            "indeterminate", "iscontenteditable", "ismap", "itemscope", "loop", "multiple", "muted", "nohref",
+            "noresize", "noshade", "novalidate", "nowrap", "open", "paused", "pubdate", "readonly", "required",
+            "reversed", "scoped", "seamless", "seeking", "selected", "truespeed", "willvalidate" ) );
+
+    private static final Set<String> NON_RENDERED_TAGS = new HashSet<>( Arrays.asList(
+            "head", "script", "style", "title", "template", "noscript", "meta", "link" ) );
+
+    private final InMemoryWebDriver driver;
+
+    private final Element node;
+
+    InMemoryWebElement( InMemoryWebDriver driver, Element node )
+    {
+        this.driver = driver;
+        this.node = node;
+    }
+
+    //endregion
+
+    //region Search context
+
+    @Override
+    InMemoryWebDriver session()
+    {
+        return driver;
+    }
+
+    @Override
+    Element scope()
+    {
+        return node();
+    }
+
+    @Override
+    String findCommand( boolean many )
+    {
+        return many ? DriverCommand.FIND_CHILD_ELEMENTS : DriverCommand.FIND_CHILD_ELEMENT;
+    }
+
+    //endregion
+
+    //region WebElement
+
+    @Override
+    public void click()
+    {
+        driver.execute( DriverCommand.CLICK_ELEMENT );
+        driver.click( node() );
+    }
+
+    @Override
+    public void submit()
+    {
+        driver.execute( DriverCommand.SUBMIT_ELEMENT );
+        node();
+    }
+
+    @Override
+    public void sendKeys( CharSequence... keysToSend )
+    {
+        driver.execute( DriverCommand.SEND_KEYS_TO_ELEMENT );
+        final Element element = node();
+        final StringBuilder value = new StringBuilder( element.val() );
+        for( CharSequence keys : keysToSend )
+        {
+            value.append( keys );
+        }
+        driver.mutate( document -> element.val( value.toString() ) );
+    }
+
+    @Override
+    public void clear()
+    {
+        driver.execute( DriverCommand.CLEAR_ELEMENT );
+        final Element element = node();
+        driver.mutate( document -> element.val( "" ) );
+    }
+
+    @Override
+    public String getTagName()
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_TAG_NAME );
+        return node().tagName();
+    }
+
+    @Override
+    public String getAttribute( String name )
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_ATTRIBUTE );
+        return attributeOf( name );
+    }
+
+    @Override
+    public boolean isSelected()
+    {
+        driver.execute( DriverCommand.IS_ELEMENT_SELECTED );
+        final Element element = node();
+        return element.hasAttr( "checked" ) || element.hasAttr( "selected" );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        driver.execute( DriverCommand.IS_ELEMENT_ENABLED );
+        return !node().hasAttr( "disabled" );
+    }
+
+    @Override
+    public String getText()
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_TEXT );
+        return textOf();
+    }
+
+    @Override
+    public boolean isDisplayed()
+    {
+        driver.execute( DriverCommand.IS_ELEMENT_DISPLAYED );
+        return displayed( node() );
+    }
+
+    @Override
+    public Point getLocation()
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_LOCATION );
+        node();
+        return new Point( 0, 0 );
+    }
+
+    @Override
+    public Dimension getSize()
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_SIZE );
+        node();
+        return new Dimension( 0, 0 );
+    }
+
+    @Override
+    public Rectangle getRect()
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_RECT );
+        node();
+        return new Rectangle( 0, 0, 0, 0 );
+    }
+
+    @Override
+    public String getCssValue( String propertyName )
+    {
+        driver.execute( DriverCommand.GET_ELEMENT_VALUE_OF_CSS_PROPERTY );
+        return cssValueOf( propertyName );
+    }
+
+    @Override
+    public <X> X getScreenshotAs( OutputType<X> target )
+    {
+        throw new UnsupportedCommandException( "the in-memory driver does not render pages" );
+    }
+
+    @Override
+    public WebDriver getWrappedDriver()
+    {
+        return driver;
+    }
+
+    //endregion
+
+    //region Uncounted accessors, used by the emulated scripts
+
+    /**
+     * @return the node, if this element is still attached to the current document
+     *
+     * @throws StaleElementReferenceException otherwise
+     */
+    Element node()
+    {
+        driver.ensureOpen();
+        final Document owner = node.ownerDocument();
+        if( owner == null || owner != driver.document() )
+        {
+            throw new StaleElementReferenceException( "element is not attached to the page document" );
+        }
+        return node;
+    }
+
+    String attributeOf( String name )
+    {
+        final Element element = node();
+        final String key = name.toLowerCase();
+        if( "value".equals( key ) && "textarea".equals( element.tagName() ) )
+        {
+            return element.val();
+        }
+        if( !element.hasAttr( key ) )
+        {
+            return null;
+        }
+        return BOOLEAN_ATTRIBUTES.contains( key ) ? "true" : element.attr( key );
+    }
+
+    String cssValueOf( String propertyName )
+    {
+        final String value = InlineStyle.of( node() ).get( propertyName.toLowerCase() );
+        return value == null ? "" : value;
+    }
+
+    String textOf()
+    {
+        final Element element = node();
+        return displayed( element ) ? element.text() : "";
+    }
+
+    //endregion
+
+    private static boolean displayed( Element element )
+    {
+        for( Element current = element; current != null && !( current instanceof Document ); current = current.parent() )
+        {
+            if( NON_RENDERED_TAGS.contains( current.tagName() ) || current.hasAttr( "hidden" ) )
+            {
+                return false;
+            }
+            if( "input".equals( current.tagName() ) && "hidden".equalsIgnoreCase( current.attr( "type" ) ) )
+            {
+                return false;
+            }
+            final InlineStyle style = InlineStyle.of( current );
+            if( "none".equals( style.get( "display" ) ) || "hidden".equals( style.get( "visibility" ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if( this == o )
+        {
+            return true;
+        }
+        if( !( o instanceof InMemoryWebElement ) )
+        {
+            return false;
+        }
+        final InMemoryWebElement other = ( InMemoryWebElement ) o;
+        return driver == other.driver && node == other.node;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode( node );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[InMemoryWebElement " + node.cssSelector() + "]";
+    }
+
+
+    /**
+     * The declarations of an inline {@code style} attribute.
+     */
+    private static final class InlineStyle
+    {
+        private final Map<String, String> declarations;
+
+        private InlineStyle( Map<String, String> declarations )
+        {
+            this.declarations = declarations;
+        }
+
+        static InlineStyle of( Element element )
+        {
+            final String style = element.attr( "style" );
+            if( style.isEmpty() )
+            {
+                return new InlineStyle( Collections.emptyMap() );
+            }
+            final Map<String, String> declarations = new HashMap<>();
+            for( String declaration : style.split( ";" ) )
+            {
+                final int colon = declaration.indexOf( ':' );
+                if( colon > 0 )
+                {
+                    declarations.put( declaration.substring( 0, colon ).trim().toLowerCase(),
+                            declaration.substring( colon + 1 ).trim() );
+                }
+            }
+            return new InlineStyle( declarations );
+        }
+
+        String get( String property )
+        {
+            return declarations.get( property );
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package selenium.boot.webdriver.test;
+
+
+/**
+ * Emulates one JavaScript snippet on an {@link InMemoryWebDriver}.
+ * <p>
+ * The arguments are received as passed to {@link org.openqa.selenium.JavascriptExecutor#executeScript(String, Object...)},
+ * after the driver verified that none of the element arguments is stale.
+ * The result must be of a type a real driver could return: {@code null}, {@link Boolean}, {@link Long}, {@link Double},
+ * {@link String}, {@link org.openqa.selenium.WebElement}, or a {@link java.util.List} or {@link java.util.Map} of those.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface ScriptHandler
+{
+    Object execute( InMemoryWebDriver driver, Object... args );
+}
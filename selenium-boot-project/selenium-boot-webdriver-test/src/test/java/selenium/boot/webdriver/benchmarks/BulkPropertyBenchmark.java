@@ -0,0 +1,87 @@
+package selenium.boot.webdriver.benchmarks;
+
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.startsWith;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.everyElementHasAttribute;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasAttribute;
+
+
+
+/**
+ * Compares matching an attribute of every field with one command per element against the single script of
+ * {@link selenium.boot.webdriver.matchers.WebDriverMatchers#everyElementHasAttribute}.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class BulkPropertyBenchmark
+{
+    @Param( { "10", "100" } )
+    public int fields;
+
+    @Param( { "0", "1" } )
+    public long latencyMillis;
+
+    private final Matcher<WebElement> field = hasAttribute( "name", startsWith( "field-" ) );
+
+    private final Matcher<List<WebElement>> everyField = everyElementHasAttribute( "name", startsWith( "field-" ) );
+
+    private FormPage page;
+
+    @Setup
+    public void openForm()
+    {
+        page = new FormPage( fields, Duration.ofMillis( latencyMillis ) );
+    }
+
+    @TearDown
+    public void quit()
+    {
+        page.driver().quit();
+    }
+
+    @Benchmark
+    public boolean commandPerElement()
+    {
+        for( WebElement element : page.fields() )
+        {
+            if( !field.matches( element ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean singleScript()
+    {
+        return everyField.matches( page.fields() );
+    }
+}
@@ -0,0 +1,59 @@
+package selenium.boot.webdriver.benchmarks;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import selenium.boot.webdriver.test.InMemoryWebDriver;
+
+import java.time.Duration;
+import java.util.List;
+
+
+
+/**
+ * A form of numbered input fields, served by an {@link InMemoryWebDriver} with a simulated latency.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class FormPage
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String URL = "http://localhost/form";
+
+    private final InMemoryWebDriver driver;
+
+    private final List<WebElement> fields;
+
+    FormPage( int size, Duration latency )
+    {
+        final StringBuilder html = new StringBuilder( "<html><head><title>Form</title></head><body><form>" );
+        for( int i = 0; i < size; i++ )
+        {
+            html.append( "<input name='field-" ).append( i ).append( "' class='field' value='" ).append( i )
+                    .append( "' style='color: rgb(0, 0, 0)'/>" );
+        }
+        driver = new InMemoryWebDriver().addPage( URL, html.append( "</form></body></html>" ).toString() );
+        driver.get( URL );
+        fields = driver.findElements( By.className( "field" ) );
+        driver.setLatency( latency );
+    }
+
+    //endregion
+
+    InMemoryWebDriver driver()
+    {
+        return driver;
+    }
+
+    List<WebElement> fields()
+    {
+        return fields;
+    }
+}
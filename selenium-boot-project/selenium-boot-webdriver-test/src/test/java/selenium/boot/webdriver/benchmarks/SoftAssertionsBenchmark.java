@@ -0,0 +1,102 @@
+package selenium.boot.webdriver.benchmarks;
+
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import selenium.boot.webdriver.matchers.SoftAssertions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.everyElementHasCssValue;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasAttribute;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasClass;
+
+
+
+/**
+ * Compares evaluating the value and class checks of a form one by one against the planned reads of
+ * {@link SoftAssertions}, which cost one script per driver.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class SoftAssertionsBenchmark
+{
+    @Param( { "10", "50" } )
+    public int fields;
+
+    @Param( { "0", "1" } )
+    public long latencyMillis;
+
+    private final Matcher<WebElement> field = hasClass( "field" );
+
+    private final Matcher<List<WebElement>> black = everyElementHasCssValue( "color", containsString( "0, 0, 0" ) );
+
+    private final List<Matcher<WebElement>> values = new ArrayList<>();
+
+    private FormPage page;
+
+    @Setup
+    public void openForm()
+    {
+        page = new FormPage( fields, Duration.ofMillis( latencyMillis ) );
+        for( int i = 0; i < fields; i++ )
+        {
+            values.add( hasAttribute( "value", String.valueOf( i ) ) );
+        }
+    }
+
+    @TearDown
+    public void quit()
+    {
+        page.driver().quit();
+    }
+
+    @Benchmark
+    public boolean oneByOne()
+    {
+        boolean matches = black.matches( page.fields() );
+        for( int i = 0; i < fields; i++ )
+        {
+            final WebElement element = page.fields().get( i );
+            matches &= values.get( i ).matches( element ) & field.matches( element );
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<String> planned()
+    {
+        final SoftAssertions soft = new SoftAssertions();
+        soft.check( "color", page.fields(), black );
+        for( int i = 0; i < fields; i++ )
+        {
+            final WebElement element = page.fields().get( i );
+            soft.check( "value", element, values.get( i ) ).check( "class", element, field );
+        }
+        return soft.evaluate();
+    }
+}
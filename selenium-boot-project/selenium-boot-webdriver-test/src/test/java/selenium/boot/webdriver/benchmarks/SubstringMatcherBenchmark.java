@@ -0,0 +1,94 @@
+package selenium.boot.webdriver.benchmarks;
+
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import selenium.boot.core.matchers.ExtendedStringContains;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Compares the case insensitive search of {@link ExtendedStringContains#containsStringIgnoringCase(String)} in a page
+ * text with lower casing both strings, and with a {@link String#regionMatches(boolean, int, String, int, int)} scan.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class SubstringMatcherBenchmark
+{
+    private static final String[] WORDS = { "order", "Shipping", "total", "item", "Quantity", "price", "checkout",
+            "Address", "payment", "summary" };
+
+    @Param( { "1000", "100000" } )
+    public int length;
+
+    /**
+     * {@code Confirmed} ends the text; {@code Kelvin} is not found, and starts with a letter that other characters
+     * fold to.
+     */
+    @Param( { "ORDER CONFIRMED", "Kelvin" } )
+    public String substring;
+
+    private String text;
+
+    private Matcher<String> matcher;
+
+    @Setup
+    public void createText()
+    {
+        final Random random = new Random( 48 );
+        final StringBuilder words = new StringBuilder( length + 16 );
+        while( words.length() < length )
+        {
+            words.append( WORDS[ random.nextInt( WORDS.length ) ] ).append( ' ' );
+        }
+        text = words.append( "Order confirmed" ).toString();
+        matcher = ExtendedStringContains.containsStringIgnoringCase( substring );
+    }
+
+    @Benchmark
+    public boolean matcher()
+    {
+        return matcher.matches( text );
+    }
+
+    @Benchmark
+    public boolean lowerCased()
+    {
+        return text.toLowerCase( Locale.ROOT ).contains( substring.toLowerCase( Locale.ROOT ) );
+    }
+
+    @Benchmark
+    public boolean regionMatches()
+    {
+        for( int i = 0; i <= text.length() - substring.length(); i++ )
+        {
+            if( text.regionMatches( true, i, substring, 0, substring.length() ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
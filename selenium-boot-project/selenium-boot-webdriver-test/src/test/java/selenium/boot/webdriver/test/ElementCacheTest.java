@@ -0,0 +1,90 @@
+package selenium.boot.webdriver.test;
+
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import selenium.boot.webdriver.locators.ElementCache;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class ElementCacheTest
+{
+    private static final String LIST_URL = "http://localhost/list";
+
+    private InMemoryWebDriver driver;
+
+    private ElementCache cache;
+
+    @BeforeMethod
+    public void openList()
+    {
+        driver = new InMemoryWebDriver().addPage( LIST_URL, "<html><body><h1 id='title'>Items</h1>"
+                + "<ul><li id='a'>A</li><li id='b'>B</li></ul></body></html>" );
+        driver.get( LIST_URL );
+        cache = new ElementCache( driver, false, Duration.ofMinutes( 1 ) );
+    }
+
+    @Test
+    public void servesTheCachedElementsOfAnUnchangedPage()
+    {
+        final List<WebElement> items = cache.findElements( driver, By.tagName( "li" ) );
+
+        assertSame( cache.findElements( driver, By.tagName( "li" ) ), items );
+        assertSame( cache.findElement( driver, By.id( "title" ) ), cache.findElement( driver, By.id( "title" ) ) );
+        assertEquals( cache.getMisses(), 2L );
+    }
+
+    @Test
+    public void findsAStaleSingleElementAgain()
+    {
+        final WebElement title = cache.findElement( driver, By.id( "title" ) );
+        driver.mutate( document -> document.getElementById( "title" ).replaceWith( new Element( "h1" )
+                .attr( "id", "title" ).text( "Renamed" ) ) );
+
+        assertEquals( title.getText(), "Renamed" );
+        assertEquals( cache.getRefinds(), 1L );
+    }
+
+    @Test
+    public void throwsOnAStaleElementOfAList()
+    {
+        final List<WebElement> items = cache.findElements( driver, By.tagName( "li" ) );
+        driver.mutate( document -> document.getElementById( "a" ).remove() );
+
+        expectThrows( StaleElementReferenceException.class, () -> items.get( 0 ).getText() );
+        assertEquals( cache.getRefinds(), 0L );
+
+        final List<WebElement> found = cache.findElements( driver, By.tagName( "li" ) );
+        assertEquals( found.size(), 1 );
+        assertEquals( found.get( 0 ).getText(), "B" );
+    }
+
+    @Test
+    public void comparesTheElementsByTheirLocator()
+    {
+        final List<WebElement> items = cache.findElements( driver, By.tagName( "li" ) );
+        cache.invalidate();
+        final List<WebElement> found = cache.findElements( driver, By.tagName( "li" ) );
+
+        assertEquals( found.get( 0 ), items.get( 0 ) );
+        assertEquals( found.get( 0 ).hashCode(), items.get( 0 ).hashCode() );
+        assertNotEquals( found.get( 1 ), items.get( 0 ) );
+    }
+}
@@ -0,0 +1,142 @@
+package selenium.boot.webdriver.test;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class InMemoryWebDriverTest
+{
+    private static final String FORM_URL = "http://localhost/form";
+
+    private static final String FORM = "<html><head><title>Form</title></head><body>"
+                                       + "<form id='form'>"
+                                       + "<input id='first' name='first' class='field required' value='Dani'/>"
+                                       + "<input id='agree' type='checkbox' disabled/>"
+                                       + "<p class='hint' hidden>hidden hint</p>"
+                                       + "<a href='http://localhost/next'>Next page</a>"
+                                       + "</form></body></html>";
+
+    private InMemoryWebDriver driver;
+
+    @BeforeMethod
+    public void createDriver()
+    {
+        driver = new InMemoryWebDriver().addPage( FORM_URL, FORM );
+        driver.get( FORM_URL );
+        driver.getStatistics().reset();
+    }
+
+    @Test
+    public void servesTheRegisteredPage()
+    {
+        assertEquals( driver.getCurrentUrl(), FORM_URL );
+        assertEquals( driver.getTitle(), "Form" );
+        assertTrue( driver.getPageSource().contains( "<form id=\"form\">" ) );
+    }
+
+    @Test
+    public void findsElementsWithEveryStrategy()
+    {
+        final WebElement first = driver.findElement( By.id( "first" ) );
+
+        assertEquals( driver.findElement( By.name( "first" ) ), first );
+        assertEquals( driver.findElement( By.className( "required" ) ), first );
+        assertEquals( driver.findElement( By.cssSelector( "form > input.field" ) ), first );
+        assertEquals( driver.findElement( By.xpath( "//input[@name='first']" ) ), first );
+        assertEquals( driver.findElement( By.tagName( "input" ) ), first );
+        assertEquals( driver.findElement( By.linkText( "Next page" ) ).getTagName(), "a" );
+        assertEquals( driver.findElement( By.partialLinkText( "Next" ) ).getTagName(), "a" );
+        assertEquals( driver.findElement( By.id( "form" ) ).findElements( By.tagName( "input" ) ).size(), 2 );
+        expectThrows( NoSuchElementException.class, () -> driver.findElement( By.id( "missing" ) ) );
+    }
+
+    @Test
+    public void readsElementsAsABrowser()
+    {
+        assertEquals( driver.findElement( By.id( "first" ) ).getAttribute( "value" ), "Dani" );
+        assertEquals( driver.findElement( By.id( "agree" ) ).getAttribute( "disabled" ), "true" );
+        assertNull( driver.findElement( By.id( "first" ) ).getAttribute( "disabled" ) );
+        assertFalse( driver.findElement( By.id( "agree" ) ).isEnabled() );
+        assertEquals( driver.findElement( By.className( "hint" ) ).getText(), "" );
+        assertFalse( driver.findElement( By.className( "hint" ) ).isDisplayed() );
+    }
+
+    @Test
+    public void countsEveryCommand()
+    {
+        final WebElement first = driver.findElement( By.id( "first" ) );
+        first.getAttribute( "value" );
+        first.getAttribute( "class" );
+        driver.findElements( By.tagName( "input" ) );
+
+        assertEquals( driver.getStatistics().count( DriverCommand.FIND_ELEMENT ), 1L );
+        assertEquals( driver.getStatistics().count( DriverCommand.FIND_ELEMENTS ), 1L );
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_ELEMENT_ATTRIBUTE ), 2L );
+        assertEquals( driver.getStatistics().total(), 4L );
+    }
+
+    @Test
+    public void delaysEveryCommandByTheSimulatedLatency()
+    {
+        driver.setLatency( Duration.ofMillis( 20 ) ).setLatency( DriverCommand.GET_TITLE, Duration.ZERO );
+
+        final long start = System.nanoTime();
+        driver.getCurrentUrl();
+        driver.getCurrentUrl();
+        final long elapsed = System.nanoTime() - start;
+        driver.getTitle();
+
+        assertTrue( elapsed >= TimeUnit.MILLISECONDS.toNanos( 40 ), String.valueOf( elapsed ) );
+        assertTrue( System.nanoTime() - start - elapsed < TimeUnit.MILLISECONDS.toNanos( 20 ) );
+    }
+
+    @Test
+    public void invalidatesTheElementsRemovedFromTheDocument()
+    {
+        final WebElement first = driver.findElement( By.id( "first" ) );
+        driver.mutate( document -> document.getElementById( "first" ).remove() );
+
+        expectThrows( StaleElementReferenceException.class, first::getText );
+    }
+
+    @Test
+    public void keepsTheCookies()
+    {
+        driver.manage().addCookie( new Cookie( "session", "42" ) );
+
+        assertEquals( driver.manage().getCookieNamed( "session" ).getValue(), "42" );
+        driver.manage().deleteAllCookies();
+        assertTrue( driver.manage().getCookies().isEmpty() );
+    }
+
+    @Test
+    public void rejectsTheCommandsOfAQuitSession()
+    {
+        driver.quit();
+
+        expectThrows( NoSuchSessionException.class, driver::getTitle );
+    }
+}
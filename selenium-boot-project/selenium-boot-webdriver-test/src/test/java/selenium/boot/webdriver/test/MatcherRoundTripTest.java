@@ -0,0 +1,157 @@
+package selenium.boot.webdriver.test;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import selenium.boot.webdriver.batch.BatchRead;
+import selenium.boot.webdriver.batch.BatchResult;
+import selenium.boot.webdriver.batch.CommandBatch;
+import selenium.boot.webdriver.matchers.SoftAssertions;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.cookieValue;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.everyElementHasAttribute;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.everyElementHasText;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasAttribute;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasCookie;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.hasCookies;
+import static selenium.boot.webdriver.matchers.WebDriverMatchers.pageSourceContains;
+
+
+
+/**
+ * Counts the round trips the matchers cost against an {@link InMemoryWebDriver}, so a regression of the batched
+ * reads fails the build on machines without browser.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class MatcherRoundTripTest
+{
+    private static final int FIELDS = 50;
+
+    private static final String FORM_URL = "http://localhost/form";
+
+    private InMemoryWebDriver driver;
+
+    private List<WebElement> fields;
+
+    @BeforeMethod
+    public void openForm()
+    {
+        final StringBuilder html = new StringBuilder( "<html><head><title>Form</title></head><body><form>" );
+        for( int i = 0; i < FIELDS; i++ )
+        {
+            html.append( "<label id='label-" ).append( i ).append( "'>Field " ).append( i ).append( "</label>" )
+                    .append( "<input name='field-" ).append( i ).append( "' class='field' value='" ).append( i )
+                    .append( "'/>" );
+        }
+        driver = new InMemoryWebDriver().addPage( FORM_URL, html.append( "</form></body></html>" ).toString() );
+        driver.get( FORM_URL );
+        fields = driver.findElements( By.className( "field" ) );
+        driver.getStatistics().reset();
+    }
+
+    @Test
+    public void readsTheAttributeOfAllElementsInOneScript()
+    {
+        assertThat( fields, everyElementHasAttribute( "name", startsWith( "field-" ) ) );
+
+        assertEquals( driver.getStatistics().count( DriverCommand.EXECUTE_SCRIPT ), 1L );
+        assertEquals( driver.getStatistics().total(), 1L );
+    }
+
+    @Test
+    public void readsTheTextsWithTheWebDriverCommand()
+    {
+        final List<WebElement> labels = driver.findElements( By.tagName( "label" ) );
+        driver.getStatistics().reset();
+
+        assertThat( labels, everyElementHasText( startsWith( "Field " ) ) );
+
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_ELEMENT_TEXT ), ( long ) FIELDS );
+        assertEquals( driver.getStatistics().count( DriverCommand.EXECUTE_SCRIPT ), 0L );
+    }
+
+    @Test
+    public void batchesTheSoftAttributeChecksOfADriver()
+    {
+        final SoftAssertions soft = new SoftAssertions();
+        for( int i = 0; i < FIELDS; i++ )
+        {
+            soft.check( "field " + i, fields.get( i ), hasAttribute( "value", String.valueOf( i ) ) );
+        }
+        soft.assertAll();
+
+        assertEquals( driver.getStatistics().total(), 1L );
+    }
+
+    @Test
+    public void evaluatesTheOtherSoftChecksOneByOne()
+    {
+        final List<WebElement> labels = driver.findElements( By.tagName( "label" ) );
+        driver.getStatistics().reset();
+        final SoftAssertions soft = new SoftAssertions();
+        soft.check( "labels", labels, everyElementHasText( startsWith( "Field " ) ) );
+        soft.check( "first field", fields.get( 0 ), hasAttribute( "value", "0" ) );
+        soft.check( "last field", fields.get( FIELDS - 1 ), hasAttribute( "value", String.valueOf( FIELDS - 1 ) ) );
+        soft.assertAll();
+
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_ELEMENT_TEXT ), ( long ) FIELDS );
+        assertEquals( driver.getStatistics().count( DriverCommand.EXECUTE_SCRIPT ), 1L );
+    }
+
+    @Test
+    public void readsTheTextsOfACommandBatchWithTheWebDriverCommand()
+    {
+        final WebElement label = driver.findElement( By.id( "label-0" ) );
+        driver.getStatistics().reset();
+        final CommandBatch batch = new CommandBatch();
+        final BatchRead<String> name = batch.readAttribute( fields.get( 0 ), "name" );
+        final BatchRead<String> text = batch.readText( label );
+        final BatchRead<String> value = batch.readAttribute( fields.get( 0 ), "value" );
+        final BatchResult result = batch.execute();
+
+        assertEquals( result.get( name ), "field-0" );
+        assertEquals( result.get( text ), "Field 0" );
+        assertEquals( result.get( value ), "0" );
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_ELEMENT_TEXT ), 1L );
+        assertEquals( driver.getStatistics().count( DriverCommand.EXECUTE_SCRIPT ), 2L );
+    }
+
+    @Test
+    public void fetchesTheCookieJarOncePerAssertion()
+    {
+        driver.manage().addCookie( new Cookie( "session", "42" ) );
+        driver.manage().addCookie( new Cookie( "locale", "en" ) );
+        driver.getStatistics().reset();
+
+        assertThat( driver, hasCookies( hasCookie( "session", cookieValue( containsString( "4" ) ) ),
+                hasCookie( "locale" ) ) );
+
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_ALL_COOKIES ), 1L );
+    }
+
+    @Test
+    public void transfersAnUnchangedPageSourceOnce()
+    {
+        assertThat( driver, pageSourceContains( "field-0" ) );
+        assertThat( driver, pageSourceContains( "field-49" ) );
+        driver.mutate( document -> document.body().appendElement( "p" ).text( "changed" ) );
+        assertThat( driver, pageSourceContains( "changed" ) );
+
+        assertEquals( driver.getStatistics().count( DriverCommand.GET_PAGE_SOURCE ), 2L );
+        assertTrue( driver.getStatistics().count( DriverCommand.EXECUTE_SCRIPT ) >= 3L );
+    }
+}
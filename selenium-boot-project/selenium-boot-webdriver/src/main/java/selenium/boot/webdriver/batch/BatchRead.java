@@ -0,0 +1,51 @@
+package selenium.boot.webdriver.batch;
+
+
+
+/**
+ * A handle on a value read by a {@link CommandBatch}, resolved with {@link BatchResult#get(BatchRead)}.
+ *
+ * @param <T> the type of the value
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class BatchRead<T>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final CommandBatch batch;
+
+    private final int index;
+
+    private final Class<T> type;
+
+    BatchRead( CommandBatch batch, int index, Class<T> type )
+    {
+        this.batch = batch;
+        this.index = index;
+        this.type = type;
+    }
+
+    //endregion
+
+    CommandBatch batch()
+    {
+        return batch;
+    }
+
+    int index()
+    {
+        return index;
+    }
+
+    Class<T> type()
+    {
+        return type;
+    }
+}
@@ -0,0 +1,100 @@
+package selenium.boot.webdriver.batch;
+
+
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+
+/**
+ * The values read by an execution of a {@link CommandBatch}.
+ * <p>
+ * Values are resolved either by their {@link BatchRead} handle, or through {@link #element(WebElement)}, a
+ * read-only view answering from the recorded values, which the attribute, css value and text matchers consume
+ * without another round trip.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class BatchResult
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final CommandBatch batch;
+
+    private final Object[] values;
+
+    private final int roundTrips;
+
+    private final Map<WebElement, Map<String, Object>> recorded = new IdentityHashMap<>();
+
+    BatchResult( CommandBatch batch, List<CommandBatch.Step> steps, Object[] values, int roundTrips )
+    {
+        this.batch = batch;
+        this.values = values;
+        this.roundTrips = roundTrips;
+        for( int i = 0; i < steps.size(); i++ )
+        {
+            final CommandBatch.Step step = steps.get( i );
+            if( step.operation.isRead() )
+            {
+                recorded.computeIfAbsent( step.element, key -> new HashMap<>() )
+                        .put( RecordedElement.key( step.operation, step.argument ), values[ i ] );
+            }
+        }
+    }
+
+    //endregion
+
+    /**
+     * @param read a handle returned by the executed batch
+     *
+     * @return the value read, {@code null} if the element has no such attribute
+     */
+    public <T> T get( BatchRead<T> read )
+    {
+        Assert.notNull( read, "read must not be null" );
+        Assert.isTrue( read.batch() == batch, "the read belongs to another command batch" );
+        final Object value = values[ read.index() ];
+        if( value == null || read.type().isInstance( value ) )
+        {
+            return read.type().cast( value );
+        }
+        if( read.type() == Boolean.class )
+        {
+            return read.type().cast( Boolean.valueOf( value.toString() ) );
+        }
+        return read.type().cast( value.toString() );
+    }
+
+    /**
+     * @param element an element of the batch
+     *
+     * @return a read-only view of the element, answering the last value read for each property
+     */
+    public WebElement element( WebElement element )
+    {
+        final Map<String, Object> values = recorded.get( element );
+        Assert.isTrue( values != null, "the command batch did not read the element" );
+        return new RecordedElement( element, values );
+    }
+
+    /**
+     * @return the number of scripts and WebDriver commands the execution took
+     */
+    public int getRoundTrips()
+    {
+        return roundTrips;
+    }
+}
@@ -0,0 +1,290 @@
+package selenium.boot.webdriver.batch;
+
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.instrumentation.EvaluationContext;
+import selenium.boot.webdriver.matchers.BrowserScripts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+
+/**
+ * Records a sequence of element operations and reads, and runs it with as few round trips as possible.
+ * <p>
+ * Consecutive scriptable steps are compiled into a single {@link BrowserScripts#RUN_COMMAND_BATCH} execution.
+ * Steps that need native input, {@link #sendKeys(WebElement, CharSequence)}, {@link #click(WebElement)} and
+ * {@link #submit(WebElement)}, and {@link #readText(WebElement)}, whose rendered text a script cannot read exactly as
+ * the WebDriver command does, run as regular WebDriver commands between the scripted segments, keeping the recorded
+ * order. Without script support, every step runs as a WebDriver command. Note that the scripted value changes set
+ * the value and fire the {@code input} and {@code change} events, without key events; a value change of a disabled,
+ * read only or hidden field runs as a WebDriver command, which fails as it would outside a batch.
+ * </p>
+ * <pre>
+ * CommandBatch batch = new CommandBatch()
+ *         .clear( email )
+ *         .setValue( email, "dani@example.com" );
+ * BatchRead&lt;String&gt; value = batch.readAttribute( email, "value" );
+ * batch.readAttribute( email, "class" );
+ * BatchResult result = batch.execute();
+ * assertThat( result.element( email ), hasClass( containsString( "valid" ) ) );
+ * </pre>
+ * A batch is not thread safe, and can be executed many times.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see BatchResult
+ * @since 2.0
+ */
+public final class CommandBatch
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String EVALUATION_LABEL = CommandBatch.class.getSimpleName();
+
+    private final List<Step> steps = new ArrayList<>();
+
+    public CommandBatch()
+    {
+        super();
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Clears the value of a text field.
+     */
+    public CommandBatch clear( WebElement element )
+    {
+        return add( Operation.CLEAR, element, null );
+    }
+
+    /**
+     * Replaces the value of a text field, by script when possible.
+     */
+    public CommandBatch setValue( WebElement element, CharSequence value )
+    {
+        Assert.notNull( value, "value must not be null" );
+        return add( Operation.SET_VALUE, element, value.toString() );
+    }
+
+    /**
+     * Types keys into an element with native input; never scripted.
+     */
+    public CommandBatch sendKeys( WebElement element, CharSequence keys )
+    {
+        Assert.notNull( keys, "keys must not be null" );
+        return add( Operation.SEND_KEYS, element, keys.toString() );
+    }
+
+    /**
+     * Clicks an element with native input; never scripted.
+     */
+    public CommandBatch click( WebElement element )
+    {
+        return add( Operation.CLICK, element, null );
+    }
+
+    /**
+     * Submits the form of an element; never scripted.
+     */
+    public CommandBatch submit( WebElement element )
+    {
+        return add( Operation.SUBMIT, element, null );
+    }
+
+    //endregion
+
+    //region Reads
+
+    public BatchRead<String> readAttribute( WebElement element, String name )
+    {
+        Assert.hasText( name, "name must not be empty" );
+        return read( Operation.ATTRIBUTE, element, name, String.class );
+    }
+
+    public BatchRead<String> readCssValue( WebElement element, String propertyName )
+    {
+        Assert.hasText( propertyName, "propertyName must not be empty" );
+        return read( Operation.CSS, element, propertyName, String.class );
+    }
+
+    public BatchRead<String> readText( WebElement element )
+    {
+        return read( Operation.TEXT, element, null, String.class );
+    }
+
+    public BatchRead<String> readTagName( WebElement element )
+    {
+        return read( Operation.TAG_NAME, element, null, String.class );
+    }
+
+    public BatchRead<Boolean> readSelected( WebElement element )
+    {
+        return read( Operation.SELECTED, element, null, Boolean.class );
+    }
+
+    public BatchRead<Boolean> readEnabled( WebElement element )
+    {
+        return read( Operation.ENABLED, element, null, Boolean.class );
+    }
+
+    //endregion
+
+    /**
+     * @return the number of recorded steps
+     */
+    public int size()
+    {
+        return steps.size();
+    }
+
+    /**
+     * Runs the recorded steps in order.
+     *
+     * @return the values read
+     *
+     * @throws WebDriverException if a step fails; the steps before it have been applied
+     */
+    public BatchResult execute()
+    {
+        final Object[] values = new Object[ steps.size() ];
+        final Optional<JavascriptExecutor> executor = executor();
+        int roundTrips = 0;
+        try( EvaluationContext.Scope ignored = EvaluationContext.enter( EVALUATION_LABEL ) )
+        {
+            int from = 0;
+            while( from < steps.size() )
+            {
+                int to = from;
+                while( executor.isPresent() && to < steps.size() && steps.get( to ).operation.isScriptable() )
+                {
+                    to++;
+                }
+                if( to > from )
+                {
+                    final int ran = runScript( executor.get(), from, to, values );
+                    roundTrips++;
+                    if( ran < to - from )
+                    {
+                        // the script stopped before a value change it cannot apply as WebDriver would
+                        to = runNative( from + ran, values );
+                        roundTrips++;
+                    }
+                }
+                else
+                {
+                    to = runNative( from, values );
+                    roundTrips++;
+                }
+                from = to;
+            }
+        }
+        return new BatchResult( this, steps, values, roundTrips );
+    }
+
+    /**
+     * @return the executor shared by every element of the batch, or empty to run every step natively
+     */
+    private Optional<JavascriptExecutor> executor()
+    {
+        if( steps.isEmpty() )
+        {
+            return Optional.empty();
+        }
+        final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( steps.get( 0 ).element );
+        for( Step step : steps )
+        {
+            final Optional<JavascriptExecutor> other = BrowserScripts.executorOf( step.element );
+            Assert.state( executor.orElse( null ) == other.orElse( null ),
+                    "all the elements of a command batch must belong to the same driver" );
+        }
+        return executor;
+    }
+
+    /**
+     * @return the index of the next step
+     */
+    private int runNative( int index, Object[] values )
+    {
+        final Step step = steps.get( index );
+        values[ index ] = step.operation.run( step.element, step.argument );
+        return index + 1;
+    }
+
+    /**
+     * @return the number of steps run by the script, from {@code from}
+     */
+    private int runScript( JavascriptExecutor executor, int from, int to, Object[] values )
+    {
+        final Map<WebElement, Integer> indexes = new IdentityHashMap<>();
+        final List<WebElement> elements = new ArrayList<>();
+        final List<List<Object>> script = new ArrayList<>( to - from );
+        for( int i = from; i < to; i++ )
+        {
+            final Step step = steps.get( i );
+            final Integer index = indexes.computeIfAbsent( step.element, element -> {
+                elements.add( element );
+                return elements.size() - 1;
+            } );
+            script.add( Arrays.asList( step.operation.getScriptName(), index, step.argument ) );
+        }
+
+        final Object result = executor.executeScript( BrowserScripts.RUN_COMMAND_BATCH, elements, script );
+        final int ran = result instanceof List ? ( ( List<?> ) result ).size() : -1;
+        if( ran < 0 || ran > to - from || ran < to - from && steps.get( from + ran ).operation.isRead() )
+        {
+            throw new WebDriverException( "unexpected result of the command batch script: " + result );
+        }
+        final List<?> read = ( List<?> ) result;
+        for( int i = 0; i < read.size(); i++ )
+        {
+            values[ from + i ] = read.get( i );
+        }
+        return ran;
+    }
+
+    private CommandBatch add( Operation operation, WebElement element, String argument )
+    {
+        Assert.notNull( element, "element must not be null" );
+        steps.add( new Step( operation, element, argument ) );
+        return this;
+    }
+
+    private <T> BatchRead<T> read( Operation operation, WebElement element, String argument, Class<T> type )
+    {
+        add( operation, element, argument );
+        return new BatchRead<>( this, steps.size() - 1, type );
+    }
+
+
+    static final class Step
+    {
+        final Operation operation;
+
+        final WebElement element;
+
+        final String argument;
+
+        private Step( Operation operation, WebElement element, String argument )
+        {
+            this.operation = operation;
+            this.element = element;
+            this.argument = argument;
+        }
+    }
+}
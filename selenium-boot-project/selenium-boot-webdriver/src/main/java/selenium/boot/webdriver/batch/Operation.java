@@ -0,0 +1,149 @@
+package selenium.boot.webdriver.batch;
+
+
+import org.openqa.selenium.WebElement;
+
+
+
+/**
+ * The steps a {@link CommandBatch} can record. Operations with a script name run inside
+ * {@link selenium.boot.webdriver.matchers.BrowserScripts#RUN_COMMAND_BATCH}; the others are native WebDriver
+ * commands, executed one by one between the scripted segments. The value changes the script declines also run
+ * natively.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+enum Operation
+{
+    CLEAR( "clear", false )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    element.clear();
+                    return null;
+                }
+            },
+    SET_VALUE( "setValue", false )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    element.clear();
+                    element.sendKeys( argument );
+                    return null;
+                }
+            },
+    SEND_KEYS( null, false )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    element.sendKeys( argument );
+                    return null;
+                }
+            },
+    CLICK( null, false )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    element.click();
+                    return null;
+                }
+            },
+    SUBMIT( null, false )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    element.submit();
+                    return null;
+                }
+            },
+    ATTRIBUTE( "attribute", true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.getAttribute( argument );
+                }
+            },
+    CSS( "css", true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.getCssValue( argument );
+                }
+            },
+    TEXT( null, true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.getText();
+                }
+            },
+    TAG_NAME( "tagName", true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.getTagName();
+                }
+            },
+    SELECTED( "selected", true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.isSelected();
+                }
+            },
+    ENABLED( "enabled", true )
+            {
+                @Override
+                Object run( WebElement element, String argument )
+                {
+                    return element.isEnabled();
+                }
+            };
+
+    private final String scriptName;
+
+    private final boolean read;
+
+    Operation( String scriptName, boolean read )
+    {
+        this.scriptName = scriptName;
+        this.read = read;
+    }
+
+    /**
+     * @return the operation name understood by the batch script, {@code null} for native only operations
+     */
+    String getScriptName()
+    {
+        return scriptName;
+    }
+
+    boolean isScriptable()
+    {
+        return scriptName != null;
+    }
+
+    boolean isRead()
+    {
+        return read;
+    }
+
+    /**
+     * Runs the step with the regular WebDriver commands.
+     *
+     * @return the value read, {@code null} for the operations
+     */
+    abstract Object run( WebElement element, String argument );
+}
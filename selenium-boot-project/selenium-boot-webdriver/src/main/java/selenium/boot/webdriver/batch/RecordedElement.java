@@ -0,0 +1,195 @@
+package selenium.boot.webdriver.batch;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.List;
+import java.util.Map;
+
+
+
+/**
+ * A read-only view of an element, answering from the values read by a {@link CommandBatch}.
+ * <p>
+ * Asking for a value the batch did not read fails with {@link IllegalStateException} rather than reaching the
+ * browser, and every other operation is unsupported. {@link #getWrappedElement()} returns the live element.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see BatchResult#element(WebElement)
+ * @since 2.0
+ */
+public final class RecordedElement implements WebElement, WrapsElement
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final WebElement element;
+
+    private final Map<String, Object> values;
+
+    RecordedElement( WebElement element, Map<String, Object> values )
+    {
+        this.element = element;
+        this.values = values;
+    }
+
+    //endregion
+
+    static String key( Operation operation, String argument )
+    {
+        return argument == null ? operation.name() : operation.name() + ':' + argument;
+    }
+
+    //region WebElement reads
+
+    @Override
+    public String getAttribute( String name )
+    {
+        return string( recorded( Operation.ATTRIBUTE, name ) );
+    }
+
+    @Override
+    public String getCssValue( String propertyName )
+    {
+        return string( recorded( Operation.CSS, propertyName ) );
+    }
+
+    @Override
+    public String getText()
+    {
+        return string( recorded( Operation.TEXT, null ) );
+    }
+
+    @Override
+    public String getTagName()
+    {
+        return string( recorded( Operation.TAG_NAME, null ) );
+    }
+
+    @Override
+    public boolean isSelected()
+    {
+        return Boolean.parseBoolean( string( recorded( Operation.SELECTED, null ) ) );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return Boolean.parseBoolean( string( recorded( Operation.ENABLED, null ) ) );
+    }
+
+    @Override
+    public WebElement getWrappedElement()
+    {
+        return element;
+    }
+
+    //endregion
+
+    //region Unsupported operations
+
+    @Override
+    public void click()
+    {
+        throw unsupported( "click" );
+    }
+
+    @Override
+    public void submit()
+    {
+        throw unsupported( "submit" );
+    }
+
+    @Override
+    public void sendKeys( CharSequence... keysToSend )
+    {
+        throw unsupported( "sendKeys" );
+    }
+
+    @Override
+    public void clear()
+    {
+        throw unsupported( "clear" );
+    }
+
+    @Override
+    public boolean isDisplayed()
+    {
+        throw unsupported( "isDisplayed" );
+    }
+
+    @Override
+    public Point getLocation()
+    {
+        throw unsupported( "getLocation" );
+    }
+
+    @Override
+    public Dimension getSize()
+    {
+        throw unsupported( "getSize" );
+    }
+
+    @Override
+    public Rectangle getRect()
+    {
+        throw unsupported( "getRect" );
+    }
+
+    @Override
+    public List<WebElement> findElements( By by )
+    {
+        throw unsupported( "findElements" );
+    }
+
+    @Override
+    public WebElement findElement( By by )
+    {
+        throw unsupported( "findElement" );
+    }
+
+    @Override
+    public <X> X getScreenshotAs( OutputType<X> target )
+    {
+        throw unsupported( "getScreenshotAs" );
+    }
+
+    //endregion
+
+    @Override
+    public String toString()
+    {
+        return "RecordedElement[" + element + "]";
+    }
+
+    private Object recorded( Operation operation, String argument )
+    {
+        final String key = key( operation, argument );
+        if( !values.containsKey( key ) )
+        {
+            throw new IllegalStateException( "the command batch did not read " + key + " of " + element );
+        }
+        return values.get( key );
+    }
+
+    private static String string( Object value )
+    {
+        return value == null ? null : value.toString();
+    }
+
+    private static UnsupportedOperationException unsupported( String operation )
+    {
+        return new UnsupportedOperationException( operation + " is not supported by a recorded element" );
+    }
+}
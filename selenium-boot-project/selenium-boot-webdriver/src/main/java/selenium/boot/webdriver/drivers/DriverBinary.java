@@ -0,0 +1,139 @@
+package selenium.boot.webdriver.drivers;
+
+
+import java.nio.file.Path;
+import java.util.Comparator;
+
+
+
+/**
+ * An entry of the {@link DriverIndex}: a driver executable or a browser extension, with the facts that are
+ * expensive to probe.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class DriverBinary
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * Orders by version, numerically component by component; unknown versions come first.
+     */
+    static final Comparator<DriverBinary> BY_VERSION =
+            Comparator.comparing( DriverBinary::getVersion, DriverBinary::compareVersions );
+
+    private final Path path;
+
+    private final long size;
+
+    private final long lastModified;
+
+    private final DriverType type;
+
+    private final String version;
+
+    private final String checksum;
+
+    DriverBinary( Path path, long size, long lastModified, DriverType type, String version, String checksum )
+    {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.type = type;
+        this.version = version;
+        this.checksum = checksum;
+    }
+
+    //endregion
+
+    public Path getPath()
+    {
+        return path;
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return the modification time, in milliseconds since the epoch
+     */
+    public long getLastModified()
+    {
+        return lastModified;
+    }
+
+    /**
+     * @return the driver type, {@code null} for an extension
+     */
+    public DriverType getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the version reported by the executable, or declared by the extension manifest; {@code null} if unknown
+     */
+    public String getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return the SHA-256 of the file, in lower case hexadecimal
+     */
+    public String getChecksum()
+    {
+        return checksum;
+    }
+
+    boolean isExtension()
+    {
+        return type == null;
+    }
+
+    static int compareVersions( String left, String right )
+    {
+        if( left == null || right == null )
+        {
+            return left == null ? ( right == null ? 0 : -1 ) : 1;
+        }
+        final String[] leftParts = left.split( "\\." );
+        final String[] rightParts = right.split( "\\." );
+        for( int i = 0; i < Math.max( leftParts.length, rightParts.length ); i++ )
+        {
+            final long leftPart = i < leftParts.length ? parse( leftParts[ i ] ) : 0;
+            final long rightPart = i < rightParts.length ? parse( rightParts[ i ] ) : 0;
+            if( leftPart != rightPart )
+            {
+                return Long.compare( leftPart, rightPart );
+            }
+        }
+        return 0;
+    }
+
+    private static long parse( String part )
+    {
+        try
+        {
+            return Long.parseLong( part );
+        }
+        catch( NumberFormatException e )
+        {
+            return 0;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DriverBinary{path=" + path + ", type=" + type + ", version=" + version + "}";
+    }
+}
@@ -0,0 +1,460 @@
+package selenium.boot.webdriver.drivers;
+
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import org.openqa.selenium.Capabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+
+
+/**
+ * A persistent index of the driver executables of the drivers directory and the extensions of the extensions
+ * directory, so a JVM fork resolves a driver without running every executable with {@code --version}.
+ * <p>
+ * Every entry records the path, size, modification time, version and SHA-256 of a file. {@link #refresh()} only
+ * lists and stats the directories, and probes again the files that are new or whose size or modification time
+ * changed; the index file is rewritten, atomically, only when an entry changed. Resolutions are hash lookups.
+ * Only executable files named as a driver, see {@link DriverType#ofFileName(String)}, are indexed as drivers.
+ * Executables whose version cannot be parsed from their output, or that do not exit in time, are indexed with an
+ * unknown version unless their file name holds one.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.spring.config.WorkspaceProperties#getDriversDirectory()
+ * @see selenium.boot.spring.config.WorkspaceProperties#getExtensionsDirectory()
+ * @since 2.0
+ */
+public class DriverIndex
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( DriverIndex.class );
+
+    /**
+     * The index file name, in the drivers directory.
+     */
+    public static final String INDEX_FILE = ".driver-index.json";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MAX_DEPTH = 4;
+
+    private static final long PROBE_TIMEOUT_SECONDS = 10;
+
+    private static final int MAX_PROBE_OUTPUT = 4096;
+
+    private static final Pattern VERSION = Pattern.compile( "(\\d+(?:\\.\\d+)+)" );
+
+    private static final Pattern MANIFEST_VERSION = Pattern.compile( "\"version\"\\s*:\\s*\"([^\"]+)\"" );
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path driversDirectory;
+
+    private final Path extensionsDirectory;
+
+    private final Path indexFile;
+
+    private volatile Lookup lookup;
+
+    /**
+     * Creates an index, reading the index file when it exists; call {@link #refresh()} to bring it up to date.
+     *
+     * @param driversDirectory    the drivers directory, holding the index file
+     * @param extensionsDirectory the extensions directory, may be {@code null}
+     */
+    public DriverIndex( Path driversDirectory, Path extensionsDirectory )
+    {
+        Assert.notNull( driversDirectory, "driversDirectory must not be null" );
+        this.driversDirectory = driversDirectory;
+        this.extensionsDirectory = extensionsDirectory;
+        this.indexFile = driversDirectory.resolve( INDEX_FILE );
+        this.lookup = new Lookup( load() );
+    }
+
+    //endregion
+
+    /**
+     * Brings the index up to date with the directories.
+     *
+     * @return {@code true} if an entry was added, changed or removed
+     */
+    public synchronized boolean refresh()
+    {
+        final Map<Path, DriverBinary> known = lookup.entries;
+        final Map<Path, DriverBinary> entries = new LinkedHashMap<>();
+        boolean changed = false;
+        for( Path file : scan( driversDirectory ) )
+        {
+            final Optional<DriverType> type = DriverType.ofFileName( file.getFileName().toString() );
+            if( type.isPresent() && Files.isExecutable( file ) )
+            {
+                changed |= index( file, type.get(), known, entries );
+            }
+        }
+        if( extensionsDirectory != null )
+        {
+            for( Path file : scan( extensionsDirectory ) )
+            {
+                changed |= index( file, null, known, entries );
+            }
+        }
+        changed |= entries.size() != known.size();
+        if( changed )
+        {
+            lookup = new Lookup( entries );
+            save( entries.values() );
+        }
+        return changed;
+    }
+
+    /**
+     * @return the executable of the highest version of the driver
+     */
+    public Optional<DriverBinary> resolve( DriverType type )
+    {
+        return Optional.ofNullable( lookup.latest.get( type ) );
+    }
+
+    /**
+     * @param type    the driver type
+     * @param version the exact version reported by the executable
+     *
+     * @return the executable of that version
+     */
+    public Optional<DriverBinary> resolve( DriverType type, String version )
+    {
+        return Optional.ofNullable( lookup.byVersion.get( versionKey( type, version ) ) );
+    }
+
+    /**
+     * @return the executable of the highest version of the driver of the capabilities browser
+     */
+    public Optional<DriverBinary> resolve( Capabilities capabilities )
+    {
+        return DriverType.ofBrowserName( capabilities.getBrowserName() ).flatMap( this::resolve );
+    }
+
+    /**
+     * @param fileName the extension file name, e.g. {@code adblock.crx}
+     *
+     * @return the indexed extension
+     */
+    public Optional<DriverBinary> resolveExtension( String fileName )
+    {
+        return Optional.ofNullable( lookup.extensions.get( fileName ) );
+    }
+
+    /**
+     * @return every indexed file
+     */
+    public Collection<DriverBinary> getEntries()
+    {
+        return Collections.unmodifiableCollection( lookup.entries.values() );
+    }
+
+    private boolean index( Path file, DriverType type, Map<Path, DriverBinary> known, Map<Path, DriverBinary> entries )
+    {
+        try
+        {
+            final BasicFileAttributes attributes = Files.readAttributes( file, BasicFileAttributes.class );
+            final long modified = attributes.lastModifiedTime().toMillis();
+            final DriverBinary previous = known.get( file );
+            if( previous != null && previous.getSize() == attributes.size() && previous.getLastModified() == modified )
+            {
+                entries.put( file, previous );
+                return false;
+            }
+            final String version = type == null ? manifestVersion( file ) : probeVersion( file );
+            final String checksum = MoreFiles.asByteSource( file ).hash( Hashing.sha256() ).toString();
+            entries.put( file, new DriverBinary( file, attributes.size(), modified, type, version, checksum ) );
+            log.debug( "indexed {} version {}", file, version );
+            return true;
+        }
+        catch( IOException e )
+        {
+            log.warn( "failed to index {}: {}", file, e.getMessage() );
+            return false;
+        }
+    }
+
+    private static List<Path> scan( Path directory )
+    {
+        if( !Files.isDirectory( directory ) )
+        {
+            return Collections.emptyList();
+        }
+        try( Stream<Path> files = Files.walk( directory, MAX_DEPTH ) )
+        {
+            return files.filter( Files::isRegularFile )
+                    .filter( file -> !file.getFileName().toString().startsWith( "." ) )
+                    .map( Path::toAbsolutePath )
+                    .collect( Collectors.toList() );
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( "failed to scan " + directory, e );
+        }
+    }
+
+    /**
+     * Runs the executable with {@code --version}, falling back to a version in the file name. The output goes to a
+     * temporary file, so an executable that hangs is killed after {@link #PROBE_TIMEOUT_SECONDS} instead of blocking
+     * the read of its output.
+     */
+    private static String probeVersion( Path file )
+    {
+        String output = "";
+        Path captured = null;
+        try
+        {
+            captured = Files.createTempFile( "driver-probe", ".txt" );
+            final Process process = new ProcessBuilder( file.toString(), "--version" )
+                    .redirectErrorStream( true )
+                    .redirectOutput( captured.toFile() )
+                    .start();
+            if( process.waitFor( PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS ) )
+            {
+                output = readPrefix( captured );
+            }
+            else
+            {
+                process.destroyForcibly();
+                log.warn( "{} --version did not exit within {} seconds", file, PROBE_TIMEOUT_SECONDS );
+            }
+        }
+        catch( IOException e )
+        {
+            log.debug( "failed to run {} --version: {}", file, e.getMessage() );
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            deleteQuietly( captured );
+        }
+        final Matcher matcher = VERSION.matcher( output );
+        if( matcher.find() )
+        {
+            return matcher.group( 1 );
+        }
+        final Matcher fromName = VERSION.matcher( file.getFileName().toString() );
+        return fromName.find() ? fromName.group( 1 ) : null;
+    }
+
+    private static String readPrefix( Path file ) throws IOException
+    {
+        try( InputStream in = Files.newInputStream( file ) )
+        {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[ 512 ];
+            int read;
+            while( buffer.size() < MAX_PROBE_OUTPUT && ( read = in.read( chunk ) ) != -1 )
+            {
+                buffer.write( chunk, 0, read );
+            }
+            return new String( buffer.toByteArray(), StandardCharsets.UTF_8 );
+        }
+    }
+
+    private static void deleteQuietly( Path file )
+    {
+        if( file == null )
+        {
+            return;
+        }
+        try
+        {
+            Files.deleteIfExists( file );
+        }
+        catch( IOException e )
+        {
+            log.debug( "failed to delete {}: {}", file, e.getMessage() );
+        }
+    }
+
+    /**
+     * Reads the version of the {@code manifest.json} of a {@code crx} or {@code xpi} archive.
+     */
+    private static String manifestVersion( Path file )
+    {
+        final String name = file.getFileName().toString().toLowerCase( Locale.ROOT );
+        if( !name.endsWith( ".crx" ) && !name.endsWith( ".xpi" ) && !name.endsWith( ".zip" ) )
+        {
+            return null;
+        }
+        // the zip central directory is read from the end, so the crx header is skipped
+        try( ZipFile archive = new ZipFile( file.toFile() ) )
+        {
+            final ZipEntry manifest = archive.getEntry( "manifest.json" );
+            if( manifest == null )
+            {
+                return null;
+            }
+            try( InputStream in = archive.getInputStream( manifest ) )
+            {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                final byte[] chunk = new byte[ 4096 ];
+                int read;
+                while( ( read = in.read( chunk ) ) != -1 )
+                {
+                    buffer.write( chunk, 0, read );
+                }
+                final String json = new String( buffer.toByteArray(), StandardCharsets.UTF_8 );
+                final Matcher matcher = MANIFEST_VERSION.matcher( json );
+                return matcher.find() ? matcher.group( 1 ) : null;
+            }
+        }
+        catch( IOException e )
+        {
+            log.debug( "failed to read the manifest of {}: {}", file, e.getMessage() );
+            return null;
+        }
+    }
+
+    private Map<Path, DriverBinary> load()
+    {
+        if( !Files.isRegularFile( indexFile ) )
+        {
+            return Collections.emptyMap();
+        }
+        try
+        {
+            final Map<String, Object> content =
+                    MAPPER.readValue( indexFile.toFile(), new TypeReference<Map<String, Object>>() {} );
+            if( !Integer.valueOf( FORMAT_VERSION ).equals( content.get( "format" ) ) )
+            {
+                return Collections.emptyMap();
+            }
+            final Map<Path, DriverBinary> entries = new LinkedHashMap<>();
+            for( Object item : ( List<?> ) content.get( "entries" ) )
+            {
+                final Map<?, ?> entry = ( Map<?, ?> ) item;
+                final Path path = Paths.get( ( String ) entry.get( "path" ) );
+                final Object type = entry.get( "type" );
+                entries.put( path, new DriverBinary( path,
+                        ( ( Number ) entry.get( "size" ) ).longValue(),
+                        ( ( Number ) entry.get( "modified" ) ).longValue(),
+                        type == null ? null : DriverType.valueOf( ( String ) type ),
+                        ( String ) entry.get( "version" ),
+                        ( String ) entry.get( "checksum" ) ) );
+            }
+            return entries;
+        }
+        catch( IOException | RuntimeException e )
+        {
+            log.warn( "ignoring the unreadable driver index {}: {}", indexFile, e.getMessage() );
+            return Collections.emptyMap();
+        }
+    }
+
+    private void save( Collection<DriverBinary> entries )
+    {
+        final List<Map<String, Object>> items = new ArrayList<>( entries.size() );
+        for( DriverBinary binary : entries )
+        {
+            final Map<String, Object> item = new LinkedHashMap<>();
+            item.put( "path", binary.getPath().toString() );
+            item.put( "size", binary.getSize() );
+            item.put( "modified", binary.getLastModified() );
+            item.put( "type", binary.getType() == null ? null : binary.getType().name() );
+            item.put( "version", binary.getVersion() );
+            item.put( "checksum", binary.getChecksum() );
+            items.add( item );
+        }
+        final Map<String, Object> content = new LinkedHashMap<>();
+        content.put( "format", FORMAT_VERSION );
+        content.put( "entries", items );
+        try
+        {
+            Files.createDirectories( driversDirectory );
+            // concurrent forks may save at the same time; each one moves a complete file
+            final Path temporary = Files.createTempFile( driversDirectory, INDEX_FILE, ".tmp" );
+            MAPPER.writeValue( temporary.toFile(), content );
+            Files.move( temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch( IOException e )
+        {
+            log.warn( "failed to save the driver index {}: {}", indexFile, e.getMessage() );
+        }
+    }
+
+    private static String versionKey( DriverType type, String version )
+    {
+        return type.name() + '@' + version;
+    }
+
+
+    /**
+     * The entries and their lookup tables, replaced as a whole by a refresh.
+     */
+    private static final class Lookup
+    {
+        private final Map<Path, DriverBinary> entries;
+
+        private final Map<DriverType, DriverBinary> latest = new EnumMap<>( DriverType.class );
+
+        private final Map<String, DriverBinary> byVersion = new HashMap<>();
+
+        private final Map<String, DriverBinary> extensions = new HashMap<>();
+
+        private Lookup( Map<Path, DriverBinary> entries )
+        {
+            this.entries = entries;
+            for( DriverBinary binary : entries.values() )
+            {
+                if( binary.isExtension() )
+                {
+                    extensions.put( binary.getPath().getFileName().toString(), binary );
+                    continue;
+                }
+                latest.merge( binary.getType(), binary,
+                        ( left, right ) -> DriverBinary.BY_VERSION.compare( left, right ) >= 0 ? left : right );
+                if( binary.getVersion() != null )
+                {
+                    byVersion.putIfAbsent( versionKey( binary.getType(), binary.getVersion() ), binary );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package selenium.boot.webdriver.drivers;
+
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+
+/**
+ * The driver executables the {@link DriverIndex} recognizes, by file name.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public enum DriverType
+{
+    CHROME( "chromedriver", "chrome", "webdriver.chrome.driver" ),
+    FIREFOX( "geckodriver", "firefox", "webdriver.gecko.driver" ),
+    INTERNET_EXPLORER( "iedriverserver", "internet explorer", "webdriver.ie.driver" ),
+    EDGE( "microsoftwebdriver", "MicrosoftEdge", "webdriver.edge.driver" ),
+    OPERA( "operadriver", "operablink", "webdriver.opera.driver" );
+
+    /**
+     * The executable name, optionally followed by a version, and the windows extension.
+     */
+    private static final Pattern EXECUTABLE_NAME = Pattern.compile( "([a-z]+)(?:[-_]v?\\d+(?:\\.\\d+)*)?(?:\\.exe)?" );
+
+    private final String executable;
+
+    private final String browserName;
+
+    private final String systemProperty;
+
+    DriverType( String executable, String browserName, String systemProperty )
+    {
+        this.executable = executable;
+        this.browserName = browserName;
+        this.systemProperty = systemProperty;
+    }
+
+    /**
+     * @return the browser name of the capabilities, as in {@link org.openqa.selenium.remote.BrowserType}
+     */
+    public String getBrowserName()
+    {
+        return browserName;
+    }
+
+    /**
+     * @return the system property the driver service reads the executable location from
+     */
+    public String getSystemProperty()
+    {
+        return systemProperty;
+    }
+
+    /**
+     * @param fileName a file name, e.g. {@code chromedriver.exe} or {@code geckodriver-0.19.1}; archives such as
+     *                 {@code chromedriver_2.36_linux64.zip} are not executables
+     *
+     * @return the driver type the file is an executable of
+     */
+    public static Optional<DriverType> ofFileName( String fileName )
+    {
+        final Matcher matcher = EXECUTABLE_NAME.matcher( fileName.toLowerCase( Locale.ROOT ) );
+        if( !matcher.matches() )
+        {
+            return Optional.empty();
+        }
+        for( DriverType type : values() )
+        {
+            if( type.executable.equals( matcher.group( 1 ) ) )
+            {
+                return Optional.of( type );
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param browserName the browser name of the capabilities
+     *
+     * @return the driver type of the browser
+     */
+    public static Optional<DriverType> ofBrowserName( String browserName )
+    {
+        for( DriverType type : values() )
+        {
+            if( type.browserName.equalsIgnoreCase( browserName ) )
+            {
+                return Optional.of( type );
+            }
+        }
+        return Optional.empty();
+    }
+}
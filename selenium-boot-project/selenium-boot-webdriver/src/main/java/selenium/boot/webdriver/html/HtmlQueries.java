@@ -0,0 +1,201 @@
+package selenium.boot.webdriver.html;
+
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.InvalidSelectorException;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+
+
+/**
+ * Implements the WebDriver locator strategies over a parsed jsoup document.
+ * <p>
+ * Every query searches the descendants of the scope, never the scope itself, like a browser does.
+ * XPath expressions are evaluated by the JDK over a W3C copy of the document; the matched nodes are mapped back
+ * to the jsoup tree by their element position, both trees holding the same elements in the same order.
+ * </p>
+ * <p>
+ * Shared by the browser stand-ins and the DOM snapshots, which both hold the page as a jsoup tree.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class HtmlQueries
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final ThreadLocal<XPathFactory> XPATH_FACTORY = ThreadLocal.withInitial( XPathFactory::newInstance );
+
+    private HtmlQueries()
+    {
+        super();
+    }
+
+    //endregion
+
+    public static List<Element> byAttribute( Element scope, String name, String value )
+    {
+        return descendants( scope, scope.getElementsByAttributeValue( name, value ) );
+    }
+
+    public static List<Element> byClassName( Element scope, String className )
+    {
+        return descendants( scope, scope.getElementsByClass( className ) );
+    }
+
+    public static List<Element> byTagName( Element scope, String tagName )
+    {
+        return descendants( scope, scope.getElementsByTag( tagName ) );
+    }
+
+    public static List<Element> byCssSelector( Element scope, String selector )
+    {
+        try
+        {
+            return descendants( scope, scope.select( selector ) );
+        }
+        catch( Selector.SelectorParseException e )
+        {
+            throw new InvalidSelectorException( "invalid css selector: " + selector, e );
+        }
+    }
+
+    public static List<Element> byLinkText( Element scope, String text, boolean partial )
+    {
+        final List<Element> found = new ArrayList<>();
+        for( Element anchor : descendants( scope, scope.getElementsByTag( "a" ) ) )
+        {
+            final String anchorText = anchor.text();
+            if( partial ? anchorText.contains( text ) : anchorText.equals( text ) )
+            {
+                found.add( anchor );
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Evaluates an XPath expression.
+     *
+     * @param document   the jsoup document
+     * @param w3c        the W3C copy of {@code document}
+     * @param scope      the context element, or {@code document} itself
+     * @param expression the XPath expression
+     *
+     * @return the matched elements, in document order
+     *
+     * @throws InvalidSelectorException if the expression is invalid or selects nodes that are not elements
+     */
+    public static List<Element> byXPath( Document document, org.w3c.dom.Document w3c, Element scope, String expression )
+    {
+        final Node context = scope == document ? w3c : toW3c( w3c, scope );
+        final NodeList nodes;
+        try
+        {
+            nodes = ( NodeList ) XPATH_FACTORY.get().newXPath().evaluate( expression, context, XPathConstants.NODESET );
+        }
+        catch( XPathExpressionException e )
+        {
+            throw new InvalidSelectorException( "invalid xpath expression: " + expression, e );
+        }
+
+        final List<Element> found = new ArrayList<>( nodes.getLength() );
+        for( int i = 0; i < nodes.getLength(); i++ )
+        {
+            final Node node = nodes.item( i );
+            if( node.getNodeType() != Node.ELEMENT_NODE )
+            {
+                throw new InvalidSelectorException( "the result of the xpath expression " + expression
+                                                    + " is a " + node.getNodeName() + ", it should be an element" );
+            }
+            found.add( fromW3c( document, node ) );
+        }
+        return found;
+    }
+
+    private static List<Element> descendants( Element scope, List<Element> matches )
+    {
+        if( !matches.isEmpty() && matches.get( 0 ) == scope )
+        {
+            return new ArrayList<>( matches.subList( 1, matches.size() ) );
+        }
+        return matches;
+    }
+
+    private static Node toW3c( org.w3c.dom.Document w3c, Element element )
+    {
+        final Deque<Integer> path = new ArrayDeque<>();
+        Element current = element;
+        while( current.parent() != null && !( current.parent() instanceof Document ) )
+        {
+            path.push( current.elementSiblingIndex() );
+            current = current.parent();
+        }
+        Node node = w3c.getDocumentElement();
+        for( int index : path )
+        {
+            node = elementChild( node, index );
+        }
+        return node;
+    }
+
+    private static Element fromW3c( Document document, Node node )
+    {
+        final Deque<Integer> path = new ArrayDeque<>();
+        Node current = node;
+        while( current.getParentNode() != null && current.getParentNode().getNodeType() == Node.ELEMENT_NODE )
+        {
+            path.push( elementIndex( current ) );
+            current = current.getParentNode();
+        }
+        Element element = document.child( 0 );
+        for( int index : path )
+        {
+            element = element.child( index );
+        }
+        return element;
+    }
+
+    private static Node elementChild( Node parent, int index )
+    {
+        int position = 0;
+        for( Node child = parent.getFirstChild(); child != null; child = child.getNextSibling() )
+        {
+            if( child.getNodeType() == Node.ELEMENT_NODE && position++ == index )
+            {
+                return child;
+            }
+        }
+        throw new IllegalStateException( "the W3C copy is out of sync with the document" );
+    }
+
+    private static int elementIndex( Node node )
+    {
+        int index = 0;
+        for( Node sibling = node.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling() )
+        {
+            if( sibling.getNodeType() == Node.ELEMENT_NODE )
+            {
+                index++;
+            }
+        }
+        return index;
+    }
+}
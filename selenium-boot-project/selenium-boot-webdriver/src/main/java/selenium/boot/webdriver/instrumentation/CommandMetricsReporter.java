@@ -0,0 +1,101 @@
+package selenium.boot.webdriver.instrumentation;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.metrics.CommandMetrics;
+import selenium.boot.utils.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+
+
+/**
+ * Dumps the {@link CommandMetrics} collected during a test into the performance directory, then starts over,
+ * so every test gets its own {@code <test name>-commands.json} report.
+ * <p>
+ * The {@link CommandMetricsSessionListener} calls it with the metrics of the session a test returns; tests using
+ * their own drivers record into the metrics given to the constructor, and call {@link #dump(String)} after each
+ * test method.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.spring.config.WorkspaceProperties#getPerformanceDirectory()
+ * @since 2.0
+ */
+public class CommandMetricsReporter
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( CommandMetricsReporter.class );
+
+    private static final String FILE_SUFFIX = "-commands.json";
+
+    private final CommandMetrics metrics;
+
+    private final Path directory;
+
+    public CommandMetricsReporter( CommandMetrics metrics, Path directory )
+    {
+        Assert.notNull( metrics, "metrics must not be null" );
+        Assert.notNull( directory, "directory must not be null" );
+        this.metrics = metrics;
+        this.directory = directory;
+    }
+
+    //endregion
+
+    /**
+     * Writes the metrics collected since the previous dump, and resets them.
+     * Nothing is written when no command was recorded.
+     *
+     * @param testName the test name, used as the file name
+     *
+     * @return the written file, or {@code null} if there was nothing to write
+     */
+    public Path dump( String testName )
+    {
+        return dump( metrics, testName );
+    }
+
+    /**
+     * Writes the given metrics, and resets them.
+     * Nothing is written when no command was recorded.
+     *
+     * @param metrics  the metrics of a single session, such as those of a {@link CommandMetricsSessionListener}
+     * @param testName the test name, used as the file name
+     *
+     * @return the written file, or {@code null} if there was nothing to write
+     */
+    public Path dump( CommandMetrics metrics, String testName )
+    {
+        Assert.notNull( metrics, "metrics must not be null" );
+        Assert.hasText( testName, "testName must not be empty" );
+        if( metrics.getTotalCount() == 0 )
+        {
+            return null;
+        }
+        final Path file = directory.resolve( testName.replaceAll( "[^\\w.-]", "_" ) + FILE_SUFFIX );
+        try
+        {
+            metrics.writeTo( file );
+            log.debug( "command metrics of {} written to {}", testName, file );
+            return file;
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( "failed to write the command metrics to " + file, e );
+        }
+        finally
+        {
+            metrics.reset();
+        }
+    }
+}
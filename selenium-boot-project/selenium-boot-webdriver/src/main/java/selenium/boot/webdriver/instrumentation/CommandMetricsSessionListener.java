@@ -0,0 +1,89 @@
+package selenium.boot.webdriver.instrumentation;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.internal.WrapsDriver;
+import selenium.boot.metrics.CommandMetrics;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.pool.SessionListener;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+
+
+/**
+ * Instruments the drivers of the {@link selenium.boot.webdriver.pool.WebDriverSessionPool}, and dumps the
+ * {@link CommandMetrics} through the {@link CommandMetricsReporter} when a test returns its lease.
+ * <p>
+ * Every session records into its own metrics, so a report only holds the commands of the test that returned it,
+ * even while other tests run concurrently.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CommandMetricsSessionListener implements SessionListener
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final Map<WebDriver, CommandMetrics> sessions = Collections.synchronizedMap( new WeakHashMap<>() );
+
+    private final CommandMetricsReporter reporter;
+
+    /**
+     * @param reporter the per-test reporter
+     */
+    public CommandMetricsSessionListener( CommandMetricsReporter reporter )
+    {
+        Assert.notNull( reporter, "reporter must not be null" );
+        this.reporter = reporter;
+    }
+
+    //endregion
+
+    @Override
+    public WebDriver afterCreate( WebDriver driver )
+    {
+        final CommandMetrics metrics = new CommandMetrics();
+        sessions.put( created( driver ), metrics );
+        return InstrumentedWebDriver.instrument( driver, metrics );
+    }
+
+    @Override
+    public void beforeReturn( WebDriver driver, String testName )
+    {
+        final CommandMetrics metrics = sessions.get( created( driver ) );
+        if( metrics != null )
+        {
+            reporter.dump( metrics, testName );
+        }
+    }
+
+    /**
+     * @param driver a driver, possibly decorated
+     *
+     * @return the driver created by the {@link selenium.boot.webdriver.pool.SessionFactory}, used as the session key
+     */
+    private static WebDriver created( WebDriver driver )
+    {
+        WebDriver current = driver;
+        while( true )
+        {
+            final Object target = InstrumentedWebDriver.unwrap( current );
+            final WebDriver wrapped = target != current ? ( WebDriver ) target
+                    : current instanceof WrapsDriver ? ( ( WrapsDriver ) current ).getWrappedDriver() : null;
+            if( wrapped == null || wrapped == current )
+            {
+                return current;
+            }
+            current = wrapped;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package selenium.boot.webdriver.instrumentation;
+
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+
+
+/**
+ * Tracks, per thread, the operation currently talking to the browser, so instrumented commands can be attributed
+ * to the matcher that issued them.
+ * <p>
+ * Operations nest: the innermost one is reported, so a {@code TextMatcher} evaluated inside an eventually matcher
+ * gets its own commands attributed.
+ * </p>
+ * <pre>{@code
+ * try( EvaluationContext.Scope ignored = EvaluationContext.enter( "TextMatcher" ) )
+ * {
+ *     return element.getText();
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class EvaluationContext
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * the label reported for commands issued outside of any operation
+     */
+    public static final String UNATTRIBUTED = "unattributed";
+
+    private static final ThreadLocal<Deque<String>> OPERATIONS = ThreadLocal.withInitial( ArrayDeque::new );
+
+    private static final Scope SCOPE = () -> OPERATIONS.get().pollFirst();
+
+    private EvaluationContext()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Marks the start of an operation on the current thread.
+     *
+     * @param operation the operation label
+     *
+     * @return the scope to close when the operation ends
+     */
+    public static Scope enter( String operation )
+    {
+        OPERATIONS.get().push( operation );
+        return SCOPE;
+    }
+
+    /**
+     * @return the innermost operation of the current thread, or {@link #UNATTRIBUTED}
+     */
+    public static String current()
+    {
+        final String operation = OPERATIONS.get().peekFirst();
+        return operation == null ? UNATTRIBUTED : operation;
+    }
+
+
+    /**
+     * Ends the operation it was returned for.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable
+    {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,286 @@
+package selenium.boot.webdriver.instrumentation;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.logging.Logs;
+import selenium.boot.metrics.CommandMetrics;
+import selenium.boot.utils.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * Decorates a {@link WebDriver} with dynamic proxies that time every command and record it in {@link CommandMetrics}.
+ * <p>
+ * Commands are named after the decorated object and the method, for example {@code WebElement.getAttribute} or
+ * {@code WebDriver.executeScript}, and attributed to the operation of the {@link EvaluationContext}.
+ * Elements, options, navigation and target locators returned by the driver are decorated as well; decorated
+ * elements passed back as arguments are unwrapped before reaching the real driver, and
+ * {@link WrapsDriver#getWrappedDriver()} of a decorated element returns the decorated driver, so scripts
+ * executed on behalf of an element are measured too.
+ * </p>
+ * <p>
+ * A proxy is used instead of an {@code EventFiringWebDriver} because the events do not cover every command and
+ * do not expose their latency.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class InstrumentedWebDriver
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * accessors returning client side helpers, which do not reach the browser
+     */
+    private static final Set<Class<?>> LOCAL_RESULT_TYPES = new HashSet<>( Arrays.asList(
+            WebDriver.Options.class, WebDriver.Navigation.class, WebDriver.TargetLocator.class,
+            WebDriver.Timeouts.class, WebDriver.Window.class, WebDriver.ImeHandler.class, Logs.class ) );
+
+    private InstrumentedWebDriver()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Decorates a driver.
+     *
+     * @param driver  the driver to measure
+     * @param metrics the collector of the measurements
+     *
+     * @return the decorated driver, implementing the same public interfaces as {@code driver}
+     */
+    public static WebDriver instrument( WebDriver driver, CommandMetrics metrics )
+    {
+        Assert.notNull( driver, "driver must not be null" );
+        Assert.notNull( metrics, "metrics must not be null" );
+        final Recorder recorder = new Recorder( driver, "WebDriver", metrics, null );
+        final WebDriver proxy = ( WebDriver ) recorder.proxy( interfacesOf( driver.getClass() ) );
+        recorder.driverProxy = proxy;
+        return proxy;
+    }
+
+    /**
+     * @param candidate any object
+     *
+     * @return the object decorated by {@code candidate}, or {@code candidate} itself if it is not decorated
+     */
+    public static Object unwrap( Object candidate )
+    {
+        if( candidate != null && Proxy.isProxyClass( candidate.getClass() ) )
+        {
+            final InvocationHandler handler = Proxy.getInvocationHandler( candidate );
+            if( handler instanceof Recorder )
+            {
+                return ( ( Recorder ) handler ).target;
+            }
+        }
+        return candidate;
+    }
+
+    private static Class<?>[] interfacesOf( Class<?> type, Class<?>... extra )
+    {
+        final Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for( Class<?> current = type; current != null; current = current.getSuperclass() )
+        {
+            collectInterfaces( current, interfaces );
+        }
+        interfaces.addAll( Arrays.asList( extra ) );
+        return interfaces.toArray( new Class<?>[ interfaces.size() ] );
+    }
+
+    private static void collectInterfaces( Class<?> type, Set<Class<?>> interfaces )
+    {
+        for( Class<?> candidate : type.getInterfaces() )
+        {
+            if( Modifier.isPublic( candidate.getModifiers() ) )
+            {
+                interfaces.add( candidate );
+            }
+            collectInterfaces( candidate, interfaces );
+        }
+    }
+
+    private static Object unwrapArgument( Object arg )
+    {
+        if( arg instanceof List )
+        {
+            final List<Object> unwrapped = new ArrayList<>( ( ( List<?> ) arg ).size() );
+            for( Object item : ( List<?> ) arg )
+            {
+                unwrapped.add( unwrapArgument( item ) );
+            }
+            return unwrapped;
+        }
+        if( arg != null && arg.getClass() == Object[].class )
+        {
+            final Object[] items = ( Object[] ) arg;
+            final Object[] unwrapped = new Object[ items.length ];
+            for( int i = 0; i < items.length; i++ )
+            {
+                unwrapped[ i ] = unwrapArgument( items[ i ] );
+            }
+            return unwrapped;
+        }
+        return unwrap( arg );
+    }
+
+
+    /**
+     * Times and records the calls on one decorated object.
+     */
+    private static final class Recorder implements InvocationHandler
+    {
+        private final Object target;
+
+        private final String kind;
+
+        private final CommandMetrics metrics;
+
+        private Object driverProxy;
+
+        private Recorder( Object target, String kind, CommandMetrics metrics, Object driverProxy )
+        {
+            this.target = target;
+            this.kind = kind;
+            this.metrics = metrics;
+            this.driverProxy = driverProxy;
+        }
+
+        private Object proxy( Class<?>[] interfaces )
+        {
+            return Proxy.newProxyInstance( target.getClass().getClassLoader(), interfaces, this );
+        }
+
+        @Override
+        public Object invoke( Object proxy, Method method, Object[] args ) throws Throwable
+        {
+            final Class<?> declaring = method.getDeclaringClass();
+            if( declaring == Object.class )
+            {
+                return invokeLocal( method, args );
+            }
+            if( declaring == WrapsElement.class )
+            {
+                return target;
+            }
+            if( declaring == WrapsDriver.class && target instanceof WebElement )
+            {
+                return driverProxy;
+            }
+
+            final boolean local = declaring == WrapsDriver.class || LOCAL_RESULT_TYPES.contains( method.getReturnType() );
+            final long start = System.nanoTime();
+            try
+            {
+                return wrapResult( method, method.invoke( target, unwrapArguments( args ) ) );
+            }
+            catch( InvocationTargetException e )
+            {
+                throw e.getCause();
+            }
+            finally
+            {
+                if( !local )
+                {
+                    metrics.record( EvaluationContext.current(), kind + "." + method.getName(), System.nanoTime() - start );
+                }
+            }
+        }
+
+        private Object invokeLocal( Method method, Object[] args )
+        {
+            switch( method.getName() )
+            {
+                case "equals":
+                    return target.equals( unwrap( args[ 0 ] ) );
+                case "hashCode":
+                    return target.hashCode();
+                default:
+                    return target.toString();
+            }
+        }
+
+        private static Object[] unwrapArguments( Object[] args )
+        {
+            if( args == null )
+            {
+                return null;
+            }
+            final Object[] unwrapped = new Object[ args.length ];
+            for( int i = 0; i < args.length; i++ )
+            {
+                unwrapped[ i ] = unwrapArgument( args[ i ] );
+            }
+            return unwrapped;
+        }
+
+        private Object wrapResult( Method method, Object result )
+        {
+            if( result == null )
+            {
+                return null;
+            }
+            final Class<?> returnType = method.getReturnType();
+            if( LOCAL_RESULT_TYPES.contains( returnType ) )
+            {
+                return new Recorder( result, returnType.getSimpleName(), metrics, driverProxy )
+                        .proxy( new Class<?>[]{ returnType } );
+            }
+            return wrapValue( result );
+        }
+
+        private Object wrapValue( Object value )
+        {
+            if( value instanceof WebDriver )
+            {
+                return value == unwrap( driverProxy ) ? driverProxy : value;
+            }
+            if( value instanceof WebElement )
+            {
+                return new Recorder( value, "WebElement", metrics, driverProxy )
+                        .proxy( interfacesOf( value.getClass(), WrapsElement.class, WrapsDriver.class ) );
+            }
+            if( value instanceof List )
+            {
+                final List<Object> wrapped = new ArrayList<>( ( ( List<?> ) value ).size() );
+                for( Object item : ( List<?> ) value )
+                {
+                    wrapped.add( wrapValue( item ) );
+                }
+                return wrapped;
+            }
+            if( value instanceof Map )
+            {
+                final Map<Object, Object> wrapped = new LinkedHashMap<>();
+                ( ( Map<?, ?> ) value ).forEach( ( key, item ) -> wrapped.put( key, wrapValue( item ) ) );
+                return wrapped;
+            }
+            return value;
+        }
+    }
+}
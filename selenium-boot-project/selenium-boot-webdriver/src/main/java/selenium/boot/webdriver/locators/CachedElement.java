@@ -0,0 +1,249 @@
+package selenium.boot.webdriver.locators;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+
+/**
+ * An element returned by the {@link ElementCache}. The element of a single element locator finds itself again once
+ * when an operation reports a stale reference; a stale element of a list throws, and evicts its list from the cache.
+ * Script arguments are unwrapped by the driver, through {@link WrapsElement}.
+ * <p>
+ * Two cached elements are equal when they were found by the same locator, at the same position, from the same search
+ * context of the same cache, so the equality holds across the lookups made again. A cached element is not equal to
+ * the element it wraps.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class CachedElement implements WebElement, WrapsElement, WrapsDriver
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final ElementCache cache;
+
+    private final SearchContext context;
+
+    private final By by;
+
+    private final int index;
+
+    private volatile WebElement element;
+
+    CachedElement( ElementCache cache, SearchContext context, By by, int index, WebElement element )
+    {
+        this.cache = cache;
+        this.context = context;
+        this.by = by;
+        this.index = index;
+        this.element = element;
+    }
+
+    //endregion
+
+    //region WebElement
+
+    @Override
+    public void click()
+    {
+        run( WebElement::click );
+    }
+
+    @Override
+    public void submit()
+    {
+        run( WebElement::submit );
+    }
+
+    @Override
+    public void sendKeys( CharSequence... keysToSend )
+    {
+        run( current -> current.sendKeys( keysToSend ) );
+    }
+
+    @Override
+    public void clear()
+    {
+        run( WebElement::clear );
+    }
+
+    @Override
+    public String getTagName()
+    {
+        return call( WebElement::getTagName );
+    }
+
+    @Override
+    public String getAttribute( String name )
+    {
+        return call( current -> current.getAttribute( name ) );
+    }
+
+    @Override
+    public boolean isSelected()
+    {
+        return call( WebElement::isSelected );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return call( WebElement::isEnabled );
+    }
+
+    @Override
+    public String getText()
+    {
+        return call( WebElement::getText );
+    }
+
+    @Override
+    public List<WebElement> findElements( By locator )
+    {
+        return call( current -> current.findElements( locator ) );
+    }
+
+    @Override
+    public WebElement findElement( By locator )
+    {
+        return call( current -> current.findElement( locator ) );
+    }
+
+    @Override
+    public boolean isDisplayed()
+    {
+        return call( WebElement::isDisplayed );
+    }
+
+    @Override
+    public Point getLocation()
+    {
+        return call( WebElement::getLocation );
+    }
+
+    @Override
+    public Dimension getSize()
+    {
+        return call( WebElement::getSize );
+    }
+
+    @Override
+    public Rectangle getRect()
+    {
+        return call( WebElement::getRect );
+    }
+
+    @Override
+    public String getCssValue( String propertyName )
+    {
+        return call( current -> current.getCssValue( propertyName ) );
+    }
+
+    @Override
+    public <X> X getScreenshotAs( OutputType<X> target )
+    {
+        return call( current -> current.getScreenshotAs( target ) );
+    }
+
+    //endregion
+
+    @Override
+    public WebElement getWrappedElement()
+    {
+        return element;
+    }
+
+    @Override
+    public WebDriver getWrappedDriver()
+    {
+        final WebElement current = element;
+        return current instanceof WrapsDriver ? ( ( WrapsDriver ) current ).getWrappedDriver() : null;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if( this == o )
+        {
+            return true;
+        }
+        if( !( o instanceof CachedElement ) )
+        {
+            return false;
+        }
+        final CachedElement other = ( CachedElement ) o;
+        return cache == other.cache && index == other.index && context.equals( other.context ) && by.equals( other.by );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash( System.identityHashCode( cache ), context, by, index );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CachedElement[" + by + ( index < 0 ? "" : " #" + index ) + " -> " + element + "]";
+    }
+
+    private <R> R call( Function<WebElement, R> operation )
+    {
+        final WebElement current = element;
+        try
+        {
+            return operation.apply( current );
+        }
+        catch( StaleElementReferenceException e )
+        {
+            if( index >= 0 )
+            {
+                cache.evict( context, by );
+                throw e;
+            }
+            final WebElement fresh;
+            try
+            {
+                fresh = cache.refind( context, by );
+            }
+            catch( NoSuchElementException missing )
+            {
+                missing.addSuppressed( e );
+                throw missing;
+            }
+            element = fresh;
+            return operation.apply( fresh );
+        }
+    }
+
+    private void run( Consumer<WebElement> operation )
+    {
+        call( current -> {
+            operation.accept( current );
+            return null;
+        } );
+    }
+}
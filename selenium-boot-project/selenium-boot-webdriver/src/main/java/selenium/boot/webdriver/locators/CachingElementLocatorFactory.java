@@ -0,0 +1,89 @@
+package selenium.boot.webdriver.locators;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import selenium.boot.utils.Assert;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+
+
+/**
+ * Creates page object locators served by an {@link ElementCache}, instead of finding the element on every call of
+ * the page factory proxies.
+ * <pre>
+ * PageFactory.initElements( new CachingElementLocatorFactory( cache, driver ), page );
+ * </pre>
+ * <p>
+ * The elements are found again transparently when their reference goes stale, so
+ * {@link org.openqa.selenium.support.ui.ExpectedConditions#stalenessOf(WebElement)} never fires on them: to wait for
+ * an element to be replaced, hold the reference returned by a plain {@link SearchContext#findElement(By)}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final ElementCache cache;
+
+    private final SearchContext context;
+
+    public CachingElementLocatorFactory( ElementCache cache, SearchContext context )
+    {
+        Assert.notNull( cache, "cache must not be null" );
+        Assert.notNull( context, "context must not be null" );
+        this.cache = cache;
+        this.context = context;
+    }
+
+    //endregion
+
+    @Override
+    public ElementLocator createLocator( Field field )
+    {
+        return new CachingElementLocator( new Annotations( field ).buildBy() );
+    }
+
+
+    private final class CachingElementLocator implements ElementLocator
+    {
+        private final By by;
+
+        private CachingElementLocator( By by )
+        {
+            this.by = by;
+        }
+
+        @Override
+        public WebElement findElement()
+        {
+            return cache.findElement( context, by );
+        }
+
+        @Override
+        public List<WebElement> findElements()
+        {
+            return cache.findElements( context, by );
+        }
+
+        @Override
+        public String toString()
+        {
+            return "CachingElementLocator[" + by + "]";
+        }
+    }
+}
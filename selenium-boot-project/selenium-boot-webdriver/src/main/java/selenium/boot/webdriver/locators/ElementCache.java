@@ -0,0 +1,322 @@
+package selenium.boot.webdriver.locators;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.matchers.BrowserScripts;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+
+/**
+ * Keeps the elements found by locator, per search context, for as long as the page generation does not change.
+ * <p>
+ * The generation of the page changes when the url, the navigation counter or, when DOM tracking is on, the
+ * {@link BrowserScripts#DOCUMENT_STAMP document stamp} changes. The navigation counter is advanced by
+ * {@link #navigated()}, and {@link #touched()} asks for the url and stamp to be read again at the next lookup;
+ * {@link ElementCacheListener} calls both from an {@link org.openqa.selenium.support.events.EventFiringWebDriver}.
+ * Without those signals, the url, or the stamp with DOM tracking, is read again at most once per validation window,
+ * so a navigation the cache was not told about is noticed within the window. Without DOM tracking nor the listener,
+ * a page changing without navigation keeps serving the lists found before the change.
+ * </p>
+ * <p>
+ * Elements are returned wrapped: a {@link org.openqa.selenium.StaleElementReferenceException} raised by an
+ * operation on the element of a single element locator, e.g. after a navigation the cache was not told about, causes
+ * one transparent lookup of the locator, and the operation is retried once on the element found. The elements of a
+ * list are not found again, since the element now at the same position may be another one: the exception is thrown,
+ * and the list is dropped from the cache so the next lookup finds it again.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see CachingElementLocatorFactory
+ * @since 2.0
+ */
+public final class ElementCache
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis( 200 );
+
+    private final WebDriver driver;
+
+    private final boolean trackDom;
+
+    private final long windowNanos;
+
+    private final Cache<SearchContext, Map<By, Entry>> entries = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final AtomicLong navigations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong refinds = new AtomicLong();
+
+    private volatile boolean touched = true;
+
+    private volatile long generation;
+
+    private long checkedNavigation = -1;
+
+    private long checkedAt;
+
+    private String page;
+
+    /**
+     * Creates a cache following the url and the navigations only, reading the url at most once per
+     * {@link #DEFAULT_WINDOW}.
+     *
+     * @param driver the driver the elements belong to
+     */
+    public ElementCache( WebDriver driver )
+    {
+        this( driver, false, DEFAULT_WINDOW );
+    }
+
+    /**
+     * @param driver   the driver the elements belong to
+     * @param trackDom {@code true} to also follow the DOM mutations, for pages changing without navigation
+     * @param window   for how long the url or the document stamp is trusted before being read again
+     */
+    public ElementCache( WebDriver driver, boolean trackDom, Duration window )
+    {
+        Assert.notNull( driver, "driver must not be null" );
+        Assert.isTrue( !window.isNegative(), "window must not be negative" );
+        this.driver = driver;
+        this.trackDom = trackDom && BrowserScripts.executorOf( driver ).isPresent();
+        this.windowNanos = window.toNanos();
+    }
+
+    //endregion
+
+    /**
+     * Finds the first element of a locator, from the cache when the page generation did not change.
+     *
+     * @throws NoSuchElementException if no element is found; failed lookups are not cached
+     */
+    public WebElement findElement( SearchContext context, By by )
+    {
+        final Map<By, Entry> results = resultsOf( context, by );
+        final long current = currentGeneration();
+        final Entry entry = results.get( by );
+        if( entry != null && entry.generation == current && entry.element != null )
+        {
+            hits.incrementAndGet();
+            return entry.element;
+        }
+        misses.incrementAndGet();
+        final CachedElement element = new CachedElement( this, context, by, -1, lookup( context, by ) );
+        results.put( by, new Entry( current, element, null ) );
+        return element;
+    }
+
+    /**
+     * Finds the elements of a locator, from the cache when the page generation did not change.
+     */
+    public List<WebElement> findElements( SearchContext context, By by )
+    {
+        final Map<By, Entry> results = resultsOf( context, by );
+        final long current = currentGeneration();
+        final Entry entry = results.get( by );
+        if( entry != null && entry.generation == current && entry.elements != null )
+        {
+            hits.incrementAndGet();
+            return entry.elements;
+        }
+        misses.incrementAndGet();
+        final List<WebElement> found = lookupAll( context, by );
+        final List<WebElement> elements = new ArrayList<>( found.size() );
+        for( int i = 0; i < found.size(); i++ )
+        {
+            elements.add( new CachedElement( this, context, by, i, found.get( i ) ) );
+        }
+        final List<WebElement> cached = Collections.unmodifiableList( elements );
+        results.put( by, new Entry( current, null, cached ) );
+        return cached;
+    }
+
+    /**
+     * Advances the navigation counter; every cached element is found again.
+     */
+    public void navigated()
+    {
+        navigations.incrementAndGet();
+        touched = true;
+    }
+
+    /**
+     * Asks for the url, and the document stamp when tracking the DOM, to be read again at the next lookup.
+     */
+    public void touched()
+    {
+        touched = true;
+    }
+
+    /**
+     * Discards every cached element.
+     */
+    public void invalidate()
+    {
+        entries.invalidateAll();
+    }
+
+    /**
+     * @return the current generation, advanced on every observed page change
+     */
+    public long getGeneration()
+    {
+        return generation;
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of lookups made again after a stale element reference
+     */
+    public long getRefinds()
+    {
+        return refinds.get();
+    }
+
+    /**
+     * Finds the element of a single element locator again after a stale reference.
+     */
+    WebElement refind( SearchContext context, By by )
+    {
+        refinds.incrementAndGet();
+        touched = true;
+        return lookup( context, by );
+    }
+
+    /**
+     * Drops the list of a locator after one of its elements went stale.
+     */
+    void evict( SearchContext context, By by )
+    {
+        touched = true;
+        final Map<By, Entry> results = entries.getIfPresent( context );
+        if( results != null )
+        {
+            final Entry entry = results.get( by );
+            if( entry != null && entry.elements != null )
+            {
+                results.remove( by, entry );
+            }
+        }
+    }
+
+    private Map<By, Entry> resultsOf( SearchContext context, By by )
+    {
+        Assert.notNull( context, "context must not be null" );
+        Assert.notNull( by, "by must not be null" );
+        try
+        {
+            return entries.get( context, ConcurrentHashMap::new );
+        }
+        catch( ExecutionException e )
+        {
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    private static WebElement lookup( SearchContext context, By by )
+    {
+        return context.findElement( LocatorOptimizer.optimize( context, by ) );
+    }
+
+    private static List<WebElement> lookupAll( SearchContext context, By by )
+    {
+        return context.findElements( LocatorOptimizer.optimize( context, by ) );
+    }
+
+    /**
+     * Reads the page again when told to, or when the validation window elapsed.
+     */
+    private synchronized long currentGeneration()
+    {
+        final long now = System.nanoTime();
+        if( !touched && now - checkedAt < windowNanos )
+        {
+            return generation;
+        }
+        touched = false;
+        checkedAt = now;
+        final long navigation = navigations.get();
+        final String current = readPage();
+        if( navigation != checkedNavigation || current == null || !current.equals( page ) )
+        {
+            checkedNavigation = navigation;
+            page = current;
+            generation++;
+        }
+        return generation;
+    }
+
+    /**
+     * @return the document stamp, which starts with the url, or the url alone; {@code null} if unknown
+     */
+    private String readPage()
+    {
+        try
+        {
+            if( trackDom )
+            {
+                final JavascriptExecutor executor = BrowserScripts.executorOf( driver ).get();
+                return Objects.toString( executor.executeScript( BrowserScripts.DOCUMENT_STAMP ), null );
+            }
+            return driver.getCurrentUrl();
+        }
+        catch( WebDriverException e )
+        {
+            return null;
+        }
+    }
+
+
+    private static final class Entry
+    {
+        private final long generation;
+
+        private final WebElement element;
+
+        private final List<WebElement> elements;
+
+        private Entry( long generation, WebElement element, List<WebElement> elements )
+        {
+            this.generation = generation;
+            this.element = element;
+            this.elements = elements;
+        }
+    }
+}
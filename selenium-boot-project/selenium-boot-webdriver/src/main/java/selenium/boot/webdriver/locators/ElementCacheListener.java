@@ -0,0 +1,70 @@
+package selenium.boot.webdriver.locators;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import selenium.boot.utils.Assert;
+
+
+
+/**
+ * Tells an {@link ElementCache} about navigations, and about the actions that may change the page.
+ * Register it on the {@link org.openqa.selenium.support.events.EventFiringWebDriver} of the cached driver.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class ElementCacheListener extends AbstractWebDriverEventListener
+{
+    private final ElementCache cache;
+
+    public ElementCacheListener( ElementCache cache )
+    {
+        Assert.notNull( cache, "cache must not be null" );
+        this.cache = cache;
+    }
+
+    @Override
+    public void afterNavigateTo( String url, WebDriver driver )
+    {
+        cache.navigated();
+    }
+
+    @Override
+    public void afterNavigateBack( WebDriver driver )
+    {
+        cache.navigated();
+    }
+
+    @Override
+    public void afterNavigateForward( WebDriver driver )
+    {
+        cache.navigated();
+    }
+
+    @Override
+    public void afterNavigateRefresh( WebDriver driver )
+    {
+        cache.navigated();
+    }
+
+    @Override
+    public void afterClickOn( WebElement element, WebDriver driver )
+    {
+        cache.touched();
+    }
+
+    @Override
+    public void afterChangeValueOf( WebElement element, WebDriver driver, CharSequence[] keysToSend )
+    {
+        cache.touched();
+    }
+
+    @Override
+    public void afterScript( String script, WebDriver driver )
+    {
+        cache.touched();
+    }
+}
@@ -0,0 +1,114 @@
+package selenium.boot.webdriver.locators;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+
+
+/**
+ * Rewrites XPath locators into equivalent CSS selector locators, which browsers evaluate much faster.
+ * <p>
+ * Only the simple expressions handled by {@link XPathToCss} are rewritten; every other locator is returned
+ * unchanged. Translations, including the failed ones, are cached by expression, so a locator resolved thousands
+ * of times is parsed once. Callers keep the original locator for descriptions and cache keys.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class LocatorOptimizer
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String XPATH_PREFIX = "By.xpath: ";
+
+    private static final int MAX_CACHED_TRANSLATIONS = 4096;
+
+    private static final Cache<String, Optional<String>> DOCUMENT_TRANSLATIONS =
+            CacheBuilder.newBuilder().maximumSize( MAX_CACHED_TRANSLATIONS ).build();
+
+    private static final Cache<String, Optional<String>> ELEMENT_TRANSLATIONS =
+            CacheBuilder.newBuilder().maximumSize( MAX_CACHED_TRANSLATIONS ).build();
+
+    private static volatile boolean enabled = true;
+
+    private LocatorOptimizer()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Optimizes a locator evaluated from the given context.
+     *
+     * @param context the driver or element the locator is evaluated from
+     * @param by      the locator
+     *
+     * @return a CSS selector locator when the XPath could be translated, {@code by} otherwise
+     */
+    public static By optimize( SearchContext context, By by )
+    {
+        return optimize( by, context instanceof WebDriver );
+    }
+
+    /**
+     * Optimizes a locator evaluated from the document.
+     *
+     * @param by the locator
+     *
+     * @return a CSS selector locator when the XPath could be translated, {@code by} otherwise
+     */
+    public static By optimize( By by )
+    {
+        return optimize( by, true );
+    }
+
+    /**
+     * Enables or disables the rewriting, e.g. to compare the lookup times.
+     *
+     * @param enabled {@code false} to return every locator unchanged
+     */
+    public static void setEnabled( boolean enabled )
+    {
+        LocatorOptimizer.enabled = enabled;
+    }
+
+    private static By optimize( By by, boolean fromDocument )
+    {
+        if( !enabled || !( by instanceof By.ByXPath ) )
+        {
+            return by;
+        }
+        // ByXPath does not expose its expression; its description is stable across Selenium 3 versions
+        final String description = by.toString();
+        if( !description.startsWith( XPATH_PREFIX ) )
+        {
+            return by;
+        }
+        final String xpath = description.substring( XPATH_PREFIX.length() );
+        final Cache<String, Optional<String>> translations = fromDocument ? DOCUMENT_TRANSLATIONS : ELEMENT_TRANSLATIONS;
+        try
+        {
+            final Optional<String> css = translations.get( xpath,
+                    () -> Optional.ofNullable( XPathToCss.translate( xpath, fromDocument ) ) );
+            return css.isPresent() ? By.cssSelector( css.get() ) : by;
+        }
+        catch( ExecutionException e )
+        {
+            return by;
+        }
+    }
+}
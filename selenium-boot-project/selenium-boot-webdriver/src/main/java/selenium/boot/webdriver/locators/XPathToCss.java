@@ -0,0 +1,333 @@
+package selenium.boot.webdriver.locators;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+
+/**
+ * Translates the simple XPath expressions found in page objects into equivalent CSS selectors.
+ * <p>
+ * The supported subset is a union of location paths starting with {@code //} or {@code .//}, made of
+ * {@code /} and {@code //} separated steps; every step is an element name or {@code *}, followed by predicates
+ * combining with {@code and}:
+ * </p>
+ * <ul>
+ * <li>{@code @name} and {@code @name='value'}</li>
+ * <li>{@code contains(@name,'value')} and {@code starts-with(@name,'value')}</li>
+ * <li>the class token idiom {@code contains(concat(' ',normalize-space(@class),' '),' token ')}</li>
+ * <li>a position or {@code last()}, as the first predicate of a step</li>
+ * </ul>
+ * <p>
+ * Anything else yields {@code null}, and the caller keeps the XPath. A path starting with {@code //} is relative to
+ * the document, so it is translated only when the search context is the document itself. From an element, only
+ * single step {@code .//} paths are translated: an element matches a combinator such as {@code a > b} whenever its
+ * ancestors do, including the ancestors of the search context, while {@code .//a/b} requires {@code a} below it.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class XPathToCss
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String NAME = "[A-Za-z_][\\w-]*";
+
+    private static final String LITERAL = "(?:'([^']*)'|\"([^\"]*)\")";
+
+    private static final Pattern NODE_TEST = Pattern.compile( "\\*|" + NAME );
+
+    private static final Pattern POSITION = Pattern.compile( "[1-9]\\d*" );
+
+    private static final Pattern LAST = Pattern.compile( "last\\(\\s*\\)" );
+
+    private static final Pattern HAS_ATTRIBUTE = Pattern.compile( "@(" + NAME + ")" );
+
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile( "@(" + NAME + ")\\s*=\\s*" + LITERAL );
+
+    private static final Pattern ATTRIBUTE_FUNCTION =
+            Pattern.compile( "(contains|starts-with)\\(\\s*@(" + NAME + ")\\s*,\\s*" + LITERAL + "\\s*\\)" );
+
+    private static final Pattern CLASS_TOKEN = Pattern.compile(
+            "contains\\(\\s*concat\\(\\s*['\"] ['\"]\\s*,\\s*normalize-space\\(\\s*@class\\s*\\)\\s*,\\s*['\"] ['\"]\\s*\\)"
+            + "\\s*,\\s*['\"] ([^\\s'\"]+) ['\"]\\s*\\)" );
+
+    private XPathToCss()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * @param xpath        the XPath expression
+     * @param fromDocument {@code true} when the expression is evaluated from the document, {@code false} from an element
+     *
+     * @return the equivalent CSS selector, or {@code null} if the expression is not supported
+     */
+    static String translate( String xpath, boolean fromDocument )
+    {
+        final List<String> branches = splitTopLevel( xpath, "|" );
+        if( branches == null )
+        {
+            return null;
+        }
+        final StringBuilder css = new StringBuilder();
+        for( String branch : branches )
+        {
+            final String translated = translatePath( branch.trim(), fromDocument );
+            if( translated == null )
+            {
+                return null;
+            }
+            if( css.length() > 0 )
+            {
+                css.append( ", " );
+            }
+            css.append( translated );
+        }
+        return css.toString();
+    }
+
+    private static String translatePath( String path, boolean fromDocument )
+    {
+        int index;
+        if( path.startsWith( ".//" ) )
+        {
+            index = 3;
+        }
+        else if( path.startsWith( "//" ) && fromDocument )
+        {
+            index = 2;
+        }
+        else
+        {
+            return null;
+        }
+
+        final StringBuilder css = new StringBuilder();
+        while( true )
+        {
+            final Matcher nodeTest = NODE_TEST.matcher( path ).region( index, path.length() );
+            if( !nodeTest.lookingAt() )
+            {
+                return null;
+            }
+            final String element = nodeTest.group();
+            css.append( element );
+            index = nodeTest.end();
+
+            boolean first = true;
+            while( index < path.length() && path.charAt( index ) == '[' )
+            {
+                final int close = closingBracket( path, index );
+                if( close < 0 )
+                {
+                    return null;
+                }
+                final String predicate = translatePredicate( path.substring( index + 1, close ).trim(), element, first );
+                if( predicate == null )
+                {
+                    return null;
+                }
+                css.append( predicate );
+                index = close + 1;
+                first = false;
+            }
+
+            if( index == path.length() )
+            {
+                return css.toString();
+            }
+            if( !fromDocument )
+            {
+                return null;
+            }
+            if( path.startsWith( "//", index ) )
+            {
+                css.append( ' ' );
+                index += 2;
+            }
+            else if( path.charAt( index ) == '/' )
+            {
+                css.append( " > " );
+                index++;
+            }
+            else
+            {
+                return null;
+            }
+        }
+    }
+
+    private static String translatePredicate( String predicate, String element, boolean first )
+    {
+        final boolean anyElement = "*".equals( element );
+        if( POSITION.matcher( predicate ).matches() )
+        {
+            return first ? ( anyElement ? ":nth-child(" : ":nth-of-type(" ) + predicate + ")" : null;
+        }
+        if( LAST.matcher( predicate ).matches() )
+        {
+            return first ? ( anyElement ? ":last-child" : ":last-of-type" ) : null;
+        }
+
+        final List<String> conditions = splitTopLevel( predicate, " and " );
+        if( conditions == null )
+        {
+            return null;
+        }
+        final StringBuilder css = new StringBuilder();
+        for( String condition : conditions )
+        {
+            final String translated = translateCondition( condition.trim() );
+            if( translated == null )
+            {
+                return null;
+            }
+            css.append( translated );
+        }
+        return css.toString();
+    }
+
+    private static String translateCondition( String condition )
+    {
+        Matcher matcher = HAS_ATTRIBUTE.matcher( condition );
+        if( matcher.matches() )
+        {
+            return "[" + matcher.group( 1 ) + "]";
+        }
+        matcher = ATTRIBUTE_EQUALS.matcher( condition );
+        if( matcher.matches() )
+        {
+            final String value = quote( literal( matcher, 2 ) );
+            return value == null ? null : "[" + matcher.group( 1 ) + "=" + value + "]";
+        }
+        matcher = CLASS_TOKEN.matcher( condition );
+        if( matcher.matches() )
+        {
+            return "[class~=" + quote( matcher.group( 1 ) ) + "]";
+        }
+        matcher = ATTRIBUTE_FUNCTION.matcher( condition );
+        if( matcher.matches() )
+        {
+            final String needle = literal( matcher, 3 );
+            final String value = quote( needle );
+            // an empty needle matches every value in XPath, and none in CSS
+            if( value == null || needle.isEmpty() )
+            {
+                return null;
+            }
+            final String operator = "contains".equals( matcher.group( 1 ) ) ? "*=" : "^=";
+            return "[" + matcher.group( 2 ) + operator + value + "]";
+        }
+        return null;
+    }
+
+    /**
+     * @return the value of the literal captured at {@code group} when single quoted, or at {@code group + 1}
+     */
+    private static String literal( Matcher matcher, int group )
+    {
+        return matcher.group( group ) != null ? matcher.group( group ) : matcher.group( group + 1 );
+    }
+
+    /**
+     * @return the value as a CSS string, or {@code null} if it holds characters that would need escapes
+     */
+    private static String quote( String value )
+    {
+        if( value.indexOf( '\n' ) >= 0 || value.indexOf( '\r' ) >= 0 || value.indexOf( '\f' ) >= 0 )
+        {
+            return null;
+        }
+        return "\"" + value.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ) + "\"";
+    }
+
+    private static int closingBracket( String path, int open )
+    {
+        int depth = 0;
+        char quote = 0;
+        for( int i = open; i < path.length(); i++ )
+        {
+            final char c = path.charAt( i );
+            if( quote != 0 )
+            {
+                if( c == quote )
+                {
+                    quote = 0;
+                }
+            }
+            else if( c == '\'' || c == '"' )
+            {
+                quote = c;
+            }
+            else if( c == '[' )
+            {
+                depth++;
+            }
+            else if( c == ']' && --depth == 0 )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits on a separator appearing outside of literals, brackets and parentheses.
+     *
+     * @return the parts, or {@code null} if the quotes or brackets are not balanced
+     */
+    private static List<String> splitTopLevel( String expression, String separator )
+    {
+        final List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for( int i = 0; i < expression.length(); i++ )
+        {
+            final char c = expression.charAt( i );
+            if( quote != 0 )
+            {
+                if( c == quote )
+                {
+                    quote = 0;
+                }
+            }
+            else if( c == '\'' || c == '"' )
+            {
+                quote = c;
+            }
+            else if( c == '[' || c == '(' )
+            {
+                depth++;
+            }
+            else if( c == ']' || c == ')' )
+            {
+                depth--;
+            }
+            else if( depth == 0 && expression.startsWith( separator, i ) )
+            {
+                parts.add( expression.substring( start, i ) );
+                i += separator.length() - 1;
+                start = i + 1;
+            }
+        }
+        if( quote != 0 || depth != 0 )
+        {
+            return null;
+        }
+        parts.add( expression.substring( start ) );
+        return parts;
+    }
+}
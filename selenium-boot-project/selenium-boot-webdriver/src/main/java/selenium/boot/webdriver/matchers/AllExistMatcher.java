@@ -0,0 +1,66 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+
+
+/**
+ * Checks that every element of a list still exists on page, probing all of them in a single script execution.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see ExistenceProbe
+ * @since 2.0
+ */
+class AllExistMatcher extends ValueFetchingMatcher<List<WebElement>, List<Boolean>>
+{
+    @Factory
+    static Matcher<List<WebElement>> allExist()
+    {
+        return new AllExistMatcher();
+    }
+
+    @Override
+    protected List<Boolean> fetch( List<WebElement> elements )
+    {
+        return new ExistenceProbe().probe( elements );
+    }
+
+    @Override
+    protected boolean matchesValue( List<Boolean> flags )
+    {
+        return !flags.contains( Boolean.FALSE );
+    }
+
+    @Override
+    protected void describeMismatchValue( List<WebElement> elements, List<Boolean> flags, Description mismatchDescription )
+    {
+        boolean first = true;
+        for( int i = 0; i < flags.size(); i++ )
+        {
+            if( !flags.get( i ) )
+            {
+                if( !first )
+                {
+                    mismatchDescription.appendText( ", " );
+                }
+                mismatchDescription.appendValue( elements.get( i ) )
+                        .appendText( " at index " )
+                        .appendValue( i );
+                first = false;
+            }
+        }
+        mismatchDescription.appendText( " not existing on page" );
+    }
+
+    public void describeTo( Description description )
+    {
+        description.appendText( "all elements existing on page" );
+    }
+}
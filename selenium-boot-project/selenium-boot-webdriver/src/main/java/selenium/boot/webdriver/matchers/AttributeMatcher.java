@@ -4,9 +4,8 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebElement;
-import selenium.boot.framework.matchers.CoreMatchers;
+import selenium.boot.core.matchers.CoreMatchers;
 
 
 
@@ -22,7 +21,7 @@ import selenium.boot.framework.matchers.CoreMatchers;
  * @see org.openqa.selenium.WebElement#getAttribute(String)
  * @since 1.0
  */
-class AttributeMatcher extends TypeSafeMatcher<WebElement>
+class AttributeMatcher extends ValueFetchingMatcher<WebElement, String> implements PropertyMatcher
 {
     //region Static definitions, members, initialization and constructors
 
@@ -229,28 +228,51 @@ class AttributeMatcher extends TypeSafeMatcher<WebElement>
     }
 
     @Override
-    public boolean matchesSafely( WebElement item )
+    public ElementProperty getProperty()
     {
-        return matcher.matches( item.getAttribute( name ) );
+        return ElementProperty.ATTRIBUTE;
     }
 
     @Override
-    protected void describeMismatchSafely( WebElement item, Description mismatchDescription )
+    public String getPropertyName()
     {
-        mismatchDescription.appendValue( item ).
-                                                       appendText( " " ).
-                                                                                appendValue( name ).
-                                                                                                           appendText( " attribute is " ).
-                                                                                                                                                 appendValue( item.getAttribute(
-                                                                                                                                                         name ) );
+        return name;
+    }
+
+    @Override
+    protected String fetch( WebElement item )
+    {
+        return item.getAttribute( name );
+    }
+
+    @Override
+    protected boolean matchesValue( String value )
+    {
+        return matcher.matches( value );
+    }
+
+    @Override
+    protected void describeMismatchValue( WebElement item, String value, Description mismatchDescription )
+    {
+        mismatchDescription.appendValue( item )
+                .appendText( " " )
+                .appendValue( name )
+                .appendText( " attribute is " )
+                .appendValue( value );
+    }
+
+    @Override
+    protected String evaluationLabel()
+    {
+        return getClass().getSimpleName() + "[" + name + "]";
     }
 
     public void describeTo( Description description )
     {
-        description.appendText( "element " ).
-                                                    appendValue( name ).
-                                                                               appendText( " attribute " ).
-                                                                                                                  appendDescriptionOf( matcher );
+        description.appendText( "element " )
+                .appendValue( name )
+                .appendText( " attribute " )
+                .appendDescriptionOf( matcher );
     }
 
 }
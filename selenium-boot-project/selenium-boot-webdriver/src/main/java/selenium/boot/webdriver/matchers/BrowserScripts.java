@@ -0,0 +1,358 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+
+
+/**
+ * Holds the JavaScript snippets used by the matchers to read many values in a single round trip,
+ * and resolves the {@link JavascriptExecutor} behind a {@link SearchContext}.
+ * <p>
+ * The snippets are public so browser stand-ins can recognize and emulate them.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class BrowserScripts
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * Declares {@code attribute(element, name)}, reading an attribute as the WebDriver {@code getAttribute} command
+     * does: the live property when it holds a primitive, {@code "true"} or {@code null} for the boolean attributes
+     * and the selection state, and the resolved url of the links and images.
+     */
+    private static final String READ_ATTRIBUTE_FUNCTION =
+            "var BOOLEAN_ATTRIBUTES = ['allowfullscreen', 'allowpaymentrequest', 'allowusermedia', 'async',"
+            + "    'autofocus', 'autoplay', 'checked', 'compact', 'complete', 'controls', 'declare', 'default',"
+            + "    'defaultchecked', 'defaultselected', 'defer', 'disabled', 'ended', 'formnovalidate', 'hidden',"
+            + "    'indeterminate', 'iscontenteditable', 'ismap', 'itemscope', 'loop', 'multiple', 'muted', 'nohref',"
+            + "    'nomodule', 'noresize', 'noshade', 'novalidate', 'nowrap', 'open', 'paused', 'playsinline', 'pubdate',"
+            + "    'readonly', 'required', 'reversed', 'scoped', 'seamless', 'seeking', 'selected', 'truespeed',"
+            + "    'typemustmatch', 'willvalidate'];"
+            + "var PROPERTY_ALIASES = { 'class': 'className', 'readonly': 'readOnly' };"
+            + "function attribute(e, name) {"
+            + "  var n = name.toLowerCase(), tag = e.tagName.toLowerCase(), p;"
+            + "  if ((n === 'selected' || n === 'checked') && (tag === 'option'"
+            + "      || (tag === 'input' && (e.type === 'checkbox' || e.type === 'radio')))) {"
+            + "    return (tag === 'option' ? e.selected : e.checked) ? 'true' : null;"
+            + "  }"
+            + "  if ((n === 'href' && tag === 'a') || (n === 'src' && tag === 'img')) {"
+            + "    var a = e.getAttribute(n);"
+            + "    return a ? String(e[n]) : a;"
+            + "  }"
+            + "  try { p = e[PROPERTY_ALIASES[n] || name]; } catch (x) { p = null; }"
+            + "  if (BOOLEAN_ATTRIBUTES.indexOf(n) >= 0) { return e.getAttribute(name) !== null || p ? 'true' : null; }"
+            + "  if (p === undefined || p === null || typeof p === 'object' || typeof p === 'function') {"
+            + "    return e.getAttribute(name);"
+            + "  }"
+            + "  return String(p);"
+            + "}";
+
+    /**
+     * Declares {@code cssValue(element, name, style)}, reading a computed style property as the WebDriver
+     * {@code getCssValue} command does: the colors are returned as {@code rgba(r, g, b, a)}. {@code style} is the
+     * computed style of the element, or {@code undefined} to compute it.
+     */
+    private static final String READ_CSS_FUNCTION =
+            "var COLOR_PROPERTIES = ['background-color', 'border-top-color', 'border-right-color',"
+            + "    'border-bottom-color', 'border-left-color', 'color', 'outline-color'];"
+            + "var RGBA = /^rgba?\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*(?:,\\s*([\\d.]+)\\s*)?\\)$/;"
+            + "function cssValue(e, name, style) {"
+            + "  var n = name.toLowerCase(), v = (style || window.getComputedStyle(e)).getPropertyValue(n), m;"
+            + "  if (COLOR_PROPERTIES.indexOf(n) >= 0 && (m = RGBA.exec(v))) {"
+            + "    return 'rgba(' + m[1] + ', ' + m[2] + ', ' + m[3] + ', ' + (m[4] === undefined ? '1' : m[4]) + ')';"
+            + "  }"
+            + "  return v;"
+            + "}";
+
+    /**
+     * Reads one property from every element of {@code arguments[0]}.
+     * {@code arguments[1]} is the property kind ( attribute or css ) and {@code arguments[2]} the property name.
+     * Attributes and css values are read as the WebDriver commands do; texts cannot be, see
+     * {@link ElementProperty#TEXT}.
+     */
+    public static final String READ_ELEMENTS_PROPERTY =
+            READ_ATTRIBUTE_FUNCTION
+            + READ_CSS_FUNCTION
+            + "var els = arguments[0], kind = arguments[1], name = arguments[2], out = [];"
+            + "for (var i = 0; i < els.length; i++) {"
+            + "  out.push(kind === 'attribute' ? attribute(els[i], name) : cssValue(els[i], name));"
+            + "}"
+            + "return out;";
+
+    /**
+     * Reads many properties of many elements. {@code arguments[0]} holds the elements and {@code arguments[1]} the
+     * reads, each one a list of the element index, the property kind ( attribute or css ) and the property name.
+     * Attributes and css values are read as the WebDriver commands do; texts cannot be, see
+     * {@link ElementProperty#TEXT}.
+     */
+    public static final String READ_ELEMENT_PROPERTIES =
+            READ_ATTRIBUTE_FUNCTION
+            + READ_CSS_FUNCTION
+            + "var els = arguments[0], reads = arguments[1], out = [], styles = [];"
+            + "for (var i = 0; i < reads.length; i++) {"
+            + "  var e = els[reads[i][0]], kind = reads[i][1], name = reads[i][2];"
+            + "  if (kind === 'attribute') { out.push(attribute(e, name)); }"
+            + "  else {"
+            + "    var s = styles[reads[i][0]] || (styles[reads[i][0]] = window.getComputedStyle(e));"
+            + "    out.push(cssValue(e, name, s));"
+            + "  }"
+            + "}"
+            + "return out;";
+
+    /**
+     * Serializes the element {@code arguments[0]}, or the document element when {@code null}, with its subtree.
+     * {@code arguments[1]} lists the computed style properties to capture. Every element becomes
+     * {@code [tag, [attribute name, value, ...], [style values], [x, y, width, height], displayed, [children]]}
+     * and every text node its text; the {@code value}, {@code checked} and {@code selected} attributes hold the
+     * live DOM properties.
+     */
+    public static final String SNAPSHOT_DOM =
+            "var root = arguments[0] || document.documentElement, names = arguments[1];"
+            + "function rendered(e) {"
+            + "  for (var p = e; p && p.nodeType === 1; p = p.parentNode) {"
+            + "    var s = window.getComputedStyle(p);"
+            + "    if (s.display === 'none' || s.opacity === '0') { return false; }"
+            + "  }"
+            + "  return true;"
+            + "}"
+            + "function snap(e, shown) {"
+            + "  var s = window.getComputedStyle(e), r = e.getBoundingClientRect(), attrs = [], styles = [], children = [];"
+            + "  for (var i = 0; i < e.attributes.length; i++) {"
+            + "    var a = e.attributes[i];"
+            + "    if (a.name !== 'value' && a.name !== 'checked' && a.name !== 'selected') { attrs.push(a.name, a.value); }"
+            + "  }"
+            + "  if (typeof e.value === 'string') { attrs.push('value', e.value); }"
+            + "  else if (e.hasAttribute('value')) { attrs.push('value', e.getAttribute('value')); }"
+            + "  if (typeof e.checked === 'boolean' ? e.checked : e.hasAttribute('checked')) { attrs.push('checked', 'true'); }"
+            + "  if (typeof e.selected === 'boolean' ? e.selected : e.hasAttribute('selected')) { attrs.push('selected', 'true'); }"
+            + "  for (var j = 0; j < names.length; j++) { styles.push(s.getPropertyValue(names[j])); }"
+            + "  shown = shown && s.display !== 'none' && s.opacity !== '0';"
+            + "  var displayed = shown && s.visibility === 'visible' && e.getClientRects().length > 0;"
+            + "  for (var c = e.firstChild; c; c = c.nextSibling) {"
+            + "    if (c.nodeType === 1) { children.push(snap(c, shown)); }"
+            + "    else if (c.nodeType === 3) { children.push(c.nodeValue); }"
+            + "  }"
+            + "  return [e.tagName.toLowerCase(), attrs, styles,"
+            + "    [r.left + window.pageXOffset, r.top + window.pageYOffset, r.width, r.height], displayed, children];"
+            + "}"
+            + "return snap(root, rendered(root.parentNode));";
+
+    /**
+     * Runs a sequence of element operations and reads. {@code arguments[0]} holds the elements and {@code arguments[1]}
+     * the steps, each one a list of the operation, the element index and the argument; returns one value per step,
+     * {@code null} for the operations. Attributes and css values are read as the WebDriver commands do; texts are not
+     * read, see {@link ElementProperty#TEXT}. Value changes go through the native {@code value} setter of the element,
+     * so the value trackers of frameworks such as React notice them, and fire the {@code input} and {@code change}
+     * events. The script stops before a value change of an element that is disabled, read only, hidden or not a
+     * text field, returning the values of the steps run so far; the caller runs that step with WebDriver.
+     */
+    public static final String RUN_COMMAND_BATCH =
+            READ_ATTRIBUTE_FUNCTION
+            + READ_CSS_FUNCTION
+            + "var els = arguments[0], steps = arguments[1], out = [];"
+            + "function fire(e, type) { e.dispatchEvent(new Event(type, { bubbles: true })); }"
+            + "function editable(e) {"
+            + "  var t = e.tagName.toLowerCase();"
+            + "  return (t === 'textarea' || t === 'input'"
+            + "      && !/^(button|submit|reset|image|checkbox|radio|file|hidden|range|color)$/i.test(e.type))"
+            + "      && !e.disabled && !e.readOnly && window.getComputedStyle(e).visibility === 'visible'"
+            + "      && (e.offsetWidth > 0 || e.offsetHeight > 0 || e.getClientRects().length > 0);"
+            + "}"
+            + "function assign(e, v) {"
+            + "  for (var p = Object.getPrototypeOf(e); p; p = Object.getPrototypeOf(p)) {"
+            + "    var d = Object.getOwnPropertyDescriptor(p, 'value');"
+            + "    if (d && d.set) { d.set.call(e, v); return; }"
+            + "  }"
+            + "  e.value = v;"
+            + "}"
+            + "for (var i = 0; i < steps.length; i++) {"
+            + "  var op = steps[i][0], e = els[steps[i][1]], a = steps[i][2], v = null;"
+            + "  if (op === 'clear' || op === 'setValue') {"
+            + "    if (!editable(e)) { break; }"
+            + "    e.focus(); assign(e, op === 'clear' ? '' : a); fire(e, 'input'); fire(e, 'change');"
+            + "  } else if (op === 'attribute') { v = attribute(e, a); }"
+            + "  else if (op === 'css') { v = cssValue(e, a); }"
+            + "  else if (op === 'tagName') { v = e.tagName.toLowerCase(); }"
+            + "  else if (op === 'selected') { v = !!(e.checked || e.selected); }"
+            + "  else if (op === 'enabled') { v = !e.disabled; }"
+            + "  out.push(v);"
+            + "}"
+            + "return out;";
+
+    /**
+     * Tells, for every element of {@code arguments[0]}, whether it is still attached to the document.
+     */
+    public static final String PROBE_ELEMENTS_ATTACHED =
+            "var els = arguments[0], out = [];"
+            + "for (var i = 0; i < els.length; i++) {"
+            + "  var e = els[i];"
+            + "  out.push(!!e && (e.isConnected === undefined ? document.documentElement.contains(e) : e.isConnected));"
+            + "}"
+            + "return out;";
+
+    /**
+     * Returns a stamp of the current document, {@code url token count}, that changes on navigation, reload and
+     * DOM mutation. The first call on a document installs a {@code MutationObserver} counting the mutations, and a
+     * random token telling documents with the same url apart; the count is {@code -1} when mutations cannot be
+     * observed, and such stamps must not be trusted.
+     */
+    public static final String DOCUMENT_STAMP =
+            "var w = window, s = w.__seleniumBootDom;"
+            + "if (!s) {"
+            + "  s = w.__seleniumBootDom = { token: Math.random().toString(36).slice(2), count: 0 };"
+            + "  try {"
+            + "    new MutationObserver(function (m) { s.count += m.length; }).observe(document.documentElement,"
+            + "        { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "  } catch (e) { s.count = -1; }"
+            + "}"
+            + "return w.location.href + ' ' + s.token + ' ' + s.count;";
+
+    /**
+     * Waits, asynchronously, until the document changes in a way that may affect a matcher, then returns the
+     * {@link #DOCUMENT_STAMP}. {@code arguments[0]} is the observed element, the document element when {@code null};
+     * {@code arguments[1]} the {@code MutationObserver} options; {@code arguments[2]} and {@code arguments[3]} an
+     * optional locator kind ( css or xpath ) and expression, whose presence must flip for a mutation to count;
+     * {@code arguments[4]} the stamp observed by the caller and {@code arguments[5]} the timeout in milliseconds.
+     * Returns at once when the stamp already changed in a way that may be relevant: on navigation, and, with a locator,
+     * only when its presence differs from the one recorded on the observed element at the previous wake-up, so
+     * unrelated mutations elsewhere in the page do not end every wait. Returns {@code null} when no stamp is installed.
+     * Input and change events also end the wait, since form properties change without mutations.
+     */
+    public static final String AWAIT_DOM_CHANGE =
+            "var done = arguments[arguments.length - 1], root = arguments[0], options = arguments[1],"
+            + "    kind = arguments[2], selector = arguments[3], expected = arguments[4], timeout = arguments[5],"
+            + "    w = window, s = w.__seleniumBootDom, d = document;"
+            + "function stamp() { return w.location.href + ' ' + s.token + ' ' + s.count; }"
+            + "function page(t) { return t === null ? null : t.slice(0, t.lastIndexOf(' ')); }"
+            + "if (!s || s.count < 0) { done(null); return; }"
+            + "var scope = root || d, key = kind + ':' + selector, finished = false, timer, observer,"
+            + "    seen = scope.__seleniumBootPresence || (scope.__seleniumBootPresence = {});"
+            + "function present() {"
+            + "  return kind === 'css' ? scope.querySelector(selector) !== null"
+            + "      : d.evaluate(selector, scope, null, 9, null).singleNodeValue !== null;"
+            + "}"
+            + "var initial = kind ? present() : null;"
+            + "if (stamp() !== expected"
+            + "    && (!kind || page(stamp()) !== page(expected) || !(key in seen) || seen[key] !== initial)) {"
+            + "  if (kind) { seen[key] = initial; }"
+            + "  done(stamp()); return;"
+            + "}"
+            + "function finish() {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer);"
+            + "  d.removeEventListener('input', finish, true); d.removeEventListener('change', finish, true);"
+            + "  if (kind) { seen[key] = present(); }"
+            + "  done(stamp());"
+            + "}"
+            + "observer = new MutationObserver(function () { if (!kind || present() !== initial) { finish(); } });"
+            + "observer.observe(root || d.documentElement, options);"
+            + "d.addEventListener('input', finish, true); d.addEventListener('change', finish, true);"
+            + "timer = setTimeout(finish, timeout);";
+
+    /**
+     * The scripts above that only read the page; the stamp and the wait install observers, but change neither the
+     * document nor the cookies.
+     */
+    private static final Set<String> READ_ONLY_SCRIPTS = new HashSet<>( Arrays.asList( READ_ELEMENTS_PROPERTY,
+            READ_ELEMENT_PROPERTIES, SNAPSHOT_DOM, PROBE_ELEMENTS_ATTACHED, DOCUMENT_STAMP,
+            AWAIT_DOM_CHANGE ) );
+
+    private BrowserScripts()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Tells whether a script is one of the read-only scripts of this class, so event listeners discarding cached
+     * page state do not discard it on the scripts run to read the page.
+     *
+     * @param script the executed script
+     *
+     * @return {@code true} if the script cannot change the page
+     */
+    public static boolean isReadOnly( String script )
+    {
+        return READ_ONLY_SCRIPTS.contains( script );
+    }
+
+    /**
+     * Resolves the script executor of the given context.
+     *
+     * @param context a {@link WebDriver} or a {@link WebElement} wrapping its driver
+     *
+     * @return the executor or {@link Optional#empty()} if the context cannot execute scripts
+     */
+    public static Optional<JavascriptExecutor> executorOf( SearchContext context )
+    {
+        SearchContext current = context;
+        if( current instanceof WrapsDriver )
+        {
+            current = ( ( WrapsDriver ) current ).getWrappedDriver();
+        }
+        if( current instanceof JavascriptExecutor )
+        {
+            return Optional.of( ( JavascriptExecutor ) current );
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves the script executor shared by a group of elements, using the first element.
+     *
+     * @param elements the elements, may be empty
+     *
+     * @return the executor or {@link Optional#empty()}
+     */
+    static Optional<JavascriptExecutor> executorOf( Collection<? extends WebElement> elements )
+    {
+        if( elements.isEmpty() )
+        {
+            return Optional.empty();
+        }
+        return executorOf( elements.iterator().next() );
+    }
+
+    /**
+     * Resolves the innermost driver behind decorators such as {@code EventFiringWebDriver}, which is also the driver
+     * passed to the event listeners, so caches keyed by driver can be invalidated from a listener.
+     *
+     * @param driver a driver, possibly decorated
+     *
+     * @return the decorated driver, or {@code driver} itself
+     */
+    static WebDriver unwrapDriver( WebDriver driver )
+    {
+        WebDriver current = driver;
+        while( current instanceof WrapsDriver )
+        {
+            final WebDriver wrapped = ( ( WrapsDriver ) current ).getWrappedDriver();
+            if( wrapped == null || wrapped == current )
+            {
+                break;
+            }
+            current = wrapped;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,199 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+
+
+/**
+ * Matches a property of every ( or any ) element of a list against a value matcher.
+ * <p>
+ * The attribute or css value of all elements is extracted with a single {@code executeScript} round trip, as the
+ * WebDriver commands read it, and the matching is done in the JVM. Texts, and the properties of drivers that
+ * cannot execute scripts, are read with one command per element.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class BulkPropertyMatcher extends ValueFetchingMatcher<List<WebElement>, List<String>>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final ElementProperty property;
+
+    private final String name;
+
+    private final Matcher<String> matcher;
+
+    private final boolean every;
+
+    BulkPropertyMatcher( ElementProperty property, String name, Matcher<String> matcher, boolean every )
+    {
+        this.property = property;
+        this.name = name;
+        this.matcher = matcher;
+        this.every = every;
+    }
+
+    //endregion
+
+    @Factory
+    static BulkPropertyMatcher everyAttribute( String name, Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.ATTRIBUTE, name, matcher, true );
+    }
+
+    @Factory
+    static BulkPropertyMatcher anyAttribute( String name, Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.ATTRIBUTE, name, matcher, false );
+    }
+
+    @Factory
+    static BulkPropertyMatcher everyCssValue( String name, Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.CSS, name, matcher, true );
+    }
+
+    @Factory
+    static BulkPropertyMatcher anyCssValue( String name, Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.CSS, name, matcher, false );
+    }
+
+    @Factory
+    static BulkPropertyMatcher everyText( Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.TEXT, null, matcher, true );
+    }
+
+    @Factory
+    static BulkPropertyMatcher anyText( Matcher<String> matcher )
+    {
+        return new BulkPropertyMatcher( ElementProperty.TEXT, null, matcher, false );
+    }
+
+    /**
+     * Reads the given property of all elements, in a single script execution when possible.
+     *
+     * @param elements the elements to read from
+     * @param property the property kind
+     * @param name     the attribute or css property name, ignored for {@link ElementProperty#TEXT}
+     *
+     * @return the values, in the order of the elements
+     */
+    static List<String> readAll( List<? extends WebElement> elements, ElementProperty property, String name )
+    {
+        final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( elements );
+        final List<String> values = new ArrayList<>( elements.size() );
+        if( executor.isPresent() && property.isScriptable() )
+        {
+            final Object result = executor.get().executeScript(
+                    BrowserScripts.READ_ELEMENTS_PROPERTY, elements, property.getScriptKind(), name );
+            if( result instanceof List )
+            {
+                for( Object value : ( List<?> ) result )
+                {
+                    values.add( Objects.toString( value, null ) );
+                }
+                return values;
+            }
+        }
+        for( WebElement element : elements )
+        {
+            values.add( property.read( element, name ) );
+        }
+        return values;
+    }
+
+    @Override
+    protected List<String> fetch( List<WebElement> elements )
+    {
+        return readAll( elements, property, name );
+    }
+
+    @Override
+    protected boolean matchesValue( List<String> values )
+    {
+        if( values.isEmpty() )
+        {
+            return every;
+        }
+        for( String value : values )
+        {
+            if( matcher.matches( value ) != every )
+            {
+                return !every;
+            }
+        }
+        return every;
+    }
+
+    @Override
+    protected void describeMismatchValue( List<WebElement> elements, List<String> values, Description mismatchDescription )
+    {
+        if( !every )
+        {
+            mismatchDescription.appendText( "no element matched, " )
+                    .appendText( describedProperty() )
+                    .appendText( " values were " )
+                    .appendValueList( "[", ", ", "]", values );
+            return;
+        }
+        boolean first = true;
+        for( int i = 0; i < values.size(); i++ )
+        {
+            final String value = values.get( i );
+            if( !matcher.matches( value ) )
+            {
+                if( !first )
+                {
+                    mismatchDescription.appendText( ", " );
+                }
+                mismatchDescription.appendText( "element at index " ).appendValue( i )
+                        .appendText( " " ).appendText( describedProperty() ).appendText( " is " )
+                        .appendValue( value );
+                first = false;
+            }
+        }
+    }
+
+    @Override
+    protected String evaluationLabel()
+    {
+        return getClass().getSimpleName() + "[" + ( name == null ? property.getDisplayName() : name ) + "]";
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( every ? "every element " : "any element " )
+                .appendText( describedProperty() )
+                .appendText( " " )
+                .appendDescriptionOf( matcher );
+    }
+
+    private String describedProperty()
+    {
+        if( name == null )
+        {
+            return property.getDisplayName();
+        }
+        return property.getDisplayName() + " \"" + name + "\"";
+    }
+}
@@ -6,17 +6,20 @@ import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.By;
-import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
+import selenium.boot.core.matchers.EvaluationCost;
 
 
 
 /**
+ * Matches a search context in which the locator finds at least one element.
+ * Results are reused through the {@link LocatorCache} while the page does not change.
+ *
  * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
  * @version %I%, %G%
  * @since 2.0
  */
-class ContainsElement extends TypeSafeMatcher<SearchContext>
+class ContainsElement extends TypeSafeMatcher<SearchContext> implements EvaluationCost
 {
     //region Static definitions, members, initialization and constructors
 
@@ -33,24 +36,33 @@ class ContainsElement extends TypeSafeMatcher<SearchContext>
 
     //endregion
 
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
     @Factory
     static Matcher<SearchContext> canFindElement( By by )
     {
         return new ContainsElement( by );
     }
 
+    /**
+     * @return the locator the matcher looks for
+     */
+    By getLocator()
+    {
+        return by;
+    }
+
     @Override
     protected boolean matchesSafely( SearchContext wd )
     {
-        try
-        {
-            wd.findElement( by );
-            return true;
-        }
-        catch( NoSuchElementException e )
-        {
-            return false;
-        }
+        return LocatorCache.isPresent( wd, by );
     }
 
     @Override
@@ -0,0 +1,82 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Factory;
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
+import org.openqa.selenium.Cookie;
+import selenium.boot.core.matchers.CoreMatchers;
+
+import java.util.Date;
+import java.util.function.Function;
+
+
+
+/**
+ * Matches a single feature of a {@link Cookie}; combined with {@link HasCookieMatcher} it evaluates against the
+ * {@link CookieSnapshot} of the driver.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class CookieFeatureMatcher<T> extends FeatureMatcher<Cookie, T>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final Function<Cookie, T> feature;
+
+    private CookieFeatureMatcher( Matcher<? super T> subMatcher, String name, Function<Cookie, T> feature )
+    {
+        super( subMatcher, "cookie " + name, name );
+        this.feature = feature;
+    }
+
+    //endregion
+
+    @Factory
+    static Matcher<Cookie> value( Matcher<? super String> matcher )
+    {
+        return new CookieFeatureMatcher<>( matcher, "value", Cookie::getValue );
+    }
+
+    @Factory
+    static Matcher<Cookie> domain( Matcher<? super String> matcher )
+    {
+        return new CookieFeatureMatcher<>( matcher, "domain", Cookie::getDomain );
+    }
+
+    @Factory
+    static Matcher<Cookie> path( Matcher<? super String> matcher )
+    {
+        return new CookieFeatureMatcher<>( matcher, "path", Cookie::getPath );
+    }
+
+    @Factory
+    static Matcher<Cookie> expiry( Matcher<? super Date> matcher )
+    {
+        return new CookieFeatureMatcher<>( matcher, "expiry", Cookie::getExpiry );
+    }
+
+    @Factory
+    static Matcher<Cookie> secure()
+    {
+        return new CookieFeatureMatcher<>( CoreMatchers.is( true ), "secure", Cookie::isSecure );
+    }
+
+    @Factory
+    static Matcher<Cookie> httpOnly()
+    {
+        return new CookieFeatureMatcher<>( CoreMatchers.is( true ), "httpOnly", Cookie::isHttpOnly );
+    }
+
+    @Override
+    protected T featureValueOf( Cookie actual )
+    {
+        return feature.apply( actual );
+    }
+}
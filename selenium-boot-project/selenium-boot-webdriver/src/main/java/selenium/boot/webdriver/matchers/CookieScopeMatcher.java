@@ -0,0 +1,82 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.WebDriver;
+import selenium.boot.core.matchers.CoreMatchers;
+
+import java.util.List;
+
+
+
+/**
+ * Evaluates matchers of a driver within a {@link CookieSnapshot.Scope}, so all its cookie matchers read the jar
+ * once. The mismatch is described against the same snapshots.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class CookieScopeMatcher extends TypeSafeMatcher<WebDriver>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final Matcher<? super WebDriver> matcher;
+
+    /**
+     * The scope of the last failed evaluation on each thread, until its mismatch is described.
+     */
+    private final ThreadLocal<CookieSnapshot.Scope> failedScope = new ThreadLocal<>();
+
+    private CookieScopeMatcher( Matcher<? super WebDriver> matcher )
+    {
+        this.matcher = matcher;
+    }
+
+    //endregion
+
+    @Factory
+    static Matcher<WebDriver> hasCookies( List<Matcher<? super WebDriver>> matchers )
+    {
+        return new CookieScopeMatcher( CoreMatchers.allOf( matchers ) );
+    }
+
+    @Override
+    protected boolean matchesSafely( WebDriver item )
+    {
+        failedScope.remove();
+        try( CookieSnapshot.Scope scope = CookieSnapshot.openScope() )
+        {
+            if( matcher.matches( item ) )
+            {
+                return true;
+            }
+            failedScope.set( scope );
+            return false;
+        }
+    }
+
+    @Override
+    protected void describeMismatchSafely( WebDriver item, Description mismatchDescription )
+    {
+        final CookieSnapshot.Scope failed = failedScope.get();
+        failedScope.remove();
+        try( CookieSnapshot.Scope ignored = failed == null ? CookieSnapshot.openScope() : failed.reopen() )
+        {
+            matcher.describeMismatch( item, mismatchDescription );
+        }
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendDescriptionOf( matcher );
+    }
+}
@@ -0,0 +1,214 @@
+package selenium.boot.webdriver.matchers;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import selenium.boot.utils.Assert;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * An indexed copy of the cookie jar of a driver, fetched with a single {@code getCookies} command.
+ * <p>
+ * Many drivers implement {@code getCookieNamed} by fetching all cookies and filtering them on the client side, so
+ * several cookie matchers on the same step would transfer the whole jar several times.
+ * </p>
+ * <p>
+ * The matchers evaluated within a {@link Scope} share one snapshot per driver: {@link WebDriverMatchers#hasCookies}
+ * opens one for the matchers of an assertion, {@link SoftAssertions} for all its checks, and the waiting matchers
+ * for every attempt, so a wait never observes a frozen jar. Outside a scope every evaluation fetches the jar, since
+ * cookies also change through {@code WebDriver.Options} and the {@code Set-Cookie} headers of background requests,
+ * which no listener observes. {@link #setWindow(Duration)} opts in to sharing the snapshots per driver for an
+ * evaluation window; they are then discarded earlier by {@link CookieSnapshotListener} on navigation, clicks, value
+ * changes and page scripts, and must be discarded through {@link #invalidate(WebDriver)} after a cookie is modified
+ * through {@code WebDriver.Options}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class CookieSnapshot
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final Duration DEFAULT_WINDOW = Duration.ZERO;
+
+    private static final Cache<WebDriver, CookieSnapshot> SNAPSHOTS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private static volatile long windowNanos = DEFAULT_WINDOW.toNanos();
+
+    private final Map<String, Cookie> cookies;
+
+    private final long takenAt;
+
+    private CookieSnapshot( Set<Cookie> cookies )
+    {
+        final Map<String, Cookie> index = new LinkedHashMap<>();
+        for( Cookie cookie : cookies )
+        {
+            index.put( cookie.getName(), cookie );
+        }
+        this.cookies = Collections.unmodifiableMap( index );
+        this.takenAt = System.nanoTime();
+    }
+
+    //endregion
+
+    /**
+     * Returns the snapshot of the driver's cookies, fetching the jar only when there is no valid snapshot in the
+     * current scope or window.
+     *
+     * @param driver the driver
+     *
+     * @return the cookie snapshot
+     */
+    public static CookieSnapshot of( WebDriver driver )
+    {
+        final WebDriver key = BrowserScripts.unwrapDriver( driver );
+        final Scope scope = CURRENT_SCOPE.get();
+        if( scope == null )
+        {
+            return shared( driver, key );
+        }
+        return scope.snapshots.computeIfAbsent( key, k -> shared( driver, k ) );
+    }
+
+    /**
+     * Opens a scope on the current thread: until it is closed, the evaluations of the thread share one snapshot
+     * per driver. A scope opened within another one starts empty, and restores the outer scope when closed.
+     *
+     * <pre>try( CookieSnapshot.Scope scope = CookieSnapshot.openScope() ) { ... }</pre>
+     *
+     * @return the scope to close
+     */
+    public static Scope openScope()
+    {
+        final Scope scope = new Scope( CURRENT_SCOPE.get(), Collections.emptyMap() );
+        CURRENT_SCOPE.set( scope );
+        return scope;
+    }
+
+    private static CookieSnapshot shared( WebDriver driver, WebDriver key )
+    {
+        if( windowNanos == 0L )
+        {
+            return new CookieSnapshot( driver.manage().getCookies() );
+        }
+        final CookieSnapshot current = SNAPSHOTS.getIfPresent( key );
+        if( current != null && System.nanoTime() - current.takenAt < windowNanos )
+        {
+            return current;
+        }
+        final CookieSnapshot snapshot = new CookieSnapshot( driver.manage().getCookies() );
+        SNAPSHOTS.put( key, snapshot );
+        return snapshot;
+    }
+
+    /**
+     * Discards the snapshot of the given driver, the next evaluation will fetch the cookie jar again.
+     *
+     * @param driver the driver
+     */
+    public static void invalidate( WebDriver driver )
+    {
+        final WebDriver key = BrowserScripts.unwrapDriver( driver );
+        SNAPSHOTS.invalidate( key );
+        for( Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.outer )
+        {
+            scope.snapshots.remove( key );
+        }
+    }
+
+    /**
+     * Sets how long a snapshot can be reused when no invalidating event was observed. A positive window trusts
+     * the {@link CookieSnapshotListener} and the explicit invalidations to notice the cookie changes.
+     *
+     * @param window the evaluation window, {@link Duration#ZERO}, the default, disables the reuse
+     */
+    public static void setWindow( Duration window )
+    {
+        Assert.isTrue( !window.isNegative(), "window must not be negative" );
+        windowNanos = window.toNanos();
+    }
+
+    /**
+     * @param name the cookie name
+     *
+     * @return the cookie or {@code null} if the jar has no cookie with the given name
+     */
+    public Cookie get( String name )
+    {
+        return cookies.get( name );
+    }
+
+    /**
+     * @return the names of all the cookies, in the order returned by the driver
+     */
+    public Set<String> names()
+    {
+        return cookies.keySet();
+    }
+
+
+    /**
+     * The snapshots shared by the evaluations of a thread, see {@link #openScope()}.
+     */
+    public static final class Scope implements AutoCloseable
+    {
+        private final Scope outer;
+
+        private final Map<WebDriver, CookieSnapshot> snapshots;
+
+        private Scope( Scope outer, Map<WebDriver, CookieSnapshot> snapshots )
+        {
+            this.outer = outer;
+            this.snapshots = new IdentityHashMap<>( snapshots );
+        }
+
+        /**
+         * Opens a new scope on the current thread with the snapshots of this one, e.g. to describe a mismatch
+         * against the cookies it was evaluated with.
+         *
+         * @return the scope to close
+         */
+        Scope reopen()
+        {
+            final Scope scope = new Scope( CURRENT_SCOPE.get(), snapshots );
+            CURRENT_SCOPE.set( scope );
+            return scope;
+        }
+
+        @Override
+        public void close()
+        {
+            if( CURRENT_SCOPE.get() != this )
+            {
+                return;
+            }
+            if( outer == null )
+            {
+                CURRENT_SCOPE.remove();
+            }
+            else
+            {
+                CURRENT_SCOPE.set( outer );
+            }
+        }
+    }
+}
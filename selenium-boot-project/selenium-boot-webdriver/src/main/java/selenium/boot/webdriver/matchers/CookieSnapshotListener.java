@@ -0,0 +1,65 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+
+
+
+/**
+ * Invalidates the {@link CookieSnapshot} of a driver after any event that may change its cookies, except the
+ * {@linkplain BrowserScripts#isReadOnly(String) read-only scripts} of the matchers.
+ * Register it on an {@link org.openqa.selenium.support.events.EventFiringWebDriver} when a snapshot window is set.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CookieSnapshotListener extends AbstractWebDriverEventListener
+{
+    @Override
+    public void afterNavigateTo( String url, WebDriver driver )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateBack( WebDriver driver )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateForward( WebDriver driver )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateRefresh( WebDriver driver )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterClickOn( WebElement element, WebDriver driver )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterChangeValueOf( WebElement element, WebDriver driver, CharSequence[] keysToSend )
+    {
+        CookieSnapshot.invalidate( driver );
+    }
+
+    @Override
+    public void afterScript( String script, WebDriver driver )
+    {
+        if( !BrowserScripts.isReadOnly( script ) )
+        {
+            CookieSnapshot.invalidate( driver );
+        }
+    }
+}
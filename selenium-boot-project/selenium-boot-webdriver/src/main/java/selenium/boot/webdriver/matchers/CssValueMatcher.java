@@ -4,11 +4,10 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import selenium.boot.framework.matchers.CoreMatchers;
+import selenium.boot.core.matchers.CoreMatchers;
 
 
 
@@ -22,7 +21,7 @@ import selenium.boot.framework.matchers.CoreMatchers;
  * @version %I%, %G%
  * @since 2.0
  */
-class CssValueMatcher extends TypeSafeMatcher<WebElement>
+class CssValueMatcher extends ValueFetchingMatcher<WebElement, String> implements PropertyMatcher
 {
     //region Static definitions, members, initialization and constructors
 
@@ -69,19 +68,43 @@ class CssValueMatcher extends TypeSafeMatcher<WebElement>
     }
 
     @Override
-    public boolean matchesSafely( WebElement item )
+    public ElementProperty getProperty()
     {
-        return matcher.matches( item.getCssValue( name ) );
+        return ElementProperty.CSS;
     }
 
     @Override
-    protected void describeMismatchSafely( WebElement item, Description mismatchDescription )
+    public String getPropertyName()
+    {
+        return name;
+    }
+
+    @Override
+    protected String fetch( WebElement item )
+    {
+        return item.getCssValue( name );
+    }
+
+    @Override
+    protected boolean matchesValue( String value )
+    {
+        return matcher.matches( value );
+    }
+
+    @Override
+    protected void describeMismatchValue( WebElement item, String value, Description mismatchDescription )
     {
         mismatchDescription.appendValue( item )
                 .appendText( " css property " )
                 .appendValue( name )
                 .appendText( " is " )
-                .appendValue( item.getCssValue( name ) );
+                .appendValue( value );
+    }
+
+    @Override
+    protected String evaluationLabel()
+    {
+        return getClass().getSimpleName() + "[" + name + "]";
     }
 
     public void describeTo( Description description )
@@ -6,6 +6,7 @@ import org.hamcrest.Factory;
 import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import selenium.boot.core.matchers.EvaluationCost;
 
 
 
@@ -22,7 +23,7 @@ import org.openqa.selenium.WebElement;
  * @see org.openqa.selenium.WebElement#isDisplayed()
  * @since 1.0
  */
-class DisplayedMatcher extends TypeSafeMatcher<WebElement>
+class DisplayedMatcher extends TypeSafeMatcher<WebElement> implements EvaluationCost
 {
     //region Static definitions, members, initialization and constructors
 
@@ -33,6 +34,15 @@ class DisplayedMatcher extends TypeSafeMatcher<WebElement>
 
     //endregion
 
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
     @Factory
     static DisplayedMatcher displayed()
     {
@@ -0,0 +1,89 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.openqa.selenium.WebElement;
+
+
+
+/**
+ * The element properties that can be read in bulk through {@link BrowserScripts#READ_ELEMENTS_PROPERTY}.
+ * Each constant also knows how to read itself through the regular WebDriver command, used as fallback
+ * when the driver does not support scripts. The text is always read with the WebDriver command: a script reading
+ * {@code innerText} differs from it in the whitespace and the hidden content.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+enum ElementProperty
+{
+    ATTRIBUTE( "attribute", "attribute" )
+            {
+                @Override
+                String read( WebElement element, String name )
+                {
+                    return element.getAttribute( name );
+                }
+            },
+    CSS( "css", "css property" )
+            {
+                @Override
+                String read( WebElement element, String name )
+                {
+                    return element.getCssValue( name );
+                }
+            },
+    TEXT( null, "text" )
+            {
+                @Override
+                String read( WebElement element, String name )
+                {
+                    return element.getText();
+                }
+            };
+
+    private final String scriptKind;
+
+    private final String displayName;
+
+    ElementProperty( String scriptKind, String displayName )
+    {
+        this.scriptKind = scriptKind;
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return the kind argument understood by {@link BrowserScripts#READ_ELEMENTS_PROPERTY}, {@code null} when the
+     * property is only read with the WebDriver command
+     */
+    String getScriptKind()
+    {
+        return scriptKind;
+    }
+
+    /**
+     * @return {@code true} if a script reads the property as the WebDriver command does
+     */
+    boolean isScriptable()
+    {
+        return scriptKind != null;
+    }
+
+    /**
+     * @return the text used in matcher descriptions
+     */
+    String getDisplayName()
+    {
+        return displayName;
+    }
+
+    /**
+     * Reads the property with a single WebDriver command.
+     *
+     * @param element the element to read from
+     * @param name    the attribute or css property name, ignored for {@link #TEXT}
+     *
+     * @return the property value
+     */
+    abstract String read( WebElement element, String name );
+}
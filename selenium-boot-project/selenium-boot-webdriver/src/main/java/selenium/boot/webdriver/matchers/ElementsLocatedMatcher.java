@@ -0,0 +1,78 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import selenium.boot.webdriver.locators.LocatorOptimizer;
+
+import java.util.List;
+
+
+
+/**
+ * Locates all the elements matching a {@link By} in the examined context and matches the resulting list.
+ * Intended to be combined with the bulk matchers, so a whole table or list is verified with one
+ * {@code findElements} and one {@code executeScript} round trip.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class ElementsLocatedMatcher extends ValueFetchingMatcher<SearchContext, List<WebElement>>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final By by;
+
+    private final Matcher<? super List<WebElement>> matcher;
+
+    ElementsLocatedMatcher( By by, Matcher<? super List<WebElement>> matcher )
+    {
+        this.by = by;
+        this.matcher = matcher;
+    }
+
+    //endregion
+
+    @Factory
+    static Matcher<SearchContext> elementsLocatedBy( By by, Matcher<? super List<WebElement>> matcher )
+    {
+        return new ElementsLocatedMatcher( by, matcher );
+    }
+
+    @Override
+    protected List<WebElement> fetch( SearchContext context )
+    {
+        return context.findElements( LocatorOptimizer.optimize( context, by ) );
+    }
+
+    @Override
+    protected boolean matchesValue( List<WebElement> elements )
+    {
+        return matcher.matches( elements );
+    }
+
+    @Override
+    protected void describeMismatchValue( SearchContext context, List<WebElement> elements, Description mismatchDescription )
+    {
+        mismatchDescription.appendText( "elements located by " ).appendValue( by ).appendText( " " );
+        matcher.describeMismatch( elements, mismatchDescription );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( "elements located by " )
+                .appendValue( by )
+                .appendText( " where " )
+                .appendDescriptionOf( matcher );
+    }
+}
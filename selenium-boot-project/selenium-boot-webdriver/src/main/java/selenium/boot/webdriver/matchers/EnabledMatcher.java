@@ -6,6 +6,7 @@ import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebElement;
+import selenium.boot.core.matchers.EvaluationCost;
 
 
 
@@ -22,7 +23,7 @@ import org.openqa.selenium.WebElement;
  * @see org.openqa.selenium.WebElement#isEnabled()
  * @since 1.0
  */
-class EnabledMatcher extends TypeSafeMatcher<WebElement>
+class EnabledMatcher extends TypeSafeMatcher<WebElement> implements EvaluationCost
 {
     @Factory
     static Matcher<WebElement> enabled()
@@ -30,6 +31,15 @@ class EnabledMatcher extends TypeSafeMatcher<WebElement>
         return new EnabledMatcher();
     }
 
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
     @Override
     protected boolean matchesSafely( WebElement element )
     {
@@ -0,0 +1,319 @@
+package selenium.boot.webdriver.matchers;
+
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import selenium.boot.core.matchers.EvaluationCost;
+import selenium.boot.utils.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+
+/**
+ * Decorates a point-in-time matcher and re-evaluates it until it matches or the timeout budget is exhausted.
+ * <p>
+ * Polling starts with a fast cadence and backs off exponentially up to a maximum interval. Every interval is
+ * jittered so parallel threads polling the same Grid do not fire in lock-step. The mismatch description reports
+ * the number of attempts, the total time waited and the last mismatch of the decorated matcher, or the exception of
+ * the last attempt when it failed, e.g. on a stale element; describing it never throws a {@link WebDriverException}.
+ * </p>
+ * <p>
+ * {@link #matches(Object)} is synchronous by contract, so it parks the calling thread between attempts.
+ * Callers that must not block can use {@link #evaluateAsync(Object)}, which chains each attempt as a scheduled
+ * continuation on a small shared scheduler and never holds a thread while waiting, and fails with the same
+ * description on timeout.
+ * </p>
+ * <p>
+ * A lost session, {@link NoSuchSessionException} or {@link UnreachableBrowserException}, aborts the wait at once
+ * instead of being polled until the timeout; other {@link WebDriverException}s count as a mismatch.
+ * </p>
+ *
+ * @param <T> the type of the examined item
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class EventuallyMatcher<T> extends TypeSafeMatcher<T> implements EvaluationCost
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofMillis( 50 );
+
+    private static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds( 1 );
+
+    private static final double DEFAULT_MULTIPLIER = 1.5d;
+
+    private static final double DEFAULT_JITTER = 0.2d;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setNameFormat( "eventually-matcher-%d" ).setDaemon( true ).build() );
+
+    private final Matcher<? super T> matcher;
+
+    private final long timeoutNanos;
+
+    private final long initialIntervalNanos;
+
+    private final long maxIntervalNanos;
+
+    private final double multiplier;
+
+    private final double jitter;
+
+    private final ThreadLocal<Outcome> lastOutcome = new ThreadLocal<>();
+
+    EventuallyMatcher( Matcher<? super T> matcher, Duration timeout, Duration initialInterval,
+                       Duration maxInterval, double multiplier, double jitter )
+    {
+        Assert.notNull( matcher, "matcher must not be null" );
+        Assert.isTrue( !timeout.isNegative(), "timeout must not be negative" );
+        Assert.isTrue( !initialInterval.isNegative() && !initialInterval.isZero(), "initial interval must be positive" );
+        Assert.isTrue( maxInterval.compareTo( initialInterval ) >= 0, "max interval must not be lower than initial interval" );
+        Assert.isTrue( multiplier >= 1.0d, "multiplier must be greater or equal to 1" );
+        Assert.isTrue( jitter >= 0.0d && jitter < 1.0d, "jitter must be in the range [0, 1)" );
+        this.matcher = matcher;
+        this.timeoutNanos = timeout.toNanos();
+        this.initialIntervalNanos = initialInterval.toNanos();
+        this.maxIntervalNanos = maxInterval.toNanos();
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    //endregion
+
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
+    @Factory
+    static <T> EventuallyMatcher<T> eventually( Matcher<? super T> matcher, Duration timeout )
+    {
+        return new EventuallyMatcher<>( matcher, timeout, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL,
+                DEFAULT_MULTIPLIER, DEFAULT_JITTER );
+    }
+
+    @Factory
+    static <T> EventuallyMatcher<T> eventually( Matcher<? super T> matcher, Duration timeout,
+                                                Duration initialInterval, Duration maxInterval )
+    {
+        return new EventuallyMatcher<>( matcher, timeout, initialInterval, maxInterval,
+                DEFAULT_MULTIPLIER, DEFAULT_JITTER );
+    }
+
+    @Override
+    protected boolean matchesSafely( T item )
+    {
+        final Outcome outcome = new Outcome();
+        final long deadline = outcome.start + timeoutNanos;
+        long interval = initialIntervalNanos;
+        while( true )
+        {
+            if( attempt( item, outcome ) )
+            {
+                lastOutcome.remove();
+                return true;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if( remaining <= 0 )
+            {
+                lastOutcome.set( outcome.finish() );
+                return false;
+            }
+            LockSupport.parkNanos( Math.min( jittered( interval ), remaining ) );
+            interval = next( interval );
+        }
+    }
+
+    /**
+     * Evaluates the decorated matcher without blocking the calling thread.
+     * Each retry is scheduled as a continuation; the returned future completes with the item on the first
+     * successful attempt, or exceptionally with an {@link AssertionError} describing the mismatch, as
+     * {@link org.hamcrest.MatcherAssert#assertThat(Object, Matcher)} does, once the timeout budget is exhausted.
+     * It also completes exceptionally if the session is lost, or the decorated matcher throws another exception
+     * than a {@link WebDriverException}.
+     *
+     * @param item the examined item
+     *
+     * @return a future holding the matched item
+     */
+    CompletableFuture<T> evaluateAsync( T item )
+    {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Outcome outcome = new Outcome();
+        final long deadline = outcome.start + timeoutNanos;
+        SCHEDULER.execute( () -> poll( item, result, outcome, deadline, initialIntervalNanos ) );
+        return result;
+    }
+
+    private void poll( T item, CompletableFuture<T> result, Outcome outcome, long deadline, long interval )
+    {
+        try
+        {
+            if( attempt( item, outcome ) )
+            {
+                result.complete( item );
+                return;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if( remaining <= 0 )
+            {
+                final Description description = new StringDescription();
+                description.appendText( "\nExpected: " ).appendDescriptionOf( this ).appendText( "\n     but: " );
+                describe( item, outcome.finish(), description );
+                result.completeExceptionally( new AssertionError( description.toString() ) );
+                return;
+            }
+            final long next = next( interval );
+            SCHEDULER.schedule( () -> poll( item, result, outcome, deadline, next ),
+                    Math.min( jittered( interval ), remaining ), TimeUnit.NANOSECONDS );
+        }
+        catch( RuntimeException e )
+        {
+            result.completeExceptionally( e );
+        }
+    }
+
+    private boolean attempt( T item, Outcome outcome )
+    {
+        outcome.attempts++;
+        try( CookieSnapshot.Scope ignored = CookieSnapshot.openScope() )
+        {
+            final boolean matches = matcher.matches( item );
+            outcome.lastFailure = null;
+            return matches;
+        }
+        catch( NoSuchSessionException | UnreachableBrowserException e )
+        {
+            throw e;
+        }
+        catch( WebDriverException e )
+        {
+            outcome.lastFailure = e;
+            return false;
+        }
+    }
+
+    private long next( long interval )
+    {
+        return Math.min( ( long ) ( interval * multiplier ), maxIntervalNanos );
+    }
+
+    private long jittered( long interval )
+    {
+        if( jitter == 0.0d )
+        {
+            return interval;
+        }
+        final double factor = 1.0d + ThreadLocalRandom.current().nextDouble( -jitter, jitter );
+        return Math.max( 1L, ( long ) ( interval * factor ) );
+    }
+
+    @Override
+    protected void describeMismatchSafely( T item, Description mismatchDescription )
+    {
+        final Outcome outcome = lastOutcome.get();
+        lastOutcome.remove();
+        describe( item, outcome, mismatchDescription );
+    }
+
+    /**
+     * Describes the outcome, then the exception of the last attempt, or the mismatch of the decorated matcher.
+     */
+    private void describe( T item, Outcome outcome, Description mismatchDescription )
+    {
+        if( outcome != null )
+        {
+            mismatchDescription.appendText( "after " )
+                    .appendValue( outcome.attempts )
+                    .appendText( " attempts in " )
+                    .appendValue( TimeUnit.NANOSECONDS.toMillis( outcome.elapsedNanos ) )
+                    .appendText( " ms, " );
+            if( outcome.lastFailure != null )
+            {
+                describeFailure( outcome.lastFailure, mismatchDescription );
+                return;
+            }
+        }
+        final StringDescription last = new StringDescription();
+        try
+        {
+            matcher.describeMismatch( item, last );
+        }
+        catch( WebDriverException e )
+        {
+            describeFailure( e, mismatchDescription );
+            return;
+        }
+        mismatchDescription.appendText( last.toString() );
+    }
+
+    /**
+     * Describes a failure of the decorated matcher by the exception type and the first line of its message, without
+     * the driver information WebDriver appends.
+     */
+    static void describeFailure( WebDriverException failure, Description mismatchDescription )
+    {
+        final String message = String.valueOf( failure.getMessage() );
+        final int end = message.indexOf( '\n' );
+        mismatchDescription.appendText( "the last attempt failed with " )
+                .appendText( failure.getClass().getSimpleName() )
+                .appendText( ": " )
+                .appendText( end < 0 ? message : message.substring( 0, end ) );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendDescriptionOf( matcher )
+                .appendText( " within " )
+                .appendValue( TimeUnit.NANOSECONDS.toMillis( timeoutNanos ) )
+                .appendText( " ms" );
+    }
+
+
+    /**
+     * The attempts of one evaluation; an asynchronous evaluation updates it from successive scheduler threads, each
+     * continuation being scheduled by the previous one.
+     */
+    private static final class Outcome
+    {
+        private final long start = System.nanoTime();
+
+        private int attempts;
+
+        private long elapsedNanos;
+
+        private WebDriverException lastFailure;
+
+        private Outcome finish()
+        {
+            elapsedNanos = System.nanoTime() - start;
+            return this;
+        }
+    }
+}
@@ -4,9 +4,8 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.TypeSafeMatcher;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import selenium.boot.core.matchers.EvaluationCost;
 
 
 
@@ -20,7 +19,7 @@ import org.openqa.selenium.WebElement;
  * @version %I%, %G%
  * @since 1.0
  */
-class ExistMatcher extends TypeSafeMatcher<WebElement>
+class ExistMatcher extends TypeSafeMatcher<WebElement> implements EvaluationCost
 {
     @Factory
     static ExistMatcher exists()
@@ -28,18 +27,19 @@ class ExistMatcher extends TypeSafeMatcher<WebElement>
         return new ExistMatcher();
     }
 
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
     @Override
     protected boolean matchesSafely( WebElement element )
     {
-        try
-        {
-            element.findElement( By.xpath( "self::*" ) );
-        }
-        catch( WebDriverException e )
-        {
-            return false;
-        }
-        return true;
+        return new ExistenceProbe().exists( element );
     }
 
     @Override
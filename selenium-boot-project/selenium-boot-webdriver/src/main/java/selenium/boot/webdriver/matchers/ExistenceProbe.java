@@ -0,0 +1,162 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+
+
+/**
+ * Checks whether element references still exist on the page, probing many references in a single script execution.
+ * <p>
+ * Drivers reject the whole script when one of its arguments is stale, so a failed batch is split in halves until
+ * the stale references are isolated; the cost is logarithmic in the number of elements for each stale one.
+ * A stale reference never becomes valid again, so negative results are remembered by the probe instance and not
+ * sent to the browser twice. A probe is meant to live for a single evaluation.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class ExistenceProbe
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final Set<WebElement> missing = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+    ExistenceProbe()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Probes a single element.
+     *
+     * @param element the element reference
+     *
+     * @return {@code true} if the element is still attached to the page
+     */
+    boolean exists( WebElement element )
+    {
+        return probe( Collections.singletonList( element ) ).get( 0 );
+    }
+
+    /**
+     * Probes all the given elements.
+     *
+     * @param elements the element references
+     *
+     * @return for each element, in order, whether it is still attached to the page
+     */
+    List<Boolean> probe( List<? extends WebElement> elements )
+    {
+        final Map<WebElement, Boolean> results = new IdentityHashMap<>();
+        final List<WebElement> unknown = new ArrayList<>( elements.size() );
+        for( WebElement element : elements )
+        {
+            if( missing.contains( element ) )
+            {
+                results.put( element, Boolean.FALSE );
+            }
+            else if( !results.containsKey( element ) )
+            {
+                results.put( element, null );
+                unknown.add( element );
+            }
+        }
+
+        if( !unknown.isEmpty() )
+        {
+            final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( unknown );
+            if( executor.isPresent() )
+            {
+                probeScripted( executor.get(), unknown, results );
+            }
+            else
+            {
+                for( WebElement element : unknown )
+                {
+                    record( element, probeCommand( element ), results );
+                }
+            }
+        }
+
+        final List<Boolean> answer = new ArrayList<>( elements.size() );
+        for( WebElement element : elements )
+        {
+            answer.add( results.get( element ) );
+        }
+        return answer;
+    }
+
+    private void probeScripted( JavascriptExecutor executor, List<WebElement> elements, Map<WebElement, Boolean> results )
+    {
+        try
+        {
+            final Object result = executor.executeScript( BrowserScripts.PROBE_ELEMENTS_ATTACHED, elements );
+            final List<?> flags = result instanceof List ? ( List<?> ) result : Collections.emptyList();
+            for( int i = 0; i < elements.size(); i++ )
+            {
+                record( elements.get( i ), i < flags.size() && Boolean.TRUE.equals( flags.get( i ) ), results );
+            }
+        }
+        catch( StaleElementReferenceException e )
+        {
+            if( elements.size() == 1 )
+            {
+                record( elements.get( 0 ), false, results );
+                return;
+            }
+            final int half = elements.size() / 2;
+            probeScripted( executor, elements.subList( 0, half ), results );
+            probeScripted( executor, elements.subList( half, elements.size() ), results );
+        }
+        catch( WebDriverException e )
+        {
+            for( WebElement element : elements )
+            {
+                record( element, probeCommand( element ), results );
+            }
+        }
+    }
+
+    private static boolean probeCommand( WebElement element )
+    {
+        try
+        {
+            element.findElement( By.xpath( "self::*" ) );
+            return true;
+        }
+        catch( WebDriverException e )
+        {
+            return false;
+        }
+    }
+
+    private void record( WebElement element, boolean exists, Map<WebElement, Boolean> results )
+    {
+        results.put( element, exists );
+        if( !exists )
+        {
+            missing.add( element );
+        }
+    }
+}
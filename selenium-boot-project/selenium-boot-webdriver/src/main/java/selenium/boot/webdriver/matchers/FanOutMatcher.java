@@ -0,0 +1,303 @@
+package selenium.boot.webdriver.matchers;
+
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import selenium.boot.utils.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+
+/**
+ * Evaluates a set of matchers against many drivers or elements concurrently and aggregates the outcome in a single
+ * mismatch description.
+ * <p>
+ * Every item is evaluated by one task, which applies all the matchers to that item in declaration order; the items are
+ * independent browsers or elements, so the wall time drops to the one of the slowest item. The mismatch of each item is
+ * described by its own task, right after matching, so matchers that reuse the fetched value per thread stay accurate.
+ * An item that does not complete within the per-assertion timeout is cancelled and reported as timed out.
+ * </p>
+ * <p>
+ * Cancelling interrupts the evaluation between WebDriver calls, but cannot abort the call in flight. The matcher
+ * returns only once every cancelled evaluation has stopped, and reports how long it kept running, so no evaluation
+ * outlives the assertion, keeps using its driver or holds a thread of the executor.
+ * </p>
+ * <p>
+ * The project targets Java 8, so tasks run on a bounded executor of daemon threads rather than on virtual threads.
+ * </p>
+ *
+ * @param <T> the type of the examined items
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class FanOutMatcher<T> extends TypeSafeMatcher<Iterable<? extends T>>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final int DEFAULT_PARALLELISM = Math.max( 8, Runtime.getRuntime().availableProcessors() * 2 );
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newFixedThreadPool( DEFAULT_PARALLELISM,
+            new ThreadFactoryBuilder().setNameFormat( "fan-out-matcher-%d" ).setDaemon( true ).build() );
+
+    private final List<Matcher<? super T>> matchers;
+
+    private final long timeoutNanos;
+
+    private final ExecutorService executor;
+
+    private final ThreadLocal<List<String>> lastMismatches = new ThreadLocal<>();
+
+    FanOutMatcher( List<Matcher<? super T>> matchers, Duration timeout, ExecutorService executor )
+    {
+        Assert.notEmpty( matchers, "at least one matcher is required" );
+        Assert.isTrue( !timeout.isNegative() && !timeout.isZero(), "timeout must be positive" );
+        this.matchers = new ArrayList<>( matchers );
+        this.timeoutNanos = timeout.toNanos();
+        this.executor = executor;
+    }
+
+    //endregion
+
+    @Factory
+    static <T> Matcher<Iterable<? extends T>> concurrently( Duration timeout, List<Matcher<? super T>> matchers )
+    {
+        return new FanOutMatcher<>( matchers, timeout, DEFAULT_EXECUTOR );
+    }
+
+    @Factory
+    static <T> Matcher<Iterable<? extends T>> concurrently( Duration timeout, ExecutorService executor,
+                                                             List<Matcher<? super T>> matchers )
+    {
+        return new FanOutMatcher<>( matchers, timeout, executor );
+    }
+
+    @Override
+    protected boolean matchesSafely( Iterable<? extends T> items )
+    {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        final List<Evaluation> evaluations = new ArrayList<>();
+        for( T item : items )
+        {
+            final Evaluation evaluation = new Evaluation( item );
+            evaluation.future = executor.submit( evaluation );
+            evaluations.add( evaluation );
+        }
+
+        final String[] outcomes = new String[ evaluations.size() ];
+        for( int i = 0; i < outcomes.length; i++ )
+        {
+            outcomes[ i ] = await( evaluations.get( i ), deadline );
+        }
+        for( int i = 0; i < outcomes.length; i++ )
+        {
+            if( evaluations.get( i ).isCancelled() )
+            {
+                outcomes[ i ] = evaluations.get( i ).awaitStopped( outcomes[ i ] );
+            }
+        }
+
+        final List<String> mismatches = new ArrayList<>();
+        for( int i = 0; i < outcomes.length; i++ )
+        {
+            if( outcomes[ i ] != null )
+            {
+                mismatches.add( "item " + i + ": " + outcomes[ i ] );
+            }
+        }
+
+        if( mismatches.isEmpty() )
+        {
+            lastMismatches.remove();
+            return true;
+        }
+        lastMismatches.set( mismatches );
+        return false;
+    }
+
+    /**
+     * Applies all matchers to the item.
+     *
+     * @return {@code null} when all matchers matched, otherwise the description of the first mismatch
+     */
+    private String evaluate( T item )
+    {
+        for( Matcher<? super T> matcher : matchers )
+        {
+            if( Thread.currentThread().isInterrupted() )
+            {
+                throw new CancellationException();
+            }
+            if( !matcher.matches( item ) )
+            {
+                final Description description = new StringDescription();
+                description.appendDescriptionOf( matcher ).appendText( " but " );
+                matcher.describeMismatch( item, description );
+                return description.toString();
+            }
+        }
+        return null;
+    }
+
+    private String await( Evaluation evaluation, long deadline )
+    {
+        if( Thread.currentThread().isInterrupted() )
+        {
+            evaluation.cancel();
+            return "interrupted";
+        }
+        try
+        {
+            return evaluation.future.get( Math.max( 0L, deadline - System.nanoTime() ), TimeUnit.NANOSECONDS );
+        }
+        catch( TimeoutException e )
+        {
+            evaluation.cancel();
+            return "timed out after " + TimeUnit.NANOSECONDS.toMillis( timeoutNanos ) + " ms";
+        }
+        catch( ExecutionException e )
+        {
+            return "failed with " + e.getCause();
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            evaluation.cancel();
+            return "interrupted";
+        }
+    }
+
+    @Override
+    protected void describeMismatchSafely( Iterable<? extends T> items, Description mismatchDescription )
+    {
+        final List<String> mismatches = lastMismatches.get();
+        lastMismatches.remove();
+        mismatchDescription.appendText( String.join( ", ",
+                mismatches == null ? Collections.<String>emptyList() : mismatches ) );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( "every item, evaluated concurrently, matching " )
+                .appendList( "(", " and ", ")", matchers );
+    }
+
+
+    /**
+     * The evaluation of one item. Cancelling it drops it if it did not start yet, and otherwise interrupts its
+     * thread, which only stops it once the WebDriver call in flight returns.
+     */
+    private final class Evaluation implements Callable<String>
+    {
+        private final T item;
+
+        private Future<String> future;
+
+        private Thread runner;
+
+        private boolean started;
+
+        private boolean cancelled;
+
+        private boolean stopped;
+
+        private long cancelledAt;
+
+        private Evaluation( T item )
+        {
+            this.item = item;
+        }
+
+        @Override
+        public String call()
+        {
+            synchronized( this )
+            {
+                if( cancelled )
+                {
+                    return null;
+                }
+                started = true;
+                runner = Thread.currentThread();
+            }
+            try
+            {
+                return evaluate( item );
+            }
+            finally
+            {
+                synchronized( this )
+                {
+                    runner = null;
+                    stopped = true;
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized void cancel()
+        {
+            cancelled = true;
+            cancelledAt = System.nanoTime();
+            if( runner != null )
+            {
+                runner.interrupt();
+            }
+            future.cancel( false );
+        }
+
+        private synchronized boolean isCancelled()
+        {
+            return cancelled;
+        }
+
+        /**
+         * Waits until the cancelled evaluation stops, unless the current thread is interrupted.
+         *
+         * @return the outcome, completed with how long the evaluation kept running after its cancellation
+         */
+        private synchronized String awaitStopped( String outcome )
+        {
+            if( !started )
+            {
+                return outcome + ", before being evaluated";
+            }
+            try
+            {
+                while( !stopped )
+                {
+                    wait();
+                }
+            }
+            catch( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                return outcome + ", its driver is still busy with a WebDriver call and should not be reused";
+            }
+            return outcome + ", the evaluation in progress stopped "
+                   + TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - cancelledAt ) + " ms later";
+        }
+    }
+}
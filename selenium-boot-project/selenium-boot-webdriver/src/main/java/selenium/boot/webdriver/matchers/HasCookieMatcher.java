@@ -1,24 +1,22 @@
 package selenium.boot.webdriver.matchers;
 
 
-import com.google.common.collect.Lists;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
 
-import java.util.List;
-
 
 
 /**
+ * Matches a cookie of the driver by name, and optionally its features, against the driver's {@link CookieSnapshot}.
+ *
  * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
  * @version %I%, %G%
  * @since 2.0
  */
-class HasCookieMatcher extends TypeSafeMatcher<WebDriver>
+class HasCookieMatcher extends ValueFetchingMatcher<WebDriver, CookieSnapshot>
 {
     //region Static definitions, members, initialization and constructors
 
@@ -26,11 +24,14 @@ class HasCookieMatcher extends TypeSafeMatcher<WebDriver>
     // Static definitions, members, initialization and constructors
     //---------------------------------------------------------------------
 
-    private String name;
+    private final String name;
+
+    private final Matcher<? super Cookie> cookieMatcher;
 
-    HasCookieMatcher( String name )
+    HasCookieMatcher( String name, Matcher<? super Cookie> cookieMatcher )
     {
         this.name = name;
+        this.cookieMatcher = cookieMatcher;
     }
 
     //endregion
@@ -38,31 +39,50 @@ class HasCookieMatcher extends TypeSafeMatcher<WebDriver>
     @Factory
     static Matcher<WebDriver> hasCookie( String name )
     {
-        return new HasCookieMatcher( name );
+        return new HasCookieMatcher( name, null );
+    }
+
+    @Factory
+    static Matcher<WebDriver> hasCookie( String name, Matcher<? super Cookie> cookieMatcher )
+    {
+        return new HasCookieMatcher( name, cookieMatcher );
+    }
+
+    @Override
+    protected CookieSnapshot fetch( WebDriver wDriver )
+    {
+        return CookieSnapshot.of( wDriver );
     }
 
     @Override
-    protected boolean matchesSafely( WebDriver wDriver )
+    protected boolean matchesValue( CookieSnapshot snapshot )
     {
-        Cookie cookie = wDriver.manage().getCookieNamed( name );
-        return cookie != null;
+        final Cookie cookie = snapshot.get( name );
+        return cookie != null && ( cookieMatcher == null || cookieMatcher.matches( cookie ) );
     }
 
     @Override
-    protected void describeMismatchSafely( WebDriver item, Description mismatchDescription )
+    protected void describeMismatchValue( WebDriver item, CookieSnapshot snapshot, Description mismatchDescription )
     {
-        mismatchDescription.appendText( "was only " );
-        List<String> cookNames = Lists.newLinkedList();
-        for( Cookie cookie : item.manage().getCookies() )
+        final Cookie cookie = snapshot.get( name );
+        if( cookie == null )
         {
-            cookNames.add( cookie.getName() );
+            mismatchDescription.appendText( "was only " );
+            mismatchDescription.appendValueList( "[", ", ", "]", snapshot.names() );
+        }
+        else
+        {
+            cookieMatcher.describeMismatch( cookie, mismatchDescription );
         }
-        mismatchDescription.appendValueList( "[", ", ", "]", cookNames );
     }
 
     @Override
     public void describeTo( Description description )
     {
         description.appendText( "cookie named " ).appendValue( name );
+        if( cookieMatcher != null )
+        {
+            description.appendText( " with " ).appendDescriptionOf( cookieMatcher );
+        }
     }
 }
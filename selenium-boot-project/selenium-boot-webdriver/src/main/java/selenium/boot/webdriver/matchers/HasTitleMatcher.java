@@ -4,9 +4,8 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebDriver;
-import selenium.boot.framework.matchers.StringMatchers;
+import selenium.boot.core.matchers.StringMatchers;
 
 
 
@@ -18,7 +17,7 @@ import selenium.boot.framework.matchers.StringMatchers;
  * @see org.openqa.selenium.WebDriver#getTitle() 
  * @since 1.0
  */
-public class HasTitleMatcher extends TypeSafeMatcher<WebDriver>
+public class HasTitleMatcher extends ValueFetchingMatcher<WebDriver, String>
 {
     //region Static definitions, members, initialization and constructors
 
@@ -49,16 +48,21 @@ public class HasTitleMatcher extends TypeSafeMatcher<WebDriver>
     }
 
     @Override
-    protected boolean matchesSafely( WebDriver wd )
+    protected String fetch( WebDriver wd )
     {
-        return matcher.matches( wd.getTitle() );
+        return wd.getTitle();
     }
 
     @Override
-    protected void describeMismatchSafely( WebDriver item,
-                                           Description mismatchDescription )
+    protected boolean matchesValue( String title )
     {
-        matcher.describeMismatch( item.getTitle(), mismatchDescription );
+        return matcher.matches( title );
+    }
+
+    @Override
+    protected void describeMismatchValue( WebDriver item, String title, Description mismatchDescription )
+    {
+        matcher.describeMismatch( title, mismatchDescription );
     }
 
     @Override
@@ -0,0 +1,204 @@
+package selenium.boot.webdriver.matchers;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.internal.WrapsDriver;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.locators.LocatorOptimizer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+
+
+/**
+ * Remembers whether a locator finds elements in a search context, for as long as the page does not change.
+ * <p>
+ * Lookups run with {@code findElements}, so a missing element costs no exception, and XPath locators are rewritten
+ * by the {@link LocatorOptimizer}.
+ * </p>
+ * <p>
+ * Caching is opt-in through {@link #setWindow(Duration)}: checking the document stamp on every lookup would cost as
+ * many round trips as the lookup itself, so by default every lookup reaches the browser. With a positive window,
+ * results are grouped per driver under a stamp of the current document ( see {@link BrowserScripts#DOCUMENT_STAMP} )
+ * that changes on navigation, reload and any DOM mutation, and the stamp is read at most once per window; within it
+ * a result may be stale unless {@link LocatorCacheListener} is registered, which discards the results as soon as the
+ * test navigates, clicks, changes a value or runs a script. Drivers and search contexts are weakly referenced;
+ * contexts that cannot execute scripts are never cached.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class LocatorCache
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final Duration DEFAULT_WINDOW = Duration.ZERO;
+
+    private static final Cache<WebDriver, PageResults> PAGES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static volatile long windowNanos = DEFAULT_WINDOW.toNanos();
+
+    private LocatorCache()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Tells whether the locator finds at least one element in the context.
+     *
+     * @param context the driver or element to search in
+     * @param by      the locator
+     *
+     * @return {@code true} if an element was found
+     */
+    static boolean isPresent( SearchContext context, By by )
+    {
+        if( windowNanos == 0L )
+        {
+            return lookup( context, by );
+        }
+        final WebDriver driver = driverOf( context );
+        final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( context );
+        if( driver == null || !executor.isPresent() )
+        {
+            return lookup( context, by );
+        }
+
+        final PageResults page = currentPage( driver, executor.get() );
+        if( page == null )
+        {
+            return lookup( context, by );
+        }
+        try
+        {
+            final Map<By, Boolean> results = page.results.get( context, ConcurrentHashMap::new );
+            final Boolean cached = results.get( by );
+            if( cached != null )
+            {
+                return cached;
+            }
+            final boolean present = lookup( context, by );
+            results.put( by, present );
+            return present;
+        }
+        catch( ExecutionException e )
+        {
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    /**
+     * Discards the results of the driver.
+     *
+     * @param driver the driver
+     */
+    public static void invalidate( WebDriver driver )
+    {
+        PAGES.invalidate( BrowserScripts.unwrapDriver( driver ) );
+    }
+
+    /**
+     * Sets for how long a document stamp is trusted before being read again. A positive window enables the cache,
+     * and should come with a {@link LocatorCacheListener} on the driver.
+     *
+     * @param window the validation window, {@link Duration#ZERO}, the default, disables the cache
+     */
+    public static void setWindow( Duration window )
+    {
+        Assert.isTrue( !window.isNegative(), "window must not be negative" );
+        windowNanos = window.toNanos();
+    }
+
+    private static boolean lookup( SearchContext context, By by )
+    {
+        return !context.findElements( LocatorOptimizer.optimize( context, by ) ).isEmpty();
+    }
+
+    private static WebDriver driverOf( SearchContext context )
+    {
+        if( context instanceof WebDriver )
+        {
+            return BrowserScripts.unwrapDriver( ( WebDriver ) context );
+        }
+        if( context instanceof WrapsDriver )
+        {
+            return BrowserScripts.unwrapDriver( ( ( WrapsDriver ) context ).getWrappedDriver() );
+        }
+        return null;
+    }
+
+    /**
+     * @return the results of the current document, or {@code null} when the document cannot be stamped
+     */
+    private static PageResults currentPage( WebDriver driver, JavascriptExecutor executor )
+    {
+        final PageResults page = PAGES.getIfPresent( driver );
+        final long now = System.nanoTime();
+        if( page != null && now - page.checkedAt < windowNanos )
+        {
+            return page;
+        }
+
+        final String stamp = stamp( executor );
+        if( stamp == null || stamp.endsWith( " -1" ) )
+        {
+            PAGES.invalidate( driver );
+            return null;
+        }
+        if( page != null && page.stamp.equals( stamp ) )
+        {
+            page.checkedAt = now;
+            return page;
+        }
+        final PageResults fresh = new PageResults( stamp, now );
+        PAGES.put( driver, fresh );
+        return fresh;
+    }
+
+    private static String stamp( JavascriptExecutor executor )
+    {
+        try
+        {
+            return Objects.toString( executor.executeScript( BrowserScripts.DOCUMENT_STAMP ), null );
+        }
+        catch( WebDriverException e )
+        {
+            return null;
+        }
+    }
+
+
+    private static final class PageResults
+    {
+        private final String stamp;
+
+        private final Cache<SearchContext, Map<By, Boolean>> results = CacheBuilder.newBuilder().weakKeys().build();
+
+        private volatile long checkedAt;
+
+        private PageResults( String stamp, long checkedAt )
+        {
+            this.stamp = stamp;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
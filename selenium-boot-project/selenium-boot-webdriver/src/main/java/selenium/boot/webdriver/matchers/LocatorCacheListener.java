@@ -0,0 +1,65 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+
+
+
+/**
+ * Discards the {@link LocatorCache} results of a driver as soon as the test acts on the page, without waiting for
+ * the next document stamp check; the read-only scripts of the matchers are ignored. Register it on an
+ * {@link org.openqa.selenium.support.events.EventFiringWebDriver} when a cache window is set.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class LocatorCacheListener extends AbstractWebDriverEventListener
+{
+    @Override
+    public void afterNavigateTo( String url, WebDriver driver )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateBack( WebDriver driver )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateForward( WebDriver driver )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterNavigateRefresh( WebDriver driver )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterClickOn( WebElement element, WebDriver driver )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterChangeValueOf( WebElement element, WebDriver driver, CharSequence[] keysToSend )
+    {
+        LocatorCache.invalidate( driver );
+    }
+
+    @Override
+    public void afterScript( String script, WebDriver driver )
+    {
+        if( !BrowserScripts.isReadOnly( script ) )
+        {
+            LocatorCache.invalidate( driver );
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Matcher;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+
+
+/**
+ * Describes which DOM mutations may change the outcome of a matcher, so {@link BrowserScripts#AWAIT_DOM_CHANGE}
+ * wakes the JVM only for those.
+ * <p>
+ * Attribute and text matchers observe the examined element only; {@link ContainsElement} observes the search context
+ * and counts a mutation only when the presence of its locator flips, for locators expressible as CSS or XPath.
+ * Any other matcher observes the whole document.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class MutationTrigger
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String CSS = "css";
+
+    private static final String XPATH = "xpath";
+
+    private final WebElement target;
+
+    private final Map<String, Object> options;
+
+    private final String locatorKind;
+
+    private final String locator;
+
+    private MutationTrigger( WebElement target, Map<String, Object> options, String locatorKind, String locator )
+    {
+        this.target = target;
+        this.options = options;
+        this.locatorKind = locatorKind;
+        this.locator = locator;
+    }
+
+    //endregion
+
+    /**
+     * @param matcher the matcher to re-evaluate
+     * @param item    the examined item
+     *
+     * @return the mutations to wait for
+     */
+    static MutationTrigger of( Matcher<?> matcher, Object item )
+    {
+        final WebElement element = item instanceof WebElement ? ( WebElement ) item : null;
+        if( matcher instanceof ContainsElement )
+        {
+            final String[] locator = locatorOf( ( ( ContainsElement ) matcher ).getLocator() );
+            return new MutationTrigger( element, options( true, true, false ), locator[ 0 ], locator[ 1 ] );
+        }
+        if( matcher instanceof ExistMatcher )
+        {
+            return new MutationTrigger( null, options( true, false, false ), null, null );
+        }
+        if( element != null && matcher instanceof AttributeMatcher )
+        {
+            final Map<String, Object> options = options( false, true, false );
+            options.put( "attributeFilter", Collections.singletonList( ( ( AttributeMatcher ) matcher ).getPropertyName() ) );
+            return new MutationTrigger( element, options, null, null );
+        }
+        if( element != null && matcher instanceof TextMatcher )
+        {
+            return new MutationTrigger( element, options( true, false, true ), null, null );
+        }
+        return new MutationTrigger( null, options( true, true, true ), null, null );
+    }
+
+    /**
+     * @return the arguments of {@link BrowserScripts#AWAIT_DOM_CHANGE}
+     */
+    Object[] arguments( String stamp, long timeoutMillis )
+    {
+        return new Object[] { target, options, locatorKind, locator, stamp, timeoutMillis };
+    }
+
+    private static Map<String, Object> options( boolean childList, boolean attributes, boolean characterData )
+    {
+        final Map<String, Object> options = new HashMap<>();
+        options.put( "subtree", true );
+        options.put( "childList", childList );
+        options.put( "attributes", attributes );
+        options.put( "characterData", characterData );
+        return options;
+    }
+
+    /**
+     * Expresses a locator as a CSS selector or an XPath, from its description.
+     *
+     * @return the kind and the expression, both {@code null} when the locator cannot be evaluated by the browser
+     */
+    private static String[] locatorOf( By by )
+    {
+        final String description = by.toString();
+        final int colon = description.indexOf( ": " );
+        if( colon < 0 )
+        {
+            return new String[ 2 ];
+        }
+        final String using = description.substring( colon + 2 );
+        switch( description.substring( 0, colon ) )
+        {
+            case "By.cssSelector":
+                return new String[] { CSS, using };
+            case "By.xpath":
+                return new String[] { XPATH, using };
+            case "By.tagName":
+                return new String[] { CSS, using };
+            case "By.id":
+                return attributeSelector( "id", "=", using );
+            case "By.name":
+                return attributeSelector( "name", "=", using );
+            case "By.className":
+                return attributeSelector( "class", "~=", using );
+            default:
+                return new String[ 2 ];
+        }
+    }
+
+    private static String[] attributeSelector( String attribute, String operator, String value )
+    {
+        if( value.indexOf( '\n' ) >= 0 || value.indexOf( '\r' ) >= 0 || value.indexOf( '\f' ) >= 0 )
+        {
+            return new String[ 2 ];
+        }
+        return new String[] { CSS, "[" + attribute + operator + "\"" + value.replace( "\\", "\\\\" )
+                .replace( "\"", "\\\"" ) + "\"]" };
+    }
+}
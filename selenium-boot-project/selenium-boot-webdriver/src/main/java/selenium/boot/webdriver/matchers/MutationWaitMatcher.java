@@ -0,0 +1,238 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import selenium.boot.core.matchers.EvaluationCost;
+import selenium.boot.utils.Assert;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+
+/**
+ * Decorates a point-in-time matcher and re-evaluates it each time the page changes, until it matches or the timeout
+ * expires.
+ * <p>
+ * Instead of polling, the browser is asked to block in {@link BrowserScripts#AWAIT_DOM_CHANGE} until a mutation
+ * that may affect the decorated matcher happens ( see {@link MutationTrigger} ), so a change is noticed at once
+ * and an unchanged page costs one pending request instead of a stream of commands. The document stamp of the last
+ * wake-up is handed to the next wait, so a mutation landing while the JVM evaluates is never missed. Since a wait
+ * handed an outdated stamp returns at once, evaluations are kept at least {@link #POLL_INTERVAL} apart, so a page
+ * mutating all the time costs no more than polling it.
+ * </p>
+ * <p>
+ * A lost session ends the wait at once, with the exception. Any other {@link WebDriverException} of an evaluation
+ * counts as a mismatch, and the mismatch description reports the one of the last evaluation.
+ * </p>
+ * <p>
+ * A wait lasts at most {@link #MAX_WAIT_SLICE}, within the script timeout of the driver. Items that cannot execute
+ * scripts, pages whose mutations cannot be observed and drivers whose script timeout is shorter than a wait are
+ * polled every {@link #POLL_INTERVAL} instead.
+ * </p>
+ *
+ * @param <T> the type of the examined item
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+class MutationWaitMatcher<T> extends TypeSafeMatcher<T> implements EvaluationCost
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    static final Duration MAX_WAIT_SLICE = Duration.ofSeconds( 5 );
+
+    static final Duration POLL_INTERVAL = Duration.ofMillis( 100 );
+
+    private final Matcher<? super T> matcher;
+
+    private final long timeoutNanos;
+
+    private final ThreadLocal<Outcome> lastOutcome = new ThreadLocal<>();
+
+    MutationWaitMatcher( Matcher<? super T> matcher, Duration timeout )
+    {
+        Assert.notNull( matcher, "matcher must not be null" );
+        Assert.isTrue( !timeout.isNegative(), "timeout must not be negative" );
+        this.matcher = matcher;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    //endregion
+
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
+    @Factory
+    static <T> MutationWaitMatcher<T> eventuallyOnMutation( Matcher<? super T> matcher, Duration timeout )
+    {
+        return new MutationWaitMatcher<>( matcher, timeout );
+    }
+
+    @Override
+    protected boolean matchesSafely( T item )
+    {
+        final Outcome outcome = new Outcome();
+        final long deadline = outcome.start + timeoutNanos;
+        final Optional<JavascriptExecutor> executor =
+                item instanceof SearchContext ? BrowserScripts.executorOf( ( SearchContext ) item ) : Optional.empty();
+        final MutationTrigger trigger = MutationTrigger.of( matcher, item );
+        boolean polling = !executor.isPresent();
+        String stamp = null;
+        while( true )
+        {
+            if( attempt( item, outcome ) )
+            {
+                lastOutcome.remove();
+                return true;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if( remaining <= 0 )
+            {
+                lastOutcome.set( outcome.finish() );
+                return false;
+            }
+            if( polling )
+            {
+                LockSupport.parkNanos( Math.min( POLL_INTERVAL.toNanos(), remaining ) );
+                continue;
+            }
+
+            try
+            {
+                if( stamp == null )
+                {
+                    // arms the mutation counter; changes since the evaluation are caught by evaluating again
+                    stamp = Objects.toString( executor.get().executeScript( BrowserScripts.DOCUMENT_STAMP ), null );
+                    polling = stamp == null || stamp.endsWith( " -1" );
+                    continue;
+                }
+                final long waited = System.nanoTime();
+                final long slice = TimeUnit.NANOSECONDS.toMillis( Math.min( MAX_WAIT_SLICE.toNanos(), remaining ) );
+                stamp = Objects.toString( executor.get().executeAsyncScript(
+                        BrowserScripts.AWAIT_DOM_CHANGE, trigger.arguments( stamp, Math.max( 1L, slice ) ) ), null );
+                final long early = POLL_INTERVAL.toNanos() - ( System.nanoTime() - waited );
+                if( early > 0 )
+                {
+                    LockSupport.parkNanos( Math.min( early, deadline - System.nanoTime() ) );
+                }
+            }
+            catch( ScriptTimeoutException e )
+            {
+                polling = true;
+            }
+            catch( NoSuchSessionException | UnreachableBrowserException e )
+            {
+                throw e;
+            }
+            catch( WebDriverException e )
+            {
+                // e.g. a stale observed element or a navigation during the wait
+                stamp = null;
+                LockSupport.parkNanos( Math.min( POLL_INTERVAL.toNanos(), remaining ) );
+            }
+        }
+    }
+
+    private boolean attempt( T item, Outcome outcome )
+    {
+        outcome.attempts++;
+        try( CookieSnapshot.Scope ignored = CookieSnapshot.openScope() )
+        {
+            final boolean matches = matcher.matches( item );
+            outcome.lastFailure = null;
+            return matches;
+        }
+        catch( NoSuchSessionException | UnreachableBrowserException e )
+        {
+            throw e;
+        }
+        catch( WebDriverException e )
+        {
+            outcome.lastFailure = e;
+            return false;
+        }
+    }
+
+    @Override
+    protected void describeMismatchSafely( T item, Description mismatchDescription )
+    {
+        final Outcome outcome = lastOutcome.get();
+        lastOutcome.remove();
+        if( outcome != null )
+        {
+            mismatchDescription.appendText( "after " )
+                    .appendValue( outcome.attempts )
+                    .appendText( " evaluations in " )
+                    .appendValue( TimeUnit.NANOSECONDS.toMillis( outcome.elapsedNanos ) )
+                    .appendText( " ms, " );
+            if( outcome.lastFailure != null )
+            {
+                EventuallyMatcher.describeFailure( outcome.lastFailure, mismatchDescription );
+                return;
+            }
+        }
+        final StringDescription last = new StringDescription();
+        try
+        {
+            matcher.describeMismatch( item, last );
+        }
+        catch( WebDriverException e )
+        {
+            EventuallyMatcher.describeFailure( e, mismatchDescription );
+            return;
+        }
+        mismatchDescription.appendText( last.toString() );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendDescriptionOf( matcher )
+                .appendText( " within " )
+                .appendValue( TimeUnit.NANOSECONDS.toMillis( timeoutNanos ) )
+                .appendText( " ms" );
+    }
+
+
+    private static final class Outcome
+    {
+        private final long start = System.nanoTime();
+
+        private int attempts;
+
+        private long elapsedNanos;
+
+        private WebDriverException lastFailure;
+
+        private Outcome finish()
+        {
+            elapsedNanos = System.nanoTime() - start;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package selenium.boot.webdriver.matchers;
+
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Objects;
+import java.util.Optional;
+
+
+
+/**
+ * Keeps the last page source fetched from every driver, together with the {@link BrowserScripts#DOCUMENT_STAMP stamp}
+ * of its document.
+ * <p>
+ * Before transferring the source again, the browser is asked for the stamp of the current document; if it did not
+ * change, the cached source is returned without downloading it. The stamp is read before the transfer, so a page
+ * changing during the transfer only makes the next call download the source again. Documents whose mutations
+ * cannot be observed are never cached.
+ * Sources longer than {@link #MAX_CACHED_LENGTH} characters are not retained. Drivers are unwrapped and weakly
+ * referenced.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class PageSourceCache
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * Sources bigger than this number of characters are not retained.
+     */
+    static final int MAX_CACHED_LENGTH = 8 * 1024 * 1024;
+
+    private static final Cache<WebDriver, Snapshot> SNAPSHOTS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private PageSourceCache()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Returns the page source of the driver, transferring it only when the document changed since the last call.
+     *
+     * @param driver the driver
+     *
+     * @return the current page source
+     */
+    static String pageSource( WebDriver driver )
+    {
+        final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( driver );
+        if( !executor.isPresent() )
+        {
+            return driver.getPageSource();
+        }
+
+        final WebDriver key = BrowserScripts.unwrapDriver( driver );
+        final String stamp = stamp( executor.get() );
+        final Snapshot cached = SNAPSHOTS.getIfPresent( key );
+        if( cached != null && stamp != null && cached.stamp.equals( stamp ) )
+        {
+            return cached.source;
+        }
+
+        final String source = driver.getPageSource();
+        if( stamp != null && !stamp.endsWith( " -1" ) && source != null && source.length() <= MAX_CACHED_LENGTH )
+        {
+            SNAPSHOTS.put( key, new Snapshot( stamp, source ) );
+        }
+        else
+        {
+            SNAPSHOTS.invalidate( key );
+        }
+        return source;
+    }
+
+    /**
+     * Discards the cached source of the driver.
+     *
+     * @param driver the driver
+     */
+    static void invalidate( WebDriver driver )
+    {
+        SNAPSHOTS.invalidate( BrowserScripts.unwrapDriver( driver ) );
+    }
+
+    private static String stamp( JavascriptExecutor executor )
+    {
+        try
+        {
+            return Objects.toString( executor.executeScript( BrowserScripts.DOCUMENT_STAMP ), null );
+        }
+        catch( WebDriverException e )
+        {
+            return null;
+        }
+    }
+
+
+    private static final class Snapshot
+    {
+        private final String stamp;
+
+        private final String source;
+
+        private Snapshot( String stamp, String source )
+        {
+            this.stamp = stamp;
+            this.source = source;
+        }
+    }
+}
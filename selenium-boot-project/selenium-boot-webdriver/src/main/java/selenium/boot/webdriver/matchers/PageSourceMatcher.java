@@ -0,0 +1,132 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.WebDriver;
+import selenium.boot.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+
+/**
+ * Matches the page source of a {@link WebDriver}, reading it through {@link PageSourceCache} so unchanged documents
+ * are not transferred again, which matters when the matcher is polled inside a wait.
+ * <p>
+ * The fragments variant scans the source once per fragment with {@link String#indexOf(String)} and stops at the
+ * first missing fragment, instead of handing the whole document to a generic string matcher.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see org.openqa.selenium.WebDriver#getPageSource()
+ * @since 2.0
+ */
+class PageSourceMatcher extends ValueFetchingMatcher<WebDriver, String>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final int ABBREVIATE_WIDTH = 50;
+
+    private final Matcher<String> matcher;
+
+    PageSourceMatcher( Matcher<String> matcher )
+    {
+        this.matcher = matcher;
+    }
+
+    //endregion
+
+    @Factory
+    static Matcher<WebDriver> pageSource( Matcher<String> matcher )
+    {
+        return new PageSourceMatcher( matcher );
+    }
+
+    @Factory
+    static Matcher<WebDriver> pageSourceContaining( Iterable<String> fragments )
+    {
+        return new PageSourceMatcher( new ContainsAllFragments( fragments ) );
+    }
+
+    @Override
+    protected String fetch( WebDriver driver )
+    {
+        return PageSourceCache.pageSource( driver );
+    }
+
+    @Override
+    protected boolean matchesValue( String source )
+    {
+        return matcher.matches( source );
+    }
+
+    @Override
+    protected void describeMismatchValue( WebDriver driver, String source, Description mismatchDescription )
+    {
+        if( matcher instanceof ContainsAllFragments )
+        {
+            matcher.describeMismatch( source, mismatchDescription );
+            return;
+        }
+        mismatchDescription.appendText( "page source is " )
+                .appendValue( StringUtils.abbreviate( source, ABBREVIATE_WIDTH ) );
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( "page source " ).appendDescriptionOf( matcher );
+    }
+
+
+    private static final class ContainsAllFragments extends TypeSafeMatcher<String>
+    {
+        private final List<String> fragments = new ArrayList<>();
+
+        private ContainsAllFragments( Iterable<String> fragments )
+        {
+            fragments.forEach( this.fragments::add );
+        }
+
+        @Override
+        protected boolean matchesSafely( String source )
+        {
+            for( String fragment : fragments )
+            {
+                if( source.indexOf( fragment ) < 0 )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void describeMismatchSafely( String source, Description mismatchDescription )
+        {
+            for( String fragment : fragments )
+            {
+                if( source.indexOf( fragment ) < 0 )
+                {
+                    mismatchDescription.appendText( "fragment " ).appendValue( fragment ).appendText( " was not found" );
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void describeTo( Description description )
+        {
+            description.appendValueList( "containing [", ", ", "]", fragments );
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package selenium.boot.webdriver.matchers;
+
+
+
+/**
+ * A matcher whose fetched value is a single {@link ElementProperty} of a {@link org.openqa.selenium.WebElement},
+ * so it can be evaluated against a value read in bulk along with the values of other matchers.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see SoftAssertions
+ * @since 2.0
+ */
+interface PropertyMatcher
+{
+    /**
+     * @return the kind of property the matcher reads
+     */
+    ElementProperty getProperty();
+
+    /**
+     * @return the attribute or css property name, {@code null} for {@link ElementProperty#TEXT}
+     */
+    String getPropertyName();
+}
@@ -5,6 +5,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebElement;
+import selenium.boot.core.matchers.EvaluationCost;
 
 
 
@@ -21,7 +22,7 @@ import org.openqa.selenium.WebElement;
  * @see org.openqa.selenium.WebElement#isSelected()
  * @since 1.0
  */
-class SelectedMatcher extends TypeSafeMatcher<WebElement>
+class SelectedMatcher extends TypeSafeMatcher<WebElement> implements EvaluationCost
 {
     //region Static definitions, members, initialization and constructors
 
@@ -31,6 +32,15 @@ class SelectedMatcher extends TypeSafeMatcher<WebElement>
 
     //endregion
 
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
     @Factory
     static SelectedMatcher selected()
     {
@@ -0,0 +1,283 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.instrumentation.EvaluationContext;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+
+
+/**
+ * Collects assertions and evaluates them all at once, reporting every failure instead of stopping at the first one.
+ * <p>
+ * Checks of an element attribute or css value are planned before being evaluated: the distinct reads of all the
+ * elements sharing a driver are sent in a single {@link BrowserScripts#READ_ELEMENT_PROPERTIES} script, and the
+ * matchers are evaluated against the values read. A form with fifty checked fields costs one round trip.
+ * Other checks, among them the checks of a text, which a script cannot read exactly as the WebDriver command does,
+ * and every check of a batch whose script failed, e.g. on a stale element, are evaluated one by one. The cookie
+ * checks of a driver share one {@link CookieSnapshot}.
+ * </p>
+ * <pre>
+ * SoftAssertions soft = new SoftAssertions();
+ * soft.check( "first name", firstName, hasValue( "Dani" ) );
+ * soft.check( "country", country, hasClass( containsString( "valid" ) ) );
+ * soft.assertAll();
+ * </pre>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class SoftAssertions
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String EVALUATION_LABEL = SoftAssertions.class.getSimpleName();
+
+    private final List<Check<?>> checks = new ArrayList<>();
+
+    public SoftAssertions()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * Queues a check.
+     *
+     * @param actual  the examined item
+     * @param matcher the matcher to evaluate
+     *
+     * @return this instance, for chaining
+     */
+    public <T> SoftAssertions check( T actual, Matcher<? super T> matcher )
+    {
+        return check( "", actual, matcher );
+    }
+
+    /**
+     * Queues a check.
+     *
+     * @param reason  the text opening the failure message
+     * @param actual  the examined item
+     * @param matcher the matcher to evaluate
+     *
+     * @return this instance, for chaining
+     */
+    public <T> SoftAssertions check( String reason, T actual, Matcher<? super T> matcher )
+    {
+        Assert.notNull( matcher, "matcher must not be null" );
+        checks.add( new Check<>( reason, actual, matcher ) );
+        return this;
+    }
+
+    /**
+     * @return the number of queued checks
+     */
+    public int size()
+    {
+        return checks.size();
+    }
+
+    /**
+     * Evaluates and clears the queued checks.
+     *
+     * @return the failure messages, in the order the checks were queued
+     */
+    public List<String> evaluate()
+    {
+        final String[] failures = new String[ checks.size() ];
+        final Map<JavascriptExecutor, List<Integer>> batches = new IdentityHashMap<>();
+        try( CookieSnapshot.Scope ignored = CookieSnapshot.openScope() )
+        {
+            for( int i = 0; i < checks.size(); i++ )
+            {
+                final Optional<JavascriptExecutor> executor = checks.get( i ).executor();
+                if( executor.isPresent() )
+                {
+                    batches.computeIfAbsent( executor.get(), key -> new ArrayList<>() ).add( i );
+                }
+                else
+                {
+                    failures[ i ] = checks.get( i ).evaluate();
+                }
+            }
+            for( Map.Entry<JavascriptExecutor, List<Integer>> batch : batches.entrySet() )
+            {
+                evaluateBatch( batch.getKey(), batch.getValue(), failures );
+            }
+        }
+        checks.clear();
+
+        final List<String> messages = new ArrayList<>();
+        for( String failure : failures )
+        {
+            if( failure != null )
+            {
+                messages.add( failure );
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Evaluates and clears the queued checks.
+     *
+     * @throws AssertionError listing every failed check
+     */
+    public void assertAll()
+    {
+        final int total = checks.size();
+        final List<String> failures = evaluate();
+        if( !failures.isEmpty() )
+        {
+            throw new AssertionError( String.format( "%d of %d checks failed%n%n%s", failures.size(), total,
+                    String.join( String.format( "%n%n" ), failures ) ) );
+        }
+    }
+
+    private void evaluateBatch( JavascriptExecutor executor, List<Integer> indexes, String[] failures )
+    {
+        final Map<WebElement, Integer> elements = new LinkedHashMap<>();
+        final Map<List<Object>, Integer> reads = new LinkedHashMap<>();
+        final int[] slots = new int[ indexes.size() ];
+        for( int i = 0; i < indexes.size(); i++ )
+        {
+            final Check<?> check = checks.get( indexes.get( i ) );
+            final PropertyMatcher matcher = ( PropertyMatcher ) check.matcher;
+            final Integer element = elements.computeIfAbsent( ( WebElement ) check.actual, key -> elements.size() );
+            final List<Object> read = new ArrayList<>( 3 );
+            read.add( element );
+            read.add( matcher.getProperty().getScriptKind() );
+            read.add( matcher.getPropertyName() );
+            slots[ i ] = reads.computeIfAbsent( read, key -> reads.size() );
+        }
+
+        final List<?> values;
+        try( EvaluationContext.Scope ignored = EvaluationContext.enter( EVALUATION_LABEL ) )
+        {
+            final Object result = executor.executeScript( BrowserScripts.READ_ELEMENT_PROPERTIES,
+                    new ArrayList<>( elements.keySet() ), new ArrayList<>( reads.keySet() ) );
+            values = result instanceof List && ( ( List<?> ) result ).size() == reads.size()
+                     ? ( List<?> ) result : null;
+        }
+        catch( WebDriverException e )
+        {
+            for( int index : indexes )
+            {
+                failures[ index ] = checks.get( index ).evaluate();
+            }
+            return;
+        }
+
+        for( int i = 0; i < indexes.size(); i++ )
+        {
+            final Check<?> check = checks.get( indexes.get( i ) );
+            failures[ indexes.get( i ) ] = values == null
+                                           ? check.evaluate()
+                                           : check.evaluate( Objects.toString( values.get( slots[ i ] ), null ) );
+        }
+    }
+
+
+    private static final class Check<T>
+    {
+        private final String reason;
+
+        private final T actual;
+
+        private final Matcher<? super T> matcher;
+
+        private Check( String reason, T actual, Matcher<? super T> matcher )
+        {
+            this.reason = reason;
+            this.actual = actual;
+            this.matcher = matcher;
+        }
+
+        /**
+         * @return the executor reading the property of the matcher in a batch, or empty if the check is evaluated alone
+         */
+        private Optional<JavascriptExecutor> executor()
+        {
+            if( matcher instanceof PropertyMatcher && matcher instanceof ValueFetchingMatcher
+                && ( ( PropertyMatcher ) matcher ).getProperty().isScriptable() && actual instanceof WebElement )
+            {
+                return BrowserScripts.executorOf( ( WebElement ) actual );
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * @return the failure message, or {@code null} if the check passed
+         */
+        private String evaluate()
+        {
+            try
+            {
+                return matcher.matches( actual ) ? null : failure( null );
+            }
+            catch( RuntimeException e )
+            {
+                return failure( e );
+            }
+        }
+
+        /**
+         * Evaluates against a value read in a batch; the mismatch description reuses it. A failure of the matcher
+         * or of its mismatch description is reported as {@link #evaluate()} does.
+         */
+        @SuppressWarnings( "unchecked" )
+        private String evaluate( String value )
+        {
+            final ValueFetchingMatcher<Object, String> fetching = ( ValueFetchingMatcher<Object, String> ) matcher;
+            try
+            {
+                return fetching.matchesFetched( actual, value ) ? null : failure( null );
+            }
+            catch( RuntimeException e )
+            {
+                return failure( e );
+            }
+        }
+
+        /**
+         * @param thrown the exception thrown by the evaluation, or {@code null} when the matcher did not match
+         */
+        private String failure( RuntimeException thrown )
+        {
+            final Description description = new StringDescription();
+            description.appendText( reason )
+                    .appendText( System.lineSeparator() + "Expected: " )
+                    .appendDescriptionOf( matcher )
+                    .appendText( System.lineSeparator() + "     but: " );
+            if( thrown == null )
+            {
+                matcher.describeMismatch( actual, description );
+            }
+            else
+            {
+                description.appendText( "threw " ).appendText( thrown.toString() );
+            }
+            return description.toString();
+        }
+    }
+}
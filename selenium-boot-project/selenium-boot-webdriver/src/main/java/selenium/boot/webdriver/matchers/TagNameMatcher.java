@@ -4,7 +4,6 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.WebElement;
 import selenium.boot.core.matchers.CoreMatchers;
 
@@ -20,7 +19,7 @@ import selenium.boot.core.matchers.CoreMatchers;
  * @version %I%, %G%
  * @since 1.0
  */
-class TagNameMatcher extends TypeSafeMatcher<WebElement>
+class TagNameMatcher extends ValueFetchingMatcher<WebElement, String>
 {
     //region Static definitions, members, initialization and constructors
 
@@ -50,17 +49,23 @@ class TagNameMatcher extends TypeSafeMatcher<WebElement>
     }
 
     @Override
-    public boolean matchesSafely( WebElement item )
+    protected String fetch( WebElement item )
     {
-        return textMatcher.matches( item.getTagName() );
+        return item.getTagName();
     }
 
     @Override
-    protected void describeMismatchSafely( WebElement item, Description mismatchDescription )
+    protected boolean matchesValue( String value )
+    {
+        return textMatcher.matches( value );
+    }
+
+    @Override
+    protected void describeMismatchValue( WebElement item, String value, Description mismatchDescription )
     {
         mismatchDescription.appendValue( item )
                 .appendText( " tag name is not " )
-                .appendValue( item.getTagName() );
+                .appendValue( value );
     }
 
     public void describeTo( Description description )
@@ -4,12 +4,12 @@ package selenium.boot.webdriver.matchers;
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
-import org.hamcrest.TypeSafeMatcher;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import selenium.boot.framework.matchers.CoreMatchers;
-import selenium.boot.utils.SeleniumBootStringUtils;
+import selenium.boot.core.matchers.CoreMatchers;
+import selenium.boot.utils.StringUtils;
+import selenium.boot.webdriver.snapshot.DomSnapshot;
 
 
 
@@ -23,7 +23,7 @@ import selenium.boot.utils.SeleniumBootStringUtils;
  * @version %I%, %G%
  * @since 1.0
  */
-class TextMatcher extends TypeSafeMatcher<SearchContext>
+class TextMatcher extends ValueFetchingMatcher<SearchContext, String> implements PropertyMatcher
 {
     //region Static definitions, members, initialization and constructors
 
@@ -65,31 +65,49 @@ class TextMatcher extends TypeSafeMatcher<SearchContext>
     }
 
     @Override
-    public boolean matchesSafely( SearchContext item )
+    public ElementProperty getProperty()
+    {
+        return ElementProperty.TEXT;
+    }
+
+    @Override
+    public String getPropertyName()
+    {
+        return null;
+    }
+
+    @Override
+    protected String fetch( SearchContext item )
     {
         if( item instanceof WebElement )
         {
-            return textMatcher.matches( ( ( WebElement ) item ).getText() );
+            return ( ( WebElement ) item ).getText();
         }
-        else
+        if( item instanceof DomSnapshot )
         {
-            return textMatcher.matches( ( ( WebDriver ) item ).getPageSource() );
+            return ( ( DomSnapshot ) item ).getPageSource();
         }
+        return ( ( WebDriver ) item ).getPageSource();
+    }
+
+    @Override
+    protected boolean matchesValue( String value )
+    {
+        return textMatcher.matches( value );
     }
 
     @Override
-    protected void describeMismatchSafely( SearchContext item, Description mismatchDescription )
+    protected void describeMismatchValue( SearchContext item, String value, Description mismatchDescription )
     {
         mismatchDescription.appendValue( item )
                 .appendText( " text is " );
         if( item instanceof WebElement )
         {
-            mismatchDescription.appendValue( ( ( WebElement ) item ).getText() );
+            mismatchDescription.appendValue( value );
         }
         else
         {
-            String str = ( ( WebDriver ) item ).getPageSource();
-            mismatchDescription.appendValue( SeleniumBootStringUtils.abbreviate( str, 50 ) );
+            mismatchDescription.appendValue( StringUtils.abbreviate( value, 50 ) );
         }
     }
 
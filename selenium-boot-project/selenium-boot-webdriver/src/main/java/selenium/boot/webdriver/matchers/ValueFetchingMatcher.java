@@ -0,0 +1,195 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+import org.hamcrest.internal.ReflectiveTypeFinder;
+import selenium.boot.core.matchers.EvaluationCost;
+import selenium.boot.webdriver.instrumentation.EvaluationContext;
+
+import java.lang.ref.WeakReference;
+
+
+
+/**
+ * Base class for matchers that fetch a single value from the browser and evaluate it.
+ * <p>
+ * The value observed by {@link #matchesSafely(Object)} is kept for the current thread and reused by
+ * {@link #describeMismatchSafely(Object, Description)}, so a failing assertion costs a single remote call
+ * and the mismatch description reports exactly the value that failed.
+ * Every evaluation discards the previous observation, and the observation holds the item and the value weakly: a
+ * failed member of an {@code anyOf}, a {@code not} or a wait loop, whose mismatch is never described, does not keep
+ * a page source or a screenshot reachable. A value collected before being described is fetched again.
+ * </p>
+ * <p>
+ * Fetches run inside an {@link EvaluationContext} labeled by {@link #evaluationLabel()}, so instrumented drivers
+ * attribute the browser commands to the matcher.
+ * </p>
+ *
+ * @param <T> the type of the examined item ( {@link org.openqa.selenium.WebElement}, {@link org.openqa.selenium.WebDriver} ...)
+ * @param <V> the type of the fetched value
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+abstract class ValueFetchingMatcher<T, V> extends TypeSafeMatcher<T> implements EvaluationCost
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final ReflectiveTypeFinder TYPE_FINDER = new ReflectiveTypeFinder( "fetch", 1, 0 );
+
+    private final ThreadLocal<Observation<T, V>> observation = new ThreadLocal<>();
+
+    private String label;
+
+    protected ValueFetchingMatcher()
+    {
+        super( TYPE_FINDER );
+    }
+
+    //endregion
+
+    /**
+     * Evaluations reach the browser.
+     */
+    @Override
+    public double getEvaluationCost()
+    {
+        return EvaluationCost.REMOTE;
+    }
+
+    /**
+     * Fetches the value to evaluate from the examined item.
+     *
+     * @param item the examined item, never {@code null}
+     *
+     * @return the fetched value, may be {@code null}
+     */
+    protected abstract V fetch( T item );
+
+    /**
+     * Evaluates the fetched value.
+     *
+     * @param value the value returned by {@link #fetch(Object)}
+     *
+     * @return {@code true} if the value matches
+     */
+    protected abstract boolean matchesValue( V value );
+
+    /**
+     * Describes the mismatch using the value that was observed during matching.
+     *
+     * @param item                the examined item
+     * @param value               the observed value
+     * @param mismatchDescription the description to append to
+     */
+    protected abstract void describeMismatchValue( T item, V value, Description mismatchDescription );
+
+    /**
+     * Returns the label the browser commands of this matcher are attributed to.
+     * Subclasses holding a property name override it to tell the properties apart, e.g. {@code AttributeMatcher[class]}.
+     *
+     * @return the simple class name by default
+     */
+    protected String evaluationLabel()
+    {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    protected final boolean matchesSafely( T item )
+    {
+        observation.remove();
+        return matchesFetched( item, attributedFetch( item ) );
+    }
+
+    /**
+     * Evaluates a value fetched on behalf of this matcher, e.g. in a batch with the values of other matchers,
+     * and keeps it for the mismatch description as {@link #matchesSafely(Object)} does.
+     *
+     * @param item  the examined item
+     * @param value the value fetched from the item
+     *
+     * @return {@code true} if the value matches
+     */
+    final boolean matchesFetched( T item, V value )
+    {
+        final boolean matches = matchesValue( value );
+        if( matches )
+        {
+            observation.remove();
+        }
+        else
+        {
+            observation.set( new Observation<>( item, value ) );
+        }
+        return matches;
+    }
+
+    @Override
+    protected final void describeMismatchSafely( T item, Description mismatchDescription )
+    {
+        describeMismatchValue( item, observed( item ), mismatchDescription );
+    }
+
+    /**
+     * Returns the value observed for the given item on the current thread, fetching it only when the item
+     * was not evaluated before.
+     *
+     * @param item the examined item
+     *
+     * @return the observed value
+     */
+    protected final V observed( T item )
+    {
+        final Observation<T, V> current = observation.get();
+        observation.remove();
+        if( current != null && current.item.get() == item )
+        {
+            if( current.value == null )
+            {
+                return null;
+            }
+            final V value = current.value.get();
+            if( value != null )
+            {
+                return value;
+            }
+        }
+        return attributedFetch( item );
+    }
+
+    private V attributedFetch( T item )
+    {
+        if( label == null )
+        {
+            label = evaluationLabel();
+        }
+        try( EvaluationContext.Scope ignored = EvaluationContext.enter( label ) )
+        {
+            return fetch( item );
+        }
+    }
+
+
+    private static final class Observation<T, V>
+    {
+        private final WeakReference<T> item;
+
+        /**
+         * {@code null} when the observed value was {@code null}.
+         */
+        private final WeakReference<V> value;
+
+        private Observation( T item, V value )
+        {
+            this.item = new WeakReference<>( item );
+            this.value = value == null ? null : new WeakReference<>( value );
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import selenium.boot.webdriver.visual.VisualBaselines;
+import selenium.boot.webdriver.visual.VisualDifference;
+
+import java.nio.file.Path;
+
+
+
+/**
+ * Matches the screenshot of an element or a page against a baseline image.
+ * The diff image is written only when the comparison fails.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see VisualBaselines
+ * @since 2.0
+ */
+class VisualMatcher extends ValueFetchingMatcher<TakesScreenshot, VisualDifference>
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final VisualBaselines baselines;
+
+    private final String name;
+
+    VisualMatcher( VisualBaselines baselines, String name )
+    {
+        this.baselines = baselines;
+        this.name = name;
+    }
+
+    //endregion
+
+    @Factory
+    static VisualMatcher looksLike( final VisualBaselines baselines, final String name )
+    {
+        return new VisualMatcher( baselines, name );
+    }
+
+    @Override
+    protected VisualDifference fetch( TakesScreenshot item )
+    {
+        return baselines.compare( name, item.getScreenshotAs( OutputType.BYTES ) );
+    }
+
+    @Override
+    protected boolean matchesValue( VisualDifference value )
+    {
+        return value.matches();
+    }
+
+    @Override
+    protected String evaluationLabel()
+    {
+        return getClass().getSimpleName() + "[" + name + "]";
+    }
+
+    @Override
+    protected void describeMismatchValue( TakesScreenshot item, VisualDifference value, Description mismatchDescription )
+    {
+        mismatchDescription.appendText( value.toString() );
+        final Path written = baselines.report( value );
+        if( written != null )
+        {
+            mismatchDescription.appendText( ", see " ).appendValue( written );
+        }
+    }
+
+    @Override
+    public void describeTo( Description description )
+    {
+        description.appendText( "looks like baseline " )
+                .appendValue( baselines.getBaselineDirectory().resolve( name + ".png" ) );
+    }
+}
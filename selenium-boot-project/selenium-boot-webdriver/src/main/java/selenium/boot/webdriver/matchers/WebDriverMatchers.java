@@ -2,7 +2,20 @@ package selenium.boot.webdriver.matchers;
 
 
 import org.hamcrest.Matcher;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import selenium.boot.webdriver.visual.VisualBaselines;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 
 
@@ -34,6 +47,15 @@ public final class WebDriverMatchers
         return ExistMatcher.exists();
     }
 
+    /**
+     * Creates matcher that checks if all the elements currently exist on page.
+     * The elements are probed with a single script execution.
+     */
+    public static Matcher<List<WebElement>> allExist()
+    {
+        return AllExistMatcher.allExist();
+    }
+
     /**
      * Creates matcher that checks if element is currently displayed on page.
      */
@@ -201,6 +223,335 @@ public final class WebDriverMatchers
         return AttributeMatcher.value( value );
     }
 
+    /**
+     * Creates matcher that checks if the driver has a cookie with the given name.
+     * Cookies are read from the driver's {@link CookieSnapshot}.
+     *
+     * @param name Name of the expected cookie.
+     */
+    public static Matcher<WebDriver> hasCookie( final String name )
+    {
+        return HasCookieMatcher.hasCookie( name );
+    }
+
+    /**
+     * Creates matcher that checks if the driver has a cookie with the given name, matching the given cookie matcher.
+     * Cookies are read from the driver's {@link CookieSnapshot}.
+     *
+     * @param name          Name of the expected cookie.
+     * @param cookieMatcher Matcher to match the cookie with.
+     */
+    public static Matcher<WebDriver> hasCookie( final String name, final Matcher<? super Cookie> cookieMatcher )
+    {
+        return HasCookieMatcher.hasCookie( name, cookieMatcher );
+    }
+
+    /**
+     * Creates matcher that evaluates all the given matchers against a single {@link CookieSnapshot} of the driver,
+     * so the cookie matchers of one assertion fetch the cookie jar once.
+     *
+     * @param matchers Matchers the driver must match, e.g. {@link #hasCookie(String, Matcher)}.
+     */
+    @SafeVarargs
+    public static Matcher<WebDriver> hasCookies( final Matcher<? super WebDriver>... matchers )
+    {
+        return CookieScopeMatcher.hasCookies( Arrays.asList( matchers ) );
+    }
+
+    /**
+     * Creates matcher that matches the value of a cookie with given matcher.
+     *
+     * @param matcher Matcher to match the cookie value with.
+     */
+    public static Matcher<Cookie> cookieValue( final Matcher<? super String> matcher )
+    {
+        return CookieFeatureMatcher.value( matcher );
+    }
+
+    /**
+     * Creates matcher that matches the domain of a cookie with given matcher.
+     *
+     * @param matcher Matcher to match the cookie domain with.
+     */
+    public static Matcher<Cookie> cookieDomain( final Matcher<? super String> matcher )
+    {
+        return CookieFeatureMatcher.domain( matcher );
+    }
+
+    /**
+     * Creates matcher that matches the path of a cookie with given matcher.
+     *
+     * @param matcher Matcher to match the cookie path with.
+     */
+    public static Matcher<Cookie> cookiePath( final Matcher<? super String> matcher )
+    {
+        return CookieFeatureMatcher.path( matcher );
+    }
+
+    /**
+     * Creates matcher that matches the expiry date of a cookie with given matcher.
+     *
+     * @param matcher Matcher to match the cookie expiry with.
+     */
+    public static Matcher<Cookie> cookieExpiry( final Matcher<? super Date> matcher )
+    {
+        return CookieFeatureMatcher.expiry( matcher );
+    }
+
+    /**
+     * Creates matcher that checks if a cookie is secure.
+     */
+    public static Matcher<Cookie> secureCookie()
+    {
+        return CookieFeatureMatcher.secure();
+    }
+
+    /**
+     * Creates matcher that checks if a cookie is http only.
+     */
+    public static Matcher<Cookie> httpOnlyCookie()
+    {
+        return CookieFeatureMatcher.httpOnly();
+    }
+
+    /**
+     * Creates matcher that matches the page source with given matcher.
+     * The source is transferred again only when the document changed since it was last read.
+     *
+     * @param matcher Matcher to match the page source with.
+     */
+    public static Matcher<WebDriver> hasPageSource( final Matcher<String> matcher )
+    {
+        return PageSourceMatcher.pageSource( matcher );
+    }
+
+    /**
+     * Creates matcher that checks if the page source contains all the given fragments.
+     * The source is transferred again only when the document changed since it was last read.
+     *
+     * @param fragments Fragments expected in the page source.
+     */
+    public static Matcher<WebDriver> pageSourceContains( final String... fragments )
+    {
+        return PageSourceMatcher.pageSourceContaining( Arrays.asList( fragments ) );
+    }
+
+    /**
+     * Creates matcher that compares the screenshot of an element or page against a baseline image,
+     * tile by tile with perceptual hashes. The diff image is written only when the comparison fails.
+     *
+     * @param baselines The baselines to compare against.
+     * @param name      The baseline name, without extension.
+     */
+    public static Matcher<TakesScreenshot> looksLike( final VisualBaselines baselines, final String name )
+    {
+        return VisualMatcher.looksLike( baselines, name );
+    }
+
+    /**
+     * Creates matcher that re-evaluates the given matcher, backing off exponentially between attempts,
+     * until it matches or the timeout expires.
+     *
+     * @param matcher Matcher to re-evaluate.
+     * @param timeout Maximum time to wait for the matcher to match.
+     */
+    public static <T> Matcher<T> eventually( final Matcher<? super T> matcher, final Duration timeout )
+    {
+        return EventuallyMatcher.eventually( matcher, timeout );
+    }
+
+    /**
+     * Creates matcher that re-evaluates the given matcher until it matches or the timeout expires.
+     * Polling starts at {@code initialInterval} and backs off exponentially up to {@code maxInterval}.
+     *
+     * @param matcher         Matcher to re-evaluate.
+     * @param timeout         Maximum time to wait for the matcher to match.
+     * @param initialInterval Delay before the second attempt.
+     * @param maxInterval     Upper bound of the delay between attempts.
+     */
+    public static <T> Matcher<T> eventually( final Matcher<? super T> matcher, final Duration timeout,
+                                             final Duration initialInterval, final Duration maxInterval )
+    {
+        return EventuallyMatcher.eventually( matcher, timeout, initialInterval, maxInterval );
+    }
+
+    /**
+     * Re-evaluates the given matcher against the item until it matches or the timeout expires, without blocking the
+     * calling thread; the waits between attempts are scheduled instead of parked.
+     *
+     * @param item    The examined item.
+     * @param matcher Matcher to re-evaluate.
+     * @param timeout Maximum time to wait for the matcher to match.
+     *
+     * @return a future completing with the item when the matcher matched, or exceptionally with an
+     * {@link AssertionError} describing the attempts and the last mismatch on timeout, or with the exception when
+     * the session is lost.
+     */
+    public static <T> CompletableFuture<T> eventuallyAsync( final T item, final Matcher<? super T> matcher,
+                                                            final Duration timeout )
+    {
+        return EventuallyMatcher.<T>eventually( matcher, timeout ).evaluateAsync( item );
+    }
+
+    /**
+     * Re-evaluates the given matcher against the item until it matches or the timeout expires, without blocking the
+     * calling thread. Polling starts at {@code initialInterval} and backs off exponentially up to {@code maxInterval}.
+     *
+     * @param item            The examined item.
+     * @param matcher         Matcher to re-evaluate.
+     * @param timeout         Maximum time to wait for the matcher to match.
+     * @param initialInterval Delay before the second attempt.
+     * @param maxInterval     Upper bound of the delay between attempts.
+     *
+     * @return a future completing with the item when the matcher matched, or exceptionally with an
+     * {@link AssertionError} describing the attempts and the last mismatch on timeout, or with the exception when
+     * the session is lost.
+     */
+    public static <T> CompletableFuture<T> eventuallyAsync( final T item, final Matcher<? super T> matcher,
+                                                            final Duration timeout,
+                                                            final Duration initialInterval,
+                                                            final Duration maxInterval )
+    {
+        return EventuallyMatcher.<T>eventually( matcher, timeout, initialInterval, maxInterval ).evaluateAsync( item );
+    }
+
+    /**
+     * Creates matcher that re-evaluates the given matcher each time the page changes, until it matches or the timeout
+     * expires. The browser notifies the changes through a {@code MutationObserver} instead of being polled.
+     *
+     * @param matcher Matcher to re-evaluate.
+     * @param timeout Maximum time to wait for the matcher to match.
+     */
+    public static <T> Matcher<T> eventuallyOnMutation( final Matcher<? super T> matcher, final Duration timeout )
+    {
+        return MutationWaitMatcher.eventuallyOnMutation( matcher, timeout );
+    }
+
+    /**
+     * Creates matcher that evaluates the given matchers against every driver or element concurrently,
+     * and reports the mismatches of all items together.
+     *
+     * @param timeout  Maximum time to wait for all items to be evaluated.
+     * @param matchers Matchers every item must match.
+     */
+    @SafeVarargs
+    public static <T> Matcher<Iterable<? extends T>> eachConcurrently( final Duration timeout,
+                                                                       final Matcher<? super T>... matchers )
+    {
+        return FanOutMatcher.<T>concurrently( timeout, Arrays.asList( matchers ) );
+    }
+
+    /**
+     * Creates matcher that evaluates the given matchers against every driver or element concurrently on the given
+     * executor, and reports the mismatches of all items together.
+     *
+     * @param timeout  Maximum time to wait for all items to be evaluated.
+     * @param executor Executor running the evaluations, its size bounds the parallelism.
+     * @param matchers Matchers every item must match.
+     */
+    @SafeVarargs
+    public static <T> Matcher<Iterable<? extends T>> eachConcurrently( final Duration timeout,
+                                                                       final ExecutorService executor,
+                                                                       final Matcher<? super T>... matchers )
+    {
+        return FanOutMatcher.<T>concurrently( timeout, executor, Arrays.asList( matchers ) );
+    }
+
+    /**
+     * Creates matcher that locates all elements matching the given locator and matches the list with the given matcher.
+     *
+     * @param by      Locator of the elements.
+     * @param matcher Matcher to match the located elements with.
+     */
+    public static Matcher<SearchContext> elementsLocatedBy( final By by, final Matcher<? super List<WebElement>> matcher )
+    {
+        return ElementsLocatedMatcher.elementsLocatedBy( by, matcher );
+    }
+
+    /**
+     * Creates matcher that checks that the specified attribute of every element matches the given matcher.
+     * The attribute of all elements is read with a single script execution.
+     *
+     * @param attribute    Name of matched attribute.
+     * @param valueMatcher Matcher to match attribute values with.
+     */
+    public static Matcher<List<WebElement>> everyElementHasAttribute( final String attribute,
+                                                                      final Matcher<String> valueMatcher )
+    {
+        return BulkPropertyMatcher.everyAttribute( attribute, valueMatcher );
+    }
+
+    /**
+     * Creates matcher that checks that the specified attribute of at least one element matches the given matcher.
+     * The attribute of all elements is read with a single script execution.
+     *
+     * @param attribute    Name of matched attribute.
+     * @param valueMatcher Matcher to match attribute values with.
+     */
+    public static Matcher<List<WebElement>> anyElementHasAttribute( final String attribute,
+                                                                    final Matcher<String> valueMatcher )
+    {
+        return BulkPropertyMatcher.anyAttribute( attribute, valueMatcher );
+    }
+
+    /**
+     * Creates matcher that checks that the 'class' attribute of every element matches the given matcher.
+     *
+     * @param matcher Matcher to match the 'class' attribute with.
+     */
+    public static Matcher<List<WebElement>> everyElementHasClass( final Matcher<String> matcher )
+    {
+        return BulkPropertyMatcher.everyAttribute( "class", matcher );
+    }
+
+    /**
+     * Creates matcher that checks that the text of every element matches the given matcher.
+     * The text of all elements is read with a single script execution.
+     *
+     * @param matcher Matcher to match element texts with.
+     */
+    public static Matcher<List<WebElement>> everyElementHasText( final Matcher<String> matcher )
+    {
+        return BulkPropertyMatcher.everyText( matcher );
+    }
+
+    /**
+     * Creates matcher that checks that the text of at least one element matches the given matcher.
+     * The text of all elements is read with a single script execution.
+     *
+     * @param matcher Matcher to match element texts with.
+     */
+    public static Matcher<List<WebElement>> anyElementHasText( final Matcher<String> matcher )
+    {
+        return BulkPropertyMatcher.anyText( matcher );
+    }
+
+    /**
+     * Creates matcher that checks that the specified css property of every element matches the given matcher.
+     * The css property of all elements is read with a single script execution.
+     *
+     * @param property     Name of the css property.
+     * @param valueMatcher Matcher to match css values with.
+     */
+    public static Matcher<List<WebElement>> everyElementHasCssValue( final String property,
+                                                                     final Matcher<String> valueMatcher )
+    {
+        return BulkPropertyMatcher.everyCssValue( property, valueMatcher );
+    }
+
+    /**
+     * Creates matcher that checks that the specified css property of at least one element matches the given matcher.
+     * The css property of all elements is read with a single script execution.
+     *
+     * @param property     Name of the css property.
+     * @param valueMatcher Matcher to match css values with.
+     */
+    public static Matcher<List<WebElement>> anyElementHasCssValue( final String property,
+                                                                   final Matcher<String> valueMatcher )
+    {
+        return BulkPropertyMatcher.anyCssValue( property, valueMatcher );
+    }
+
 
 
 //    /**
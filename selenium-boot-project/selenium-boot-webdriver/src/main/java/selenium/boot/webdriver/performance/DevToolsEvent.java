@@ -0,0 +1,76 @@
+package selenium.boot.webdriver.performance;
+
+
+
+/**
+ * The fields of a DevTools event the {@link PerformanceLogWriter} aggregates, filled by the
+ * {@link PerformanceLogParser} and reused from one message to the next.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class DevToolsEvent
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    String method;
+
+    String requestId;
+
+    String loaderId;
+
+    String frameId;
+
+    String parentFrameId;
+
+    String resourceType;
+
+    String url;
+
+    /**
+     * Monotonic time of the event, in seconds.
+     */
+    double timestamp;
+
+    /**
+     * Wall clock time of a request, in seconds since the epoch.
+     */
+    double wallTime;
+
+    double encodedDataLength;
+
+    int status;
+
+    int redirectStatus;
+
+    boolean fromCache;
+
+    DevToolsEvent()
+    {
+        reset();
+    }
+
+    //endregion
+
+    void reset()
+    {
+        method = null;
+        requestId = null;
+        loaderId = null;
+        frameId = null;
+        parentFrameId = null;
+        resourceType = null;
+        url = null;
+        timestamp = Double.NaN;
+        wallTime = Double.NaN;
+        encodedDataLength = 0;
+        status = 0;
+        redirectStatus = 0;
+        fromCache = false;
+    }
+}
@@ -0,0 +1,284 @@
+package selenium.boot.webdriver.performance;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+
+/**
+ * The network and timing figures of one page load, aggregated from the performance log.
+ * <p>
+ * A page starts with a main frame document request and ends with the next one. Times are in milliseconds from the
+ * start of the document request; {@code -1} when the event was not logged.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see PerformanceLogWriter
+ * @since 2.0
+ */
+public final class PageSummary
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String[] STATUS_CLASSES = { "other", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private String url;
+
+    private final double startTimestamp;
+
+    private final double wallTime;
+
+    private int requests;
+
+    private int finished;
+
+    private int failed;
+
+    private int cached;
+
+    private int redirects;
+
+    private long encodedBytes;
+
+    private long domContentLoadedMillis = -1;
+
+    private long loadMillis = -1;
+
+    private final int[] statuses = new int[ STATUS_CLASSES.length ];
+
+    private final Map<String, Integer> resourceTypes = new TreeMap<>();
+
+    private String slowestUrl;
+
+    private long slowestMillis = -1;
+
+    PageSummary( String url, double startTimestamp, double wallTime )
+    {
+        this.url = url;
+        this.startTimestamp = startTimestamp;
+        this.wallTime = wallTime;
+    }
+
+    //endregion
+
+    //region Getters
+
+    public String getUrl()
+    {
+        return url;
+    }
+
+    /**
+     * @return the start of the page load in milliseconds since the epoch, or {@code -1} if unknown
+     */
+    public long getStartedAt()
+    {
+        return Double.isNaN( wallTime ) ? -1 : Math.round( wallTime * 1000 );
+    }
+
+    public int getRequests()
+    {
+        return requests;
+    }
+
+    public int getFinished()
+    {
+        return finished;
+    }
+
+    public int getFailed()
+    {
+        return failed;
+    }
+
+    public int getCached()
+    {
+        return cached;
+    }
+
+    public int getRedirects()
+    {
+        return redirects;
+    }
+
+    /**
+     * @return the bytes received over the network, headers included
+     */
+    public long getEncodedBytes()
+    {
+        return encodedBytes;
+    }
+
+    public long getDomContentLoadedMillis()
+    {
+        return domContentLoadedMillis;
+    }
+
+    public long getLoadMillis()
+    {
+        return loadMillis;
+    }
+
+    /**
+     * @return the number of requests per resource type, e.g. {@code Script} or {@code XHR}
+     */
+    public Map<String, Integer> getResourceTypes()
+    {
+        return Collections.unmodifiableMap( resourceTypes );
+    }
+
+    /**
+     * @return the url of the longest finished request, {@code null} if none finished
+     */
+    public String getSlowestUrl()
+    {
+        return slowestUrl;
+    }
+
+    public long getSlowestMillis()
+    {
+        return slowestMillis;
+    }
+
+    //endregion
+
+    //region Aggregation
+
+    void navigated( String url )
+    {
+        this.url = url;
+    }
+
+    void requested( String resourceType )
+    {
+        requests++;
+        if( resourceType != null )
+        {
+            resourceTypes.merge( resourceType, 1, Integer::sum );
+        }
+    }
+
+    void redirected( int status )
+    {
+        redirects++;
+        status( status );
+    }
+
+    void responded( int status, boolean fromCache )
+    {
+        status( status );
+        if( fromCache )
+        {
+            cached++;
+        }
+    }
+
+    void finished( String requestUrl, double requestTimestamp, double timestamp, double encodedDataLength )
+    {
+        finished++;
+        encodedBytes += ( long ) encodedDataLength;
+        final long duration = millis( requestTimestamp, timestamp );
+        if( duration > slowestMillis )
+        {
+            slowestMillis = duration;
+            slowestUrl = requestUrl;
+        }
+    }
+
+    void failed()
+    {
+        failed++;
+    }
+
+    void domContentLoaded( double timestamp )
+    {
+        domContentLoadedMillis = millis( startTimestamp, timestamp );
+    }
+
+    void loaded( double timestamp )
+    {
+        loadMillis = millis( startTimestamp, timestamp );
+    }
+
+    private void status( int status )
+    {
+        statuses[ status >= 100 && status < 600 ? status / 100 : 0 ]++;
+    }
+
+    private static long millis( double from, double to )
+    {
+        return Double.isNaN( from ) || Double.isNaN( to ) ? -1 : Math.round( ( to - from ) * 1000 );
+    }
+
+    //endregion
+
+    /**
+     * Writes the summary as a single JSON object, omitting the unknown and empty values.
+     */
+    void writeTo( JsonGenerator generator ) throws IOException
+    {
+        generator.writeStartObject();
+        if( url != null )
+        {
+            generator.writeStringField( "url", url );
+        }
+        if( getStartedAt() >= 0 )
+        {
+            generator.writeNumberField( "startedAt", getStartedAt() );
+        }
+        generator.writeNumberField( "requests", requests );
+        generator.writeNumberField( "finished", finished );
+        generator.writeNumberField( "failed", failed );
+        generator.writeNumberField( "cached", cached );
+        generator.writeNumberField( "redirects", redirects );
+        generator.writeNumberField( "encodedBytes", encodedBytes );
+        if( domContentLoadedMillis >= 0 )
+        {
+            generator.writeNumberField( "domContentLoadedMs", domContentLoadedMillis );
+        }
+        if( loadMillis >= 0 )
+        {
+            generator.writeNumberField( "loadMs", loadMillis );
+        }
+        generator.writeObjectFieldStart( "statuses" );
+        for( int i = 0; i < statuses.length; i++ )
+        {
+            if( statuses[ i ] > 0 )
+            {
+                generator.writeNumberField( STATUS_CLASSES[ i ], statuses[ i ] );
+            }
+        }
+        generator.writeEndObject();
+        generator.writeObjectFieldStart( "types" );
+        for( Map.Entry<String, Integer> type : resourceTypes.entrySet() )
+        {
+            generator.writeNumberField( type.getKey(), type.getValue() );
+        }
+        generator.writeEndObject();
+        if( slowestUrl != null )
+        {
+            generator.writeObjectFieldStart( "slowest" );
+            generator.writeStringField( "url", slowestUrl );
+            generator.writeNumberField( "ms", slowestMillis );
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PageSummary{url=" + url + ", requests=" + requests + ", failed=" + failed + ", loadMs=" + loadMillis
+               + "}";
+    }
+}
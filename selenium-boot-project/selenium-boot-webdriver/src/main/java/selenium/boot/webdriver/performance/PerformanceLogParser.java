@@ -0,0 +1,287 @@
+package selenium.boot.webdriver.performance;
+
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+
+
+/**
+ * Reads the DevTools messages of the performance log with the Jackson streaming parser.
+ * <p>
+ * A message, as returned by {@link org.openqa.selenium.logging.LogEntry#getMessage()}, looks like
+ * {@code {"message":{"method":"Network.responseReceived","params":{...}},"webview":"..."}}. Only the fields of
+ * {@link DevToolsEvent} are read, every other value is skipped without being materialized.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class PerformanceLogParser
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final String MESSAGE = "message";
+
+    private final DevToolsEvent event = new DevToolsEvent();
+
+    PerformanceLogParser()
+    {
+        super();
+    }
+
+    //endregion
+
+    /**
+     * @param message a performance log message
+     *
+     * @return the parsed event, reused by the next call, or {@code null} if the message is not a DevTools event
+     *
+     * @throws IOException if the message is not valid JSON
+     */
+    DevToolsEvent parse( String message ) throws IOException
+    {
+        try( JsonParser parser = FACTORY.createParser( message ) )
+        {
+            if( parser.nextToken() != JsonToken.START_OBJECT )
+            {
+                return null;
+            }
+            event.reset();
+            readEntry( parser );
+            return event.method == null ? null : event;
+        }
+    }
+
+    /**
+     * Streams a recorded log: a JSON array of log entries, whose {@code message} is either the message text, as
+     * serialized by Selenium, or the message object itself.
+     *
+     * @param fixture  the recorded log
+     * @param consumer receives every DevTools event, reused by the next one
+     *
+     * @throws IOException if the log cannot be read
+     */
+    void replay( Reader fixture, Consumer<DevToolsEvent> consumer ) throws IOException
+    {
+        try( JsonParser parser = FACTORY.createParser( fixture ) )
+        {
+            if( parser.nextToken() != JsonToken.START_ARRAY )
+            {
+                throw new JsonParseException( parser, "a performance log must be an array of log entries" );
+            }
+            while( parser.nextToken() == JsonToken.START_OBJECT )
+            {
+                while( parser.nextToken() == JsonToken.FIELD_NAME )
+                {
+                    final String field = parser.getCurrentName();
+                    final JsonToken value = parser.nextToken();
+                    DevToolsEvent parsed = null;
+                    if( MESSAGE.equals( field ) && value == JsonToken.VALUE_STRING )
+                    {
+                        parsed = parse( parser.getText() );
+                    }
+                    else if( MESSAGE.equals( field ) && value == JsonToken.START_OBJECT )
+                    {
+                        event.reset();
+                        readEntry( parser );
+                        parsed = event.method == null ? null : event;
+                    }
+                    else
+                    {
+                        parser.skipChildren();
+                    }
+                    if( parsed != null )
+                    {
+                        consumer.accept( parsed );
+                    }
+                }
+            }
+        }
+    }
+
+    private void readEntry( JsonParser parser ) throws IOException
+    {
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            if( parser.nextToken() == JsonToken.START_OBJECT && MESSAGE.equals( field ) )
+            {
+                readMessage( parser );
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMessage( JsonParser parser ) throws IOException
+    {
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if( "method".equals( field ) )
+            {
+                event.method = parser.getValueAsString();
+            }
+            else if( "params".equals( field ) && value == JsonToken.START_OBJECT )
+            {
+                readParams( parser );
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readParams( JsonParser parser ) throws IOException
+    {
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            switch( field )
+            {
+                case "requestId":
+                    event.requestId = parser.getValueAsString();
+                    break;
+                case "loaderId":
+                    event.loaderId = parser.getValueAsString();
+                    break;
+                case "frameId":
+                    event.frameId = parser.getValueAsString();
+                    break;
+                case "type":
+                    event.resourceType = parser.getValueAsString();
+                    break;
+                case "timestamp":
+                    event.timestamp = parser.getValueAsDouble( Double.NaN );
+                    break;
+                case "wallTime":
+                    event.wallTime = parser.getValueAsDouble( Double.NaN );
+                    break;
+                case "encodedDataLength":
+                    event.encodedDataLength = parser.getValueAsDouble();
+                    break;
+                case "request":
+                    readRequest( parser, value );
+                    break;
+                case "response":
+                    readResponse( parser, value, false );
+                    break;
+                case "redirectResponse":
+                    readResponse( parser, value, true );
+                    break;
+                case "frame":
+                    readFrame( parser, value );
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private void readRequest( JsonParser parser, JsonToken value ) throws IOException
+    {
+        if( value != JsonToken.START_OBJECT )
+        {
+            parser.skipChildren();
+            return;
+        }
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if( "url".equals( field ) )
+            {
+                event.url = parser.getValueAsString();
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readResponse( JsonParser parser, JsonToken value, boolean redirect ) throws IOException
+    {
+        if( value != JsonToken.START_OBJECT )
+        {
+            parser.skipChildren();
+            return;
+        }
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if( "status".equals( field ) )
+            {
+                if( redirect )
+                {
+                    event.redirectStatus = parser.getValueAsInt();
+                }
+                else
+                {
+                    event.status = parser.getValueAsInt();
+                }
+            }
+            else if( !redirect && ( "fromDiskCache".equals( field ) || "fromServiceWorker".equals( field ) ) )
+            {
+                event.fromCache |= parser.getValueAsBoolean();
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFrame( JsonParser parser, JsonToken value ) throws IOException
+    {
+        if( value != JsonToken.START_OBJECT )
+        {
+            parser.skipChildren();
+            return;
+        }
+        while( parser.nextToken() == JsonToken.FIELD_NAME )
+        {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch( field )
+            {
+                case "id":
+                    event.frameId = parser.getValueAsString();
+                    break;
+                case "parentId":
+                    event.parentFrameId = parser.getValueAsString();
+                    break;
+                case "loaderId":
+                    event.loaderId = parser.getValueAsString();
+                    break;
+                case "url":
+                    event.url = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package selenium.boot.webdriver.performance;
+
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import java.nio.file.Path;
+
+
+
+/**
+ * Drains the browser performance log after each test into the performance directory, as a
+ * {@code <test name>-performance.jsonl} file with one {@link PageSummary} per line.
+ * <p>
+ * The browser must be started with the performance logging preference, e.g. Chrome's
+ * {@code loggingPrefs={performance=ALL}}; drivers without a performance log are ignored. Reading the log clears it,
+ * so every test gets the pages it loaded. The {@link PerformanceLogSessionListener} requests the preference for the
+ * pooled sessions and calls {@link #dump(WebDriver, String)} when a lease opened with a test name is closed.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.spring.config.WorkspaceProperties#getPerformanceDirectory()
+ * @since 2.0
+ */
+public class PerformanceLogReporter
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( PerformanceLogReporter.class );
+
+    private static final String FILE_SUFFIX = "-performance.jsonl";
+
+    private final Path directory;
+
+    public PerformanceLogReporter( Path directory )
+    {
+        Assert.notNull( directory, "directory must not be null" );
+        this.directory = directory;
+    }
+
+    //endregion
+
+    /**
+     * Drains the performance log of the driver.
+     *
+     * @param driver   the driver
+     * @param testName the test name, used as the file name
+     *
+     * @return the written file, or {@code null} if the log had no page load
+     */
+    public Path dump( WebDriver driver, String testName )
+    {
+        Assert.notNull( driver, "driver must not be null" );
+        Assert.hasText( testName, "testName must not be empty" );
+        final Iterable<LogEntry> entries;
+        try
+        {
+            entries = driver.manage().logs().get( LogType.PERFORMANCE );
+        }
+        catch( WebDriverException e )
+        {
+            log.debug( "the performance log is not available: {}", e.getMessage() );
+            return null;
+        }
+
+        final Path file = directory.resolve( testName.replaceAll( "[^\\w.-]", "_" ) + FILE_SUFFIX );
+        final PerformanceLogWriter writer = new PerformanceLogWriter( file );
+        try
+        {
+            for( LogEntry entry : entries )
+            {
+                writer.accept( entry.getMessage() );
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+        if( writer.getPageCount() == 0 )
+        {
+            return null;
+        }
+        log.debug( "{} page summaries of {} written to {}", writer.getPageCount(), testName, file );
+        return file;
+    }
+}
@@ -0,0 +1,86 @@
+package selenium.boot.webdriver.performance;
+
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogLevelMapping;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.CapabilityType;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.pool.SessionListener;
+
+import java.util.Map;
+import java.util.logging.Level;
+
+
+
+/**
+ * Enables the performance log of the sessions created by the {@link selenium.boot.webdriver.pool.WebDriverSessionPool},
+ * and drains it through the {@link PerformanceLogReporter} when a test returns its lease.
+ * <p>
+ * The {@code performance=ALL} preference is merged into the logging preferences already requested, under both the
+ * legacy {@code loggingPrefs} capability and Chrome's {@code goog:loggingPrefs}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class PerformanceLogSessionListener implements SessionListener
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final String CHROME_LOGGING_PREFS = "goog:loggingPrefs";
+
+    private final PerformanceLogReporter reporter;
+
+    public PerformanceLogSessionListener( PerformanceLogReporter reporter )
+    {
+        Assert.notNull( reporter, "reporter must not be null" );
+        this.reporter = reporter;
+    }
+
+    //endregion
+
+    @Override
+    public Capabilities beforeCreate( Capabilities capabilities )
+    {
+        final LoggingPreferences preferences = new LoggingPreferences();
+        merge( preferences, capabilities.getCapability( CapabilityType.LOGGING_PREFS ) );
+        merge( preferences, capabilities.getCapability( CHROME_LOGGING_PREFS ) );
+        preferences.enable( LogType.PERFORMANCE, Level.ALL );
+
+        final MutableCapabilities requested = new MutableCapabilities( capabilities );
+        requested.setCapability( CapabilityType.LOGGING_PREFS, preferences );
+        requested.setCapability( CHROME_LOGGING_PREFS, preferences );
+        return requested;
+    }
+
+    @Override
+    public void beforeReturn( WebDriver driver, String testName )
+    {
+        reporter.dump( driver, testName );
+    }
+
+    private static void merge( LoggingPreferences preferences, Object requested )
+    {
+        if( requested instanceof LoggingPreferences )
+        {
+            preferences.addPreferences( ( LoggingPreferences ) requested );
+        }
+        else if( requested instanceof Map )
+        {
+            for( Map.Entry<?, ?> entry : ( ( Map<?, ?> ) requested ).entrySet() )
+            {
+                preferences.enable( String.valueOf( entry.getKey() ),
+                        LogLevelMapping.toLevel( String.valueOf( entry.getValue() ) ) );
+            }
+        }
+    }
+}
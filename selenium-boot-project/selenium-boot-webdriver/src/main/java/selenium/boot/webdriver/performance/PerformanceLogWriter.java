@@ -0,0 +1,323 @@
+package selenium.boot.webdriver.performance;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+
+
+/**
+ * Aggregates the DevTools events of a performance log into {@link PageSummary page summaries}, written as soon as
+ * each page is complete.
+ * <p>
+ * Messages are parsed one at a time with a streaming parser, and only the current page and the requests still in
+ * flight are kept in memory: a log of any length costs the memory of one page. The output has one compact JSON
+ * object per line, per page; the file is created with the first page, so a log without page loads writes nothing.
+ * Messages that cannot be parsed are counted and skipped.
+ * </p>
+ * Recorded logs, e.g. test fixtures, are fed with {@link #replay(Reader)}:
+ * <pre>
+ * StringWriter out = new StringWriter();
+ * try( PerformanceLogWriter writer = new PerformanceLogWriter( out ) )
+ * {
+ *     writer.replay( Files.newBufferedReader( fixture ) );
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see PerformanceLogReporter
+ * @since 2.0
+ */
+public class PerformanceLogWriter implements AutoCloseable
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( PerformanceLogWriter.class );
+
+    private static final String DOCUMENT = "Document";
+
+    private final PerformanceLogParser parser = new PerformanceLogParser();
+
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    private final Path file;
+
+    private final Writer out;
+
+    private JsonGenerator generator;
+
+    private PageSummary page;
+
+    private String mainFrameId;
+
+    private int pageCount;
+
+    private int skippedCount;
+
+    /**
+     * @param file the target file, overwritten if it exists; its parent directories are created when needed
+     */
+    public PerformanceLogWriter( Path file )
+    {
+        Assert.notNull( file, "file must not be null" );
+        this.file = file;
+        this.out = null;
+    }
+
+    /**
+     * @param out the target, left open by {@link #close()}
+     */
+    public PerformanceLogWriter( Writer out )
+    {
+        Assert.notNull( out, "out must not be null" );
+        this.file = null;
+        this.out = out;
+    }
+
+    //endregion
+
+    /**
+     * Aggregates a performance log message.
+     *
+     * @param message a message, as returned by {@link org.openqa.selenium.logging.LogEntry#getMessage()}
+     */
+    public void accept( String message )
+    {
+        final DevToolsEvent event;
+        try
+        {
+            event = parser.parse( message );
+        }
+        catch( IOException e )
+        {
+            skippedCount++;
+            log.trace( "skipped a performance log message: {}", e.getMessage() );
+            return;
+        }
+        if( event != null )
+        {
+            accept( event );
+        }
+    }
+
+    /**
+     * Aggregates a recorded log, a JSON array of serialized log entries.
+     *
+     * @param fixture the recorded log, not closed by this method
+     *
+     * @throws UncheckedIOException if the log cannot be read or is not valid JSON
+     */
+    public void replay( Reader fixture )
+    {
+        Assert.notNull( fixture, "fixture must not be null" );
+        try
+        {
+            parser.replay( fixture, this::accept );
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( "failed to read the performance log", e );
+        }
+    }
+
+    /**
+     * @return the number of pages written so far
+     */
+    public int getPageCount()
+    {
+        return pageCount;
+    }
+
+    /**
+     * @return the number of messages that were not valid JSON
+     */
+    public int getSkippedCount()
+    {
+        return skippedCount;
+    }
+
+    /**
+     * Writes the current page, and closes the file.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            write();
+            if( generator != null )
+            {
+                generator.close();
+            }
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( "failed to write the performance summary", e );
+        }
+        finally
+        {
+            inFlight.clear();
+        }
+    }
+
+    private void accept( DevToolsEvent event )
+    {
+        switch( event.method )
+        {
+            case "Network.requestWillBeSent":
+                requestWillBeSent( event );
+                break;
+            case "Network.responseReceived":
+                final InFlight responded = inFlight.get( event.requestId );
+                if( responded != null )
+                {
+                    responded.page.responded( event.status, event.fromCache );
+                }
+                break;
+            case "Network.loadingFinished":
+                final InFlight finished = inFlight.remove( event.requestId );
+                if( finished != null )
+                {
+                    finished.page.finished( finished.url, finished.timestamp, event.timestamp, event.encodedDataLength );
+                }
+                break;
+            case "Network.loadingFailed":
+                final InFlight failed = inFlight.remove( event.requestId );
+                if( failed != null )
+                {
+                    failed.page.failed();
+                }
+                break;
+            case "Page.frameNavigated":
+                if( event.parentFrameId == null )
+                {
+                    mainFrameId = event.frameId;
+                    if( page != null && event.url != null )
+                    {
+                        page.navigated( event.url );
+                    }
+                }
+                break;
+            case "Page.domContentEventFired":
+                if( page != null )
+                {
+                    page.domContentLoaded( event.timestamp );
+                }
+                break;
+            case "Page.loadEventFired":
+                if( page != null )
+                {
+                    page.loaded( event.timestamp );
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void requestWillBeSent( DevToolsEvent event )
+    {
+        final InFlight redirected = inFlight.get( event.requestId );
+        if( redirected != null && event.redirectStatus > 0 )
+        {
+            redirected.page.redirected( event.redirectStatus );
+            redirected.url = event.url;
+            return;
+        }
+
+        final boolean navigation = DOCUMENT.equals( event.resourceType ) && event.requestId != null
+                                   && event.requestId.equals( event.loaderId )
+                                   && ( mainFrameId == null || mainFrameId.equals( event.frameId ) );
+        if( navigation || page == null )
+        {
+            if( navigation )
+            {
+                mainFrameId = event.frameId;
+            }
+            write();
+            page = new PageSummary( event.url, event.timestamp, event.wallTime );
+        }
+        page.requested( event.resourceType );
+        if( event.requestId != null )
+        {
+            inFlight.put( event.requestId, new InFlight( page, event.url, event.timestamp ) );
+        }
+    }
+
+    /**
+     * Writes the current page and forgets its requests still in flight.
+     */
+    private void write()
+    {
+        if( page == null )
+        {
+            return;
+        }
+        final PageSummary completed = page;
+        page = null;
+        inFlight.values().removeIf( request -> request.page == completed );
+        try
+        {
+            if( generator == null )
+            {
+                // pages are separated by the new lines only
+                generator = open().setRootValueSeparator( null );
+            }
+            completed.writeTo( generator );
+            generator.writeRaw( '\n' );
+            generator.flush();
+            pageCount++;
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( "failed to write the performance summary", e );
+        }
+    }
+
+    private JsonGenerator open() throws IOException
+    {
+        if( out != null )
+        {
+            return PerformanceLogParser.FACTORY.createGenerator( out ).disable( JsonGenerator.Feature.AUTO_CLOSE_TARGET );
+        }
+        if( file.getParent() != null )
+        {
+            Files.createDirectories( file.getParent() );
+        }
+        return PerformanceLogParser.FACTORY.createGenerator( Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) );
+    }
+
+
+    private static final class InFlight
+    {
+        private final PageSummary page;
+
+        private final double timestamp;
+
+        private String url;
+
+        private InFlight( PageSummary page, String url, double timestamp )
+        {
+            this.page = page;
+            this.url = url;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package selenium.boot.webdriver.pool;
+
+
+import org.openqa.selenium.WebDriver;
+
+
+
+/**
+ * A session leased from the {@link WebDriverSessionPool}.
+ * Closing the lease returns the session to the pool, where it is reset and kept warm for the next lease.
+ * Call {@link #invalidate()} before closing when the session is known to be broken, so it is quit instead.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class PooledSession implements AutoCloseable
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final WebDriverSessionPool pool;
+
+    private final WebDriverSessionPool.Partition partition;
+
+    private final WebDriverSessionPool.Entry entry;
+
+    private final String testName;
+
+    private boolean broken;
+
+    private boolean returned;
+
+    PooledSession( WebDriverSessionPool pool, WebDriverSessionPool.Partition partition, WebDriverSessionPool.Entry entry,
+                   String testName )
+    {
+        this.pool = pool;
+        this.partition = partition;
+        this.entry = entry;
+        this.testName = testName;
+    }
+
+    //endregion
+
+    /**
+     * @return the leased driver, valid until the lease is closed
+     */
+    public WebDriver getDriver()
+    {
+        if( returned )
+        {
+            throw new IllegalStateException( "the session was already returned to the pool" );
+        }
+        return entry.driver;
+    }
+
+    /**
+     * @return the test name given when leasing, or {@code null}
+     */
+    public String getTestName()
+    {
+        return testName;
+    }
+
+    /**
+     * Marks the session as broken; it will be quit when the lease is closed.
+     */
+    public void invalidate()
+    {
+        broken = true;
+    }
+
+    /**
+     * Returns the session to the pool. Calling it more than once has no effect.
+     */
+    @Override
+    public void close()
+    {
+        if( !returned )
+        {
+            returned = true;
+            pool.giveBack( partition, entry, broken, testName );
+        }
+    }
+}
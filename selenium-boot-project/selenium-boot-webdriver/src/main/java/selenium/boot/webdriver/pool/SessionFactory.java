@@ -0,0 +1,30 @@
+package selenium.boot.webdriver.pool;
+
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+
+
+/**
+ * Creates new {@link WebDriver} sessions for the {@link WebDriverSessionPool}.
+ * Implementations usually start a local driver service or a {@code RemoteWebDriver}; tests can return a fake driver.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface SessionFactory
+{
+    /**
+     * Starts a new session.
+     *
+     * @param capabilities the requested capabilities
+     *
+     * @return the new session
+     *
+     * @throws org.openqa.selenium.SessionNotCreatedException if the session could not be created
+     */
+    WebDriver create( Capabilities capabilities );
+}
@@ -0,0 +1,52 @@
+package selenium.boot.webdriver.pool;
+
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+
+
+/**
+ * Takes part in the life cycle of the sessions of a {@link WebDriverSessionPool}, to adjust the requested
+ * capabilities, decorate the new drivers, or collect a report when a test returns its lease.
+ * <p>
+ * Listeners are called in registration order; an exception thrown by {@link #beforeReturn(WebDriver, String)} is
+ * logged and does not prevent the session from being reset.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public interface SessionListener
+{
+    /**
+     * @param capabilities the capabilities requested so far
+     *
+     * @return the capabilities to request from the {@link SessionFactory}
+     */
+    default Capabilities beforeCreate( Capabilities capabilities )
+    {
+        return capabilities;
+    }
+
+    /**
+     * @param driver the new driver, possibly decorated by the previous listeners
+     *
+     * @return the driver handed to the leases
+     */
+    default WebDriver afterCreate( WebDriver driver )
+    {
+        return driver;
+    }
+
+    /**
+     * Called when a lease opened with a test name is closed, before the session is reset.
+     *
+     * @param driver   the driver created by the {@link SessionFactory}, whose commands are not decorated
+     * @param testName the name given to {@link WebDriverSessionPool#lease(Capabilities, String)}
+     */
+    default void beforeReturn( WebDriver driver, String testName )
+    {
+    }
+}
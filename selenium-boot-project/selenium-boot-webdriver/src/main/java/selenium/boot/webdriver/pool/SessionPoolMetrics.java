@@ -0,0 +1,139 @@
+package selenium.boot.webdriver.pool;
+
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+/**
+ * Counters collected by the {@link WebDriverSessionPool}: leases and their wait times, created and evicted
+ * sessions, and reset or health check failures.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class SessionPoolMetrics
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private final LongAdder leases = new LongAdder();
+
+    private final LongAdder leaseWaitNanos = new LongAdder();
+
+    private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator( Math::max, 0L );
+
+    private final LongAdder leaseTimeouts = new LongAdder();
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder evicted = new LongAdder();
+
+    private final LongAdder resetFailures = new LongAdder();
+
+    private final LongAdder healthCheckFailures = new LongAdder();
+
+    SessionPoolMetrics()
+    {
+        super();
+    }
+
+    //endregion
+
+    void recordLease( long waitNanos )
+    {
+        leases.increment();
+        leaseWaitNanos.add( waitNanos );
+        maxLeaseWaitNanos.accumulate( waitNanos );
+    }
+
+    void recordLeaseTimeout()
+    {
+        leaseTimeouts.increment();
+    }
+
+    void recordCreated()
+    {
+        created.increment();
+    }
+
+    void recordEvicted()
+    {
+        evicted.increment();
+    }
+
+    void recordResetFailure()
+    {
+        resetFailures.increment();
+    }
+
+    void recordHealthCheckFailure()
+    {
+        healthCheckFailures.increment();
+    }
+
+    public long getLeases()
+    {
+        return leases.sum();
+    }
+
+    public Duration getTotalLeaseWait()
+    {
+        return Duration.ofNanos( leaseWaitNanos.sum() );
+    }
+
+    public Duration getAverageLeaseWait()
+    {
+        final long count = leases.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos( leaseWaitNanos.sum() / count );
+    }
+
+    public Duration getMaxLeaseWait()
+    {
+        return Duration.ofNanos( maxLeaseWaitNanos.get() );
+    }
+
+    public long getLeaseTimeouts()
+    {
+        return leaseTimeouts.sum();
+    }
+
+    public long getCreated()
+    {
+        return created.sum();
+    }
+
+    public long getEvicted()
+    {
+        return evicted.sum();
+    }
+
+    public long getResetFailures()
+    {
+        return resetFailures.sum();
+    }
+
+    public long getHealthCheckFailures()
+    {
+        return healthCheckFailures.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SessionPoolMetrics{leases=" + getLeases()
+               + ", averageLeaseWait=" + getAverageLeaseWait()
+               + ", maxLeaseWait=" + getMaxLeaseWait()
+               + ", leaseTimeouts=" + getLeaseTimeouts()
+               + ", created=" + getCreated()
+               + ", evicted=" + getEvicted()
+               + ", resetFailures=" + getResetFailures()
+               + ", healthCheckFailures=" + getHealthCheckFailures() + "}";
+    }
+}
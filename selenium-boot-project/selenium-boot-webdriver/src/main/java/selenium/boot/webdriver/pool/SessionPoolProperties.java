@@ -0,0 +1,152 @@
+package selenium.boot.webdriver.pool;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+
+/**
+ * Configuration of the {@link WebDriverSessionPool}, bound to the {@code selenium.boot.webdriver.pool} prefix.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@ConfigurationProperties( prefix = "selenium.boot.webdriver.pool" )
+public class SessionPoolProperties
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * Whether the session pool is created.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of sessions ( idle and leased ) kept for every capability set.
+     */
+    private int maxSessionsPerCapabilities = 4;
+
+    /**
+     * Number of idle sessions the health check keeps warm for every capability set already requested.
+     */
+    private int minIdle = 0;
+
+    /**
+     * Maximum time a lease waits for a session to become available.
+     */
+    private Duration leaseTimeout = Duration.ofSeconds( 60 );
+
+    /**
+     * Idle sessions older than this are quit by the health check.
+     */
+    private Duration maxIdleTime = Duration.ofMinutes( 10 );
+
+    /**
+     * A session is quit instead of being reset after this number of leases.
+     */
+    private int maxLeaseCount = 50;
+
+    /**
+     * Interval between two background health checks of the idle sessions.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds( 30 );
+
+    /**
+     * Whether an idle session is probed before it is handed to a lease.
+     */
+    private boolean testOnLease = false;
+
+    public SessionPoolProperties()
+    {
+        super();
+    }
+
+    //endregion
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled( boolean enabled )
+    {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSessionsPerCapabilities()
+    {
+        return maxSessionsPerCapabilities;
+    }
+
+    public void setMaxSessionsPerCapabilities( int maxSessionsPerCapabilities )
+    {
+        this.maxSessionsPerCapabilities = maxSessionsPerCapabilities;
+    }
+
+    public int getMinIdle()
+    {
+        return minIdle;
+    }
+
+    public void setMinIdle( int minIdle )
+    {
+        this.minIdle = minIdle;
+    }
+
+    public Duration getLeaseTimeout()
+    {
+        return leaseTimeout;
+    }
+
+    public void setLeaseTimeout( Duration leaseTimeout )
+    {
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    public Duration getMaxIdleTime()
+    {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime( Duration maxIdleTime )
+    {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public int getMaxLeaseCount()
+    {
+        return maxLeaseCount;
+    }
+
+    public void setMaxLeaseCount( int maxLeaseCount )
+    {
+        this.maxLeaseCount = maxLeaseCount;
+    }
+
+    public Duration getHealthCheckInterval()
+    {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval( Duration healthCheckInterval )
+    {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public boolean isTestOnLease()
+    {
+        return testOnLease;
+    }
+
+    public void setTestOnLease( boolean testOnLease )
+    {
+        this.testOnLease = testOnLease;
+    }
+}
@@ -0,0 +1,593 @@
+package selenium.boot.webdriver.pool;
+
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+
+/**
+ * Keeps up to N warm {@link WebDriver} sessions per capability set and leases them to tests.
+ * <p>
+ * A returned session is reset instead of being quit and recreated: the windows opened by the test are closed, the
+ * cookies and web storage of the origin shown in every window are wiped, then {@code about:blank} is loaded in the
+ * window the session started with. Cookies of origins the test navigated away from cannot be reached through
+ * WebDriver and survive the reset. Sessions are quit once they reached {@link SessionPoolProperties#getMaxLeaseCount()} leases,
+ * when they stayed idle longer than {@link SessionPoolProperties#getMaxIdleTime()}, or when the background health
+ * probe finds them unresponsive. The health check also keeps {@link SessionPoolProperties#getMinIdle()} sessions
+ * warm for every capability set that was already requested.
+ * </p>
+ * <p>
+ * Sessions are created through a {@link SessionFactory}, so the pool can be exercised with a fake driver, and
+ * {@link SessionListener}s may decorate them or report on them when a lease named after a test is returned.
+ * Wait times and evictions are collected in {@link SessionPoolMetrics}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class WebDriverSessionPool implements AutoCloseable
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( WebDriverSessionPool.class );
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final SessionFactory factory;
+
+    private final SessionPoolProperties properties;
+
+    private final List<SessionListener> listeners;
+
+    private final SessionPoolMetrics metrics = new SessionPoolMetrics();
+
+    private final Map<Map<String, ?>, Partition> partitions = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService healthChecker;
+
+    private final ExecutorService workers;
+
+    private volatile boolean closed;
+
+    public WebDriverSessionPool( SessionFactory factory, SessionPoolProperties properties )
+    {
+        this( factory, properties, Collections.emptyList() );
+    }
+
+    public WebDriverSessionPool( SessionFactory factory, SessionPoolProperties properties, List<SessionListener> listeners )
+    {
+        Assert.notNull( factory, "factory must not be null" );
+        Assert.notNull( listeners, "listeners must not be null" );
+        Assert.isTrue( properties.getMaxSessionsPerCapabilities() > 0, "maxSessionsPerCapabilities must be positive" );
+        Assert.isTrue( properties.getMinIdle() <= properties.getMaxSessionsPerCapabilities(),
+                "minIdle must not exceed maxSessionsPerCapabilities" );
+        this.factory = factory;
+        this.properties = properties;
+        this.listeners = new ArrayList<>( listeners );
+        this.workers = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat( "session-pool-worker-%d" ).setDaemon( true ).build() );
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat( "session-pool-health" ).setDaemon( true ).build() );
+        final long interval = properties.getHealthCheckInterval().toMillis();
+        if( interval > 0 )
+        {
+            healthChecker.scheduleWithFixedDelay( this::checkHealth, interval, interval, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    //endregion
+
+    /**
+     * Leases a session matching the given capabilities, reusing an idle one when available, creating one when
+     * the capability set is below its maximum, or waiting up to {@link SessionPoolProperties#getLeaseTimeout()}.
+     *
+     * @param capabilities the requested capabilities
+     *
+     * @return the lease, to be closed when the test is done with the driver
+     *
+     * @throws TimeoutException if no session became available in time
+     */
+    public PooledSession lease( Capabilities capabilities )
+    {
+        return lease( capabilities, null );
+    }
+
+    /**
+     * Leases a session for a test; when the lease is closed, the {@link SessionListener}s report on the test
+     * before the session is reset.
+     *
+     * @param capabilities the requested capabilities
+     * @param testName     the test name, used by the listeners to name their reports
+     *
+     * @return the lease, to be closed when the test is done with the driver
+     *
+     * @throws TimeoutException if no session became available in time
+     */
+    public PooledSession lease( Capabilities capabilities, String testName )
+    {
+        final Partition partition = partition( capabilities );
+        final long start = System.nanoTime();
+        final long deadline = start + properties.getLeaseTimeout().toNanos();
+        while( true )
+        {
+            Entry entry = null;
+            boolean create = false;
+            partition.lock.lock();
+            try
+            {
+                while( true )
+                {
+                    Assert.state( !closed, "the session pool is closed" );
+                    entry = partition.idle.pollFirst();
+                    if( entry != null )
+                    {
+                        break;
+                    }
+                    if( partition.total < properties.getMaxSessionsPerCapabilities() )
+                    {
+                        partition.total++;
+                        create = true;
+                        break;
+                    }
+                    final long remaining = deadline - System.nanoTime();
+                    if( remaining <= 0 )
+                    {
+                        metrics.recordLeaseTimeout();
+                        throw new TimeoutException( "no session available for " + capabilities + " after "
+                                                    + properties.getLeaseTimeout() );
+                    }
+                    partition.available.awaitNanos( remaining );
+                }
+            }
+            catch( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException( "interrupted while waiting for a session", e );
+            }
+            finally
+            {
+                partition.lock.unlock();
+            }
+
+            if( create )
+            {
+                entry = createEntry( partition );
+            }
+            else if( properties.isTestOnLease() && !isHealthy( entry ) )
+            {
+                metrics.recordHealthCheckFailure();
+                discard( partition, entry );
+                continue;
+            }
+            entry.leaseCount++;
+            metrics.recordLease( System.nanoTime() - start );
+            return new PooledSession( this, partition, entry, testName );
+        }
+    }
+
+    /**
+     * Starts sessions in the background until the capability set has {@code count} idle sessions,
+     * within the limit of {@link SessionPoolProperties#getMaxSessionsPerCapabilities()}.
+     *
+     * @param capabilities the capabilities of the sessions to start
+     * @param count        the number of idle sessions wanted
+     */
+    public void warmUp( Capabilities capabilities, int count )
+    {
+        final Partition partition = partition( capabilities );
+        partition.lock.lock();
+        try
+        {
+            final int missing = Math.min( count - partition.idle.size(),
+                    properties.getMaxSessionsPerCapabilities() - partition.total );
+            for( int i = 0; i < missing; i++ )
+            {
+                partition.total++;
+                workers.execute( () -> {
+                    try
+                    {
+                        release( partition, createEntry( partition ) );
+                    }
+                    catch( WebDriverException e )
+                    {
+                        log.warn( "failed to warm up a session for {}", partition.capabilities, e );
+                    }
+                } );
+            }
+        }
+        finally
+        {
+            partition.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the pool counters
+     */
+    public SessionPoolMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Quits all idle sessions and stops the background tasks. Leased sessions are quit when returned.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        healthChecker.shutdownNow();
+        for( Partition partition : partitions.values() )
+        {
+            for( Entry entry : drainIdle( partition ) )
+            {
+                discard( partition, entry );
+            }
+        }
+        workers.shutdown();
+        log.debug( "session pool closed: {}", metrics );
+    }
+
+    void giveBack( Partition partition, Entry entry, boolean broken, String testName )
+    {
+        if( testName != null )
+        {
+            for( SessionListener listener : listeners )
+            {
+                try
+                {
+                    listener.beforeReturn( entry.session, testName );
+                }
+                catch( RuntimeException e )
+                {
+                    log.warn( "session listener failed to report on {}", testName, e );
+                }
+            }
+        }
+        boolean retire = broken || closed || entry.leaseCount >= properties.getMaxLeaseCount();
+        if( !retire )
+        {
+            try
+            {
+                reset( entry );
+            }
+            catch( WebDriverException e )
+            {
+                log.debug( "failed to reset session, quitting it", e );
+                metrics.recordResetFailure();
+                retire = true;
+            }
+        }
+        if( retire )
+        {
+            discard( partition, entry );
+        }
+        else
+        {
+            release( partition, entry );
+        }
+    }
+
+    private Partition partition( Capabilities capabilities )
+    {
+        return partitions.computeIfAbsent( capabilities.asMap(), key -> new Partition( capabilities ) );
+    }
+
+    private Entry createEntry( Partition partition )
+    {
+        try
+        {
+            Capabilities capabilities = partition.capabilities;
+            for( SessionListener listener : listeners )
+            {
+                capabilities = listener.beforeCreate( capabilities );
+            }
+            final WebDriver session = factory.create( capabilities );
+            final Entry entry;
+            try
+            {
+                WebDriver driver = session;
+                for( SessionListener listener : listeners )
+                {
+                    driver = listener.afterCreate( driver );
+                }
+                entry = new Entry( session, driver, session.getWindowHandle() );
+            }
+            catch( RuntimeException e )
+            {
+                quit( session );
+                throw e;
+            }
+            metrics.recordCreated();
+            return entry;
+        }
+        catch( RuntimeException e )
+        {
+            releaseSlot( partition );
+            throw e;
+        }
+    }
+
+    private void release( Partition partition, Entry entry )
+    {
+        if( closed )
+        {
+            discard( partition, entry );
+            return;
+        }
+        partition.lock.lock();
+        try
+        {
+            entry.idleSince = System.nanoTime();
+            partition.idle.addFirst( entry );
+            partition.available.signal();
+        }
+        finally
+        {
+            partition.lock.unlock();
+        }
+    }
+
+    private void discard( Partition partition, Entry entry )
+    {
+        metrics.recordEvicted();
+        releaseSlot( partition );
+        if( workers.isShutdown() )
+        {
+            quit( entry );
+        }
+        else
+        {
+            workers.execute( () -> quit( entry ) );
+        }
+    }
+
+    private void releaseSlot( Partition partition )
+    {
+        partition.lock.lock();
+        try
+        {
+            partition.total--;
+            partition.available.signal();
+        }
+        finally
+        {
+            partition.lock.unlock();
+        }
+    }
+
+    private List<Entry> drainIdle( Partition partition )
+    {
+        partition.lock.lock();
+        try
+        {
+            final List<Entry> entries = new ArrayList<>( partition.idle );
+            partition.idle.clear();
+            return entries;
+        }
+        finally
+        {
+            partition.lock.unlock();
+        }
+    }
+
+    /**
+     * An exception escaping a scheduled run would cancel all the next ones.
+     */
+    private void checkHealth()
+    {
+        try
+        {
+            probeIdleSessions();
+        }
+        catch( RuntimeException e )
+        {
+            log.warn( "session pool health check failed", e );
+        }
+    }
+
+    private void probeIdleSessions()
+    {
+        final long maxIdleNanos = properties.getMaxIdleTime().toNanos();
+        for( Partition partition : partitions.values() )
+        {
+            final int size;
+            partition.lock.lock();
+            try
+            {
+                size = partition.idle.size();
+            }
+            finally
+            {
+                partition.lock.unlock();
+            }
+
+            // probes the oldest idle sessions one at a time, so the pool keeps serving leases meanwhile
+            for( int i = 0; i < size && !closed; i++ )
+            {
+                final Entry entry;
+                partition.lock.lock();
+                try
+                {
+                    entry = partition.idle.pollLast();
+                }
+                finally
+                {
+                    partition.lock.unlock();
+                }
+                if( entry == null )
+                {
+                    break;
+                }
+                if( System.nanoTime() - entry.idleSince > maxIdleNanos )
+                {
+                    discard( partition, entry );
+                }
+                else if( !isHealthy( entry ) )
+                {
+                    metrics.recordHealthCheckFailure();
+                    discard( partition, entry );
+                }
+                else
+                {
+                    partition.lock.lock();
+                    try
+                    {
+                        partition.idle.addLast( entry );
+                        partition.available.signal();
+                    }
+                    finally
+                    {
+                        partition.lock.unlock();
+                    }
+                }
+            }
+
+            if( properties.getMinIdle() > 0 && !closed )
+            {
+                warmUp( partition.capabilities, properties.getMinIdle() );
+            }
+        }
+    }
+
+    /**
+     * @throws WebDriverException when the session cannot be reset, e.g. the test closed its first window
+     */
+    private static void reset( Entry entry )
+    {
+        final WebDriver driver = entry.session;
+        for( String handle : driver.getWindowHandles() )
+        {
+            driver.switchTo().window( handle );
+            // the session storage belongs to the window, and the cookies reachable to its current origin
+            driver.manage().deleteAllCookies();
+            if( driver instanceof JavascriptExecutor )
+            {
+                ( ( JavascriptExecutor ) driver ).executeScript( CLEAR_STORAGE_SCRIPT );
+            }
+            if( !handle.equals( entry.primaryWindow ) )
+            {
+                driver.close();
+            }
+        }
+        driver.switchTo().window( entry.primaryWindow );
+        driver.get( BLANK_PAGE );
+    }
+
+    private static boolean isHealthy( Entry entry )
+    {
+        try
+        {
+            entry.session.getWindowHandle();
+            return true;
+        }
+        catch( WebDriverException e )
+        {
+            return false;
+        }
+    }
+
+    private static void quit( Entry entry )
+    {
+        quit( entry.session );
+    }
+
+    private static void quit( WebDriver driver )
+    {
+        try
+        {
+            driver.quit();
+        }
+        catch( WebDriverException e )
+        {
+            log.debug( "failed to quit session", e );
+        }
+    }
+
+
+    static final class Partition
+    {
+        private final Capabilities capabilities;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition available = lock.newCondition();
+
+        /**
+         * idle sessions, most recently returned first
+         */
+        private final Deque<Entry> idle = new ArrayDeque<>();
+
+        /**
+         * idle, leased and being created sessions
+         */
+        private int total;
+
+        private Partition( Capabilities capabilities )
+        {
+            this.capabilities = capabilities;
+        }
+    }
+
+
+    static final class Entry
+    {
+        /**
+         * the driver created by the factory, used by the pool itself
+         */
+        private final WebDriver session;
+
+        /**
+         * the driver decorated by the listeners, handed to the leases
+         */
+        final WebDriver driver;
+
+        /**
+         * the window the session started with, kept open by the resets
+         */
+        private final String primaryWindow;
+
+        private int leaseCount;
+
+        private volatile long idleSince;
+
+        private Entry( WebDriver session, WebDriver driver, String primaryWindow )
+        {
+            this.session = session;
+            this.driver = driver;
+            this.primaryWindow = primaryWindow;
+            this.idleSince = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package selenium.boot.webdriver.screenshots;
+
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+
+/**
+ * Writes screenshots to the screenshots directory without holding the test thread.
+ * <p>
+ * The capturing thread only asks the browser for the Base64 payload; decoding, optional downscaling to
+ * {@link ScreenshotProperties#getMaxWidth()}, PNG re-encoding and the file write run on a small pool of background
+ * threads. At most {@link ScreenshotProperties#getQueueCapacity()} screenshots wait to be written: beyond that,
+ * capturing threads block until a worker catches up, so a failure storm cannot exhaust the heap.
+ * {@link #flush(Duration)} waits for every pending screenshot, and {@link #close()} rejects new screenshots and
+ * flushes before stopping the workers; the screenshots still pending after the flush timeout fail.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.spring.config.WorkspaceProperties#getScreenshotsDirectory()
+ * @since 2.0
+ */
+public class ScreenshotPipeline implements AutoCloseable
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( ScreenshotPipeline.class );
+
+    private static final String EXTENSION = ".png";
+
+    private static final String FORMAT = "png";
+
+    private final Path directory;
+
+    private final ScreenshotProperties properties;
+
+    private final ExecutorService workers;
+
+    private final Semaphore capacity;
+
+    private final Set<CompletableFuture<Path>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * guards {@link #closed} against the registration of a screenshot, so a flush sees every accepted screenshot
+     */
+    private final Object lifecycle = new Object();
+
+    private volatile boolean closed;
+
+    public ScreenshotPipeline( Path directory, ScreenshotProperties properties )
+    {
+        Assert.notNull( directory, "directory must not be null" );
+        Assert.isTrue( properties.getWorkerThreads() > 0, "workerThreads must be positive" );
+        Assert.isTrue( properties.getQueueCapacity() > 0, "queueCapacity must be positive" );
+        Assert.isTrue( properties.getMaxWidth() >= 0, "maxWidth must not be negative" );
+        this.directory = directory;
+        this.properties = properties;
+        this.capacity = new Semaphore( properties.getQueueCapacity() );
+        this.workers = Executors.newFixedThreadPool( properties.getWorkerThreads(),
+                new ThreadFactoryBuilder().setNameFormat( "screenshot-writer-%d" ).setDaemon( true ).build() );
+    }
+
+    //endregion
+
+    /**
+     * Captures a screenshot and schedules its write.
+     *
+     * @param source the driver or element to capture
+     * @param name   the file name, without extension; characters not allowed in file names are replaced
+     *
+     * @return a future completing with the written file
+     */
+    public CompletableFuture<Path> capture( TakesScreenshot source, String name )
+    {
+        return submit( source.getScreenshotAs( OutputType.BASE64 ), name );
+    }
+
+    /**
+     * Schedules the write of a screenshot already captured as Base64, blocking while the queue is full.
+     *
+     * @param base64 the Base64 encoded PNG, as returned by the browser
+     * @param name   the file name, without extension
+     *
+     * @return a future completing with the written file
+     */
+    public CompletableFuture<Path> submit( String base64, String name )
+    {
+        Assert.notNull( base64, "base64 must not be null" );
+        Assert.hasText( name, "name must not be empty" );
+        Assert.state( !closed, "the screenshot pipeline is closed" );
+        try
+        {
+            capacity.acquire();
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException( "interrupted while waiting to queue a screenshot", e );
+        }
+
+        final Path file = directory.resolve( name.replaceAll( "[^\\w.-]", "_" ) + EXTENSION );
+        final CompletableFuture<Path> future;
+        synchronized( lifecycle )
+        {
+            try
+            {
+                Assert.state( !closed, "the screenshot pipeline is closed" );
+                future = CompletableFuture.supplyAsync( () -> write( base64, file ), workers );
+            }
+            catch( RuntimeException e )
+            {
+                capacity.release();
+                throw e;
+            }
+            pending.add( future );
+        }
+        future.whenComplete( ( path, failure ) -> {
+            pending.remove( future );
+            capacity.release();
+            if( failure != null )
+            {
+                log.warn( "failed to write screenshot {}", file, failure );
+            }
+        } );
+        return future;
+    }
+
+    /**
+     * Waits until every screenshot submitted so far is written.
+     *
+     * @param timeout the maximum time to wait
+     *
+     * @return {@code true} if all the screenshots were written in time
+     */
+    public boolean flush( Duration timeout )
+    {
+        final CompletableFuture<?>[] barrier = pending.toArray( new CompletableFuture<?>[ 0 ] );
+        try
+        {
+            CompletableFuture.allOf( barrier ).get( timeout.toNanos(), TimeUnit.NANOSECONDS );
+            return true;
+        }
+        catch( ExecutionException e )
+        {
+            // failures were logged by each screenshot
+            return true;
+        }
+        catch( TimeoutException e )
+        {
+            log.warn( "{} screenshots still pending after {}", pending.size(), timeout );
+            return false;
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Flushes the pending screenshots, within {@link ScreenshotProperties#getFlushTimeout()}, and stops the workers.
+     */
+    @Override
+    public void close()
+    {
+        synchronized( lifecycle )
+        {
+            closed = true;
+        }
+        flush( properties.getFlushTimeout() );
+        workers.shutdownNow();
+        for( CompletableFuture<Path> future : pending )
+        {
+            future.completeExceptionally( new WebDriverException( "the screenshot pipeline was closed" ) );
+        }
+    }
+
+    private Path write( String base64, Path file )
+    {
+        try
+        {
+            byte[] png = Base64.getMimeDecoder().decode( base64 );
+            if( properties.isRecompress() || properties.getMaxWidth() > 0 )
+            {
+                png = reencode( png );
+            }
+            Files.createDirectories( directory );
+            final Path temporary = Files.createTempFile( directory, ".screenshot", EXTENSION );
+            Files.write( temporary, png );
+            Files.move( temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            return file;
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private byte[] reencode( byte[] png ) throws IOException
+    {
+        BufferedImage image = ImageIO.read( new ByteArrayInputStream( png ) );
+        if( image == null )
+        {
+            return png;
+        }
+        final int maxWidth = properties.getMaxWidth();
+        final boolean scaled = maxWidth > 0 && image.getWidth() > maxWidth;
+        if( scaled )
+        {
+            image = scale( image, maxWidth );
+        }
+
+        final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName( FORMAT );
+        if( !writers.hasNext() )
+        {
+            return png;
+        }
+        final ImageWriter writer = writers.next();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream( png.length );
+        try( ImageOutputStream stream = ImageIO.createImageOutputStream( out ) )
+        {
+            writer.setOutput( stream );
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            // the JDK 8 PNG writer has a fixed compression, later versions accept the best deflate level
+            if( param.canWriteCompressed() )
+            {
+                param.setCompressionMode( ImageWriteParam.MODE_EXPLICIT );
+                param.setCompressionQuality( 0.0f );
+            }
+            writer.write( null, new IIOImage( image, null, null ), param );
+        }
+        finally
+        {
+            writer.dispose();
+        }
+        return scaled || out.size() < png.length ? out.toByteArray() : png;
+    }
+
+    private static BufferedImage scale( BufferedImage image, int width )
+    {
+        final int height = Math.max( 1, ( int ) Math.round( image.getHeight() * ( double ) width / image.getWidth() ) );
+        final int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        final BufferedImage scaled = new BufferedImage( width, height, type );
+        final Graphics2D graphics = scaled.createGraphics();
+        try
+        {
+            graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+            graphics.drawImage( image, 0, 0, width, height, null );
+        }
+        finally
+        {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,122 @@
+package selenium.boot.webdriver.screenshots;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+
+/**
+ * Configuration of the {@link ScreenshotPipeline}, bound to the {@code selenium.boot.webdriver.screenshots} prefix.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+@ConfigurationProperties( prefix = "selenium.boot.webdriver.screenshots" )
+public class ScreenshotProperties
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * Whether the screenshot pipeline is created.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of background threads decoding and writing the screenshots.
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Maximum number of screenshots waiting to be written; beyond it, capturing threads wait for room.
+     */
+    private int queueCapacity = 32;
+
+    /**
+     * Screenshots wider than this number of pixels are scaled down; {@code 0} keeps the original size.
+     */
+    private int maxWidth = 0;
+
+    /**
+     * Whether the PNG returned by the browser is decoded and encoded again, usually smaller.
+     */
+    private boolean recompress = true;
+
+    /**
+     * Maximum time the application context close waits for the pending screenshots.
+     */
+    private Duration flushTimeout = Duration.ofSeconds( 30 );
+
+    public ScreenshotProperties()
+    {
+        super();
+    }
+
+    //endregion
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled( boolean enabled )
+    {
+        this.enabled = enabled;
+    }
+
+    public int getWorkerThreads()
+    {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads( int workerThreads )
+    {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity( int queueCapacity )
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxWidth()
+    {
+        return maxWidth;
+    }
+
+    public void setMaxWidth( int maxWidth )
+    {
+        this.maxWidth = maxWidth;
+    }
+
+    public boolean isRecompress()
+    {
+        return recompress;
+    }
+
+    public void setRecompress( boolean recompress )
+    {
+        this.recompress = recompress;
+    }
+
+    public Duration getFlushTimeout()
+    {
+        return flushTimeout;
+    }
+
+    public void setFlushTimeout( Duration flushTimeout )
+    {
+        this.flushTimeout = flushTimeout;
+    }
+}
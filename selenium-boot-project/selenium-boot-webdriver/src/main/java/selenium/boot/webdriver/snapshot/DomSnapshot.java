@@ -0,0 +1,213 @@
+package selenium.boot.webdriver.snapshot;
+
+
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Tag;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+import selenium.boot.webdriver.matchers.BrowserScripts;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+
+/**
+ * A copy of the document, or of an element subtree, transferred in a single {@link BrowserScripts#SNAPSHOT_DOM}
+ * script and queried in the JVM.
+ * <p>
+ * The snapshot is a {@link SearchContext}: every locator strategy, CSS selectors and XPath included, is evaluated
+ * locally, and the found {@link SnapshotElement}s answer tag names, attributes, texts, captured computed styles,
+ * geometry and visibility without any round trip. They can be passed to the regular matchers, which then never
+ * reach the browser. A snapshot is never refreshed; take a new one after the page changes.
+ * </p>
+ * <pre>
+ * DomSnapshot form = DomSnapshot.of( driver.findElement( By.id( "registration" ) ) );
+ * for( WebElement field : form.findElements( By.cssSelector( "input[required]" ) ) )
+ * {
+ *     assertThat( field, hasAttribute( "aria-invalid", "false" ) );
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class DomSnapshot extends SnapshotSearchContext
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    /**
+     * The computed styles captured when none are given.
+     */
+    public static final List<String> DEFAULT_STYLES = Collections.unmodifiableList( Arrays.asList(
+            "display", "visibility", "opacity", "color", "background-color", "font-size", "font-weight" ) );
+
+    private final Document document = new Document( "" );
+
+    private final Map<Element, SnapshotElement> elements = new IdentityHashMap<>();
+
+    private final SnapshotElement root;
+
+    private org.w3c.dom.Document w3cDocument;
+
+    private DomSnapshot( List<?> serialized, List<String> styles )
+    {
+        this.root = build( serialized, styles, document );
+    }
+
+    //endregion
+
+    /**
+     * Captures the whole document with the {@link #DEFAULT_STYLES}.
+     *
+     * @param context the driver, or an element of the page
+     *
+     * @return the snapshot
+     */
+    public static DomSnapshot of( SearchContext context )
+    {
+        return of( context, DEFAULT_STYLES );
+    }
+
+    /**
+     * Captures the document, or the subtree of an element.
+     *
+     * @param context the driver to capture the document, or the element to capture with its descendants
+     * @param styles  the computed style properties to capture
+     *
+     * @return the snapshot
+     *
+     * @throws IllegalStateException if the context cannot execute scripts
+     */
+    public static DomSnapshot of( SearchContext context, List<String> styles )
+    {
+        Assert.notNull( styles, "styles must not be null" );
+        final Optional<JavascriptExecutor> executor = BrowserScripts.executorOf( context );
+        Assert.state( executor.isPresent(), () -> context + " cannot execute scripts" );
+        final Object serialized = executor.get().executeScript( BrowserScripts.SNAPSHOT_DOM,
+                context instanceof WebElement ? context : null, styles );
+        Assert.state( serialized instanceof List, "the snapshot script returned no element" );
+        return new DomSnapshot( ( List<?> ) serialized, styles );
+    }
+
+    /**
+     * @return the captured element, the document element for a whole document snapshot
+     */
+    public SnapshotElement getRoot()
+    {
+        return root;
+    }
+
+    /**
+     * @return the number of captured elements
+     */
+    public int size()
+    {
+        return elements.size();
+    }
+
+    /**
+     * @return the serialized HTML of the captured element
+     */
+    public String getPageSource()
+    {
+        return root.scope().outerHtml();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[snapshot of " + root.getTagName() + ", " + elements.size() + " elements]";
+    }
+
+    @Override
+    DomSnapshot snapshot()
+    {
+        return this;
+    }
+
+    @Override
+    Element scope()
+    {
+        return document;
+    }
+
+    Document document()
+    {
+        return document;
+    }
+
+    synchronized org.w3c.dom.Document w3cDocument()
+    {
+        if( w3cDocument == null )
+        {
+            w3cDocument = new W3CDom().fromJsoup( document );
+        }
+        return w3cDocument;
+    }
+
+    SnapshotElement wrap( Element element )
+    {
+        return elements.get( element );
+    }
+
+    /**
+     * Rebuilds an element serialized as {@code [tag, attributes, styles, rect, displayed, children]}.
+     */
+    private SnapshotElement build( List<?> serialized, List<String> styleNames, Element parent )
+    {
+        final Element node = new Element( Tag.valueOf( ( String ) serialized.get( 0 ) ), "" );
+        final List<?> attributes = ( List<?> ) serialized.get( 1 );
+        for( int i = 0; i + 1 < attributes.size(); i += 2 )
+        {
+            node.attr( ( String ) attributes.get( i ), String.valueOf( attributes.get( i + 1 ) ) );
+        }
+        final List<?> styleValues = ( List<?> ) serialized.get( 2 );
+        final Map<String, String> styles = new HashMap<>( styleNames.size() * 2 );
+        for( int i = 0; i < styleNames.size() && i < styleValues.size(); i++ )
+        {
+            styles.put( styleNames.get( i ), String.valueOf( styleValues.get( i ) ) );
+        }
+        final List<?> box = ( List<?> ) serialized.get( 3 );
+        final Rectangle rect = new Rectangle( coordinate( box, 0 ), coordinate( box, 1 ),
+                coordinate( box, 3 ), coordinate( box, 2 ) );
+
+        final SnapshotElement element =
+                new SnapshotElement( this, node, styles, rect, Boolean.TRUE.equals( serialized.get( 4 ) ) );
+        elements.put( node, element );
+        parent.appendChild( node );
+        for( Object child : ( List<?> ) serialized.get( 5 ) )
+        {
+            if( child instanceof List )
+            {
+                build( ( List<?> ) child, styleNames, node );
+            }
+            else if( child != null )
+            {
+                node.appendChild( new TextNode( child.toString() ) );
+            }
+        }
+        return element;
+    }
+
+    private static int coordinate( List<?> box, int index )
+    {
+        return ( int ) Math.round( ( ( Number ) box.get( index ) ).doubleValue() );
+    }
+}
@@ -0,0 +1,249 @@
+package selenium.boot.webdriver.snapshot;
+
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import selenium.boot.utils.Assert;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+
+
+/**
+ * A read only {@link WebElement} answering from a {@link DomSnapshot}, without any browser round trip.
+ * <p>
+ * Attributes follow the WebDriver command: boolean attributes read {@code "true"} when present, and {@code value},
+ * {@code checked} and {@code selected} hold the live state at the time of the snapshot. Only the computed styles
+ * captured by the snapshot can be read. The text is built from the displayed descendants, one line per block
+ * element, an approximation of the rendered text that ignores preformatted white space and CSS text transforms.
+ * Actions and screenshots throw {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class SnapshotElement extends SnapshotSearchContext implements WebElement
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Set<String> BOOLEAN_ATTRIBUTES = new HashSet<>( Arrays.asList(
+            "async", "autofocus", "autoplay", "checked", "compact", "complete", "controls", "declare", "default",
+            "defaultchecked", "defaultselected", "defer", "disabled", "draggable", "ended", "formnovalidate", "hidden",
+            "indeterminate", "iscontenteditable", "ismap", "itemscope", "loop", "multiple", "muted", "nohref",
+            "noresize", "noshade", "novalidate", "nowrap", "open", "paused", "pubdate", "readonly", "required",
+            "reversed", "scoped", "seamless", "seeking", "selected", "truespeed", "willvalidate" ) );
+
+    private static final Pattern WHITESPACE = Pattern.compile( "[\\s\\u00a0]+" );
+
+    private final DomSnapshot snapshot;
+
+    private final Element node;
+
+    private final Map<String, String> styles;
+
+    private final Rectangle rect;
+
+    private final boolean displayed;
+
+    SnapshotElement( DomSnapshot snapshot, Element node, Map<String, String> styles, Rectangle rect, boolean displayed )
+    {
+        this.snapshot = snapshot;
+        this.node = node;
+        this.styles = styles;
+        this.rect = rect;
+        this.displayed = displayed;
+    }
+
+    //endregion
+
+    public DomSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    @Override
+    public void click()
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void submit()
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void sendKeys( CharSequence... keysToSend )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear()
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public String getTagName()
+    {
+        return node.tagName();
+    }
+
+    @Override
+    public String getAttribute( String name )
+    {
+        final String key = name.toLowerCase();
+        if( !node.hasAttr( key ) )
+        {
+            return null;
+        }
+        return BOOLEAN_ATTRIBUTES.contains( key ) ? "true" : node.attr( key );
+    }
+
+    @Override
+    public boolean isSelected()
+    {
+        return node.hasAttr( "checked" ) || node.hasAttr( "selected" );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return !node.hasAttr( "disabled" );
+    }
+
+    @Override
+    public String getText()
+    {
+        if( !displayed )
+        {
+            return "";
+        }
+        final StringBuilder text = new StringBuilder();
+        appendText( node, text );
+        final StringBuilder lines = new StringBuilder( text.length() );
+        for( String line : text.toString().split( "\n" ) )
+        {
+            final String collapsed = WHITESPACE.matcher( line ).replaceAll( " " ).trim();
+            if( !collapsed.isEmpty() )
+            {
+                if( lines.length() > 0 )
+                {
+                    lines.append( '\n' );
+                }
+                lines.append( collapsed );
+            }
+        }
+        return lines.toString();
+    }
+
+    @Override
+    public boolean isDisplayed()
+    {
+        return displayed;
+    }
+
+    @Override
+    public Point getLocation()
+    {
+        return rect.getPoint();
+    }
+
+    @Override
+    public Dimension getSize()
+    {
+        return rect.getDimension();
+    }
+
+    @Override
+    public Rectangle getRect()
+    {
+        return rect;
+    }
+
+    /**
+     * @throws IllegalStateException if the property was not captured by the snapshot
+     */
+    @Override
+    public String getCssValue( String propertyName )
+    {
+        final String value = styles.get( propertyName );
+        Assert.state( value != null, () -> "css property " + propertyName + " was not captured by the snapshot" );
+        return value;
+    }
+
+    @Override
+    public <X> X getScreenshotAs( OutputType<X> target )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[snapshot element " + node.tagName() + ( node.id().isEmpty() ? "" : "#" + node.id() ) + "]";
+    }
+
+    @Override
+    DomSnapshot snapshot()
+    {
+        return snapshot;
+    }
+
+    @Override
+    Element scope()
+    {
+        return node;
+    }
+
+    private void appendText( Element element, StringBuilder text )
+    {
+        for( Node child : element.childNodes() )
+        {
+            if( child instanceof TextNode )
+            {
+                text.append( ( ( TextNode ) child ).getWholeText() );
+            }
+            else if( child instanceof Element && "br".equals( ( ( Element ) child ).tagName() ) )
+            {
+                text.append( '\n' );
+            }
+            else if( child instanceof Element && snapshot.wrap( ( Element ) child ).displayed )
+            {
+                final Element childElement = ( Element ) child;
+                final boolean block = childElement.isBlock();
+                if( block )
+                {
+                    text.append( '\n' );
+                }
+                appendText( childElement, text );
+                if( block )
+                {
+                    text.append( '\n' );
+                }
+            }
+        }
+    }
+
+    private static UnsupportedOperationException readOnly()
+    {
+        return new UnsupportedOperationException( "snapshot elements are read only" );
+    }
+}
@@ -0,0 +1,178 @@
+package selenium.boot.webdriver.snapshot;
+
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+import selenium.boot.webdriver.html.HtmlQueries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+
+
+/**
+ * Base of the snapshot and its elements, resolving every {@link By} strategy locally against the captured tree.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+abstract class SnapshotSearchContext implements SearchContext, FindsById, FindsByClassName, FindsByCssSelector,
+        FindsByLinkText, FindsByName, FindsByTagName, FindsByXPath
+{
+    /**
+     * @return the snapshot holding this context
+     */
+    abstract DomSnapshot snapshot();
+
+    /**
+     * @return the document for the snapshot, the element for a snapshot element
+     */
+    abstract Element scope();
+
+    @Override
+    public WebElement findElement( By by )
+    {
+        return by.findElement( this );
+    }
+
+    @Override
+    public List<WebElement> findElements( By by )
+    {
+        return by.findElements( this );
+    }
+
+    @Override
+    public WebElement findElementById( String using )
+    {
+        return first( "id", using, scope -> HtmlQueries.byAttribute( scope, "id", using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsById( String using )
+    {
+        return all( scope -> HtmlQueries.byAttribute( scope, "id", using ) );
+    }
+
+    @Override
+    public WebElement findElementByClassName( String using )
+    {
+        return first( "class name", using, scope -> HtmlQueries.byClassName( scope, using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName( String using )
+    {
+        return all( scope -> HtmlQueries.byClassName( scope, using ) );
+    }
+
+    @Override
+    public WebElement findElementByCssSelector( String using )
+    {
+        return first( "css selector", using, scope -> HtmlQueries.byCssSelector( scope, using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector( String using )
+    {
+        return all( scope -> HtmlQueries.byCssSelector( scope, using ) );
+    }
+
+    @Override
+    public WebElement findElementByLinkText( String using )
+    {
+        return first( "link text", using, scope -> HtmlQueries.byLinkText( scope, using, false ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText( String using )
+    {
+        return all( scope -> HtmlQueries.byLinkText( scope, using, false ) );
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText( String using )
+    {
+        return first( "partial link text", using, scope -> HtmlQueries.byLinkText( scope, using, true ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText( String using )
+    {
+        return all( scope -> HtmlQueries.byLinkText( scope, using, true ) );
+    }
+
+    @Override
+    public WebElement findElementByName( String using )
+    {
+        return first( "name", using, scope -> HtmlQueries.byAttribute( scope, "name", using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByName( String using )
+    {
+        return all( scope -> HtmlQueries.byAttribute( scope, "name", using ) );
+    }
+
+    @Override
+    public WebElement findElementByTagName( String using )
+    {
+        return first( "tag name", using, scope -> HtmlQueries.byTagName( scope, using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName( String using )
+    {
+        return all( scope -> HtmlQueries.byTagName( scope, using ) );
+    }
+
+    @Override
+    public WebElement findElementByXPath( String using )
+    {
+        return first( "xpath", using, xpath( using ) );
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath( String using )
+    {
+        return all( xpath( using ) );
+    }
+
+    private Function<Element, List<Element>> xpath( String expression )
+    {
+        return scope -> HtmlQueries.byXPath( snapshot().document(), snapshot().w3cDocument(), scope, expression );
+    }
+
+    private WebElement first( String how, String using, Function<Element, List<Element>> query )
+    {
+        final List<Element> found = query.apply( scope() );
+        if( found.isEmpty() )
+        {
+            throw new NoSuchElementException( "Unable to locate element in the snapshot: {\"method\":\"" + how
+                                              + "\",\"selector\":\"" + using + "\"}" );
+        }
+        return snapshot().wrap( found.get( 0 ) );
+    }
+
+    private List<WebElement> all( Function<Element, List<Element>> query )
+    {
+        final List<Element> found = query.apply( scope() );
+        final List<WebElement> elements = new ArrayList<>( found.size() );
+        for( Element element : found )
+        {
+            elements.add( snapshot().wrap( element ) );
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,94 @@
+package selenium.boot.webdriver.visual;
+
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+
+/**
+ * An image held as a single array of packed ARGB pixels, row after row, so comparisons run on primitives
+ * instead of per pixel {@link BufferedImage#getRGB(int, int)} calls.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class PixelImage
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    final int[] pixels;
+
+    final int width;
+
+    final int height;
+
+    private PixelImage( int[] pixels, int width, int height )
+    {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+    }
+
+    //endregion
+
+    static PixelImage decode( byte[] encoded ) throws IOException
+    {
+        return read( new ByteArrayInputStream( encoded ) );
+    }
+
+    static PixelImage read( Path file ) throws IOException
+    {
+        try( InputStream in = Files.newInputStream( file ) )
+        {
+            return read( in );
+        }
+    }
+
+    static PixelImage of( BufferedImage image )
+    {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        return new PixelImage( image.getRGB( 0, 0, width, height, null, 0, width ), width, height );
+    }
+
+    static BufferedImage toImage( int[] pixels, int width, int height )
+    {
+        final BufferedImage image = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+        image.setRGB( 0, 0, width, height, pixels, 0, width );
+        return image;
+    }
+
+    /**
+     * @return the luminance of a packed pixel, from 0 to 255
+     */
+    static int luminance( int argb )
+    {
+        return ( 77 * ( ( argb >> 16 ) & 0xff ) + 150 * ( ( argb >> 8 ) & 0xff ) + 29 * ( argb & 0xff ) ) >> 8;
+    }
+
+    boolean sameSize( PixelImage other )
+    {
+        return width == other.width && height == other.height;
+    }
+
+    private static PixelImage read( InputStream in ) throws IOException
+    {
+        final BufferedImage image = ImageIO.read( in );
+        if( image == null )
+        {
+            throw new IOException( "unsupported image format" );
+        }
+        return of( image );
+    }
+}
@@ -0,0 +1,156 @@
+package selenium.boot.webdriver.visual;
+
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+
+/**
+ * Perceptual hashes of the square tiles of an image.
+ * <p>
+ * Each tile is reduced to a {@value #GRID}x{@value #GRID} grid of average luminances; the hash holds one bit per
+ * cell, set when the cell is brighter than the tile, along with the tile mean luminance. Anti-aliasing and
+ * sub-pixel rendering noise leave both mostly unchanged, while a moved, missing or recolored element flips bits or
+ * shifts the mean.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+final class TiledHash
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    static final int GRID = 8;
+
+    private static final int TILES_PER_TASK = 16;
+
+    final int tileSize;
+
+    final int columns;
+
+    final int rows;
+
+    final long[] bits;
+
+    final int[] means;
+
+    private TiledHash( int tileSize, int columns, int rows )
+    {
+        this.tileSize = tileSize;
+        this.columns = columns;
+        this.rows = rows;
+        this.bits = new long[ columns * rows ];
+        this.means = new int[ columns * rows ];
+    }
+
+    //endregion
+
+    /**
+     * Hashes every tile of the image, in parallel.
+     */
+    static TiledHash of( PixelImage image, int tileSize )
+    {
+        final TiledHash hash = allocate( image, tileSize );
+        ForkJoinPool.commonPool().invoke( new HashTask( image, hash, 0, hash.bits.length ) );
+        return hash;
+    }
+
+    static TiledHash allocate( PixelImage image, int tileSize )
+    {
+        return new TiledHash( tileSize, ( image.width + tileSize - 1 ) / tileSize,
+                ( image.height + tileSize - 1 ) / tileSize );
+    }
+
+    int tiles()
+    {
+        return bits.length;
+    }
+
+    /**
+     * Hashes a single tile into {@link #bits} and {@link #means}.
+     *
+     * @param sums   scratch array of {@code GRID * GRID} cells
+     * @param counts scratch array of {@code GRID * GRID} cells
+     */
+    void hashTile( PixelImage image, int tile, int[] sums, int[] counts )
+    {
+        final int x0 = ( tile % columns ) * tileSize;
+        final int y0 = ( tile / columns ) * tileSize;
+        final int width = Math.min( tileSize, image.width - x0 );
+        final int height = Math.min( tileSize, image.height - y0 );
+        Arrays.fill( sums, 0 );
+        Arrays.fill( counts, 0 );
+
+        long total = 0;
+        for( int y = 0; y < height; y++ )
+        {
+            final int row = ( y * GRID / height ) * GRID;
+            final int offset = ( y0 + y ) * image.width + x0;
+            for( int x = 0; x < width; x++ )
+            {
+                final int luminance = PixelImage.luminance( image.pixels[ offset + x ] );
+                final int cell = row + x * GRID / width;
+                sums[ cell ] += luminance;
+                counts[ cell ]++;
+                total += luminance;
+            }
+        }
+
+        final int mean = ( int ) ( total / ( ( long ) width * height ) );
+        long hash = 0;
+        for( int cell = 0; cell < GRID * GRID; cell++ )
+        {
+            if( counts[ cell ] > 0 && sums[ cell ] / counts[ cell ] > mean )
+            {
+                hash |= 1L << cell;
+            }
+        }
+        bits[ tile ] = hash;
+        means[ tile ] = mean;
+    }
+
+
+    private static final class HashTask extends RecursiveAction
+    {
+        private final PixelImage image;
+
+        private final TiledHash hash;
+
+        private final int from;
+
+        private final int to;
+
+        private HashTask( PixelImage image, TiledHash hash, int from, int to )
+        {
+            this.image = image;
+            this.hash = hash;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if( to - from > TILES_PER_TASK )
+            {
+                final int middle = ( from + to ) >>> 1;
+                invokeAll( new HashTask( image, hash, from, middle ), new HashTask( image, hash, middle, to ) );
+                return;
+            }
+            final int[] sums = new int[ GRID * GRID ];
+            final int[] counts = new int[ GRID * GRID ];
+            for( int tile = from; tile < to; tile++ )
+            {
+                hash.hashTile( image, tile, sums, counts );
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package selenium.boot.webdriver.visual;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import selenium.boot.utils.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+
+/**
+ * The baseline images screenshots are compared against, stored as {@code <name>.png} in the baselines directory.
+ * <p>
+ * A baseline is decoded and hashed once, and kept until its file is modified, so repeated checks against the same
+ * baseline only hash the screenshot. Diff images of failed comparisons go to the diff directory.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @see selenium.boot.spring.config.WorkspaceProperties#getProjectAssetsDirectory()
+ * @since 2.0
+ */
+public final class VisualBaselines
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger( VisualBaselines.class );
+
+    /**
+     * The directory, under the project assets directory, holding the baselines.
+     */
+    public static final String BASELINES_DIRECTORY = "baselines";
+
+    private final Path baselineDirectory;
+
+    private final Path diffDirectory;
+
+    private final VisualComparator comparator;
+
+    private final Map<Path, Baseline> baselines = new ConcurrentHashMap<>();
+
+    public VisualBaselines( Path baselineDirectory, Path diffDirectory )
+    {
+        this( baselineDirectory, diffDirectory, new VisualComparator() );
+    }
+
+    public VisualBaselines( Path baselineDirectory, Path diffDirectory, VisualComparator comparator )
+    {
+        Assert.notNull( baselineDirectory, "baselineDirectory must not be null" );
+        Assert.notNull( diffDirectory, "diffDirectory must not be null" );
+        Assert.notNull( comparator, "comparator must not be null" );
+        this.baselineDirectory = baselineDirectory;
+        this.diffDirectory = diffDirectory;
+        this.comparator = comparator;
+    }
+
+    //endregion
+
+    public Path getBaselineDirectory()
+    {
+        return baselineDirectory;
+    }
+
+    public Path getDiffDirectory()
+    {
+        return diffDirectory;
+    }
+
+    /**
+     * Compares a PNG screenshot against the baseline of the given name.
+     *
+     * @param name       the baseline name, without extension
+     * @param screenshot the PNG bytes
+     *
+     * @return the comparison outcome; a missing baseline is reported by {@link VisualDifference#hasBaseline()}
+     */
+    public VisualDifference compare( String name, byte[] screenshot )
+    {
+        Assert.hasText( name, "name must not be empty" );
+        try
+        {
+            final PixelImage actual = PixelImage.decode( screenshot );
+            final Baseline baseline = baseline( name );
+            if( baseline == null )
+            {
+                return new VisualDifference( name, actual, null, 0, 0, comparator.getTileBudget() );
+            }
+            final int tiles = baseline.hash.tiles();
+            if( !actual.sameSize( baseline.image ) )
+            {
+                return new VisualDifference( name, actual, baseline.image, tiles, tiles, comparator.getTileBudget() );
+            }
+            final int different = comparator.compare( actual, baseline.hash );
+            return new VisualDifference( name, actual, baseline.image, tiles, different, comparator.getTileBudget() );
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Writes the diff image of a failed comparison into the diff directory.
+     *
+     * @return the written file, or {@code null} if it could not be written
+     */
+    public Path report( VisualDifference difference )
+    {
+        try
+        {
+            return difference.writeDiff( diffDirectory );
+        }
+        catch( IOException e )
+        {
+            log.warn( "failed to write the visual diff of {}", difference.getName(), e );
+            return null;
+        }
+    }
+
+    private Baseline baseline( String name ) throws IOException
+    {
+        final Path file = baselineDirectory.resolve( name + ".png" );
+        if( !Files.isRegularFile( file ) )
+        {
+            baselines.remove( file );
+            return null;
+        }
+        final FileTime modified = Files.getLastModifiedTime( file );
+        final Baseline cached = baselines.get( file );
+        if( cached != null && cached.modified.equals( modified ) )
+        {
+            return cached;
+        }
+        final PixelImage image = PixelImage.read( file );
+        final Baseline loaded = new Baseline( modified, image, comparator.hash( image ) );
+        baselines.put( file, loaded );
+        return loaded;
+    }
+
+
+    private static final class Baseline
+    {
+        private final FileTime modified;
+
+        private final PixelImage image;
+
+        private final TiledHash hash;
+
+        private Baseline( FileTime modified, PixelImage image, TiledHash hash )
+        {
+            this.modified = modified;
+            this.image = image;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package selenium.boot.webdriver.visual;
+
+
+import selenium.boot.utils.Assert;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+
+/**
+ * Compares an image against a baseline tile by tile, using {@link TiledHash perceptual hashes}.
+ * <p>
+ * Tiles are hashed and compared in parallel on the common fork-join pool. A tile differs when more than
+ * {@code bitTolerance} bits of its hash flip, or its mean luminance moves by more than {@code luminanceTolerance}.
+ * As soon as more than {@code tileBudget} tiles differ the remaining tiles are skipped, so a failing comparison
+ * costs less than a passing one.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class VisualComparator
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    public static final int DEFAULT_TILE_SIZE = 32;
+
+    public static final int DEFAULT_BIT_TOLERANCE = 4;
+
+    public static final int DEFAULT_LUMINANCE_TOLERANCE = 8;
+
+    private static final int TILES_PER_TASK = 16;
+
+    private final int tileSize;
+
+    private final int bitTolerance;
+
+    private final int luminanceTolerance;
+
+    private final int tileBudget;
+
+    /**
+     * Creates a comparator with the default tolerances, failing on the first different tile.
+     */
+    public VisualComparator()
+    {
+        this( DEFAULT_TILE_SIZE, DEFAULT_BIT_TOLERANCE, DEFAULT_LUMINANCE_TOLERANCE, 0 );
+    }
+
+    /**
+     * @param tileSize           the side of the square tiles, in pixels
+     * @param bitTolerance       the number of hash bits, out of 64, a tile may flip and still match
+     * @param luminanceTolerance the mean luminance shift, out of 255, a tile may have and still match
+     * @param tileBudget         the number of different tiles an image may have and still match
+     */
+    public VisualComparator( int tileSize, int bitTolerance, int luminanceTolerance, int tileBudget )
+    {
+        Assert.isTrue( tileSize >= TiledHash.GRID, "tileSize must be at least " + TiledHash.GRID );
+        Assert.isTrue( bitTolerance >= 0, "bitTolerance must not be negative" );
+        Assert.isTrue( luminanceTolerance >= 0, "luminanceTolerance must not be negative" );
+        Assert.isTrue( tileBudget >= 0, "tileBudget must not be negative" );
+        this.tileSize = tileSize;
+        this.bitTolerance = bitTolerance;
+        this.luminanceTolerance = luminanceTolerance;
+        this.tileBudget = tileBudget;
+    }
+
+    //endregion
+
+    public int getTileSize()
+    {
+        return tileSize;
+    }
+
+    public int getTileBudget()
+    {
+        return tileBudget;
+    }
+
+    TiledHash hash( PixelImage image )
+    {
+        return TiledHash.of( image, tileSize );
+    }
+
+    /**
+     * Compares an image with a baseline of the same size.
+     *
+     * @param actual       the examined image
+     * @param baselineHash the hash of the baseline, computed by {@link #hash(PixelImage)}
+     *
+     * @return the number of different tiles found; once past the budget, the count is a lower bound
+     */
+    int compare( PixelImage actual, TiledHash baselineHash )
+    {
+        final TiledHash actualHash = TiledHash.allocate( actual, tileSize );
+        final AtomicInteger different = new AtomicInteger();
+        ForkJoinPool.commonPool()
+                .invoke( new CompareTask( actual, actualHash, baselineHash, different, 0, baselineHash.tiles() ) );
+        return different.get();
+    }
+
+
+    private final class CompareTask extends RecursiveAction
+    {
+        private final PixelImage actual;
+
+        private final TiledHash actualHash;
+
+        private final TiledHash baselineHash;
+
+        private final AtomicInteger different;
+
+        private final int from;
+
+        private final int to;
+
+        private CompareTask( PixelImage actual, TiledHash actualHash, TiledHash baselineHash, AtomicInteger different,
+                             int from, int to )
+        {
+            this.actual = actual;
+            this.actualHash = actualHash;
+            this.baselineHash = baselineHash;
+            this.different = different;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if( different.get() > tileBudget )
+            {
+                return;
+            }
+            if( to - from > TILES_PER_TASK )
+            {
+                final int middle = ( from + to ) >>> 1;
+                invokeAll( new CompareTask( actual, actualHash, baselineHash, different, from, middle ),
+                        new CompareTask( actual, actualHash, baselineHash, different, middle, to ) );
+                return;
+            }
+            final int[] sums = new int[ TiledHash.GRID * TiledHash.GRID ];
+            final int[] counts = new int[ TiledHash.GRID * TiledHash.GRID ];
+            for( int tile = from; tile < to; tile++ )
+            {
+                actualHash.hashTile( actual, tile, sums, counts );
+                final int flipped = Long.bitCount( actualHash.bits[ tile ] ^ baselineHash.bits[ tile ] );
+                final int shift = Math.abs( actualHash.means[ tile ] - baselineHash.means[ tile ] );
+                if( flipped > bitTolerance || shift > luminanceTolerance )
+                {
+                    if( different.incrementAndGet() > tileBudget )
+                    {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
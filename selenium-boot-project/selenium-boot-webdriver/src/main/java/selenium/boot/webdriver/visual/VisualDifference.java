@@ -0,0 +1,156 @@
+package selenium.boot.webdriver.visual;
+
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+
+/**
+ * The outcome of comparing a screenshot against its baseline.
+ * <p>
+ * The pixel level diff image is built only by {@link #writeDiff(Path)}, which matchers call on failure.
+ * </p>
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public final class VisualDifference
+{
+    //region Static definitions, members, initialization and constructors
+
+    //---------------------------------------------------------------------
+    // Static definitions, members, initialization and constructors
+    //---------------------------------------------------------------------
+
+    private static final int DIFFERENT = 0xffff0000;
+
+    private static final int PIXEL_TOLERANCE = 16;
+
+    private final String name;
+
+    private final PixelImage actual;
+
+    private final PixelImage baseline;
+
+    private final int tiles;
+
+    private final int differentTiles;
+
+    private final int tileBudget;
+
+    VisualDifference( String name, PixelImage actual, PixelImage baseline, int tiles, int differentTiles, int tileBudget )
+    {
+        this.name = name;
+        this.actual = actual;
+        this.baseline = baseline;
+        this.tiles = tiles;
+        this.differentTiles = differentTiles;
+        this.tileBudget = tileBudget;
+    }
+
+    //endregion
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public boolean hasBaseline()
+    {
+        return baseline != null;
+    }
+
+    public boolean isSameSize()
+    {
+        return baseline != null && actual.sameSize( baseline );
+    }
+
+    public int getTiles()
+    {
+        return tiles;
+    }
+
+    /**
+     * @return the number of different tiles found; past the budget the comparison stops early, so the count is a lower bound
+     */
+    public int getDifferentTiles()
+    {
+        return differentTiles;
+    }
+
+    public boolean matches()
+    {
+        return isSameSize() && differentTiles <= tileBudget;
+    }
+
+    /**
+     * Writes {@code <name>-actual.png}, and when a baseline exists, {@code <name>-diff.png} where the pixels
+     * that differ are red and the others a faded copy of the screenshot.
+     *
+     * @param directory the directory to write to, created if needed
+     *
+     * @return the diff image, or the actual image when there is no baseline
+     *
+     * @throws IOException if writing fails
+     */
+    public Path writeDiff( Path directory ) throws IOException
+    {
+        Files.createDirectories( directory );
+        final Path actualFile = directory.resolve( name + "-actual.png" );
+        ImageIO.write( PixelImage.toImage( actual.pixels, actual.width, actual.height ), "png", actualFile.toFile() );
+        if( baseline == null )
+        {
+            return actualFile;
+        }
+
+        final int width = Math.max( actual.width, baseline.width );
+        final int height = Math.max( actual.height, baseline.height );
+        final int[] diff = new int[ width * height ];
+        for( int y = 0; y < height; y++ )
+        {
+            for( int x = 0; x < width; x++ )
+            {
+                final int index = y * width + x;
+                if( x >= actual.width || y >= actual.height || x >= baseline.width || y >= baseline.height )
+                {
+                    diff[ index ] = DIFFERENT;
+                    continue;
+                }
+                final int pixel = actual.pixels[ y * actual.width + x ];
+                final int expected = baseline.pixels[ y * baseline.width + x ];
+                if( Math.abs( PixelImage.luminance( pixel ) - PixelImage.luminance( expected ) ) > PIXEL_TOLERANCE )
+                {
+                    diff[ index ] = DIFFERENT;
+                }
+                else
+                {
+                    final int faded = 192 + ( PixelImage.luminance( pixel ) >> 2 );
+                    diff[ index ] = 0xff000000 | faded << 16 | faded << 8 | faded;
+                }
+            }
+        }
+        final Path diffFile = directory.resolve( name + "-diff.png" );
+        ImageIO.write( PixelImage.toImage( diff, width, height ), "png", diffFile.toFile() );
+        return diffFile;
+    }
+
+    @Override
+    public String toString()
+    {
+        if( baseline == null )
+        {
+            return "no baseline for " + name;
+        }
+        if( !actual.sameSize( baseline ) )
+        {
+            return String.format( "%s is %dx%d, baseline is %dx%d", name, actual.width, actual.height,
+                    baseline.width, baseline.height );
+        }
+        return String.format( "%s differs in %s%d of %d tiles", name, differentTiles > tileBudget ? "at least " : "",
+                differentTiles, tiles );
+    }
+}
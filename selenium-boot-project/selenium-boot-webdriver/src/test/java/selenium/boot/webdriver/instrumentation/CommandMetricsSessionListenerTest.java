@@ -0,0 +1,92 @@
+package selenium.boot.webdriver.instrumentation;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import selenium.boot.metrics.CommandMetrics;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CommandMetricsSessionListenerTest
+{
+    private Path directory;
+
+    private CommandMetricsSessionListener listener;
+
+    @BeforeMethod
+    public void createListener() throws IOException
+    {
+        directory = Files.createTempDirectory( "commands" );
+        listener = new CommandMetricsSessionListener( new CommandMetricsReporter( new CommandMetrics(), directory ) );
+    }
+
+    @Test
+    public void reportsTheCommandsOfTheReturnedSessionOnly() throws IOException
+    {
+        final WebDriver first = session();
+        final WebDriver second = session();
+        final WebDriver instrumentedFirst = listener.afterCreate( first );
+        final WebDriver instrumentedSecond = listener.afterCreate( second );
+
+        instrumentedFirst.getTitle();
+        instrumentedSecond.getTitle();
+        instrumentedSecond.getTitle();
+        listener.beforeReturn( first, "first" );
+        listener.beforeReturn( second, "second" );
+
+        assertEquals( countOf( directory.resolve( "first-commands.json" ) ), 1 );
+        assertEquals( countOf( directory.resolve( "second-commands.json" ) ), 2 );
+    }
+
+    @Test
+    public void startsOverAfterEveryReport() throws IOException
+    {
+        final WebDriver driver = session();
+        listener.afterCreate( driver ).getTitle();
+
+        listener.beforeReturn( driver, "first" );
+        listener.beforeReturn( driver, "second" );
+
+        assertTrue( Files.exists( directory.resolve( "first-commands.json" ) ) );
+        assertFalse( Files.exists( directory.resolve( "second-commands.json" ) ) );
+    }
+
+    private static WebDriver session()
+    {
+        return ( WebDriver ) Proxy.newProxyInstance( CommandMetricsSessionListenerTest.class.getClassLoader(),
+                new Class<?>[] { WebDriver.class }, ( proxy, method, args ) ->
+                        method.getName().equals( "hashCode" ) ? System.identityHashCode( proxy )
+                        : method.getName().equals( "equals" ) ? proxy == args[ 0 ]
+                        : method.getName().equals( "getTitle" ) ? "title" : null );
+    }
+
+    private static long countOf( Path report ) throws IOException
+    {
+        long count = 0;
+        for( JsonNode commands : new ObjectMapper().readTree( report.toFile() ) )
+        {
+            for( JsonNode stats : commands )
+            {
+                count += stats.get( "count" ).asLong();
+            }
+        }
+        return count;
+    }
+}
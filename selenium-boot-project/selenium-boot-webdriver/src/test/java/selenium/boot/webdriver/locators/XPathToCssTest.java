@@ -0,0 +1,54 @@
+package selenium.boot.webdriver.locators;
+
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class XPathToCssTest
+{
+    @Test
+    public void translatesTheStepsOfADocumentPath()
+    {
+        assertEquals( XPathToCss.translate( "//form[@id='login']/input[@name='user']", true ),
+                "form[id=\"login\"] > input[name=\"user\"]" );
+        assertEquals( XPathToCss.translate( ".//div//a[contains(@href,'help')]", true ), "div a[href*=\"help\"]" );
+    }
+
+    @Test
+    public void translatesASingleStepFromAnElement()
+    {
+        assertEquals( XPathToCss.translate( ".//input[@type='text']", false ), "input[type=\"text\"]" );
+        assertEquals( XPathToCss.translate( ".//a | .//button", false ), "a, button" );
+    }
+
+    @Test
+    public void keepsTheXPathOfAMultiStepPathFromAnElement()
+    {
+        assertNull( XPathToCss.translate( ".//form/input", false ) );
+        assertNull( XPathToCss.translate( ".//form//input", false ) );
+        assertNull( XPathToCss.translate( ".//a | .//form/input", false ) );
+    }
+
+    @Test
+    public void keepsTheXPathOfADocumentPathFromAnElement()
+    {
+        assertNull( XPathToCss.translate( "//input", false ) );
+    }
+
+    @Test
+    public void keepsTheXPathOfUnsupportedExpressions()
+    {
+        assertNull( XPathToCss.translate( "//input[text()='user']", true ) );
+        assertNull( XPathToCss.translate( "//li[@class][2]", true ) );
+        assertNull( XPathToCss.translate( "//ul/..", true ) );
+    }
+}
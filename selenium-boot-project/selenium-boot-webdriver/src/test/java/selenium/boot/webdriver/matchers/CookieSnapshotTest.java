@@ -0,0 +1,139 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class CookieSnapshotTest
+{
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final Set<Cookie> jar = new CopyOnWriteArraySet<>();
+
+    private WebDriver driver;
+
+    @BeforeMethod
+    public void createDriver()
+    {
+        fetches.set( 0 );
+        jar.clear();
+        jar.add( new Cookie( "session", "42" ) );
+        jar.add( new Cookie( "locale", "en" ) );
+        final WebDriver.Options options = ( WebDriver.Options ) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { WebDriver.Options.class }, ( proxy, method, args ) ->
+                {
+                    assertEquals( method.getName(), "getCookies" );
+                    fetches.incrementAndGet();
+                    return new LinkedHashSet<>( jar );
+                } );
+        driver = ( WebDriver ) Proxy.newProxyInstance( getClass().getClassLoader(), new Class<?>[] { WebDriver.class },
+                ( proxy, method, args ) -> "manage".equals( method.getName() ) ? options
+                        : method.getName().equals( "hashCode" ) ? System.identityHashCode( proxy )
+                        : method.getName().equals( "equals" ) ? proxy == args[ 0 ] : null );
+    }
+
+    @Test
+    public void fetchesTheJarOnEveryEvaluationOutsideAScope()
+    {
+        final Matcher<WebDriver> session = WebDriverMatchers.hasCookie( "session" );
+
+        assertTrue( session.matches( driver ) );
+        assertTrue( session.matches( driver ) );
+        assertEquals( fetches.get(), 2 );
+    }
+
+    @Test
+    public void sharesOneSnapshotBetweenTheMatchersOfAnAssertion()
+    {
+        final Matcher<WebDriver> both = WebDriverMatchers.hasCookies(
+                WebDriverMatchers.hasCookie( "session", WebDriverMatchers.cookieValue( equalTo( "42" ) ) ),
+                WebDriverMatchers.hasCookie( "locale" ) );
+
+        assertTrue( both.matches( driver ) );
+        assertEquals( fetches.get(), 1 );
+    }
+
+    @Test
+    public void describesTheMismatchAgainstTheEvaluatedSnapshot()
+    {
+        final Matcher<WebDriver> both = WebDriverMatchers.hasCookies(
+                WebDriverMatchers.hasCookie( "session" ), WebDriverMatchers.hasCookie( "cart" ) );
+
+        assertFalse( both.matches( driver ) );
+        jar.add( new Cookie( "cart", "3" ) );
+        final StringDescription description = new StringDescription();
+        both.describeMismatch( driver, description );
+
+        assertEquals( fetches.get(), 1 );
+        assertTrue( description.toString().contains( "was only [\"session\", \"locale\"]" ), description.toString() );
+    }
+
+    @Test
+    public void startsEveryScopeWithAFreshJar()
+    {
+        final Matcher<WebDriver> session = WebDriverMatchers.hasCookies( WebDriverMatchers.hasCookie( "session" ) );
+
+        assertTrue( session.matches( driver ) );
+        jar.clear();
+        assertFalse( session.matches( driver ) );
+        assertEquals( fetches.get(), 2 );
+    }
+
+    @Test
+    public void nestedScopesDoNotShareTheOuterSnapshot()
+    {
+        try( CookieSnapshot.Scope ignored = CookieSnapshot.openScope() )
+        {
+            final CookieSnapshot outer = CookieSnapshot.of( driver );
+            try( CookieSnapshot.Scope nested = CookieSnapshot.openScope() )
+            {
+                assertFalse( CookieSnapshot.of( driver ) == outer );
+            }
+            assertTrue( CookieSnapshot.of( driver ) == outer );
+            CookieSnapshot.invalidate( driver );
+            assertFalse( CookieSnapshot.of( driver ) == outer );
+        }
+        assertEquals( fetches.get(), 3 );
+    }
+
+    @Test
+    public void waitsObserveTheChangesOfTheJarWithinAScope()
+    {
+        final Matcher<WebDriver> eventually = WebDriverMatchers.hasCookies( EventuallyMatcher.eventually(
+                WebDriverMatchers.hasCookie( "cart" ), Duration.ofSeconds( 5 ) ) );
+        final Thread adder = new Thread( () ->
+        {
+            while( fetches.get() < 2 )
+            {
+                Thread.yield();
+            }
+            jar.add( new Cookie( "cart", "3" ) );
+        } );
+        adder.start();
+
+        assertTrue( eventually.matches( driver ) );
+    }
+}
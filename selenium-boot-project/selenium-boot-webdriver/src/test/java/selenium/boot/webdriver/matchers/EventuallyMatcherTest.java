@@ -0,0 +1,153 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class EventuallyMatcherTest
+{
+    private static final Duration TIMEOUT = Duration.ofMillis( 150 );
+
+    @Test
+    public void matchesOnceTheDecoratedMatcherMatches()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Matcher<String> third = new Stale( attempts, 3 );
+
+        assertTrue( EventuallyMatcher.eventually( third, Duration.ofSeconds( 5 ) ).matches( "item" ) );
+        assertEquals( attempts.get(), 3 );
+    }
+
+    @Test
+    public void describesTheLastFailureInsteadOfThrowing()
+    {
+        final EventuallyMatcher<String> matcher =
+                EventuallyMatcher.eventually( new Stale( new AtomicInteger(), 0 ), TIMEOUT );
+
+        assertFalse( matcher.matches( "item" ) );
+        final Description description = new StringDescription();
+        matcher.describeMismatch( "item", description );
+
+        assertTrue( description.toString().startsWith( "after " ), description.toString() );
+        assertTrue( description.toString().endsWith(
+                "the last attempt failed with StaleElementReferenceException: stale" ), description.toString() );
+    }
+
+    @Test
+    public void describesTheFailureOfTheMismatchDescription()
+    {
+        final Description description = new StringDescription();
+        EventuallyMatcher.eventually( new Stale( new AtomicInteger(), 0 ), TIMEOUT )
+                .describeMismatch( "item", description );
+
+        assertEquals( description.toString(), "the last attempt failed with StaleElementReferenceException: stale" );
+    }
+
+    @Test
+    public void completesWithTheItem()
+    {
+        final EventuallyMatcher<String> matcher = EventuallyMatcher.eventually( equalTo( "item" ), TIMEOUT );
+
+        assertEquals( matcher.evaluateAsync( "item" ).join(), "item" );
+    }
+
+    @Test
+    public void failsAsynchronouslyWithTheAttempts()
+    {
+        final EventuallyMatcher<String> matcher =
+                EventuallyMatcher.eventually( new Stale( new AtomicInteger(), 0 ), TIMEOUT );
+        final CompletionException failure =
+                expectThrows( CompletionException.class, () -> matcher.evaluateAsync( "item" ).join() );
+
+        assertTrue( failure.getCause() instanceof AssertionError );
+        final String message = failure.getCause().getMessage();
+        assertTrue( message.contains( "but: after " ), message );
+        assertTrue( message.contains( "StaleElementReferenceException" ), message );
+    }
+
+    @Test
+    public void abortsOnALostSession()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Matcher<String> lost = new TypeSafeMatcher<String>()
+        {
+            @Override
+            protected boolean matchesSafely( String item )
+            {
+                attempts.incrementAndGet();
+                throw new NoSuchSessionException( "gone" );
+            }
+
+            @Override
+            public void describeTo( Description description )
+            {
+                description.appendText( "lost" );
+            }
+        };
+
+        expectThrows( NoSuchSessionException.class,
+                () -> EventuallyMatcher.eventually( lost, Duration.ofSeconds( 5 ) ).matches( "item" ) );
+        assertEquals( attempts.get(), 1 );
+    }
+
+
+    /**
+     * Throws a stale element reference until the given attempt, and when describing the mismatch.
+     */
+    private static final class Stale extends TypeSafeMatcher<String>
+    {
+        private final AtomicInteger attempts;
+
+        private final int matchingAttempt;
+
+        private Stale( AtomicInteger attempts, int matchingAttempt )
+        {
+            this.attempts = attempts;
+            this.matchingAttempt = matchingAttempt;
+        }
+
+        @Override
+        protected boolean matchesSafely( String item )
+        {
+            if( attempts.incrementAndGet() == matchingAttempt )
+            {
+                return true;
+            }
+            throw new StaleElementReferenceException( "stale" );
+        }
+
+        @Override
+        protected void describeMismatchSafely( String item, Description mismatchDescription )
+        {
+            throw new StaleElementReferenceException( "stale" );
+        }
+
+        @Override
+        public void describeTo( Description description )
+        {
+            description.appendText( "fresh" );
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class FanOutMatcherTest
+{
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void createExecutor()
+    {
+        executor = Executors.newFixedThreadPool( 2 );
+    }
+
+    @AfterMethod
+    public void shutdownExecutor()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void reportsTheMismatchOfEveryItem()
+    {
+        final Matcher<Iterable<? extends String>> matcher =
+                WebDriverMatchers.eachConcurrently( Duration.ofSeconds( 5 ), executor, startsWith( "a" ) );
+
+        assertTrue( matcher.matches( Arrays.asList( "a1", "a2", "a3" ) ) );
+        assertFalse( matcher.matches( Arrays.asList( "a1", "b2", "c3" ) ) );
+        final Description description = new StringDescription();
+        matcher.describeMismatch( Arrays.asList( "a1", "b2", "c3" ), description );
+        assertTrue( description.toString().startsWith( "item 1: " ), description.toString() );
+        assertTrue( description.toString().contains( ", item 2: " ), description.toString() );
+    }
+
+    @Test
+    public void returnsOnlyOnceTheTimedOutEvaluationsStopped()
+    {
+        final AtomicInteger running = new AtomicInteger();
+        final Matcher<String> answered = new Uninterruptible( running, TimeUnit.MILLISECONDS.toNanos( 400 ) );
+        final Matcher<Iterable<? extends String>> matcher =
+                WebDriverMatchers.eachConcurrently( Duration.ofMillis( 100 ), executor, answered );
+
+        final long start = System.nanoTime();
+        assertFalse( matcher.matches( Arrays.asList( "slow", "slow", "slow" ) ) );
+
+        assertTrue( System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 400 ) );
+        assertEquals( running.get(), 0 );
+        final Description description = new StringDescription();
+        matcher.describeMismatch( Arrays.asList( "slow", "slow", "slow" ), description );
+        assertTrue( description.toString().contains(
+                "item 0: timed out after 100 ms, the evaluation in progress stopped " ), description.toString() );
+        assertTrue( description.toString().contains( "item 2: timed out after 100 ms, before being evaluated" ),
+                description.toString() );
+    }
+
+    @Test
+    public void leavesTheExecutorFreeAfterATimeout()
+    {
+        final Matcher<String> answered =
+                new Uninterruptible( new AtomicInteger(), TimeUnit.MILLISECONDS.toNanos( 200 ) );
+        final Matcher<Iterable<? extends String>> slow =
+                WebDriverMatchers.eachConcurrently( Duration.ofMillis( 50 ), executor, answered );
+        final Matcher<Iterable<? extends String>> fast =
+                WebDriverMatchers.eachConcurrently( Duration.ofMillis( 100 ), executor, startsWith( "a" ) );
+
+        assertFalse( slow.matches( Arrays.asList( "slow", "slow" ) ) );
+        assertTrue( fast.matches( Arrays.asList( "a1", "a2" ) ) );
+    }
+
+
+    /**
+     * Stands for a WebDriver call, which keeps waiting for the browser when its thread is interrupted.
+     */
+    private static final class Uninterruptible extends TypeSafeMatcher<String>
+    {
+        private final AtomicInteger running;
+
+        private final long durationNanos;
+
+        private Uninterruptible( AtomicInteger running, long durationNanos )
+        {
+            this.running = running;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        protected boolean matchesSafely( String item )
+        {
+            running.incrementAndGet();
+            final long end = System.nanoTime() + durationNanos;
+            while( end - System.nanoTime() > 0 )
+            {
+                LockSupport.parkNanos( end - System.nanoTime() );
+            }
+            running.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void describeTo( Description description )
+        {
+            description.appendText( "answered" );
+        }
+    }
+}
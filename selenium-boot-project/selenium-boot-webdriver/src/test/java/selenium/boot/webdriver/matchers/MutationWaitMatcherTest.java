@@ -0,0 +1,101 @@
+package selenium.boot.webdriver.matchers;
+
+
+import org.hamcrest.Description;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+
+/**
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class MutationWaitMatcherTest
+{
+    private static final Duration TIMEOUT = Duration.ofMillis( 150 );
+
+    @Test
+    public void pollsItemsThatCannotExecuteScripts()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertTrue( MutationWaitMatcher.eventuallyOnMutation( new Stale( attempts, 2 ), Duration.ofSeconds( 5 ) )
+                .matches( "item" ) );
+        assertEquals( attempts.get(), 2 );
+    }
+
+    @Test
+    public void describesTheLastFailureInsteadOfThrowing()
+    {
+        final MutationWaitMatcher<String> matcher =
+                MutationWaitMatcher.eventuallyOnMutation( new Stale( new AtomicInteger(), 0 ), TIMEOUT );
+
+        assertFalse( matcher.matches( "item" ) );
+        final Description description = new StringDescription();
+        matcher.describeMismatch( "item", description );
+
+        assertTrue( description.toString().startsWith( "after " ), description.toString() );
+        assertTrue( description.toString().endsWith(
+                "the last attempt failed with StaleElementReferenceException: stale" ), description.toString() );
+    }
+
+    @Test
+    public void describesTheFailureOfTheMismatchDescription()
+    {
+        final Description description = new StringDescription();
+        MutationWaitMatcher.eventuallyOnMutation( new Stale( new AtomicInteger(), 0 ), TIMEOUT )
+                .describeMismatch( "item", description );
+
+        assertEquals( description.toString(), "the last attempt failed with StaleElementReferenceException: stale" );
+    }
+
+
+    /**
+     * Throws a stale element reference until the given attempt, and when describing the mismatch.
+     */
+    private static final class Stale extends TypeSafeMatcher<String>
+    {
+        private final AtomicInteger attempts;
+
+        private final int matchingAttempt;
+
+        private Stale( AtomicInteger attempts, int matchingAttempt )
+        {
+            this.attempts = attempts;
+            this.matchingAttempt = matchingAttempt;
+        }
+
+        @Override
+        protected boolean matchesSafely( String item )
+        {
+            if( attempts.incrementAndGet() == matchingAttempt )
+            {
+                return true;
+            }
+            throw new StaleElementReferenceException( "stale" );
+        }
+
+        @Override
+        protected void describeMismatchSafely( String item, Description mismatchDescription )
+        {
+            throw new StaleElementReferenceException( "stale" );
+        }
+
+        @Override
+        public void describeTo( Description description )
+        {
+            description.appendText( "fresh" );
+        }
+    }
+}
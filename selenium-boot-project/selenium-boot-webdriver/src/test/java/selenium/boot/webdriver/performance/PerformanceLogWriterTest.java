@@ -0,0 +1,88 @@
+package selenium.boot.webdriver.performance;
+
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+
+
+/**
+ * Replays {@code performance/devtools-log.json}, a Chrome performance log of a page load with a redirect, a cached
+ * script, a failed image, a missing stylesheet and an iframe, followed by a navigation leaving a request in flight.
+ *
+ * @author <a href="mailto:solmarkn@gmail.com">Dani Vainstein</a>
+ * @version %I%, %G%
+ * @since 2.0
+ */
+public class PerformanceLogWriterTest
+{
+    private static final String FIXTURE = "/performance/devtools-log.json";
+
+    private static final String HOME = "{\"url\":\"https://www.example.com/\",\"startedAt\":1700000000000,"
+                                       + "\"requests\":5,\"finished\":4,\"failed\":1,\"cached\":1,\"redirects\":1,"
+                                       + "\"encodedBytes\":6500,\"domContentLoadedMs\":500,\"loadMs\":1000,"
+                                       + "\"statuses\":{\"2xx\":3,\"3xx\":1,\"4xx\":1},"
+                                       + "\"types\":{\"Document\":2,\"Image\":1,\"Script\":1,\"Stylesheet\":1},"
+                                       + "\"slowest\":{\"url\":\"https://www.example.com/site.css\",\"ms\":300}}";
+
+    private static final String LOGIN = "{\"url\":\"https://www.example.com/login\",\"startedAt\":1700000005000,"
+                                        + "\"requests\":2,\"finished\":1,\"failed\":0,\"cached\":0,\"redirects\":0,"
+                                        + "\"encodedBytes\":2000,\"domContentLoadedMs\":200,\"loadMs\":300,"
+                                        + "\"statuses\":{\"2xx\":1},\"types\":{\"Document\":1,\"XHR\":1},"
+                                        + "\"slowest\":{\"url\":\"https://www.example.com/login\",\"ms\":100}}";
+
+    @Test
+    public void writesOneSummaryLinePerPage() throws IOException
+    {
+        final StringWriter out = new StringWriter();
+        try( PerformanceLogWriter writer = new PerformanceLogWriter( out ); Reader fixture = fixture() )
+        {
+            writer.replay( fixture );
+            assertEquals( writer.getPageCount(), 1 );
+            writer.close();
+            assertEquals( writer.getPageCount(), 2 );
+            assertEquals( writer.getSkippedCount(), 0 );
+        }
+
+        assertEquals( out.toString(), HOME + "\n" + LOGIN + "\n" );
+    }
+
+    @Test
+    public void skipsTheMessagesThatAreNotJson()
+    {
+        final StringWriter out = new StringWriter();
+        try( PerformanceLogWriter writer = new PerformanceLogWriter( out ) )
+        {
+            writer.accept( "{\"message\":" );
+            writer.accept( "{\"message\":{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":1.0}}}" );
+            assertEquals( writer.getSkippedCount(), 1 );
+        }
+
+        assertEquals( out.toString(), "" );
+    }
+
+    @Test
+    public void rejectsALogThatIsNotAnArray()
+    {
+        try( PerformanceLogWriter writer = new PerformanceLogWriter( new StringWriter() ) )
+        {
+            expectThrows( UncheckedIOException.class, () -> writer.replay( new StringReader( "{}" ) ) );
+        }
+    }
+
+    private static Reader fixture()
+    {
+        return new InputStreamReader( PerformanceLogWriterTest.class.getResourceAsStream( FIXTURE ),
+                StandardCharsets.UTF_8 );
+    }
+}